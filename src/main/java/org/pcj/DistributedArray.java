@@ -0,0 +1,297 @@
+/*
+ * Copyright (c) 2011-2026, PCJ Library, Marek Nowicki
+ * All rights reserved.
+ *
+ * Licensed under New BSD License (3-clause license).
+ *
+ * See the file "LICENSE" for the full license governing this code.
+ */
+package org.pcj;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntFunction;
+import java.util.function.LongConsumer;
+
+/**
+ * Global view of array of objects distributed among PCJ Threads of the
+ * group.
+ * <p>
+ * Local partition of each thread is an array created by generator and stored
+ * in the shareable variable given on creation, so the variable has to be
+ * declared with type assignable from the partition type (e.g.
+ * {@code String[]} for {@code String[]::new} generator). Bulk operations on
+ * global ranges send at most one request per owner, which reads or writes
+ * contiguous range of owner's local partition.
+ * <p>
+ * Object is local to the PCJ Thread that created it and is not thread-safe.
+ *
+ * @param <T> type of elements
+ * @author Marek Nowicki (faramir@mat.umk.pl)
+ * @see Distribution
+ * @see DistributedDoubleArray
+ */
+public final class DistributedArray<T> {
+
+    private final Group group;
+    private final Enum<?> variable;
+    private final Distribution distribution;
+    private final int myId;
+    private final T[] partition;
+
+    private DistributedArray(Group group, Enum<?> variable, Distribution distribution, T[] partition) {
+        this.group = group;
+        this.variable = variable;
+        this.distribution = distribution;
+        this.myId = group.myId();
+        this.partition = partition;
+    }
+
+    /**
+     * Creates array distributed among all PCJ Threads.
+     * <p>
+     * Has to be invoked by all PCJ Threads with the same arguments.
+     *
+     * @param <T>          type of elements
+     * @param variable     variable that holds local partition
+     * @param distribution distribution of elements
+     * @param generator    function creating local partition of given size
+     * @return global view of the array
+     */
+    public static <T> DistributedArray<T> create(Enum<?> variable, Distribution distribution, IntFunction<T[]> generator) {
+        return create(PCJ.getGlobalGroup(), variable, distribution, generator);
+    }
+
+    /**
+     * Creates array distributed among PCJ Threads of the group.
+     * <p>
+     * Has to be invoked by all PCJ Threads of the group with the same
+     * arguments. Creates local partition, stores it in the variable and
+     * synchronizes with other threads.
+     *
+     * @param <T>          type of elements
+     * @param group        group of threads
+     * @param variable     variable that holds local partition
+     * @param distribution distribution of elements
+     * @param generator    function creating local partition of given size
+     * @return global view of the array
+     */
+    public static <T> DistributedArray<T> create(Group group, Enum<?> variable, Distribution distribution, IntFunction<T[]> generator) {
+        if (distribution.threadCount() != group.threadCount()) {
+            throw new IllegalArgumentException("Distribution is for " + distribution.threadCount()
+                                                       + " threads, but group has " + group.threadCount());
+        }
+        long localLength = distribution.localLength(group.myId());
+        if (localLength > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Local partition too large: " + localLength);
+        }
+        T[] partition = generator.apply((int) localLength);
+        PCJ.localPut(partition, variable);
+        group.asyncBarrier().get();
+
+        return new DistributedArray<>(group, variable, distribution, partition);
+    }
+
+    public long length() {
+        return distribution.length();
+    }
+
+    public Distribution getDistribution() {
+        return distribution;
+    }
+
+    /**
+     * Gets owner of the element.
+     *
+     * @param index global index
+     * @return group thread id
+     */
+    public int owner(long index) {
+        return distribution.owner(index);
+    }
+
+    /**
+     * Gets local partition of the current thread.
+     *
+     * @return local partition
+     */
+    public T[] getLocalPartition() {
+        return partition;
+    }
+
+    /**
+     * Performs action for global index of each element owned by the current
+     * thread, in increasing order.
+     *
+     * @param action action to perform
+     */
+    public void forEachLocal(LongConsumer action) {
+        for (int localIndex = 0; localIndex < partition.length; ) {
+            long index = distribution.globalIndex(myId, localIndex);
+            long run = distribution.runLength(index);
+            for (long i = 0; i < run; ++i) {
+                action.accept(index + i);
+            }
+            localIndex += run;
+        }
+    }
+
+    public T get(long index) {
+        int owner = distribution.owner(index);
+        int localIndex = (int) distribution.localIndex(index);
+        if (owner == myId) {
+            return partition[localIndex];
+        }
+        return group.<T>asyncGet(owner, variable, localIndex).get();
+    }
+
+    public void set(long index, T value) {
+        int owner = distribution.owner(index);
+        int localIndex = (int) distribution.localIndex(index);
+        if (owner == myId) {
+            partition[localIndex] = value;
+            return;
+        }
+        group.asyncPut(value, owner, variable, localIndex).get();
+    }
+
+    /**
+     * Copies global range of the array into local array.
+     *
+     * @param index  global index of the first element
+     * @param dst    destination array
+     * @param offset offset in destination array
+     * @param length number of elements
+     */
+    public void get(long index, T[] dst, int offset, int length) {
+        checkRange(index, dst, offset, length);
+        long to = index + length;
+
+        int threadCount = distribution.threadCount();
+        int[] localFrom = new int[threadCount];
+        List<PcjFuture<Object[]>> futures = new ArrayList<>(threadCount);
+        for (int threadId = 0; threadId < threadCount; ++threadId) {
+            localFrom[threadId] = (int) distribution.localOffset(threadId, index);
+            int localTo = (int) distribution.localOffset(threadId, to);
+            if (threadId == myId || localFrom[threadId] == localTo) {
+                futures.add(null);
+                continue;
+            }
+
+            Enum<?> variable = this.variable;
+            int from = localFrom[threadId];
+            futures.add(group.asyncAt(threadId, () -> {
+                Object[] array = PCJ.localGet(variable);
+                return Arrays.copyOfRange(array, from, localTo, Object[].class);
+            }));
+        }
+
+        waitAll(futures);
+
+        Object[][] chunks = new Object[threadCount][];
+        for (int threadId = 0; threadId < threadCount; ++threadId) {
+            if (threadId == myId) {
+                chunks[threadId] = partition;
+            } else if (futures.get(threadId) != null) {
+                chunks[threadId] = futures.get(threadId).get();
+            }
+        }
+
+        for (long i = index; i < to; ) {
+            int owner = distribution.owner(i);
+            int run = (int) Math.min(distribution.runLength(i), to - i);
+            int localIndex = (int) distribution.localIndex(i);
+            int chunkIndex = owner == myId ? localIndex : localIndex - localFrom[owner];
+
+            System.arraycopy(chunks[owner], chunkIndex, dst, offset + (int) (i - index), run);
+            i += run;
+        }
+    }
+
+    /**
+     * Copies local array into global range of the array.
+     *
+     * @param index  global index of the first element
+     * @param src    source array
+     * @param offset offset in source array
+     * @param length number of elements
+     */
+    public void set(long index, T[] src, int offset, int length) {
+        checkRange(index, src, offset, length);
+        long to = index + length;
+
+        int threadCount = distribution.threadCount();
+        int[] localFrom = new int[threadCount];
+        Object[][] chunks = new Object[threadCount][];
+        for (int threadId = 0; threadId < threadCount; ++threadId) {
+            localFrom[threadId] = (int) distribution.localOffset(threadId, index);
+            int localTo = (int) distribution.localOffset(threadId, to);
+            if (threadId != myId) {
+                chunks[threadId] = new Object[localTo - localFrom[threadId]];
+            }
+        }
+
+        for (long i = index; i < to; ) {
+            int owner = distribution.owner(i);
+            int run = (int) Math.min(distribution.runLength(i), to - i);
+            int localIndex = (int) distribution.localIndex(i);
+            int srcOffset = offset + (int) (i - index);
+
+            if (owner == myId) {
+                System.arraycopy(src, srcOffset, partition, localIndex, run);
+            } else {
+                System.arraycopy(src, srcOffset, chunks[owner], localIndex - localFrom[owner], run);
+            }
+            i += run;
+        }
+
+        List<PcjFuture<?>> futures = new ArrayList<>();
+        for (int threadId = 0; threadId < threadCount; ++threadId) {
+            if (threadId == myId || chunks[threadId].length == 0) {
+                continue;
+            }
+
+            Enum<?> variable = this.variable;
+            Object[] chunk = chunks[threadId];
+            int from = localFrom[threadId];
+            futures.add(group.asyncAt(threadId, (AsyncTask.VoidTask) () -> {
+                Object[] array = PCJ.localGet(variable);
+                System.arraycopy(chunk, 0, array, from, chunk.length);
+            }));
+        }
+        waitAll(futures);
+    }
+
+    private void checkRange(long index, T[] array, int offset, int length) {
+        if (index < 0 || length < 0 || index > distribution.length() - length) {
+            throw new ArrayIndexOutOfBoundsException("Range [" + index + ", " + (index + length) + ")"
+                                                             + " out of bounds for length " + distribution.length());
+        }
+        if (offset < 0 || offset > array.length - length) {
+            throw new ArrayIndexOutOfBoundsException("Range [" + offset + ", " + (offset + length) + ")"
+                                                             + " out of bounds for length " + array.length);
+        }
+    }
+
+    static void waitAll(List<? extends PcjFuture<?>> futures) {
+        PcjRuntimeException exception = null;
+        for (PcjFuture<?> future : futures) {
+            if (future == null) {
+                continue;
+            }
+            try {
+                future.get();
+            } catch (PcjRuntimeException ex) {
+                if (exception == null) {
+                    exception = ex;
+                } else {
+                    exception.addSuppressed(ex);
+                }
+            }
+        }
+        if (exception != null) {
+            throw exception;
+        }
+    }
+}
@@ -0,0 +1,264 @@
+/*
+ * Copyright (c) 2011-2026, PCJ Library, Marek Nowicki
+ * All rights reserved.
+ *
+ * Licensed under New BSD License (3-clause license).
+ *
+ * See the file "LICENSE" for the full license governing this code.
+ */
+package org.pcj;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongConsumer;
+
+/**
+ * Global view of {@code double} array distributed among PCJ Threads of the
+ * group.
+ * <p>
+ * Local partition of each thread is {@link OffHeapDoubleArray} stored in the
+ * shareable variable given on creation, so the variable has to be declared
+ * with type assignable from {@code OffHeapDoubleArray}. Bulk operations on
+ * global ranges send at most one request per owner, and the data is
+ * transferred as raw bytes.
+ * <p>
+ * Object is local to the PCJ Thread that created it and is not thread-safe.
+ *
+ * @author Marek Nowicki (faramir@mat.umk.pl)
+ * @see Distribution
+ */
+public final class DistributedDoubleArray {
+
+    private final Group group;
+    private final Enum<?> variable;
+    private final Distribution distribution;
+    private final int myId;
+    private final OffHeapDoubleArray partition;
+    private OffHeapDoubleArray buffer;
+
+    private DistributedDoubleArray(Group group, Enum<?> variable, Distribution distribution, OffHeapDoubleArray partition) {
+        this.group = group;
+        this.variable = variable;
+        this.distribution = distribution;
+        this.myId = group.myId();
+        this.partition = partition;
+    }
+
+    /**
+     * Creates array distributed among all PCJ Threads.
+     * <p>
+     * Has to be invoked by all PCJ Threads with the same arguments.
+     *
+     * @param variable     variable that holds local partition
+     * @param distribution distribution of elements
+     * @return global view of the array
+     */
+    public static DistributedDoubleArray create(Enum<?> variable, Distribution distribution) {
+        return create(PCJ.getGlobalGroup(), variable, distribution);
+    }
+
+    /**
+     * Creates array distributed among PCJ Threads of the group.
+     * <p>
+     * Has to be invoked by all PCJ Threads of the group with the same
+     * arguments. Allocates local partition, stores it in the variable and
+     * synchronizes with other threads.
+     *
+     * @param group        group of threads
+     * @param variable     variable that holds local partition
+     * @param distribution distribution of elements
+     * @return global view of the array
+     */
+    public static DistributedDoubleArray create(Group group, Enum<?> variable, Distribution distribution) {
+        if (distribution.threadCount() != group.threadCount()) {
+            throw new IllegalArgumentException("Distribution is for " + distribution.threadCount()
+                                                       + " threads, but group has " + group.threadCount());
+        }
+        OffHeapDoubleArray partition = OffHeapDoubleArray.allocate(distribution.localLength(group.myId()));
+        PCJ.localPut(partition, variable);
+        group.asyncBarrier().get();
+
+        return new DistributedDoubleArray(group, variable, distribution, partition);
+    }
+
+    public long length() {
+        return distribution.length();
+    }
+
+    public Distribution getDistribution() {
+        return distribution;
+    }
+
+    /**
+     * Gets owner of the element.
+     *
+     * @param index global index
+     * @return group thread id
+     */
+    public int owner(long index) {
+        return distribution.owner(index);
+    }
+
+    /**
+     * Gets local partition of the current thread.
+     *
+     * @return local partition
+     */
+    public OffHeapDoubleArray getLocalPartition() {
+        return partition;
+    }
+
+    /**
+     * Performs action for global index of each element owned by the current
+     * thread, in increasing order.
+     *
+     * @param action action to perform
+     */
+    public void forEachLocal(LongConsumer action) {
+        long localLength = partition.length();
+        for (long localIndex = 0; localIndex < localLength; ) {
+            long index = distribution.globalIndex(myId, localIndex);
+            long run = distribution.runLength(index);
+            for (long i = 0; i < run; ++i) {
+                action.accept(index + i);
+            }
+            localIndex += run;
+        }
+    }
+
+    public double get(long index) {
+        int owner = distribution.owner(index);
+        long localIndex = distribution.localIndex(index);
+        if (owner == myId) {
+            return partition.get(localIndex);
+        }
+        OffHeapDoubleArray buffer = getBuffer(1);
+        group.asyncGet(owner, variable, localIndex, buffer, 0, 1).get();
+        return buffer.get(0);
+    }
+
+    public void set(long index, double value) {
+        int owner = distribution.owner(index);
+        long localIndex = distribution.localIndex(index);
+        if (owner == myId) {
+            partition.set(localIndex, value);
+            return;
+        }
+        OffHeapDoubleArray buffer = getBuffer(1);
+        buffer.set(0, value);
+        group.asyncPut(buffer, 0, 1, owner, variable, localIndex).get();
+    }
+
+    /**
+     * Copies global range of the array into heap array.
+     *
+     * @param index  global index of the first element
+     * @param dst    destination array
+     * @param offset offset in destination array
+     * @param length number of elements
+     */
+    public void get(long index, double[] dst, int offset, int length) {
+        transfer(index, dst, offset, length, false);
+    }
+
+    /**
+     * Copies heap array into global range of the array.
+     *
+     * @param index  global index of the first element
+     * @param src    source array
+     * @param offset offset in source array
+     * @param length number of elements
+     */
+    public void set(long index, double[] src, int offset, int length) {
+        transfer(index, src, offset, length, true);
+    }
+
+    private void transfer(long from, double[] array, int offset, int length, boolean put) {
+        if (from < 0 || length < 0 || from > distribution.length() - length) {
+            throw new ArrayIndexOutOfBoundsException("Range [" + from + ", " + (from + length) + ")"
+                                                             + " out of bounds for length " + distribution.length());
+        }
+        if (offset < 0 || offset > array.length - length) {
+            throw new ArrayIndexOutOfBoundsException("Range [" + offset + ", " + (offset + length) + ")"
+                                                             + " out of bounds for length " + array.length);
+        }
+        long to = from + length;
+
+        int threadCount = distribution.threadCount();
+        long[] localFrom = new long[threadCount];
+        long[] counts = new long[threadCount];
+        long[] bufferOffsets = new long[threadCount];
+        long bufferLength = 0;
+        for (int threadId = 0; threadId < threadCount; ++threadId) {
+            localFrom[threadId] = distribution.localOffset(threadId, from);
+            counts[threadId] = distribution.localOffset(threadId, to) - localFrom[threadId];
+            bufferOffsets[threadId] = bufferLength;
+            if (threadId != myId) {
+                bufferLength += counts[threadId];
+            }
+        }
+        OffHeapDoubleArray buffer = getBuffer(bufferLength);
+
+        if (put) {
+            copyRuns(from, to, array, offset, localFrom, bufferOffsets, buffer, true);
+        }
+
+        List<PcjFuture<Void>> futures = new ArrayList<>();
+        for (int threadId = 0; threadId < threadCount; ++threadId) {
+            if (threadId == myId || counts[threadId] == 0) {
+                continue;
+            }
+            if (put) {
+                futures.add(group.asyncPut(buffer, bufferOffsets[threadId], counts[threadId], threadId, variable, localFrom[threadId]));
+            } else {
+                futures.add(group.asyncGet(threadId, variable, localFrom[threadId], buffer, bufferOffsets[threadId], counts[threadId]));
+            }
+        }
+        DistributedArray.waitAll(futures);
+
+        if (!put) {
+            copyRuns(from, to, array, offset, localFrom, bufferOffsets, buffer, false);
+        }
+    }
+
+    private void copyRuns(long from, long to, double[] array, int offset,
+                          long[] localFrom, long[] bufferOffsets, OffHeapDoubleArray buffer, boolean put) {
+        for (long index = from; index < to; ) {
+            int owner = distribution.owner(index);
+            int run = (int) Math.min(distribution.runLength(index), to - index);
+            int arrayOffset = offset + (int) (index - from);
+
+            OffHeapDoubleArray chunk;
+            long chunkIndex;
+            if (owner == myId) {
+                chunk = partition;
+                chunkIndex = distribution.localIndex(index);
+            } else {
+                chunk = buffer;
+                chunkIndex = bufferOffsets[owner] + distribution.localIndex(index) - localFrom[owner];
+            }
+
+            if (put) {
+                if (run == 1) {
+                    chunk.set(chunkIndex, array[arrayOffset]);
+                } else {
+                    chunk.set(chunkIndex, array, arrayOffset, run);
+                }
+            } else {
+                if (run == 1) {
+                    array[arrayOffset] = chunk.get(chunkIndex);
+                } else {
+                    chunk.get(chunkIndex, array, arrayOffset, run);
+                }
+            }
+            index += run;
+        }
+    }
+
+    private OffHeapDoubleArray getBuffer(long length) {
+        if (buffer == null || buffer.length() < length) {
+            buffer = OffHeapDoubleArray.allocate(Math.max(length, 1024));
+        }
+        return buffer;
+    }
+}
@@ -0,0 +1,224 @@
+/*
+ * Copyright (c) 2011-2026, PCJ Library, Marek Nowicki
+ * All rights reserved.
+ *
+ * Licensed under New BSD License (3-clause license).
+ *
+ * See the file "LICENSE" for the full license governing this code.
+ */
+package org.pcj;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.pcj.internal.InternalGroup;
+import org.pcj.internal.message.map.MapOperation;
+
+/**
+ * Key-value map hash-partitioned among PCJ Threads of the group.
+ * <p>
+ * Local partition of each thread is {@link ConcurrentHashMap} stored in the
+ * shareable variable given on creation, so the variable has to be declared
+ * with type assignable from {@code ConcurrentHashMap}. Owner of the key is
+ * computed from {@link Object#hashCode()}, so keys have to have hash codes
+ * that are equal in all JVMs (like {@code String} or {@code Long}, but unlike
+ * enums or objects using identity hash code).
+ * <p>
+ * Batched operations group keys by owner and send single message per owner.
+ * Operations are performed by the owner of the keys. Keys and values that are
+ * all {@code Integer}, {@code Long}, {@code Double} or {@code String} are
+ * transferred without object serialization.
+ * <p>
+ * Object is local to the PCJ Thread that created it.
+ *
+ * @param <K> type of keys
+ * @param <V> type of values
+ * @author Marek Nowicki (faramir@mat.umk.pl)
+ */
+public final class DistributedMap<K, V> {
+
+    private final InternalGroup group;
+    private final Enum<?> variable;
+    private final int threadCount;
+    private final ConcurrentMap<K, V> partition;
+
+    private DistributedMap(InternalGroup group, Enum<?> variable, ConcurrentMap<K, V> partition) {
+        this.group = group;
+        this.variable = variable;
+        this.threadCount = group.threadCount();
+        this.partition = partition;
+    }
+
+    /**
+     * Creates map distributed among all PCJ Threads.
+     * <p>
+     * Has to be invoked by all PCJ Threads with the same arguments.
+     *
+     * @param <K>      type of keys
+     * @param <V>      type of values
+     * @param variable variable that holds local partition
+     * @return global view of the map
+     */
+    public static <K, V> DistributedMap<K, V> create(Enum<?> variable) {
+        return create(PCJ.getGlobalGroup(), variable);
+    }
+
+    /**
+     * Creates map distributed among PCJ Threads of the group.
+     * <p>
+     * Has to be invoked by all PCJ Threads of the group with the same
+     * arguments. Creates local partition, stores it in the variable and
+     * synchronizes with other threads.
+     *
+     * @param <K>      type of keys
+     * @param <V>      type of values
+     * @param group    group of threads
+     * @param variable variable that holds local partition
+     * @return global view of the map
+     */
+    public static <K, V> DistributedMap<K, V> create(Group group, Enum<?> variable) {
+        ConcurrentMap<K, V> partition = new ConcurrentHashMap<>();
+        PCJ.localPut(partition, variable);
+        group.asyncBarrier().get();
+
+        return new DistributedMap<>((InternalGroup) group, variable, partition);
+    }
+
+    /**
+     * Gets owner of the key.
+     *
+     * @param key key
+     * @return group thread id
+     */
+    public int owner(Object key) {
+        int hash = key.hashCode();
+        hash ^= (hash >>> 16);
+        return Math.floorMod(hash, threadCount);
+    }
+
+    /**
+     * Gets local partition of the current thread. Partition can be modified
+     * concurrently by operations of other threads.
+     *
+     * @return local partition
+     */
+    public ConcurrentMap<K, V> getLocalPartition() {
+        return partition;
+    }
+
+    public V get(K key) {
+        Map<K, V> result = getAll(Collections.singletonList(key));
+        return result.get(key);
+    }
+
+    public void put(K key, V value) {
+        putAll(Collections.singletonMap(key, value));
+    }
+
+    /**
+     * Merges value with the value associated with the key, like
+     * {@link Map#merge(Object, Object, java.util.function.BiFunction)}.
+     *
+     * @param key      key
+     * @param value    value to merge
+     * @param function function to merge values
+     */
+    public void merge(K key, V value, ReduceOperation<V> function) {
+        mergeAll(Collections.singletonMap(key, value), function);
+    }
+
+    /**
+     * Gets values associated with the keys. Keys without associated value are
+     * absent in the returned map.
+     *
+     * @param keys keys
+     * @return map of keys and values
+     */
+    @SuppressWarnings("unchecked")
+    public Map<K, V> getAll(Collection<? extends K> keys) {
+        List<List<Object>> keysByOwner = groupByOwner(keys);
+
+        List<PcjFuture<Object[]>> futures = new ArrayList<>(threadCount);
+        for (int threadId = 0; threadId < threadCount; ++threadId) {
+            List<Object> ownerKeys = keysByOwner.get(threadId);
+            futures.add(ownerKeys.isEmpty() ? null
+                                : group.asyncMapOperation(threadId, variable, MapOperation.GET_ALL, ownerKeys.toArray(), null, null));
+        }
+        DistributedArray.waitAll(futures);
+
+        Map<K, V> result = new HashMap<>();
+        for (int threadId = 0; threadId < threadCount; ++threadId) {
+            if (futures.get(threadId) == null) {
+                continue;
+            }
+            List<Object> ownerKeys = keysByOwner.get(threadId);
+            Object[] values = futures.get(threadId).get();
+            for (int i = 0; i < values.length; ++i) {
+                if (values[i] != null) {
+                    result.put((K) ownerKeys.get(i), (V) values[i]);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Associates values with the keys.
+     *
+     * @param map map of keys and values
+     */
+    public void putAll(Map<? extends K, ? extends V> map) {
+        updateAll(MapOperation.PUT_ALL, map, null);
+    }
+
+    /**
+     * Merges values with the values associated with the keys. Useful for
+     * counting, e.g. with {@link LongReduceOperation#SUM}.
+     *
+     * @param map      map of keys and values to merge
+     * @param function function to merge values
+     */
+    public void mergeAll(Map<? extends K, ? extends V> map, ReduceOperation<V> function) {
+        updateAll(MapOperation.MERGE_ALL, map, function);
+    }
+
+    private void updateAll(MapOperation operation, Map<? extends K, ? extends V> map, ReduceOperation<V> function) {
+        List<List<Object>> keysByOwner = new ArrayList<>(threadCount);
+        List<List<Object>> valuesByOwner = new ArrayList<>(threadCount);
+        for (int threadId = 0; threadId < threadCount; ++threadId) {
+            keysByOwner.add(new ArrayList<>());
+            valuesByOwner.add(new ArrayList<>());
+        }
+        for (Map.Entry<? extends K, ? extends V> entry : map.entrySet()) {
+            int owner = owner(entry.getKey());
+            keysByOwner.get(owner).add(entry.getKey());
+            valuesByOwner.get(owner).add(entry.getValue());
+        }
+
+        List<PcjFuture<Object[]>> futures = new ArrayList<>(threadCount);
+        for (int threadId = 0; threadId < threadCount; ++threadId) {
+            List<Object> ownerKeys = keysByOwner.get(threadId);
+            if (!ownerKeys.isEmpty()) {
+                futures.add(group.asyncMapOperation(threadId, variable, operation,
+                        ownerKeys.toArray(), valuesByOwner.get(threadId).toArray(), function));
+            }
+        }
+        DistributedArray.waitAll(futures);
+    }
+
+    private List<List<Object>> groupByOwner(Collection<? extends K> keys) {
+        List<List<Object>> keysByOwner = new ArrayList<>(threadCount);
+        for (int threadId = 0; threadId < threadCount; ++threadId) {
+            keysByOwner.add(new ArrayList<>());
+        }
+        for (K key : keys) {
+            keysByOwner.get(owner(key)).add(key);
+        }
+        return keysByOwner;
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2011-2026, PCJ Library, Marek Nowicki
+ * All rights reserved.
+ *
+ * Licensed under New BSD License (3-clause license).
+ *
+ * See the file "LICENSE" for the full license governing this code.
+ */
+package org.pcj;
+
+import java.io.Serializable;
+import java.util.stream.LongStream;
+
+/**
+ * Distribution of global array indices among PCJ Threads.
+ * <p>
+ * Array is divided into blocks of {@link #blockSize()} consecutive elements
+ * and the blocks are dealt to threads in round-robin fashion: block
+ * {@code b} is owned by thread {@code b % threadCount}. Block distribution
+ * uses one block per thread, and cyclic distribution uses blocks of single
+ * element.
+ * <p>
+ * Elements owned by thread are stored in its local partition in increasing
+ * order of global index, so any range of global indices maps to a single
+ * contiguous range of local indices on each thread.
+ *
+ * @author Marek Nowicki (faramir@mat.umk.pl)
+ */
+public final class Distribution implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+    private final long length;
+    private final int threadCount;
+    private final long blockSize;
+
+    private Distribution(long length, int threadCount, long blockSize) {
+        if (length < 0) {
+            throw new IllegalArgumentException("Negative length: " + length);
+        }
+        if (threadCount <= 0) {
+            throw new IllegalArgumentException("Illegal thread count: " + threadCount);
+        }
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Illegal block size: " + blockSize);
+        }
+        this.length = length;
+        this.threadCount = threadCount;
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * Creates block distribution: each thread owns single contiguous range of
+     * (almost) the same size.
+     *
+     * @param length      number of elements
+     * @param threadCount number of threads
+     * @return distribution
+     */
+    public static Distribution block(long length, int threadCount) {
+        return new Distribution(length, threadCount, Math.max(1, (length + threadCount - 1) / threadCount));
+    }
+
+    /**
+     * Creates cyclic distribution: element {@code i} is owned by thread
+     * {@code i % threadCount}.
+     *
+     * @param length      number of elements
+     * @param threadCount number of threads
+     * @return distribution
+     */
+    public static Distribution cyclic(long length, int threadCount) {
+        return new Distribution(length, threadCount, 1);
+    }
+
+    /**
+     * Creates block-cyclic distribution: blocks of {@code blockSize} elements
+     * are dealt to threads in round-robin fashion.
+     *
+     * @param length      number of elements
+     * @param threadCount number of threads
+     * @param blockSize   number of elements in block
+     * @return distribution
+     */
+    public static Distribution blockCyclic(long length, int threadCount, long blockSize) {
+        return new Distribution(length, threadCount, blockSize);
+    }
+
+    /**
+     * @return number of elements in the whole array
+     */
+    public long length() {
+        return length;
+    }
+
+    /**
+     * @return number of threads the array is distributed among
+     */
+    public int threadCount() {
+        return threadCount;
+    }
+
+    /**
+     * @return number of consecutive elements owned by the same thread
+     */
+    public long blockSize() {
+        return blockSize;
+    }
+
+    /**
+     * Gets owner of the element.
+     *
+     * @param globalIndex global index of the element
+     * @return thread id of the owner
+     */
+    public int owner(long globalIndex) {
+        checkIndex(globalIndex);
+        return (int) ((globalIndex / blockSize) % threadCount);
+    }
+
+    /**
+     * Gets index of the element in local partition of its owner.
+     *
+     * @param globalIndex global index of the element
+     * @return local index
+     */
+    public long localIndex(long globalIndex) {
+        checkIndex(globalIndex);
+        long block = globalIndex / blockSize;
+        return (block / threadCount) * blockSize + globalIndex % blockSize;
+    }
+
+    /**
+     * Gets global index of the element from local partition of the thread.
+     *
+     * @param threadId   owner of the element
+     * @param localIndex local index of the element
+     * @return global index
+     */
+    public long globalIndex(int threadId, long localIndex) {
+        long localBlock = localIndex / blockSize;
+        long globalIndex = (localBlock * threadCount + threadId) * blockSize + localIndex % blockSize;
+        checkIndex(globalIndex);
+        return globalIndex;
+    }
+
+    /**
+     * Gets number of elements owned by the thread.
+     *
+     * @param threadId thread id
+     * @return size of local partition
+     */
+    public long localLength(int threadId) {
+        return localOffset(threadId, length);
+    }
+
+    /**
+     * Gets number of elements owned by the thread with global index lower
+     * than given. Elements of global range {@code [from, to)} owned by the
+     * thread have local indices {@code [localOffset(threadId, from),
+     * localOffset(threadId, to))}.
+     *
+     * @param threadId    thread id
+     * @param globalIndex global index, from {@code 0} to {@link #length()}
+     * @return local index of the first owned element not lower than global index
+     */
+    public long localOffset(int threadId, long globalIndex) {
+        if (threadId < 0 || threadId >= threadCount) {
+            throw new IllegalArgumentException("Illegal thread id: " + threadId);
+        }
+        long fullBlocks = globalIndex / blockSize;
+        long offset = (fullBlocks / threadCount) * blockSize;
+
+        int lastOwner = (int) (fullBlocks % threadCount);
+        if (lastOwner > threadId) {
+            offset += blockSize;
+        } else if (lastOwner == threadId) {
+            offset += globalIndex % blockSize;
+        }
+        return offset;
+    }
+
+    /**
+     * Gets number of consecutive elements, starting from the given one,
+     * that are owned by the same thread.
+     *
+     * @param globalIndex global index of the first element
+     * @return length of run, at least {@code 1}
+     */
+    public long runLength(long globalIndex) {
+        checkIndex(globalIndex);
+        return Math.min(blockSize - globalIndex % blockSize, length - globalIndex);
+    }
+
+    /**
+     * Gets global indices of elements owned by the thread, in increasing
+     * order.
+     *
+     * @param threadId thread id
+     * @return stream of global indices
+     */
+    public LongStream indices(int threadId) {
+        return LongStream.range(0, localLength(threadId))
+                       .map(localIndex -> globalIndex(threadId, localIndex));
+    }
+
+    private void checkIndex(long globalIndex) {
+        if (globalIndex < 0 || globalIndex >= length) {
+            throw new ArrayIndexOutOfBoundsException("Index " + globalIndex + " out of bounds for length " + length);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Distribution[length=" + length + ", threadCount=" + threadCount + ", blockSize=" + blockSize + "]";
+    }
+}
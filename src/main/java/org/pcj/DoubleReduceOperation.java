@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2011-2026, PCJ Library, Marek Nowicki
+ * All rights reserved.
+ *
+ * Licensed under New BSD License (3-clause license).
+ *
+ * See the file "LICENSE" for the full license governing this code.
+ */
+package org.pcj;
+
+import org.pcj.internal.PrimitiveReduceOperations;
+
+/**
+ * Reduce operation specialized for {@code double} values.
+ * <p>
+ * When used with {@code double} variable (or element of {@code double[]} array),
+ * accumulate and reduce operations are performed on primitive values without
+ * boxing.
+ *
+ * @author Marek Nowicki (faramir@mat.umk.pl)
+ */
+@FunctionalInterface
+public interface DoubleReduceOperation extends ReduceOperation<Double> {
+
+    /**
+     * Sum of values.
+     */
+    DoubleReduceOperation SUM = new PrimitiveReduceOperations.DoubleOperation("SUM", (left, right) -> left + right);
+    /**
+     * Minimum of values.
+     */
+    DoubleReduceOperation MIN = new PrimitiveReduceOperations.DoubleOperation("MIN", (left, right) -> Math.min(left, right));
+    /**
+     * Maximum of values.
+     */
+    DoubleReduceOperation MAX = new PrimitiveReduceOperations.DoubleOperation("MAX", (left, right) -> Math.max(left, right));
+
+    /**
+     * Applies this operation to the given operands.
+     *
+     * @param left  the first operand
+     * @param right the second operand
+     * @return the operator result
+     */
+    double applyAsDouble(double left, double right);
+
+    /**
+     * Default method that unboxes operands and invokes the
+     * {@link #applyAsDouble(double, double)} method.
+     */
+    @Override
+    default Double apply(Double left, Double right) {
+        return applyAsDouble(left, right);
+    }
+
+    /**
+     * Returns operation that applies this operation to corresponding elements
+     * of {@code double[]} arrays of the same length.
+     * <p>
+     * Returned operation creates new array and does not modify its operands.
+     * It can be used in all-reduce operation to reduce large arrays in parts.
+     *
+     * @return element-wise operation
+     */
+    default ReduceOperation<double[]> elementwise() {
+        return new PrimitiveReduceOperations.DoubleArrayOperation(this);
+    }
+}
@@ -9,6 +9,7 @@
 package org.pcj;
 
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collector;
 
 /**
@@ -87,6 +88,48 @@ public interface Group {
      */
     <R> PcjFuture<R> asyncGet(int threadId, Enum<?> variable, int... indices);
 
+    /**
+     * Enables caching of values got from the shareable variable of other PCJ
+     * Threads by {@link #asyncGet(int, Enum, int...)}.
+     * <p>
+     * Cached value is returned without communication until the lease
+     * expires. After that, the value is sent again only if the variable was
+     * modified in the meantime. Cached values of the variable of PCJ Thread
+     * are discarded when current PCJ Thread puts, accumulates or atomically
+     * modifies the variable of that PCJ Thread. Modifications made by other
+     * PCJ Threads are visible after the lease expires.
+     * <p>
+     * Cache is local to current PCJ Thread and this group. Enabling caching
+     * of already cached variable discards its cached values.
+     *
+     * @param variable variable name
+     * @param lease    time the cached value is used without communication,
+     *                 {@code 0} means validating on every get
+     * @param unit     time unit of the lease
+     */
+    void enableReadCache(Enum<?> variable, long lease, TimeUnit unit);
+
+    /**
+     * Disables caching of values of the variable and discards cached values.
+     *
+     * @param variable variable name
+     */
+    void disableReadCache(Enum<?> variable);
+
+    /**
+     * Creates handle of shareable variable of PCJ Thread from the group.
+     * <p>
+     * Destination is resolved once, so repeated get, put and accumulate
+     * operations using the handle skip the lookups.
+     *
+     * @param <T>      the type of variable (or element)
+     * @param threadId current group PCJ Thread id
+     * @param variable variable name
+     * @param indices  (optional) indices for array variable
+     * @return handle of the variable
+     */
+    <T> RemoteRef<T> ref(int threadId, Enum<?> variable, int... indices);
+
     /**
      * Asynchronous gather operation.
      * <p>
@@ -114,6 +157,109 @@ public interface Group {
      */
     <R> PcjFuture<R> asyncReduce(ReduceOperation<R> function, Enum<?> variable, int... indices);
 
+    /**
+     * Asynchronous all-reduce operation.
+     * <p>
+     * Reduces value of shareable variable from all PCJ Threads from the group,
+     * and returns the result to all of them. All PCJ Threads from the group
+     * have to call the operation, and the variable should not be modified
+     * before the operation is completed. The function should be associative
+     * and commutative. Large primitive arrays are reduced efficiently using
+     * element-wise operation, e.g. {@code DoubleReduceOperation.SUM.elementwise()}.
+     *
+     * @param <R>      the type of the result
+     * @param function reduce function
+     * @param variable variable name
+     * @param indices  (optional) indices for array variable
+     * @return {@link org.pcj.PcjFuture} that will contain reduced shareable variable value
+     */
+    <R> PcjFuture<R> asyncAllReduce(ReduceOperation<R> function, Enum<?> variable, int... indices);
+
+    /**
+     * Asynchronous all-gather operation.
+     * <p>
+     * Gathers values of shareable variable from all PCJ Threads from the
+     * group, and returns the map of values to all of them. Map key is the PCJ
+     * Thread id in the group. All PCJ Threads from the group have to call the
+     * operation.
+     *
+     * @param <R>      the type of the gathered value
+     * @param variable variable name
+     * @param indices  (optional) indices for array variable
+     * @return {@link org.pcj.PcjFuture} that will contain map of gathered values
+     */
+    <R> PcjFuture<Map<Integer, R>> asyncAllGather(Enum<?> variable, int... indices);
+
+    /**
+     * Asynchronous reduce-scatter operation.
+     * <p>
+     * Reduces element-wise primitive arrays from all PCJ Threads from the
+     * group, and splits the result into consecutive blocks: each PCJ Thread
+     * gets the block with its id in the group. Blocks sizes differ by at most
+     * one element. All PCJ Threads from the group have to call the operation
+     * with arrays of the same length, and the function has to be element-wise
+     * operation, e.g. {@code DoubleReduceOperation.SUM.elementwise()}.
+     *
+     * @param <R>      the type of the array
+     * @param function element-wise reduce function
+     * @param variable variable name
+     * @param indices  (optional) indices for array variable
+     * @return {@link org.pcj.PcjFuture} that will contain the block of reduced array
+     * @throws IllegalArgumentException when the function is not element-wise operation
+     */
+    <R> PcjFuture<R> asyncReduceScatter(ReduceOperation<R> function, Enum<?> variable, int... indices);
+
+    /**
+     * Asynchronous all-to-all operation.
+     * <p>
+     * Every PCJ Thread from the group sends separate value to every PCJ
+     * Thread from the group. The values are taken from the map, where key is
+     * the destination PCJ Thread id in the group. Only values for existing
+     * thread ids are sent. All PCJ Threads from the group have to call the
+     * operation. Values sent to PCJ Threads running on the same node are
+     * cloned.
+     *
+     * @param <T>    the type of the value
+     * @param values map of values to send
+     * @return {@link org.pcj.PcjFuture} that will contain map of received
+     * values, where key is the source PCJ Thread id in the group
+     */
+    <T> PcjFuture<Map<Integer, T>> asyncAllToAll(Map<Integer, T> values);
+
+    /**
+     * Asynchronous scan (inclusive prefix reduction) operation.
+     * <p>
+     * PCJ Thread with id {@code i} in the group gets value of shareable
+     * variable reduced over PCJ Threads with ids {@code 0..i}, in order of
+     * ids. All PCJ Threads from the group have to call the operation. The
+     * function should be associative, but does not have to be commutative.
+     *
+     * @param <R>      the type of the result
+     * @param function reduce function
+     * @param variable variable name
+     * @param indices  (optional) indices for array variable
+     * @return {@link org.pcj.PcjFuture} that will contain reduced value
+     */
+    <R> PcjFuture<R> asyncScan(ReduceOperation<R> function, Enum<?> variable, int... indices);
+
+    /**
+     * Asynchronous exclusive scan (exclusive prefix reduction) operation.
+     * <p>
+     * PCJ Thread with id {@code i} in the group gets value of shareable
+     * variable reduced over PCJ Threads with ids {@code 0..i-1}, in order of
+     * ids. PCJ Thread with id {@code 0} gets identity element of the
+     * predefined operation (e.g. {@code 0L} for {@code LongReduceOperation.SUM}),
+     * or {@code null} for other functions. All PCJ Threads from the group have
+     * to call the operation.
+     *
+     * @param <R>      the type of the result
+     * @param function reduce function
+     * @param variable variable name
+     * @param indices  (optional) indices for array variable
+     * @return {@link org.pcj.PcjFuture} that will contain reduced value
+     */
+    <R> PcjFuture<R> asyncExscan(ReduceOperation<R> function, Enum<?> variable, int... indices);
+
     /**
      * Asynchronous collect operation.
      * <p>
@@ -143,6 +289,58 @@ public interface Group {
      */
     <T> PcjFuture<Void> asyncPut(T newValue, int threadId, Enum<?> variable, int... indices);
 
+    /**
+     * Asynchronous multicast put operation.
+     * <p>
+     * Puts the same value into shareable variable of each of PCJ Threads from the group.
+     * Value is serialized once and single message is sent to each node of the PCJ Threads.
+     * Upon successful completion increases modification count of the shareable variable by one
+     * on each of the PCJ Threads.
+     *
+     * @param <T>       the type of value
+     * @param newValue  new variable value
+     * @param threadIds current group PCJ Thread ids
+     * @param variable  variable name
+     * @param indices   (optional) indices for array variable
+     * @return {@link org.pcj.PcjFuture} for checking the operation state
+     */
+    <T> PcjFuture<Void> asyncPut(T newValue, int[] threadIds, Enum<?> variable, int... indices);
+
+    /**
+     * Asynchronous get operation for off-heap arrays.
+     * <p>
+     * Copies elements of off-heap array stored in shareable variable of PCJ
+     * Thread from the group into local off-heap array. Raw bytes are transferred
+     * without serialization.
+     *
+     * @param threadId    current group PCJ Thread id
+     * @param variable    variable name holding {@link OffHeapArray}
+     * @param index       index of the first element in remote array
+     * @param target      local array of the same element type
+     * @param targetIndex index of the first element in local array
+     * @param length      number of elements
+     * @return {@link org.pcj.PcjFuture} for checking the operation state
+     */
+    PcjFuture<Void> asyncGet(int threadId, Enum<?> variable, long index, OffHeapArray target, long targetIndex, long length);
+
+    /**
+     * Asynchronous put operation for off-heap arrays.
+     * <p>
+     * Copies elements of local off-heap array into off-heap array stored in
+     * shareable variable of PCJ Thread from the group. Raw bytes are transferred
+     * without serialization. Upon successful completion increases modification
+     * count of the shareable variable by one.
+     *
+     * @param source      local array of the same element type
+     * @param sourceIndex index of the first element in local array
+     * @param length      number of elements
+     * @param threadId    current group PCJ Thread id
+     * @param variable    variable name holding {@link OffHeapArray}
+     * @param index       index of the first element in remote array
+     * @return {@link org.pcj.PcjFuture} for checking the operation state
+     */
+    PcjFuture<Void> asyncPut(OffHeapArray source, long sourceIndex, long length, int threadId, Enum<?> variable, long index);
+
     /**
      * Asynchronous accumulate operation.
      * <p>
@@ -159,6 +357,54 @@ public interface Group {
      */
     <T> PcjFuture<Void> asyncAccumulate(ReduceOperation<T> function, T newValue, int threadId, Enum<?> variable, int... indices);
 
+    /**
+     * Asynchronous fetch-and-add operation.
+     * <p>
+     * Atomically adds value to numeric shareable variable of PCJ thread from the group.
+     * Upon successful completion increases modification count of the shareable variable by one.
+     *
+     * @param <T>      the type of value
+     * @param delta    value to add
+     * @param threadId current group PCJ Thread id
+     * @param variable variable name
+     * @param indices  (optional) indices for array variable
+     * @return {@link org.pcj.PcjFuture} that will contain previous shareable variable value
+     */
+    <T> PcjFuture<T> asyncFetchAndAdd(T delta, int threadId, Enum<?> variable, int... indices);
+
+    /**
+     * Asynchronous compare-and-set operation.
+     * <p>
+     * Atomically sets shareable variable of PCJ thread from the group to the new value
+     * if the current value equals expected value.
+     * Upon successful update increases modification count of the shareable variable by one.
+     *
+     * @param <T>           the type of value
+     * @param expectedValue expected variable value
+     * @param newValue      new variable value
+     * @param threadId      current group PCJ Thread id
+     * @param variable      variable name
+     * @param indices       (optional) indices for array variable
+     * @return {@link org.pcj.PcjFuture} that will contain previous shareable variable value;
+     * the operation succeeded if it equals expected value
+     */
+    <T> PcjFuture<T> asyncCompareAndSet(T expectedValue, T newValue, int threadId, Enum<?> variable, int... indices);
+
+    /**
+     * Asynchronous get-and-set operation.
+     * <p>
+     * Atomically sets shareable variable of PCJ thread from the group to the new value.
+     * Upon successful completion increases modification count of the shareable variable by one.
+     *
+     * @param <T>      the type of value
+     * @param newValue new variable value
+     * @param threadId current group PCJ Thread id
+     * @param variable variable name
+     * @param indices  (optional) indices for array variable
+     * @return {@link org.pcj.PcjFuture} that will contain previous shareable variable value
+     */
+    <T> PcjFuture<T> asyncGetAndSet(T newValue, int threadId, Enum<?> variable, int... indices);
+
     /**
      * Asynchronous broadcast operation.
      * <p>
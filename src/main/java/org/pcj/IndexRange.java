@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2011-2026, PCJ Library, Marek Nowicki
+ * All rights reserved.
+ *
+ * Licensed under New BSD License (3-clause license).
+ *
+ * See the file "LICENSE" for the full license governing this code.
+ */
+package org.pcj;
+
+import java.io.Serializable;
+
+/**
+ * Range of array indices: from {@link #from()} inclusive to {@link #to()}
+ * exclusive.
+ *
+ * @author Marek Nowicki (faramir@mat.umk.pl)
+ */
+public final class IndexRange implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+    private final long from;
+    private final long to;
+
+    public IndexRange(long from, long to) {
+        if (from < 0 || to < from) {
+            throw new IllegalArgumentException("Illegal range: [" + from + ", " + to + ")");
+        }
+        this.from = from;
+        this.to = to;
+    }
+
+    public long from() {
+        return from;
+    }
+
+    public long to() {
+        return to;
+    }
+
+    public long length() {
+        return to - from;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof IndexRange)) {
+            return false;
+        }
+        IndexRange other = (IndexRange) obj;
+        return from == other.from && to == other.to;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(from) * 31 + Long.hashCode(to);
+    }
+
+    @Override
+    public String toString() {
+        return "[" + from + ", " + to + ")";
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2011-2026, PCJ Library, Marek Nowicki
+ * All rights reserved.
+ *
+ * Licensed under New BSD License (3-clause license).
+ *
+ * See the file "LICENSE" for the full license governing this code.
+ */
+package org.pcj;
+
+import org.pcj.internal.PrimitiveReduceOperations;
+
+/**
+ * Reduce operation specialized for {@code int} values.
+ * <p>
+ * When used with {@code int} variable (or element of {@code int[]} array),
+ * accumulate and reduce operations are performed on primitive values without
+ * boxing.
+ *
+ * @author Marek Nowicki (faramir@mat.umk.pl)
+ */
+@FunctionalInterface
+public interface IntReduceOperation extends ReduceOperation<Integer> {
+
+    /**
+     * Sum of values.
+     */
+    IntReduceOperation SUM = new PrimitiveReduceOperations.IntOperation("SUM", (left, right) -> left + right);
+    /**
+     * Minimum of values.
+     */
+    IntReduceOperation MIN = new PrimitiveReduceOperations.IntOperation("MIN", (left, right) -> Math.min(left, right));
+    /**
+     * Maximum of values.
+     */
+    IntReduceOperation MAX = new PrimitiveReduceOperations.IntOperation("MAX", (left, right) -> Math.max(left, right));
+    /**
+     * Bitwise AND of values.
+     */
+    IntReduceOperation AND = new PrimitiveReduceOperations.IntOperation("AND", (left, right) -> left & right);
+    /**
+     * Bitwise OR of values.
+     */
+    IntReduceOperation OR = new PrimitiveReduceOperations.IntOperation("OR", (left, right) -> left | right);
+    /**
+     * Bitwise XOR of values.
+     */
+    IntReduceOperation XOR = new PrimitiveReduceOperations.IntOperation("XOR", (left, right) -> left ^ right);
+
+    /**
+     * Applies this operation to the given operands.
+     *
+     * @param left  the first operand
+     * @param right the second operand
+     * @return the operator result
+     */
+    int applyAsInt(int left, int right);
+
+    /**
+     * Default method that unboxes operands and invokes the
+     * {@link #applyAsInt(int, int)} method.
+     */
+    @Override
+    default Integer apply(Integer left, Integer right) {
+        return applyAsInt(left, right);
+    }
+
+    /**
+     * Returns operation that applies this operation to corresponding elements
+     * of {@code int[]} arrays of the same length.
+     * <p>
+     * Returned operation creates new array and does not modify its operands.
+     * It can be used in all-reduce operation to reduce large arrays in parts.
+     *
+     * @return element-wise operation
+     */
+    default ReduceOperation<int[]> elementwise() {
+        return new PrimitiveReduceOperations.IntArrayOperation(this);
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2011-2026, PCJ Library, Marek Nowicki
+ * All rights reserved.
+ *
+ * Licensed under New BSD License (3-clause license).
+ *
+ * See the file "LICENSE" for the full license governing this code.
+ */
+package org.pcj;
+
+import org.pcj.internal.PrimitiveReduceOperations;
+
+/**
+ * Reduce operation specialized for {@code long} values.
+ * <p>
+ * When used with {@code long} variable (or element of {@code long[]} array),
+ * accumulate and reduce operations are performed on primitive values without
+ * boxing.
+ *
+ * @author Marek Nowicki (faramir@mat.umk.pl)
+ */
+@FunctionalInterface
+public interface LongReduceOperation extends ReduceOperation<Long> {
+
+    /**
+     * Sum of values.
+     */
+    LongReduceOperation SUM = new PrimitiveReduceOperations.LongOperation("SUM", (left, right) -> left + right);
+    /**
+     * Minimum of values.
+     */
+    LongReduceOperation MIN = new PrimitiveReduceOperations.LongOperation("MIN", (left, right) -> Math.min(left, right));
+    /**
+     * Maximum of values.
+     */
+    LongReduceOperation MAX = new PrimitiveReduceOperations.LongOperation("MAX", (left, right) -> Math.max(left, right));
+    /**
+     * Bitwise AND of values.
+     */
+    LongReduceOperation AND = new PrimitiveReduceOperations.LongOperation("AND", (left, right) -> left & right);
+    /**
+     * Bitwise OR of values.
+     */
+    LongReduceOperation OR = new PrimitiveReduceOperations.LongOperation("OR", (left, right) -> left | right);
+    /**
+     * Bitwise XOR of values.
+     */
+    LongReduceOperation XOR = new PrimitiveReduceOperations.LongOperation("XOR", (left, right) -> left ^ right);
+
+    /**
+     * Applies this operation to the given operands.
+     *
+     * @param left  the first operand
+     * @param right the second operand
+     * @return the operator result
+     */
+    long applyAsLong(long left, long right);
+
+    /**
+     * Default method that unboxes operands and invokes the
+     * {@link #applyAsLong(long, long)} method.
+     */
+    @Override
+    default Long apply(Long left, Long right) {
+        return applyAsLong(left, right);
+    }
+
+    /**
+     * Returns operation that applies this operation to corresponding elements
+     * of {@code long[]} arrays of the same length.
+     * <p>
+     * Returned operation creates new array and does not modify its operands.
+     * It can be used in all-reduce operation to reduce large arrays in parts.
+     *
+     * @return element-wise operation
+     */
+    default ReduceOperation<long[]> elementwise() {
+        return new PrimitiveReduceOperations.LongArrayOperation(this);
+    }
+}
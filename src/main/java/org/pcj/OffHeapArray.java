@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2011-2026, PCJ Library, Marek Nowicki
+ * All rights reserved.
+ *
+ * Licensed under New BSD License (3-clause license).
+ *
+ * See the file "LICENSE" for the full license governing this code.
+ */
+package org.pcj;
+
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import org.pcj.internal.OffHeapMemory;
+
+/**
+ * Primitive array stored outside of the Java heap.
+ * <p>
+ * Local partition of the array lives in direct or memory-mapped
+ * {@link ByteBuffer}s, so it is not managed by garbage collector and can hold
+ * more than 2<sup>31</sup> elements. Array can be stored in shareable
+ * variable and its ranges can be transferred between threads using
+ * {@link PCJ#asyncGet(int, Enum, long, OffHeapArray, long, long)} and
+ * {@link PCJ#asyncPut(OffHeapArray, long, long, int, Enum, long)} methods.
+ * Those methods copy raw bytes between network buffers and the partition
+ * without serialization.
+ * <p>
+ * When serialized, e.g. by {@link PCJ#get(int, Enum, int...)}, the whole
+ * array is copied into on-heap stream and deserialized into new direct
+ * memory.
+ * <p>
+ * Array is not thread-safe. Concurrent access to the same elements has to
+ * be synchronized by user, as for ordinary arrays.
+ *
+ * @author Marek Nowicki (faramir@mat.umk.pl)
+ */
+public abstract class OffHeapArray implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+    private final OffHeapMemory memory;
+    private final int elementBytes;
+    private final long length;
+
+    OffHeapArray(OffHeapMemory memory, int elementBytes) {
+        this.memory = memory;
+        this.elementBytes = elementBytes;
+        this.length = memory.byteLength() / elementBytes;
+    }
+
+    static long byteLength(long length, int elementBytes) {
+        if (length < 0 || length > Long.MAX_VALUE / elementBytes) {
+            throw new IllegalArgumentException("Illegal array length: " + length);
+        }
+        return length * elementBytes;
+    }
+
+    /**
+     * Gets number of elements in the array.
+     *
+     * @return length of the array
+     */
+    public final long length() {
+        return length;
+    }
+
+    /**
+     * Gets size of single element in bytes.
+     *
+     * @return size of element
+     */
+    public final int elementBytes() {
+        return elementBytes;
+    }
+
+    /**
+     * Checks if the array is backed by memory-mapped file.
+     *
+     * @return true if array is memory-mapped
+     */
+    public final boolean isMapped() {
+        return memory.isMapped();
+    }
+
+    /**
+     * Forces any changes made to memory-mapped array to be written to the
+     * file. Does nothing for array not backed by file.
+     */
+    public final void force() {
+        memory.force();
+    }
+
+    /**
+     * Gets memory backing the array. For internal use.
+     *
+     * @return memory of the array
+     */
+    public final OffHeapMemory getMemory() {
+        return memory;
+    }
+
+    final long byteOffset(long index, long count) {
+        if (index < 0 || count < 0 || index > length - count) {
+            throw new ArrayIndexOutOfBoundsException("Range [" + index + ", " + (index + count) + ")"
+                                                             + " out of bounds for length " + length);
+        }
+        return index * elementBytes;
+    }
+
+    final Object writeReplace() {
+        return new SerializedForm(this);
+    }
+
+    private void readObject(ObjectInputStream in) throws InvalidObjectException {
+        throw new InvalidObjectException("Serialized form required");
+    }
+
+    private static final class SerializedForm implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+        private static final int BUFFER_SIZE = 8192;
+        private transient OffHeapArray array;
+
+        private SerializedForm(OffHeapArray array) {
+            this.array = array;
+        }
+
+        private void writeObject(ObjectOutputStream out) throws IOException {
+            out.writeObject(array.getClass());
+            out.writeLong(array.length);
+
+            OffHeapMemory memory = array.getMemory();
+            byte[] buffer = new byte[BUFFER_SIZE];
+            for (long byteOffset = 0; byteOffset < memory.byteLength(); byteOffset += BUFFER_SIZE) {
+                ByteBuffer slice = memory.slice(byteOffset, BUFFER_SIZE);
+                int size = slice.remaining();
+                slice.get(buffer, 0, size);
+                out.write(buffer, 0, size);
+            }
+        }
+
+        private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+            Class<?> arrayClass = (Class<?>) in.readObject();
+            long length = in.readLong();
+
+            if (arrayClass == OffHeapIntArray.class) {
+                array = OffHeapIntArray.allocate(length);
+            } else if (arrayClass == OffHeapLongArray.class) {
+                array = OffHeapLongArray.allocate(length);
+            } else if (arrayClass == OffHeapDoubleArray.class) {
+                array = OffHeapDoubleArray.allocate(length);
+            } else {
+                throw new InvalidObjectException("Unknown off-heap array: " + arrayClass);
+            }
+
+            OffHeapMemory memory = array.getMemory();
+            byte[] buffer = new byte[BUFFER_SIZE];
+            for (long byteOffset = 0; byteOffset < memory.byteLength(); byteOffset += BUFFER_SIZE) {
+                ByteBuffer slice = memory.slice(byteOffset, BUFFER_SIZE);
+                int size = slice.remaining();
+                in.readFully(buffer, 0, size);
+                slice.put(buffer, 0, size);
+            }
+        }
+
+        private Object readResolve() {
+            return array;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2011-2026, PCJ Library, Marek Nowicki
+ * All rights reserved.
+ *
+ * Licensed under New BSD License (3-clause license).
+ *
+ * See the file "LICENSE" for the full license governing this code.
+ */
+package org.pcj;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import org.pcj.internal.OffHeapMemory;
+
+/**
+ * Off-heap array of {@code double} values.
+ *
+ * @author Marek Nowicki (faramir@mat.umk.pl)
+ * @see OffHeapArray
+ */
+public final class OffHeapDoubleArray extends OffHeapArray {
+
+    private OffHeapDoubleArray(OffHeapMemory memory) {
+        super(memory, Double.BYTES);
+    }
+
+    /**
+     * Allocates new array in direct memory. Elements are initialized to zero.
+     *
+     * @param length number of elements
+     * @return new array
+     */
+    public static OffHeapDoubleArray allocate(long length) {
+        return new OffHeapDoubleArray(OffHeapMemory.allocate(byteLength(length, Double.BYTES)));
+    }
+
+    /**
+     * Maps array onto the file. File is created or extended if necessary.
+     *
+     * @param path   path to the file
+     * @param length number of elements
+     * @return new array
+     * @throws IOException if mapping the file failed
+     */
+    public static OffHeapDoubleArray map(Path path, long length) throws IOException {
+        return new OffHeapDoubleArray(OffHeapMemory.map(path, byteLength(length, Double.BYTES)));
+    }
+
+    /**
+     * Gets value of the element.
+     *
+     * @param index index of the element
+     * @return value of the element
+     */
+    public double get(long index) {
+        long byteOffset = byteOffset(index, 1);
+        OffHeapMemory memory = getMemory();
+        return memory.segment(byteOffset).getDouble(memory.segmentOffset(byteOffset));
+    }
+
+    /**
+     * Sets value of the element.
+     *
+     * @param index index of the element
+     * @param value new value
+     */
+    public void set(long index, double value) {
+        long byteOffset = byteOffset(index, 1);
+        OffHeapMemory memory = getMemory();
+        memory.segment(byteOffset).putDouble(memory.segmentOffset(byteOffset), value);
+    }
+
+    /**
+     * Copies elements into the heap array.
+     *
+     * @param index  index of the first element to copy
+     * @param dst    destination array
+     * @param offset offset in destination array
+     * @param length number of elements to copy
+     */
+    public void get(long index, double[] dst, int offset, int length) {
+        long byteOffset = byteOffset(index, length);
+        OffHeapMemory memory = getMemory();
+        while (length > 0) {
+            ByteBuffer slice = memory.slice(byteOffset, (long) length * Double.BYTES);
+            int count = slice.remaining() / Double.BYTES;
+
+            slice.asDoubleBuffer().get(dst, offset, count);
+
+            byteOffset += slice.remaining();
+            offset += count;
+            length -= count;
+        }
+    }
+
+    /**
+     * Copies elements from the heap array.
+     *
+     * @param index  index of the first element to overwrite
+     * @param src    source array
+     * @param offset offset in source array
+     * @param length number of elements to copy
+     */
+    public void set(long index, double[] src, int offset, int length) {
+        long byteOffset = byteOffset(index, length);
+        OffHeapMemory memory = getMemory();
+        while (length > 0) {
+            ByteBuffer slice = memory.slice(byteOffset, (long) length * Double.BYTES);
+            int count = slice.remaining() / Double.BYTES;
+
+            slice.asDoubleBuffer().put(src, offset, count);
+
+            byteOffset += slice.remaining();
+            offset += count;
+            length -= count;
+        }
+    }
+}
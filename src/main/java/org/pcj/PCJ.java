@@ -8,6 +8,9 @@
  */
 package org.pcj;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.TimeUnit;
@@ -292,6 +295,181 @@ public final class PCJ {
         return PcjThread.getCurrentThreadData().getStorages().waitFor(variable, count, timeout, unit);
     }
 
+    /**
+     * Asynchronously waits for modification of the specified shareable variable.
+     * <p>
+     * Upon completion, the modification counter is decreased by one.
+     *
+     * @param variable shareable variable
+     * @return {@link PcjFuture} that will contain remaining modification count
+     */
+    public static PcjFuture<Integer> asyncWaitFor(Enum<?> variable) {
+        return asyncWaitFor(variable, 1);
+    }
+
+    /**
+     * Asynchronously waits for at least {@code count} modifications of the specified shareable variable.
+     * <p>
+     * No thread is blocked while waiting: the future is completed by the thread that modifies the variable.
+     * Upon completion, the modification counter is decreased by {@code count}.
+     *
+     * @param variable shareable variable
+     * @param count    number of modifications
+     * @return {@link PcjFuture} that will contain remaining modification count
+     */
+    public static PcjFuture<Integer> asyncWaitFor(Enum<?> variable, int count) {
+        return PcjThread.getCurrentThreadData().getStorages().asyncWaitFor(variable, count);
+    }
+
+    /**
+     * Asynchronously waits for modification of any of the specified shareable variables.
+     * <p>
+     * Upon completion, the modification counter of the modified variable is decreased by one.
+     *
+     * @param variables shareable variables
+     * @return {@link PcjFuture} that will contain modified variable
+     */
+    public static PcjFuture<Enum<?>> asyncWaitForAny(Enum<?>... variables) {
+        return PcjThread.getCurrentThreadData().getStorages().asyncWaitForAny(variables);
+    }
+
+    /**
+     * Waits for modification of any of the specified shareable variables.
+     * <p>
+     * Wrapper for {@link #asyncWaitForAny(Enum...)}.
+     * <p>
+     * It is the equivalent to call:
+     * <blockquote>{@code PCJ.asyncWaitForAny(variables).get();}</blockquote>
+     *
+     * @param variables shareable variables
+     * @return modified variable, which modification counter was decreased by one
+     */
+    public static Enum<?> waitForAny(Enum<?>... variables) {
+        return asyncWaitForAny(variables).get();
+    }
+
+    /**
+     * Starts tracking of modified elements of the specified shareable array variable of the current PCJ Thread.
+     * <p>
+     * Elements of the first dimension are tracked in blocks of {@code blockSize} elements. Put, accumulate and
+     * atomic operations on elements mark their blocks as modified, and assigning the whole variable marks all
+     * elements. Modifications made directly on the local reference are not tracked.
+     *
+     * @param variable  shareable variable
+     * @param blockSize number of elements in block
+     */
+    public static void enableDirtyTracking(Enum<?> variable, int blockSize) {
+        PcjThread.getCurrentThreadData().getStorages().enableDirtyTracking(variable, blockSize);
+    }
+
+    /**
+     * Stops tracking of modified elements of the specified shareable variable of the current PCJ Thread.
+     *
+     * @param variable shareable variable
+     */
+    public static void disableDirtyTracking(Enum<?> variable) {
+        PcjThread.getCurrentThreadData().getStorages().disableDirtyTracking(variable);
+    }
+
+    /**
+     * Gets ranges of elements of the specified shareable variable of the current PCJ Thread
+     * modified since the previous call, and clears them.
+     * <p>
+     * Ranges are rounded to the blocks, sorted and do not overlap.
+     *
+     * @param variable shareable variable
+     * @return list of modified ranges of indices of the first dimension
+     * @throws IllegalStateException if tracking is not enabled for the variable
+     */
+    public static List<IndexRange> pollDirtyRanges(Enum<?> variable) {
+        return PcjThread.getCurrentThreadData().getStorages().pollDirtyRanges(variable);
+    }
+
+    /**
+     * Writes values of all shareable variables of all PCJ Threads to files in
+     * the specified directory.
+     * <p>
+     * Checkpoint is collective operation: all PCJ Threads have to call it with
+     * the same directory. Variables are written after barrier and the method
+     * returns after next barrier, so no PCJ Thread modifies variables during
+     * checkpoint, if there is no pending asynchronous operation. Each PCJ Thread
+     * writes its variables to own subdirectory, one file per variable. Primitive
+     * values and primitive arrays are stored as raw data, other values are
+     * serialized.
+     *
+     * @param directory checkpoint directory
+     * @return number of variables written by the current PCJ Thread
+     * @throws PcjRuntimeException when writing variables failed
+     * @see #restore(Path)
+     */
+    public static int checkpoint(Path directory) throws PcjRuntimeException {
+        return checkpoint(directory, false);
+    }
+
+    /**
+     * Writes values of all shareable variables of all PCJ Threads to files in
+     * the specified directory, optionally skipping not modified variables.
+     * <p>
+     * In incremental mode, variables that were not modified by PCJ operations
+     * (like put or accumulate) since previous checkpoint to the same directory
+     * are not written again. Modifications made by assigning value directly to
+     * the field of storage object are not detected.
+     *
+     * @param directory   checkpoint directory
+     * @param incremental skip variables not modified by PCJ operations
+     * @return number of variables written by the current PCJ Thread
+     * @throws PcjRuntimeException when writing variables failed
+     * @see #checkpoint(Path)
+     */
+    public static int checkpoint(Path directory, boolean incremental) throws PcjRuntimeException {
+        PCJ.barrier();
+        PcjRuntimeException exception = null;
+        int written = 0;
+        try {
+            written = PcjThread.getCurrentThreadData().getStorages().checkpoint(directory, PCJ.myId(), incremental);
+        } catch (IOException ex) {
+            exception = new PcjRuntimeException("Checkpoint to " + directory + " failed", ex);
+        }
+        PCJ.barrier();
+        if (exception != null) {
+            throw exception;
+        }
+        return written;
+    }
+
+    /**
+     * Restores values of all shareable variables of all PCJ Threads from the
+     * specified checkpoint directory.
+     * <p>
+     * Restore is collective operation. Variables are restored between barriers.
+     * Variables without checkpoint file are left unchanged. Restored variables
+     * are not counted as modifications by {@link #waitFor(Enum)}.
+     * <p>
+     * Variables can be also restored before start of execution, by setting
+     * {@code pcj.checkpoint.restore} property to the checkpoint directory.
+     *
+     * @param directory checkpoint directory
+     * @return number of variables restored by the current PCJ Thread
+     * @throws PcjRuntimeException when there is no checkpoint of the current
+     *                             PCJ Thread or reading variables failed
+     * @see #checkpoint(Path)
+     */
+    public static int restore(Path directory) throws PcjRuntimeException {
+        PCJ.barrier();
+        PcjRuntimeException exception = null;
+        int restored = 0;
+        try {
+            restored = PcjThread.getCurrentThreadData().getStorages().restore(directory, PCJ.myId());
+        } catch (IOException ex) {
+            exception = new PcjRuntimeException("Restore from " + directory + " failed", ex);
+        }
+        PCJ.barrier();
+        if (exception != null) {
+            throw exception;
+        }
+        return restored;
+    }
+
     /**
      * This function will be removed: use {@link #localGet(Enum, int...)} instead.
      * <p>
@@ -434,6 +612,43 @@ public final class PCJ {
         return PCJ.<T>asyncGet(threadId, variable, indices).get();
     }
 
+    /**
+     * Enables caching of values got from the shareable variable of other PCJ
+     * Threads in the global group.
+     *
+     * @param variable variable name
+     * @param lease    time the cached value is used without communication
+     * @param unit     time unit of the lease
+     * @see Group#enableReadCache(Enum, long, TimeUnit)
+     */
+    public static void enableReadCache(Enum<?> variable, long lease, TimeUnit unit) {
+        getGlobalGroup().enableReadCache(variable, lease, unit);
+    }
+
+    /**
+     * Disables caching of values of the variable in the global group.
+     *
+     * @param variable variable name
+     * @see Group#disableReadCache(Enum)
+     */
+    public static void disableReadCache(Enum<?> variable) {
+        getGlobalGroup().disableReadCache(variable);
+    }
+
+    /**
+     * Creates handle of the specified shareable variable of PCJ Thread from the global group.
+     *
+     * @param <T>      the type of variable (or element)
+     * @param threadId global PCJ Thread id
+     * @param variable variable name
+     * @param indices  (optional) indices for array variable
+     * @return handle of the variable
+     * @see Group#ref(int, Enum, int...)
+     */
+    public static <T> RemoteRef<T> ref(int threadId, Enum<?> variable, int... indices) {
+        return getGlobalGroup().ref(threadId, variable, indices);
+    }
+
     /**
      * Asynchronous gather operation.
      * <p>
@@ -501,6 +716,216 @@ public final class PCJ {
         return PCJ.asyncReduce(function, variable, indices).get();
     }
 
+    /**
+     * Asynchronous all-reduce operation.
+     * <p>
+     * Reduces values of the specified shareable variable from all PCJ Threads in the global group,
+     * and returns the result to all of them. All PCJ Threads have to call the operation.
+     *
+     * @param <R>      the type of the result
+     * @param function reduce function
+     * @param variable variable name
+     * @param indices  (optional) indices for array variable
+     * @return {@link org.pcj.PcjFuture} that will contain reduced shareable variable value
+     * @see Group#asyncAllReduce(ReduceOperation, Enum, int...)
+     */
+    public static <R> PcjFuture<R> asyncAllReduce(ReduceOperation<R> function, Enum<?> variable, int... indices) {
+        return getGlobalGroup().asyncAllReduce(function, variable, indices);
+    }
+
+    /**
+     * Synchronous all-reduce operation.
+     * <p>
+     * Wrapper for {@link #asyncAllReduce(ReduceOperation, Enum, int...)}.
+     * <p>
+     * It is the equivalent to call:
+     * <blockquote>{@code PCJ.<T>asyncAllReduce(function, variable, indices).get();}</blockquote>
+     *
+     * @param <R>      the type of the result
+     * @param function reduce function
+     * @param variable variable name
+     * @param indices  (optional) indices for array variable
+     * @return reduced shareable variable value
+     * @throws PcjRuntimeException contains wrapped exception (e.g. ArrayOutOfBoundException).
+     */
+    public static <R> R allReduce(ReduceOperation<R> function, Enum<?> variable, int... indices) throws PcjRuntimeException {
+        return PCJ.asyncAllReduce(function, variable, indices).get();
+    }
+
+    /**
+     * Asynchronous all-gather operation.
+     * <p>
+     * Gathers values of the specified shareable variable from all PCJ Threads in the global group,
+     * and returns the map of values to all of them. All PCJ Threads have to call the operation.
+     *
+     * @param <R>      the type of the gathered value
+     * @param variable variable name
+     * @param indices  (optional) indices for array variable
+     * @return {@link org.pcj.PcjFuture} that will contain map of gathered values
+     * @see Group#asyncAllGather(Enum, int...)
+     */
+    public static <R> PcjFuture<Map<Integer, R>> asyncAllGather(Enum<?> variable, int... indices) {
+        return getGlobalGroup().asyncAllGather(variable, indices);
+    }
+
+    /**
+     * Synchronous all-gather operation.
+     * <p>
+     * Wrapper for {@link #asyncAllGather(Enum, int...)}.
+     * <p>
+     * It is the equivalent to call:
+     * <blockquote>{@code PCJ.<T>asyncAllGather(variable, indices).get();}</blockquote>
+     *
+     * @param <R>      the type of the gathered value
+     * @param variable variable name
+     * @param indices  (optional) indices for array variable
+     * @return map of gathered values
+     * @throws PcjRuntimeException contains wrapped exception (e.g. ArrayOutOfBoundException).
+     */
+    public static <R> Map<Integer, R> allGather(Enum<?> variable, int... indices) throws PcjRuntimeException {
+        return PCJ.<R>asyncAllGather(variable, indices).get();
+    }
+
+    /**
+     * Asynchronous reduce-scatter operation.
+     * <p>
+     * Reduces element-wise primitive arrays from all PCJ Threads in the global group,
+     * and returns to each PCJ Thread its block of the result. All PCJ Threads have to call the operation.
+     *
+     * @param <R>      the type of the array
+     * @param function element-wise reduce function
+     * @param variable variable name
+     * @param indices  (optional) indices for array variable
+     * @return {@link org.pcj.PcjFuture} that will contain the block of reduced array
+     * @see Group#asyncReduceScatter(ReduceOperation, Enum, int...)
+     */
+    public static <R> PcjFuture<R> asyncReduceScatter(ReduceOperation<R> function, Enum<?> variable, int... indices) {
+        return getGlobalGroup().asyncReduceScatter(function, variable, indices);
+    }
+
+    /**
+     * Synchronous reduce-scatter operation.
+     * <p>
+     * Wrapper for {@link #asyncReduceScatter(ReduceOperation, Enum, int...)}.
+     * <p>
+     * It is the equivalent to call:
+     * <blockquote>{@code PCJ.<T>asyncReduceScatter(function, variable, indices).get();}</blockquote>
+     *
+     * @param <R>      the type of the array
+     * @param function element-wise reduce function
+     * @param variable variable name
+     * @param indices  (optional) indices for array variable
+     * @return the block of reduced array
+     * @throws PcjRuntimeException contains wrapped exception (e.g. ArrayOutOfBoundException).
+     */
+    public static <R> R reduceScatter(ReduceOperation<R> function, Enum<?> variable, int... indices) throws PcjRuntimeException {
+        return PCJ.asyncReduceScatter(function, variable, indices).get();
+    }
+
+    /**
+     * Asynchronous all-to-all operation.
+     * <p>
+     * Every PCJ Thread in the global group sends separate value to every PCJ Thread.
+     * All PCJ Threads have to call the operation.
+     *
+     * @param <T>    the type of the value
+     * @param values map of values to send, where key is the destination PCJ Thread id
+     * @return {@link org.pcj.PcjFuture} that will contain map of received values
+     * @see Group#asyncAllToAll(Map)
+     */
+    public static <T> PcjFuture<Map<Integer, T>> asyncAllToAll(Map<Integer, T> values) {
+        return getGlobalGroup().asyncAllToAll(values);
+    }
+
+    /**
+     * Synchronous all-to-all operation.
+     * <p>
+     * Wrapper for {@link #asyncAllToAll(Map)}.
+     * <p>
+     * It is the equivalent to call:
+     * <blockquote>{@code PCJ.<T>asyncAllToAll(values).get();}</blockquote>
+     *
+     * @param <T>    the type of the value
+     * @param values map of values to send, where key is the destination PCJ Thread id
+     * @return map of received values, where key is the source PCJ Thread id
+     * @throws PcjRuntimeException contains wrapped exception (e.g. NotSerializableException).
+     */
+    public static <T> Map<Integer, T> allToAll(Map<Integer, T> values) throws PcjRuntimeException {
+        return PCJ.asyncAllToAll(values).get();
+    }
+
+    /**
+     * Asynchronous scan operation.
+     * <p>
+     * Reduces values of the specified shareable variable from PCJ Threads with ids {@code 0..myId()} in the global group.
+     * All PCJ Threads have to call the operation.
+     *
+     * @param <R>      the type of the result
+     * @param function reduce function
+     * @param variable variable name
+     * @param indices  (optional) indices for array variable
+     * @return {@link org.pcj.PcjFuture} that will contain reduced value
+     * @see Group#asyncScan(ReduceOperation, Enum, int...)
+     */
+    public static <R> PcjFuture<R> asyncScan(ReduceOperation<R> function, Enum<?> variable, int... indices) {
+        return getGlobalGroup().asyncScan(function, variable, indices);
+    }
+
+    /**
+     * Synchronous scan operation.
+     * <p>
+     * Wrapper for {@link #asyncScan(ReduceOperation, Enum, int...)}.
+     * <p>
+     * It is the equivalent to call:
+     * <blockquote>{@code PCJ.<T>asyncScan(function, variable, indices).get();}</blockquote>
+     *
+     * @param <R>      the type of the result
+     * @param function reduce function
+     * @param variable variable name
+     * @param indices  (optional) indices for array variable
+     * @return reduced value
+     * @throws PcjRuntimeException contains wrapped exception (e.g. ArrayOutOfBoundException).
+     */
+    public static <R> R scan(ReduceOperation<R> function, Enum<?> variable, int... indices) throws PcjRuntimeException {
+        return PCJ.asyncScan(function, variable, indices).get();
+    }
+
+    /**
+     * Asynchronous exclusive scan operation.
+     * <p>
+     * Reduces values of the specified shareable variable from PCJ Threads with ids {@code 0..myId()-1} in the global group.
+     * All PCJ Threads have to call the operation.
+     *
+     * @param <R>      the type of the result
+     * @param function reduce function
+     * @param variable variable name
+     * @param indices  (optional) indices for array variable
+     * @return {@link org.pcj.PcjFuture} that will contain reduced value
+     * @see Group#asyncExscan(ReduceOperation, Enum, int...)
+     */
+    public static <R> PcjFuture<R> asyncExscan(ReduceOperation<R> function, Enum<?> variable, int... indices) {
+        return getGlobalGroup().asyncExscan(function, variable, indices);
+    }
+
+    /**
+     * Synchronous exclusive scan operation.
+     * <p>
+     * Wrapper for {@link #asyncExscan(ReduceOperation, Enum, int...)}.
+     * <p>
+     * It is the equivalent to call:
+     * <blockquote>{@code PCJ.<T>asyncExscan(function, variable, indices).get();}</blockquote>
+     *
+     * @param <R>      the type of the result
+     * @param function reduce function
+     * @param variable variable name
+     * @param indices  (optional) indices for array variable
+     * @return reduced value
+     * @throws PcjRuntimeException contains wrapped exception (e.g. ArrayOutOfBoundException).
+     */
+    public static <R> R exscan(ReduceOperation<R> function, Enum<?> variable, int... indices) throws PcjRuntimeException {
+        return PCJ.asyncExscan(function, variable, indices).get();
+    }
+
     /**
      * Asynchronous collect operation.
      * <p>
@@ -572,6 +997,123 @@ public final class PCJ {
         PCJ.asyncPut(newValue, threadId, variable, indices).get();
     }
 
+    /**
+     * Asynchronous multicast put operation.
+     * <p>
+     * Puts the same value into the specified shareable variable of each of PCJ Threads from the global group.
+     * Value is serialized once and single message is sent to each node of the PCJ Threads.
+     * Upon successful completion increases modification count of the shareable variable by one
+     * on each of the PCJ Threads.
+     *
+     * @param <T>       the type of value
+     * @param newValue  new variable value
+     * @param threadIds global PCJ Thread ids
+     * @param variable  variable name
+     * @param indices   (optional) indices for array variable
+     * @return {@link org.pcj.PcjFuture}&lt;{@link java.lang.Void}&gt; for checking the operation state
+     */
+    public static <T> PcjFuture<Void> asyncPut(T newValue, int[] threadIds, Enum<?> variable, int... indices) {
+        return getGlobalGroup().asyncPut(newValue, threadIds, variable, indices);
+    }
+
+    /**
+     * Synchronous multicast put operation.
+     * <p>
+     * Wrapper for {@link #asyncPut(Object, int[], Enum, int...)}.
+     * <p>
+     * It is the equivalent to call:
+     * <blockquote>{@code PCJ.<T>asyncPut(newValue, threadIds, variable, indices).get();}</blockquote>
+     *
+     * @param <T>       the type of value
+     * @param newValue  new variable value
+     * @param threadIds global PCJ Thread ids
+     * @param variable  variable name
+     * @param indices   (optional) indices for array variable
+     * @throws PcjRuntimeException contains wrapped exceptions of all failed PCJ Threads
+     */
+    public static <T> void put(T newValue, int[] threadIds, Enum<?> variable, int... indices) throws PcjRuntimeException {
+        PCJ.asyncPut(newValue, threadIds, variable, indices).get();
+    }
+
+    /**
+     * Asynchronous get operation for off-heap arrays.
+     * <p>
+     * Copies elements of off-heap array stored in the specified shareable
+     * variable of a target PCJ Thread from the global group into local
+     * off-heap array. Raw bytes are transferred without serialization.
+     *
+     * @param threadId    global PCJ Thread id
+     * @param variable    variable name holding {@link OffHeapArray}
+     * @param index       index of the first element in remote array
+     * @param target      local array of the same element type
+     * @param targetIndex index of the first element in local array
+     * @param length      number of elements
+     * @return {@link org.pcj.PcjFuture}&lt;{@link java.lang.Void}&gt; for checking the operation state
+     */
+    public static PcjFuture<Void> asyncGet(int threadId, Enum<?> variable, long index, OffHeapArray target, long targetIndex, long length) {
+        return getGlobalGroup().asyncGet(threadId, variable, index, target, targetIndex, length);
+    }
+
+    /**
+     * Synchronous get operation for off-heap arrays.
+     * <p>
+     * Wrapper for {@link #asyncGet(int, Enum, long, OffHeapArray, long, long)}.
+     * <p>
+     * It is the equivalent to call:
+     * <blockquote>{@code PCJ.asyncGet(threadId, variable, index, target, targetIndex, length).get();}</blockquote>
+     *
+     * @param threadId    global PCJ Thread id
+     * @param variable    variable name holding {@link OffHeapArray}
+     * @param index       index of the first element in remote array
+     * @param target      local array of the same element type
+     * @param targetIndex index of the first element in local array
+     * @param length      number of elements
+     * @throws PcjRuntimeException contains wrapped exception (e.g. IndexOutOfBoundsException).
+     */
+    public static void get(int threadId, Enum<?> variable, long index, OffHeapArray target, long targetIndex, long length) throws PcjRuntimeException {
+        PCJ.asyncGet(threadId, variable, index, target, targetIndex, length).get();
+    }
+
+    /**
+     * Asynchronous put operation for off-heap arrays.
+     * <p>
+     * Copies elements of local off-heap array into off-heap array stored in
+     * the specified shareable variable of a target PCJ Thread from the global
+     * group. Raw bytes are transferred without serialization.
+     * Upon successful completion increases modification count of the shareable variable by one.
+     *
+     * @param source      local array of the same element type
+     * @param sourceIndex index of the first element in local array
+     * @param length      number of elements
+     * @param threadId    global PCJ Thread id
+     * @param variable    variable name holding {@link OffHeapArray}
+     * @param index       index of the first element in remote array
+     * @return {@link org.pcj.PcjFuture}&lt;{@link java.lang.Void}&gt; for checking the operation state
+     */
+    public static PcjFuture<Void> asyncPut(OffHeapArray source, long sourceIndex, long length, int threadId, Enum<?> variable, long index) {
+        return getGlobalGroup().asyncPut(source, sourceIndex, length, threadId, variable, index);
+    }
+
+    /**
+     * Synchronous put operation for off-heap arrays.
+     * <p>
+     * Wrapper for {@link #asyncPut(OffHeapArray, long, long, int, Enum, long)}.
+     * <p>
+     * It is the equivalent to call:
+     * <blockquote>{@code PCJ.asyncPut(source, sourceIndex, length, threadId, variable, index).get();}</blockquote>
+     *
+     * @param source      local array of the same element type
+     * @param sourceIndex index of the first element in local array
+     * @param length      number of elements
+     * @param threadId    global PCJ Thread id
+     * @param variable    variable name holding {@link OffHeapArray}
+     * @param index       index of the first element in remote array
+     * @throws PcjRuntimeException contains wrapped exception (e.g. IndexOutOfBoundsException).
+     */
+    public static void put(OffHeapArray source, long sourceIndex, long length, int threadId, Enum<?> variable, long index) throws PcjRuntimeException {
+        PCJ.asyncPut(source, sourceIndex, length, threadId, variable, index).get();
+    }
+
     /**
      * Asynchronous accumulate operation.
      * <p>
@@ -610,6 +1152,120 @@ public final class PCJ {
         PCJ.asyncAccumulate(function, newValue, threadId, variable, indices).get();
     }
 
+    /**
+     * Asynchronous fetch-and-add operation.
+     * <p>
+     * Atomically adds the value to the specified numeric shareable variable of a target PCJ thread from the global group.
+     * Upon successful completion increases modification count of the shareable variable by one.
+     *
+     * @param <T>      the type of value
+     * @param delta    value to add
+     * @param threadId global PCJ Thread id
+     * @param variable variable name
+     * @param indices  (optional) indices for array variable
+     * @return {@link org.pcj.PcjFuture} that will contain previous shareable variable value
+     */
+    public static <T> PcjFuture<T> asyncFetchAndAdd(T delta, int threadId, Enum<?> variable, int... indices) {
+        return getGlobalGroup().asyncFetchAndAdd(delta, threadId, variable, indices);
+    }
+
+    /**
+     * Synchronous fetch-and-add operation.
+     * <p>
+     * Wrapper for {@link #asyncFetchAndAdd(Object, int, Enum, int...)}.
+     * <p>
+     * It is the equivalent to call:
+     * <blockquote>{@code PCJ.<T>asyncFetchAndAdd(delta, threadId, variable, indices).get();}</blockquote>
+     *
+     * @param <T>      the type of value
+     * @param delta    value to add
+     * @param threadId global PCJ Thread id
+     * @param variable variable name
+     * @param indices  (optional) indices for array variable
+     * @return previous shareable variable value
+     * @throws PcjRuntimeException contains wrapped exception (e.g. ArrayOutOfBoundException).
+     */
+    public static <T> T fetchAndAdd(T delta, int threadId, Enum<?> variable, int... indices) throws PcjRuntimeException {
+        return PCJ.asyncFetchAndAdd(delta, threadId, variable, indices).get();
+    }
+
+    /**
+     * Asynchronous compare-and-set operation.
+     * <p>
+     * Atomically sets the specified shareable variable of a target PCJ thread from the global group
+     * to the new value if the current value equals expected value.
+     * Upon successful update increases modification count of the shareable variable by one.
+     *
+     * @param <T>           the type of value
+     * @param expectedValue expected variable value
+     * @param newValue      new variable value
+     * @param threadId      global PCJ Thread id
+     * @param variable      variable name
+     * @param indices       (optional) indices for array variable
+     * @return {@link org.pcj.PcjFuture} that will contain previous shareable variable value
+     */
+    public static <T> PcjFuture<T> asyncCompareAndSet(T expectedValue, T newValue, int threadId, Enum<?> variable, int... indices) {
+        return getGlobalGroup().asyncCompareAndSet(expectedValue, newValue, threadId, variable, indices);
+    }
+
+    /**
+     * Synchronous compare-and-set operation.
+     * <p>
+     * Wrapper for {@link #asyncCompareAndSet(Object, Object, int, Enum, int...)}.
+     * <p>
+     * It is the equivalent to call:
+     * <blockquote>{@code PCJ.<T>asyncCompareAndSet(expectedValue, newValue, threadId, variable, indices).get();}</blockquote>
+     *
+     * @param <T>           the type of value
+     * @param expectedValue expected variable value
+     * @param newValue      new variable value
+     * @param threadId      global PCJ Thread id
+     * @param variable      variable name
+     * @param indices       (optional) indices for array variable
+     * @return previous shareable variable value; the operation succeeded if it equals expected value
+     * @throws PcjRuntimeException contains wrapped exception (e.g. ArrayOutOfBoundException).
+     */
+    public static <T> T compareAndSet(T expectedValue, T newValue, int threadId, Enum<?> variable, int... indices) throws PcjRuntimeException {
+        return PCJ.asyncCompareAndSet(expectedValue, newValue, threadId, variable, indices).get();
+    }
+
+    /**
+     * Asynchronous get-and-set operation.
+     * <p>
+     * Atomically sets the specified shareable variable of a target PCJ thread from the global group to the new value.
+     * Upon successful completion increases modification count of the shareable variable by one.
+     *
+     * @param <T>      the type of value
+     * @param newValue new variable value
+     * @param threadId global PCJ Thread id
+     * @param variable variable name
+     * @param indices  (optional) indices for array variable
+     * @return {@link org.pcj.PcjFuture} that will contain previous shareable variable value
+     */
+    public static <T> PcjFuture<T> asyncGetAndSet(T newValue, int threadId, Enum<?> variable, int... indices) {
+        return getGlobalGroup().asyncGetAndSet(newValue, threadId, variable, indices);
+    }
+
+    /**
+     * Synchronous get-and-set operation.
+     * <p>
+     * Wrapper for {@link #asyncGetAndSet(Object, int, Enum, int...)}.
+     * <p>
+     * It is the equivalent to call:
+     * <blockquote>{@code PCJ.<T>asyncGetAndSet(newValue, threadId, variable, indices).get();}</blockquote>
+     *
+     * @param <T>      the type of value
+     * @param newValue new variable value
+     * @param threadId global PCJ Thread id
+     * @param variable variable name
+     * @param indices  (optional) indices for array variable
+     * @return previous shareable variable value
+     * @throws PcjRuntimeException contains wrapped exception (e.g. ArrayOutOfBoundException).
+     */
+    public static <T> T getAndSet(T newValue, int threadId, Enum<?> variable, int... indices) throws PcjRuntimeException {
+        return PCJ.asyncGetAndSet(newValue, threadId, variable, indices).get();
+    }
+
     /**
      * Asynchronous broadcast operation.
      * <p>
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2011-2026, PCJ Library, Marek Nowicki
+ * All rights reserved.
+ *
+ * Licensed under New BSD License (3-clause license).
+ *
+ * See the file "LICENSE" for the full license governing this code.
+ */
+package org.pcj;
+
+/**
+ * Handle of shareable variable (or its element) of chosen PCJ Thread.
+ * <p>
+ * Destination of the handle is resolved once, on creation, so repeated
+ * operations do not look up the thread, node and variable again. Operations
+ * have the same semantics as corresponding operations of {@link Group}.
+ * <p>
+ * Handle can be used only by the PCJ Thread that created it.
+ *
+ * @param <T> type of the variable (or element)
+ * @author Marek Nowicki (faramir@mat.umk.pl)
+ * @see Group#ref(int, Enum, int...)
+ */
+public interface RemoteRef<T> {
+
+    /**
+     * @return group PCJ Thread id of the variable owner
+     */
+    int threadId();
+
+    /**
+     * @return variable name
+     */
+    Enum<?> variable();
+
+    /**
+     * Asynchronous get operation.
+     *
+     * @return {@link PcjFuture} that will contain shareable variable value
+     * @see Group#asyncGet(int, Enum, int...)
+     */
+    PcjFuture<T> asyncGet();
+
+    /**
+     * Synchronous get operation.
+     *
+     * @return value of variable
+     * @throws PcjRuntimeException contains wrapped exception (e.g. ArrayOutOfBoundException).
+     */
+    default T get() throws PcjRuntimeException {
+        return asyncGet().get();
+    }
+
+    /**
+     * Asynchronous put operation.
+     *
+     * @param newValue new variable value
+     * @return {@link PcjFuture} for checking the operation state
+     * @see Group#asyncPut(Object, int, Enum, int...)
+     */
+    PcjFuture<Void> asyncPut(T newValue);
+
+    /**
+     * Synchronous put operation.
+     *
+     * @param newValue new variable value
+     * @throws PcjRuntimeException contains wrapped exception (e.g. ArrayOutOfBoundException).
+     */
+    default void put(T newValue) throws PcjRuntimeException {
+        asyncPut(newValue).get();
+    }
+
+    /**
+     * Asynchronous accumulate operation.
+     *
+     * @param function reduce function
+     * @param newValue value to accumulate
+     * @return {@link PcjFuture} for checking the operation state
+     * @see Group#asyncAccumulate(ReduceOperation, Object, int, Enum, int...)
+     */
+    PcjFuture<Void> asyncAccumulate(ReduceOperation<T> function, T newValue);
+
+    /**
+     * Synchronous accumulate operation.
+     *
+     * @param function reduce function
+     * @param newValue value to accumulate
+     * @throws PcjRuntimeException contains wrapped exception (e.g. ArrayOutOfBoundException).
+     */
+    default void accumulate(ReduceOperation<T> function, T newValue) throws PcjRuntimeException {
+        asyncAccumulate(function, newValue).get();
+    }
+}
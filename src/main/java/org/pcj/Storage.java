@@ -40,6 +40,13 @@ import java.lang.annotation.Target;
  * }
  * }
  * </pre>
+ * <p>
+ * By default each PCJ Thread has its own instance of the storage class. When
+ * {@link #scope()} is {@link Scope#NODE}, one instance of the storage class is
+ * shared by all PCJ Threads of the node (JVM). Such storage is intended for
+ * large read-mostly data, like lookup tables, that would be otherwise
+ * replicated in every PCJ Thread. Broadcasting value into node-scoped variable
+ * stores the value once per node.
  *
  * @author Marek Nowicki (faramir@mat.umk.pl)
  */
@@ -50,6 +57,28 @@ public @interface Storage {
 
     Class<?> value() default EnclosingClass.class;
 
+    /**
+     * Scope of the storage.
+     *
+     * @return scope of the storage
+     */
+    Scope scope() default Scope.THREAD;
+
+    /**
+     * Scope of the storage class instance.
+     */
+    enum Scope {
+        /**
+         * Each PCJ Thread has its own instance of the storage class.
+         */
+        THREAD,
+        /**
+         * All PCJ Threads of the node share one instance of the storage class.
+         * Modification of variable increases modification count in all PCJ Threads of the node.
+         */
+        NODE
+    }
+
     /**
      * Internal class for default value that will search for Storage in enclosing class
      */
@@ -89,6 +89,103 @@ public final class Configuration {
      */
     public final int ALIVE_TIMEOUT;
 
+    /**
+     * pcj.accumulate.combine.size (int) default: 0
+     * <p>
+     * Maximal number of pending accumulate targets in sender-side combining
+     * buffer of destination node. Combining is disabled when not positive.
+     */
+    public final int ACCUMULATE_COMBINE_SIZE;
+    /**
+     * pcj.accumulate.combine.delay (int in milliseconds) default: 1
+     */
+    public final int ACCUMULATE_COMBINE_DELAY;
+    /**
+     * pcj.broadcast.segment.size (int in bytes) default: 256*1024
+     * <p>
+     * Size of segments of broadcast value. Segments are forwarded down the
+     * communication tree as soon as they are received. Segmentation is
+     * disabled when not positive, and then each node receives whole value
+     * before forwarding it.
+     */
+    public final int BROADCAST_SEGMENT_SIZE;
+    /**
+     * pcj.broadcast.scatter.threshold (int in bytes) default: 4*1024*1024
+     * <p>
+     * Minimal size of broadcast value that is sent using scatter followed by
+     * ring allgather instead of the communication tree. The algorithm is used
+     * only in groups of at least three nodes, and it is disabled when not
+     * positive.
+     */
+    public final int BROADCAST_SCATTER_THRESHOLD;
+    /**
+     * pcj.allreduce.ring.threshold (int in bytes) default: 64*1024
+     * <p>
+     * Minimal size of primitive array reduced element-wise by all-reduce
+     * operation, that is reduced using ring reduce-scatter and allgather
+     * instead of recursive doubling. Ring algorithm is disabled when not
+     * positive.
+     */
+    public final int ALL_REDUCE_RING_THRESHOLD;
+    /**
+     * pcj.reduce.segment.size (int in bytes) default: 256*1024
+     * <p>
+     * Size of segments of primitive arrays reduced by element-wise
+     * operation. Each node sends a segment to its parent as soon as the
+     * segment is reduced from all children. Arrays are reduced as whole
+     * values when not positive.
+     */
+    public final int REDUCE_SEGMENT_SIZE;
+    /**
+     * pcj.barrier.dissemination (boolean) default: false
+     * <p>
+     * Use dissemination barrier, which completes in {@code ceil(log2(n))}
+     * steps without the root node, instead of barrier over communication
+     * tree. All nodes have to use the same algorithm.
+     */
+    public final boolean BARRIER_DISSEMINATION;
+    /**
+     * pcj.checkpoint.restore (String) default: ""
+     * <p>
+     * Checkpoint directory from which shareable variables are restored
+     * before execution of the StartPoint. Restoring is disabled when empty.
+     */
+    public final String CHECKPOINT_RESTORE;
+    /**
+     * pcj.tree (String) default: binary
+     * <p>
+     * Shape of communication tree used by collective operations: {@code binary},
+     * {@code kary:<fan-out>}, {@code binomial} or {@code flat}. Shape for chosen
+     * collective operation can be set by {@code pcj.tree.<collective>}
+     * property, e.g. {@code pcj.tree.barrier}. All nodes have to use the same
+     * shapes.
+     *
+     * @see TreeShape
+     */
+    public final TreeShape TREE;
+    /**
+     * pcj.tree.flat.size (int) default: 0
+     * <p>
+     * Maximal number of nodes in the group, for which flat communication tree
+     * is used regardless of configured shape.
+     */
+    public final int TREE_FLAT_SIZE;
+    /**
+     * pcj.tree.hostaware (boolean) default: true
+     * <p>
+     * Build two-level communication trees: first within nodes running on the
+     * same host, then across host leaders.
+     */
+    public final boolean TREE_HOST_AWARE;
+    /**
+     * pcj.host.id (String) default: ""
+     * <p>
+     * Identifier of the host used by host-aware communication trees. Nodes
+     * with the same identifier are treated as running on the same host. Host
+     * name is used when empty.
+     */
+    public final String HOST_ID;
+
     Configuration(Properties properties) {
         this.properties = properties;
 
@@ -106,6 +203,18 @@ public final class Configuration {
         ASYNC_WORKERS_QUEUE_SIZE = getPropertyInt("pcj.async.workers.queuesize", -1);
         ALIVE_HEARTBEAT = getPropertyInt("pcj.alive.heartbeat", 20);
         ALIVE_TIMEOUT = getPropertyInt("pcj.alive.timeout", 60);
+        ACCUMULATE_COMBINE_SIZE = getPropertyInt("pcj.accumulate.combine.size", 0);
+        ACCUMULATE_COMBINE_DELAY = getPropertyInt("pcj.accumulate.combine.delay", 1);
+        BROADCAST_SEGMENT_SIZE = getPropertyInt("pcj.broadcast.segment.size", 256 * 1024);
+        BROADCAST_SCATTER_THRESHOLD = getPropertyInt("pcj.broadcast.scatter.threshold", 4 * 1024 * 1024);
+        ALL_REDUCE_RING_THRESHOLD = getPropertyInt("pcj.allreduce.ring.threshold", 64 * 1024);
+        REDUCE_SEGMENT_SIZE = getPropertyInt("pcj.reduce.segment.size", 256 * 1024);
+        BARRIER_DISSEMINATION = Boolean.parseBoolean(getProperty("pcj.barrier.dissemination", "false"));
+        CHECKPOINT_RESTORE = getProperty("pcj.checkpoint.restore", "");
+        TREE = getPropertyTreeShape("pcj.tree", TreeShape.BINARY);
+        TREE_FLAT_SIZE = getPropertyInt("pcj.tree.flat.size", 0);
+        TREE_HOST_AWARE = Boolean.parseBoolean(getProperty("pcj.tree.hostaware", "true"));
+        HOST_ID = getProperty("pcj.host.id", "");
 
         LOGGER.log(Level.CONFIG, "pcj.port:                     {0,number,#}", DEFAULT_PORT);
         LOGGER.log(Level.CONFIG, "pcj.init.backlog:             {0,number,#}", INIT_BACKLOG_COUNT);
@@ -121,6 +230,18 @@ public final class Configuration {
         LOGGER.log(Level.CONFIG, "pcj.async.workers.queuesize:  {0,number,#}", ASYNC_WORKERS_QUEUE_SIZE);
         LOGGER.log(Level.CONFIG, "pcj.alive.heartbeat:          {0,number,#}", ALIVE_HEARTBEAT);
         LOGGER.log(Level.CONFIG, "pcj.alive.timeout:            {0,number,#}", ALIVE_TIMEOUT);
+        LOGGER.log(Level.CONFIG, "pcj.accumulate.combine.size:  {0,number,#}", ACCUMULATE_COMBINE_SIZE);
+        LOGGER.log(Level.CONFIG, "pcj.accumulate.combine.delay: {0,number,#}", ACCUMULATE_COMBINE_DELAY);
+        LOGGER.log(Level.CONFIG, "pcj.broadcast.segment.size:   {0,number,#}", BROADCAST_SEGMENT_SIZE);
+        LOGGER.log(Level.CONFIG, "pcj.broadcast.scatter.threshold: {0,number,#}", BROADCAST_SCATTER_THRESHOLD);
+        LOGGER.log(Level.CONFIG, "pcj.allreduce.ring.threshold: {0,number,#}", ALL_REDUCE_RING_THRESHOLD);
+        LOGGER.log(Level.CONFIG, "pcj.reduce.segment.size:      {0,number,#}", REDUCE_SEGMENT_SIZE);
+        LOGGER.log(Level.CONFIG, "pcj.barrier.dissemination:    {0}", BARRIER_DISSEMINATION);
+        LOGGER.log(Level.CONFIG, "pcj.checkpoint.restore:       {0}", CHECKPOINT_RESTORE);
+        LOGGER.log(Level.CONFIG, "pcj.tree:                     {0}", TREE);
+        LOGGER.log(Level.CONFIG, "pcj.tree.flat.size:           {0,number,#}", TREE_FLAT_SIZE);
+        LOGGER.log(Level.CONFIG, "pcj.tree.hostaware:           {0}", TREE_HOST_AWARE);
+        LOGGER.log(Level.CONFIG, "pcj.host.id:                  {0}", HOST_ID);
     }
 
     private int getPropertyInt(String name, int defaultValue) {
@@ -132,6 +253,28 @@ public final class Configuration {
         return defaultValue;
     }
 
+    private TreeShape getPropertyTreeShape(String name, TreeShape defaultValue) {
+        String value = getProperty(name, null);
+        if (value != null) {
+            try {
+                return TreeShape.parse(value);
+            } catch (IllegalArgumentException ex) {
+                LOGGER.log(Level.CONFIG, "Unable to parse to tree shape: " + name, ex);
+            }
+        }
+        return defaultValue;
+    }
+
+    /**
+     * pcj.tree.&lt;collective&gt; (String) default: value of pcj.tree
+     *
+     * @param collective name of collective operation
+     * @return shape of communication tree for the collective operation
+     */
+    public TreeShape getTreeShape(String collective) {
+        return getPropertyTreeShape("pcj.tree." + collective, TREE);
+    }
+
     private String getProperty(String name, String defaultValue) {
         return properties.getProperty(name, System.getProperty(name, defaultValue));
     }
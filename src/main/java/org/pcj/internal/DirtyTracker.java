@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2011-2026, PCJ Library, Marek Nowicki
+ * All rights reserved.
+ *
+ * Licensed under New BSD License (3-clause license).
+ *
+ * See the file "LICENSE" for the full license governing this code.
+ */
+package org.pcj.internal;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import org.pcj.IndexRange;
+
+/**
+ * Tracks modified blocks of array variable.
+ * <p>
+ * Array is divided into blocks of {@code blockSize} elements of the first
+ * dimension, and modification of any element marks its whole block.
+ * Modification of the whole variable marks all blocks.
+ *
+ * @author Marek Nowicki (faramir@mat.umk.pl)
+ */
+final class DirtyTracker {
+
+    private final int blockSize;
+    private final BitSet blocks;
+    private boolean all;
+
+    DirtyTracker(int blockSize) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Illegal block size: " + blockSize);
+        }
+        this.blockSize = blockSize;
+        this.blocks = new BitSet();
+    }
+
+    synchronized void mark(long index) {
+        if (!all) {
+            blocks.set(block(index));
+        }
+    }
+
+    synchronized void mark(long fromIndex, long toIndex) {
+        if (!all && fromIndex < toIndex) {
+            blocks.set(block(fromIndex), block(toIndex - 1) + 1);
+        }
+    }
+
+    synchronized void markAll() {
+        all = true;
+        blocks.clear();
+    }
+
+    private int block(long index) {
+        long block = index / blockSize;
+        if (block > Integer.MAX_VALUE - 1) {
+            throw new IllegalArgumentException("Index too large for block size " + blockSize + ": " + index);
+        }
+        return (int) block;
+    }
+
+    /**
+     * Returns modified ranges, merging adjacent blocks, and clears the
+     * tracker.
+     *
+     * @param length length of the array, to which ranges are clipped
+     * @return modified ranges in increasing order
+     */
+    synchronized List<IndexRange> drain(long length) {
+        if (all) {
+            all = false;
+            return length == 0 ? Collections.emptyList() : Collections.singletonList(new IndexRange(0, length));
+        }
+
+        List<IndexRange> ranges = new ArrayList<>();
+        for (int from = blocks.nextSetBit(0); from >= 0; ) {
+            int to = blocks.nextClearBit(from);
+            long fromIndex = (long) from * blockSize;
+            long toIndex = Math.min((long) to * blockSize, length);
+            if (fromIndex < toIndex) {
+                ranges.add(new IndexRange(fromIndex, toIndex));
+            }
+            from = blocks.nextSetBit(to);
+        }
+        blocks.clear();
+        return ranges;
+    }
+}
@@ -11,7 +11,10 @@ package org.pcj.internal;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashSet;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
@@ -20,6 +23,7 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
+import org.pcj.internal.message.allreduce.AllReduceStates;
 import org.pcj.internal.message.barrier.BarrierStates;
 import org.pcj.internal.message.broadcast.BroadcastStates;
 import org.pcj.internal.message.collect.CollectStates;
@@ -42,7 +46,7 @@ public class InternalCommonGroup {
     private final ConcurrentHashMap<Integer, Integer> threadsMap; // groupThreadId, globalThreadId
     private final AtomicInteger threadsCounter;
     private final Set<Integer> localIds;
-    private final CommunicationTree communicationTree;
+    private final Map<Collective, CommunicationTree> communicationTrees;
     private final BarrierStates barrierStates;
     private final BroadcastStates broadcastStates;
     private final ScatterStates scatterStates;
@@ -50,10 +54,11 @@ public class InternalCommonGroup {
     private final ReduceStates reduceStates;
     private final CollectStates collectStates;
     private final SplitGroupStates splitGroupStates;
+    private final AllReduceStates allReduceStates;
 
     public InternalCommonGroup(InternalCommonGroup g) {
         this.groupId = g.groupId;
-        this.communicationTree = g.communicationTree;
+        this.communicationTrees = g.communicationTrees;
 
         this.threadsMap = g.threadsMap;
         this.threadsCounter = g.threadsCounter;
@@ -66,11 +71,15 @@ public class InternalCommonGroup {
         this.reduceStates = g.reduceStates;
         this.collectStates = g.collectStates;
         this.splitGroupStates = g.splitGroupStates;
+        this.allReduceStates = g.allReduceStates;
     }
 
     public InternalCommonGroup(int groupId) {
         this.groupId = groupId;
-        this.communicationTree = new CommunicationTree();
+        this.communicationTrees = new EnumMap<>(Collective.class);
+        for (Collective collective : Collective.values()) {
+            communicationTrees.put(collective, new CommunicationTree(collective));
+        }
 
         this.threadsMap = new ConcurrentHashMap<>();
         this.threadsCounter = new AtomicInteger(0);
@@ -83,6 +92,7 @@ public class InternalCommonGroup {
         this.reduceStates = new ReduceStates();
         this.collectStates = new CollectStates();
         this.splitGroupStates = new SplitGroupStates();
+        this.allReduceStates = new AllReduceStates();
     }
 
     public final int getGroupId() {
@@ -109,7 +119,7 @@ public class InternalCommonGroup {
         threadsMap.putAll(newThreadsMap);
 
         updateLocalThreads();
-        communicationTree.update();
+        communicationTrees.values().forEach(CommunicationTree::update);
     }
 
     private void updateLocalThreads() {
@@ -162,85 +172,272 @@ public class InternalCommonGroup {
         return splitGroupStates;
     }
 
-    public CommunicationTree getCommunicationTree() {
-        return communicationTree;
+    public AllReduceStates getAllReduceStates() {
+        return allReduceStates;
     }
 
+    /**
+     * Gets communication tree used by the collective operation.
+     *
+     * @param collective collective operation
+     * @return communication tree
+     */
+    public CommunicationTree getCommunicationTree(Collective collective) {
+        return communicationTrees.get(collective);
+    }
+
+    /**
+     * Collective operations that can use differently shaped communication
+     * trees.
+     */
+    public enum Collective {
+        BARRIER("barrier"),
+        BROADCAST("broadcast"),
+        SCATTER("scatter"),
+        GATHER("gather"),
+        REDUCE("reduce"),
+        COLLECT("collect"),
+        SPLIT_GROUP("splitgroup");
+
+        private final String propertyName;
+
+        Collective(String propertyName) {
+            this.propertyName = propertyName;
+        }
+
+        /**
+         * @return name used in {@code pcj.tree.<collective>} property
+         */
+        public String getPropertyName() {
+            return propertyName;
+        }
+    }
+
+    /**
+     * Tree of physical nodes of the group, that is rooted in chosen node.
+     * <p>
+     * Nodes are ordered by the lowest group thread id, and shape of the tree
+     * is taken from configuration. When host-aware trees are enabled, the tree
+     * has two levels: nodes running on the same host form the tree rooted in
+     * the host leader, and host leaders form the tree rooted in the root node.
+     * The root node is the leader of its host, and for other hosts the leader
+     * is the node with the lowest group thread id.
+     */
     public class CommunicationTree {
 
-        private List<Integer> physicalIds;
-        private int currentIndex;
+        private final Collective collective;
+        private volatile Layout layout;
 
-        private CommunicationTree() {
-            this.currentIndex = -1;
-            this.physicalIds = Collections.emptyList();
+        private CommunicationTree(Collective collective) {
+            this.collective = collective;
+            this.layout = new Layout(TreeShape.BINARY, Collections.emptyList(), Collections.emptyList(), -1);
         }
 
+        public TreeShape getShape() {
+            return layout.shape;
+        }
+
+        /**
+         * @return parent node in the tree rooted in the first node of the group, or -1 for root
+         */
         public int getParentNode() {
-            return getParentNode(0);
+            Layout layout = this.layout;
+            return layout.getParentNode(layout.currentIndex, 0);
         }
 
-        public int getParentNode(int shift) {
-            if (currentIndex < 0) {
-                return -1;
-            }
-            if (currentIndex == shift) { // if root after shift
+        /**
+         * @param rootPhysicalId physical id of the root node
+         * @return parent node in the tree rooted in the node, or -1 for root
+         */
+        public int getParentNode(int rootPhysicalId) {
+            Layout layout = this.layout;
+            if (layout.currentIndex < 0) {
                 return -1;
             }
-            int index = (((currentIndex - shift - 1 + physicalIds.size()) % physicalIds.size()) / 2 + shift) % physicalIds.size();
-            return physicalIds.get(index);
+            return layout.getParentNode(layout.currentIndex, layout.getIndex(rootPhysicalId));
         }
 
+        /**
+         * @return children nodes in the tree rooted in the first node of the group
+         */
         public Set<Integer> getChildrenNodes() {
-            return getChildrenNodes(0);
+            Layout layout = this.layout;
+            return layout.getChildrenNodes(layout.currentIndex, 0);
         }
 
-        public Set<Integer> getChildrenNodes(int shift) {
-            if (currentIndex < 0) {
+        /**
+         * @param rootPhysicalId physical id of the root node
+         * @return children nodes in the tree rooted in the node
+         */
+        public Set<Integer> getChildrenNodes(int rootPhysicalId) {
+            Layout layout = this.layout;
+            if (layout.currentIndex < 0) {
                 return Collections.emptySet();
             }
-            Set<Integer> children = new HashSet<>();
-            int shiftIndex = (currentIndex - shift + physicalIds.size()) % physicalIds.size();
-            if (shiftIndex * 2 + 1 < physicalIds.size()) {
-                children.add(physicalIds.get((shiftIndex * 2 + 1 + shift) % physicalIds.size()));
-            }
-            if (shiftIndex * 2 + 2 < physicalIds.size()) {
-                children.add(physicalIds.get((shiftIndex * 2 + 2 + shift) % physicalIds.size()));
-            }
-            return children;
+            return layout.getChildrenNodes(layout.currentIndex, layout.getIndex(rootPhysicalId));
         }
 
-        public List<Integer> getSubtree(int shift, int subTreeRootNode) {
+        /**
+         * @param rootPhysicalId  physical id of the root node
+         * @param subTreeRootNode physical id of the subtree root node
+         * @return nodes of the subtree, in breadth-first order
+         */
+        public List<Integer> getSubtree(int rootPhysicalId, int subTreeRootNode) {
+            Layout layout = this.layout;
+            int rootIndex = layout.getIndex(rootPhysicalId);
             List<Integer> subTree = new ArrayList<>();
 
             Queue<Integer> queue = new ArrayDeque<>();
-            queue.offer(physicalIds.indexOf(subTreeRootNode));
+            queue.offer(subTreeRootNode);
             while (!queue.isEmpty()) {
-                int index = queue.poll();
-                subTree.add(physicalIds.get(index));
-                int shiftIndex = (index - shift + physicalIds.size()) % physicalIds.size();
-                if (shiftIndex * 2 + 1 < physicalIds.size()) {
-                    queue.offer((shiftIndex * 2 + 1 + shift) % physicalIds.size());
-                }
-                if (shiftIndex * 2 + 2 < physicalIds.size()) {
-                    queue.offer((shiftIndex * 2 + 2 + shift) % physicalIds.size());
-                }
+                int physicalId = queue.poll();
+                subTree.add(physicalId);
+                queue.addAll(layout.getChildrenNodes(layout.getIndex(physicalId), rootIndex));
             }
 
             return subTree;
         }
 
+        /**
+         * @return physical ids of nodes of the group, ordered by the lowest
+         * group thread id
+         */
+        public List<Integer> getNodes() {
+            return layout.physicalIds;
+        }
+
         private void update() {
             NodeData nodeData = InternalPCJ.getNodeData();
 
-            physicalIds = threadsMap.keySet().stream()
-                    .sorted()
-                    .map(threadsMap::get)
-                    .map(nodeData::getPhysicalId)
-                    .distinct()
-                    .collect(Collectors.toList());
+            List<Integer> physicalIds = threadsMap.keySet().stream()
+                                                .sorted()
+                                                .map(threadsMap::get)
+                                                .map(nodeData::getPhysicalId)
+                                                .distinct()
+                                                .collect(Collectors.toList());
+
+            Configuration configuration = InternalPCJ.getConfiguration();
+            TreeShape shape;
+            if (physicalIds.size() <= configuration.TREE_FLAT_SIZE) {
+                shape = TreeShape.FLAT;
+            } else {
+                shape = configuration.getTreeShape(collective.getPropertyName());
+            }
+
+            /* nodes of the same host, in order of the first node of the host */
+            Map<Object, List<Integer>> nodesByHost = new LinkedHashMap<>();
+            for (int index = 0; index < physicalIds.size(); ++index) {
+                Object hostKey = configuration.TREE_HOST_AWARE ? nodeData.getHostId(physicalIds.get(index)) : null;
+                if (hostKey == null) {
+                    /* unknown host - node is the only node of its host */
+                    hostKey = index;
+                }
+                nodesByHost.computeIfAbsent(hostKey, key -> new ArrayList<>()).add(index);
+            }
+
+            layout = new Layout(shape, physicalIds, new ArrayList<>(nodesByHost.values()),
+                    physicalIds.indexOf(nodeData.getCurrentNodePhysicalId()));
+        }
+    }
+
+    /**
+     * Immutable snapshot of nodes used by {@link CommunicationTree}. Nodes are
+     * identified by index in the list of physical ids of the group.
+     */
+    private static final class Layout {
+
+        private final TreeShape shape;
+        private final List<Integer> physicalIds;
+        private final Map<Integer, Integer> indexByPhysicalId;
+        private final int[][] hostNodes; // host -> node indices
+        private final int[] hostByNode; // node index -> host
+        private final int[] positionInHost; // node index -> position in hostNodes
+        private final int currentIndex;
+
+        private Layout(TreeShape shape, List<Integer> physicalIds, List<List<Integer>> nodesByHost, int currentIndex) {
+            this.shape = shape;
+            this.physicalIds = physicalIds;
+            this.currentIndex = currentIndex;
+
+            this.indexByPhysicalId = new HashMap<>();
+            for (int index = 0; index < physicalIds.size(); ++index) {
+                indexByPhysicalId.put(physicalIds.get(index), index);
+            }
+
+            this.hostNodes = new int[nodesByHost.size()][];
+            this.hostByNode = new int[physicalIds.size()];
+            this.positionInHost = new int[physicalIds.size()];
+            for (int host = 0; host < hostNodes.length; ++host) {
+                hostNodes[host] = nodesByHost.get(host).stream().mapToInt(Integer::intValue).toArray();
+                for (int position = 0; position < hostNodes[host].length; ++position) {
+                    int index = hostNodes[host][position];
+                    hostByNode[index] = host;
+                    positionInHost[index] = position;
+                }
+            }
+        }
+
+        private int getIndex(int physicalId) {
+            Integer index = indexByPhysicalId.get(physicalId);
+            if (index == null) {
+                throw new NoSuchElementException("Node is not in the group: " + physicalId);
+            }
+            return index;
+        }
+
+        private int getLeader(int host, int rootIndex) {
+            return host == hostByNode[rootIndex] ? rootIndex : hostNodes[host][0];
+        }
+
+        private int getParentNode(int index, int rootIndex) {
+            if (index < 0) {
+                return -1;
+            }
+            int host = hostByNode[index];
+            int leader = getLeader(host, rootIndex);
+            if (index != leader) {
+                int[] nodes = hostNodes[host];
+                int parent = shape.getParent(toPosition(positionInHost[index], positionInHost[leader], nodes.length), nodes.length);
+                return physicalIds.get(nodes[toIndex(parent, positionInHost[leader], nodes.length)]);
+            }
+
+            int rootHost = hostByNode[rootIndex];
+            int parentHost = shape.getParent(toPosition(host, rootHost, hostNodes.length), hostNodes.length);
+            if (parentHost < 0) {
+                return -1;
+            }
+            return physicalIds.get(getLeader(toIndex(parentHost, rootHost, hostNodes.length), rootIndex));
+        }
+
+        private Set<Integer> getChildrenNodes(int index, int rootIndex) {
+            if (index < 0) {
+                return Collections.emptySet();
+            }
+            Set<Integer> children = new LinkedHashSet<>();
+
+            int host = hostByNode[index];
+            int leader = getLeader(host, rootIndex);
+            if (index == leader) {
+                int rootHost = hostByNode[rootIndex];
+                for (int childHost : shape.getChildren(toPosition(host, rootHost, hostNodes.length), hostNodes.length)) {
+                    children.add(physicalIds.get(getLeader(toIndex(childHost, rootHost, hostNodes.length), rootIndex)));
+                }
+            }
+
+            int[] nodes = hostNodes[host];
+            for (int child : shape.getChildren(toPosition(positionInHost[index], positionInHost[leader], nodes.length), nodes.length)) {
+                children.add(physicalIds.get(nodes[toIndex(child, positionInHost[leader], nodes.length)]));
+            }
+            return children;
+        }
+
+        /* position in the tree, where the root is at position 0 */
+        private static int toPosition(int index, int rootIndex, int size) {
+            return (index - rootIndex + size) % size;
+        }
 
-            currentIndex = physicalIds.indexOf(nodeData.getCurrentNodePhysicalId());
+        private static int toIndex(int position, int rootIndex, int size) {
+            return (position + rootIndex) % size;
         }
     }
 }
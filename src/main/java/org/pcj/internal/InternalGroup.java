@@ -8,37 +8,65 @@
  */
 package org.pcj.internal;
 
+import java.io.IOException;
 import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collector;
 import org.pcj.AsyncTask;
 import org.pcj.Group;
+import org.pcj.OffHeapArray;
 import org.pcj.PcjFuture;
 import org.pcj.PcjRuntimeException;
 import org.pcj.ReduceOperation;
+import org.pcj.RemoteRef;
 import org.pcj.SerializableSupplier;
+import org.pcj.internal.message.accumulate.AccumulateCombiner;
 import org.pcj.internal.message.accumulate.ValueAccumulateRequestMessage;
 import org.pcj.internal.message.accumulate.ValueAccumulateStates;
 import org.pcj.internal.message.at.AsyncAtRequestMessage;
 import org.pcj.internal.message.at.AsyncAtStates;
+import org.pcj.internal.message.atomic.AtomicOperation;
+import org.pcj.internal.message.atomic.ValueAtomicRequestMessage;
+import org.pcj.internal.message.atomic.ValueAtomicStates;
+import org.pcj.internal.message.allreduce.AllGatherOperation;
+import org.pcj.internal.message.allreduce.AllReduceOperation;
+import org.pcj.internal.message.allreduce.AllReduceStates;
+import org.pcj.internal.message.allreduce.AllToAllOperation;
+import org.pcj.internal.message.allreduce.ReduceScatterOperation;
+import org.pcj.internal.message.allreduce.ScanOperation;
 import org.pcj.internal.message.barrier.BarrierStates;
 import org.pcj.internal.message.broadcast.BroadcastRequestMessage;
 import org.pcj.internal.message.broadcast.BroadcastStates;
 import org.pcj.internal.message.collect.CollectStates;
 import org.pcj.internal.message.gather.GatherStates;
+import org.pcj.internal.message.map.MapOperation;
+import org.pcj.internal.message.map.MapRequestMessage;
+import org.pcj.internal.message.map.MapStates;
+import org.pcj.internal.message.offheap.OffHeapGetRequestMessage;
+import org.pcj.internal.message.offheap.OffHeapPutRequestMessage;
+import org.pcj.internal.message.offheap.OffHeapStates;
+import org.pcj.internal.message.get.ValueGetCache;
 import org.pcj.internal.message.get.ValueGetRequestMessage;
 import org.pcj.internal.message.get.ValueGetStates;
+import org.pcj.internal.message.get.ValueGetVersionedRequestMessage;
 import org.pcj.internal.message.peerbarrier.PeerBarrierMessage;
 import org.pcj.internal.message.peerbarrier.PeerBarrierStates;
+import org.pcj.internal.message.put.ValuePutMulticastRequestMessage;
 import org.pcj.internal.message.put.ValuePutRequestMessage;
 import org.pcj.internal.message.put.ValuePutStates;
 import org.pcj.internal.message.reduce.ReduceStates;
 import org.pcj.internal.message.scatter.ScatterRequestMessage;
 import org.pcj.internal.message.scatter.ScatterStates;
 import org.pcj.internal.message.splitgroup.SplitGroupStates;
+import org.pcj.internal.network.InputStreamCloner;
 
 /**
  * External class that represents group for grouped communication.
@@ -51,8 +79,12 @@ public final class InternalGroup extends InternalCommonGroup implements Group {
     private final ValueGetStates valueGetStates;
     private final ValuePutStates valuePutStates;
     private final ValueAccumulateStates valueAccumulateStates;
+    private final ValueAtomicStates valueAtomicStates;
     private final AsyncAtStates asyncAtStates;
     private final PeerBarrierStates peerBarrierStates;
+    private final OffHeapStates offHeapStates;
+    private final MapStates mapStates;
+    private final ValueGetCache valueGetCache;
 
     public InternalGroup(int threadId, InternalCommonGroup internalGroup) {
         super(internalGroup);
@@ -62,8 +94,12 @@ public final class InternalGroup extends InternalCommonGroup implements Group {
         this.valueGetStates = new ValueGetStates();
         this.valuePutStates = new ValuePutStates();
         this.valueAccumulateStates = new ValueAccumulateStates();
+        this.valueAtomicStates = new ValueAtomicStates();
         this.asyncAtStates = new AsyncAtStates();
         this.peerBarrierStates = new PeerBarrierStates();
+        this.offHeapStates = new OffHeapStates();
+        this.mapStates = new MapStates();
+        this.valueGetCache = new ValueGetCache();
     }
 
     public int myId() {
@@ -82,6 +118,10 @@ public final class InternalGroup extends InternalCommonGroup implements Group {
         return valueAccumulateStates;
     }
 
+    public ValueAtomicStates getValueAtomicStates() {
+        return valueAtomicStates;
+    }
+
     public AsyncAtStates getAsyncAtStates() {
         return asyncAtStates;
     }
@@ -90,8 +130,21 @@ public final class InternalGroup extends InternalCommonGroup implements Group {
         return peerBarrierStates;
     }
 
+    public OffHeapStates getOffHeapStates() {
+        return offHeapStates;
+    }
+
+    public MapStates getMapStates() {
+        return mapStates;
+    }
+
     @Override
     public PcjFuture<Void> asyncBarrier() {
+        AccumulateCombiner accumulateCombiner = InternalPCJ.getNodeData().getAccumulateCombiner();
+        if (accumulateCombiner.isEnabled()) {
+            accumulateCombiner.flush();
+        }
+
         BarrierStates states = super.getBarrierStates();
         int round = states.getNextRound(myThreadId);
         BarrierStates.State state = states.getOrCreate(round, this);
@@ -121,21 +174,74 @@ public final class InternalGroup extends InternalCommonGroup implements Group {
 
     @Override
     public <R> PcjFuture<R> asyncGet(int threadId, Enum<?> variable, int... indices) {
-        ValueGetStates.State<R> state = valueGetStates.create();
-
         int globalThreadId = super.getGlobalThreadId(threadId);
         int physicalId = InternalPCJ.getNodeData().getPhysicalId(globalThreadId);
         SocketChannel socket = InternalPCJ.getNodeData().getSocketChannelByPhysicalId(physicalId);
 
+        return asyncGet(socket, threadId, variable.getDeclaringClass().getName(), variable.name(), indices);
+    }
+
+    <R> PcjFuture<R> asyncGet(SocketChannel socket, int threadId, String sharedEnumClassName, String name, int[] indices) {
+        if (valueGetCache.isEnabled(sharedEnumClassName, name)) {
+            return asyncCachedGet(socket, threadId, sharedEnumClassName, name, indices);
+        }
+
+        ValueGetStates.State<R> state = valueGetStates.create();
+
         ValueGetRequestMessage message = new ValueGetRequestMessage(
                 super.getGroupId(), state.getRequestNum(), myThreadId, threadId,
-                variable.getDeclaringClass().getName(), variable.name(), indices);
+                sharedEnumClassName, name, indices);
 
         InternalPCJ.getNetworker().send(socket, message);
 
         return state.getFuture();
     }
 
+    private <R> PcjFuture<R> asyncCachedGet(SocketChannel socket, int threadId, String sharedEnumClassName, String name, int[] indices) {
+        ValueGetCache.Key key = valueGetCache.key(threadId, sharedEnumClassName, name, indices);
+        ValueGetCache.Entry entry = valueGetCache.get(key);
+        if (entry != null && !entry.isExpired()) {
+            return valueGetCache.getFuture(entry);
+        }
+
+        ValueGetStates.State<R> state = valueGetStates.create(valueGetCache, key, entry);
+
+        ValueGetVersionedRequestMessage message = new ValueGetVersionedRequestMessage(
+                super.getGroupId(), state.getRequestNum(), myThreadId, threadId,
+                sharedEnumClassName, name, indices, state.getCachedVersion());
+
+        try {
+            InternalPCJ.getNetworker().send(socket, message);
+        } catch (PcjRuntimeException ex) {
+            state.signal(null, ex);
+        }
+
+        return state.getFuture();
+    }
+
+    @Override
+    public void enableReadCache(Enum<?> variable, long lease, TimeUnit unit) {
+        valueGetCache.enable(variable.getDeclaringClass().getName(), variable.name(), unit.toNanos(lease));
+    }
+
+    @Override
+    public void disableReadCache(Enum<?> variable) {
+        valueGetCache.disable(variable.getDeclaringClass().getName(), variable.name());
+    }
+
+    private void invalidateReadCache(int threadId, Enum<?> variable) {
+        valueGetCache.invalidate(threadId, variable.getDeclaringClass().getName(), variable.name());
+    }
+
+    @Override
+    public <T> RemoteRef<T> ref(int threadId, Enum<?> variable, int... indices) {
+        int globalThreadId = super.getGlobalThreadId(threadId);
+        int physicalId = InternalPCJ.getNodeData().getPhysicalId(globalThreadId);
+        SocketChannel socket = InternalPCJ.getNodeData().getSocketChannelByPhysicalId(physicalId);
+
+        return new InternalRemoteRef<>(this, physicalId, socket, threadId, variable, indices);
+    }
+
     @Override
     public <R> PcjFuture<Map<Integer, R>> asyncGather(Enum<?> variable, int... indices) {
         String sharedEnumClassName = variable.getDeclaringClass().getName();
@@ -162,6 +268,85 @@ public final class InternalGroup extends InternalCommonGroup implements Group {
         return state.getFuture();
     }
 
+    @Override
+    public <R> PcjFuture<R> asyncAllReduce(ReduceOperation<R> function, Enum<?> variable, int... indices) {
+        String sharedEnumClassName = variable.getDeclaringClass().getName();
+        String variableName = variable.name();
+
+        AllReduceStates states = super.getAllReduceStates();
+        int round = states.getNextRound(myThreadId);
+        AllReduceStates.State<R> state = states.getOrCreate(round, this);
+
+        return state.processLocal(this, myThreadId, new AllReduceOperation<>(function, sharedEnumClassName, variableName, indices));
+    }
+
+    @Override
+    public <R> PcjFuture<Map<Integer, R>> asyncAllGather(Enum<?> variable, int... indices) {
+        String sharedEnumClassName = variable.getDeclaringClass().getName();
+        String variableName = variable.name();
+
+        AllReduceStates states = super.getAllReduceStates();
+        int round = states.getNextRound(myThreadId);
+        AllReduceStates.State<Map<Integer, R>> state = states.getOrCreate(round, this);
+
+        return state.processLocal(this, myThreadId, new AllGatherOperation<>(sharedEnumClassName, variableName, indices));
+    }
+
+    @Override
+    public <R> PcjFuture<R> asyncScan(ReduceOperation<R> function, Enum<?> variable, int... indices) {
+        return scan(function, false, variable, indices);
+    }
+
+    @Override
+    public <R> PcjFuture<R> asyncExscan(ReduceOperation<R> function, Enum<?> variable, int... indices) {
+        return scan(function, true, variable, indices);
+    }
+
+    private <R> PcjFuture<R> scan(ReduceOperation<R> function, boolean exclusive, Enum<?> variable, int... indices) {
+        String sharedEnumClassName = variable.getDeclaringClass().getName();
+        String variableName = variable.name();
+
+        AllReduceStates states = super.getAllReduceStates();
+        int round = states.getNextRound(myThreadId);
+        AllReduceStates.State<R> state = states.getOrCreate(round, this);
+
+        return state.processLocal(this, myThreadId, new ScanOperation<>(function, exclusive, sharedEnumClassName, variableName, indices));
+    }
+
+    @Override
+    public <T> PcjFuture<Map<Integer, T>> asyncAllToAll(Map<Integer, T> values) {
+        AllReduceStates states = super.getAllReduceStates();
+        int round = states.getNextRound(myThreadId);
+        AllReduceStates.State<Map<Integer, T>> state = states.getOrCreate(round, this);
+
+        int threadCount = super.threadCount();
+        Map<Integer, T> valueMap = new HashMap<>(Math.min(threadCount, values.size()), 1.0f);
+        for (int i = 0; i < threadCount; i++) {
+            if (values.containsKey(i)) {
+                valueMap.put(i, values.get(i));
+            }
+        }
+
+        return state.processLocal(this, myThreadId, new AllToAllOperation<>(valueMap));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <R> PcjFuture<R> asyncReduceScatter(ReduceOperation<R> function, Enum<?> variable, int... indices) {
+        if (!(function instanceof PrimitiveReduceOperations.ArrayOperation)) {
+            throw new IllegalArgumentException("Reduce-scatter requires element-wise operation on primitive arrays: " + function);
+        }
+        String sharedEnumClassName = variable.getDeclaringClass().getName();
+        String variableName = variable.name();
+
+        AllReduceStates states = super.getAllReduceStates();
+        int round = states.getNextRound(myThreadId);
+        AllReduceStates.State<R> state = states.getOrCreate(round, this);
+
+        return state.processLocal(this, myThreadId, new ReduceScatterOperation<>((PrimitiveReduceOperations.ArrayOperation<R>) function,
+                sharedEnumClassName, variableName, indices));
+    }
+
     @Override
     public <T, R> PcjFuture<R> asyncCollect(SerializableSupplier<Collector<T, ?, R>> collectorSupplier, Enum<?> variable, int... indices) {
         String sharedEnumClassName = variable.getDeclaringClass().getName();
@@ -177,15 +362,93 @@ public final class InternalGroup extends InternalCommonGroup implements Group {
 
     @Override
     public <T> PcjFuture<Void> asyncPut(T newValue, int threadId, Enum<?> variable, int... indices) {
+        int globalThreadId = super.getGlobalThreadId(threadId);
+        int physicalId = InternalPCJ.getNodeData().getPhysicalId(globalThreadId);
+        SocketChannel socket = InternalPCJ.getNodeData().getSocketChannelByPhysicalId(physicalId);
+
+        return asyncPut(newValue, socket, threadId, variable.getDeclaringClass().getName(), variable.name(), indices);
+    }
+
+    <T> PcjFuture<Void> asyncPut(T newValue, SocketChannel socket, int threadId, String sharedEnumClassName, String name, int[] indices) {
+        valueGetCache.invalidate(threadId, sharedEnumClassName, name);
+
         ValuePutStates.State state = valuePutStates.create();
 
+        ValuePutRequestMessage message = new ValuePutRequestMessage(
+                super.getGroupId(), state.getRequestNum(), myThreadId, threadId,
+                sharedEnumClassName, name, indices, newValue);
+
+        try {
+            InternalPCJ.getNetworker().send(socket, message);
+        } catch (PcjRuntimeException ex) {
+            state.signal(ex);
+        }
+
+        return state.getFuture();
+    }
+
+    @Override
+    public <T> PcjFuture<Void> asyncPut(T newValue, int[] threadIds, Enum<?> variable, int... indices) {
+        NodeData nodeData = InternalPCJ.getNodeData();
+        Map<Integer, List<Integer>> threadIdsByNode = new LinkedHashMap<>();
+        Arrays.stream(threadIds).distinct().forEach(threadId -> {
+            int physicalId = nodeData.getPhysicalId(super.getGlobalThreadId(threadId));
+            threadIdsByNode.computeIfAbsent(physicalId, key -> new ArrayList<>()).add(threadId);
+            invalidateReadCache(threadId, variable);
+        });
+
+        InputStreamCloner valueBytes = null;
+        Exception exception = null;
+        try {
+            valueBytes = InputStreamCloner.serialize(newValue);
+        } catch (IOException ex) {
+            exception = ex;
+        }
+        if (exception != null || threadIdsByNode.isEmpty()) {
+            ValuePutStates.State state = valuePutStates.create();
+            valuePutStates.remove(state.getRequestNum());
+            state.signal(exception);
+            return state.getFuture();
+        }
+
+        ValuePutStates.State state = valuePutStates.create(threadIdsByNode.size());
+        for (Map.Entry<Integer, List<Integer>> entry : threadIdsByNode.entrySet()) {
+            SocketChannel socket = nodeData.getSocketChannelByPhysicalId(entry.getKey());
+
+            ValuePutMulticastRequestMessage message = new ValuePutMulticastRequestMessage(
+                    super.getGroupId(), state.getRequestNum(), myThreadId,
+                    entry.getValue().stream().mapToInt(Integer::intValue).toArray(),
+                    variable.getDeclaringClass().getName(), variable.name(), indices, valueBytes);
+
+            try {
+                InternalPCJ.getNetworker().send(socket, message);
+            } catch (PcjRuntimeException ex) {
+                if (state.signal(ex)) {
+                    valuePutStates.remove(state.getRequestNum());
+                }
+            }
+        }
+
+        return state.getFuture();
+    }
+
+    @Override
+    public PcjFuture<Void> asyncGet(int threadId, Enum<?> variable, long index, OffHeapArray target, long targetIndex, long length) {
+        int elementBytes = target.elementBytes();
+        long byteLength = length * elementBytes;
+        long targetByteOffset = targetIndex * elementBytes;
+        target.getMemory().checkRange(targetByteOffset, byteLength);
+
+        OffHeapStates.State state = offHeapStates.create(target.getMemory(), targetByteOffset, byteLength);
+
         int globalThreadId = super.getGlobalThreadId(threadId);
         int physicalId = InternalPCJ.getNodeData().getPhysicalId(globalThreadId);
         SocketChannel socket = InternalPCJ.getNodeData().getSocketChannelByPhysicalId(physicalId);
 
-        ValuePutRequestMessage message = new ValuePutRequestMessage(
+        OffHeapGetRequestMessage message = new OffHeapGetRequestMessage(
                 super.getGroupId(), state.getRequestNum(), myThreadId, threadId,
-                variable.getDeclaringClass().getName(), variable.name(), indices, newValue);
+                variable.getDeclaringClass().getName(), variable.name(),
+                elementBytes, index * elementBytes, byteLength);
 
         try {
             InternalPCJ.getNetworker().send(socket, message);
@@ -197,16 +460,99 @@ public final class InternalGroup extends InternalCommonGroup implements Group {
     }
 
     @Override
-    public <T> PcjFuture<Void> asyncAccumulate(ReduceOperation<T> function, T newValue, int threadId, Enum<?> variable, int... indices) {
-        ValueAccumulateStates.State state = valueAccumulateStates.create();
+    public PcjFuture<Void> asyncPut(OffHeapArray source, long sourceIndex, long length, int threadId, Enum<?> variable, long index) {
+        invalidateReadCache(threadId, variable);
+
+        int elementBytes = source.elementBytes();
+        long byteLength = length * elementBytes;
+        long sourceByteOffset = sourceIndex * elementBytes;
+        source.getMemory().checkRange(sourceByteOffset, byteLength);
+
+        OffHeapStates.State state = offHeapStates.create();
 
         int globalThreadId = super.getGlobalThreadId(threadId);
         int physicalId = InternalPCJ.getNodeData().getPhysicalId(globalThreadId);
         SocketChannel socket = InternalPCJ.getNodeData().getSocketChannelByPhysicalId(physicalId);
 
+        OffHeapPutRequestMessage message = new OffHeapPutRequestMessage(
+                super.getGroupId(), state.getRequestNum(), myThreadId, threadId,
+                variable.getDeclaringClass().getName(), variable.name(),
+                elementBytes, index * elementBytes, byteLength, source.getMemory(), sourceByteOffset);
+
+        try {
+            InternalPCJ.getNetworker().send(socket, message);
+        } catch (PcjRuntimeException ex) {
+            state.signal(ex);
+        }
+
+        return state.getFuture();
+    }
+
+    /**
+     * Performs batched operation on distributed map partition of the thread.
+     * Operation on own partition is performed immediately.
+     */
+    @SuppressWarnings("unchecked")
+    public PcjFuture<Object[]> asyncMapOperation(int threadId, Enum<?> variable, MapOperation operation,
+                                                 Object[] keys, Object[] values, ReduceOperation<?> function) {
+        MapStates.State state = mapStates.create();
+
+        if (threadId == myThreadId) {
+            mapStates.remove(state.getRequestNum());
+            try {
+                Object[] result = MapRequestMessage.apply(PcjThread.getCurrentThreadData().getStorages(),
+                        variable.getDeclaringClass().getName(), variable.name(),
+                        operation, keys, values, (ReduceOperation<Object>) function);
+                state.signal(result, null);
+            } catch (Exception ex) {
+                state.signal(null, ex);
+            }
+            return state.getFuture();
+        }
+
+        int globalThreadId = super.getGlobalThreadId(threadId);
+        int physicalId = InternalPCJ.getNodeData().getPhysicalId(globalThreadId);
+        SocketChannel socket = InternalPCJ.getNodeData().getSocketChannelByPhysicalId(physicalId);
+
+        MapRequestMessage message = new MapRequestMessage(
+                super.getGroupId(), state.getRequestNum(), myThreadId, threadId,
+                variable.getDeclaringClass().getName(), variable.name(),
+                operation, keys, values, function);
+
+        try {
+            InternalPCJ.getNetworker().send(socket, message);
+        } catch (PcjRuntimeException ex) {
+            state.signal(null, ex);
+        }
+
+        return state.getFuture();
+    }
+
+    @Override
+    public <T> PcjFuture<Void> asyncAccumulate(ReduceOperation<T> function, T newValue, int threadId, Enum<?> variable, int... indices) {
+        int globalThreadId = super.getGlobalThreadId(threadId);
+        int physicalId = InternalPCJ.getNodeData().getPhysicalId(globalThreadId);
+        SocketChannel socket = InternalPCJ.getNodeData().getSocketChannelByPhysicalId(physicalId);
+
+        return asyncAccumulate(function, newValue, physicalId, socket, threadId,
+                variable.getDeclaringClass().getName(), variable.name(), indices);
+    }
+
+    <T> PcjFuture<Void> asyncAccumulate(ReduceOperation<T> function, T newValue, int physicalId, SocketChannel socket,
+                                        int threadId, String sharedEnumClassName, String name, int[] indices) {
+        valueGetCache.invalidate(threadId, sharedEnumClassName, name);
+
+        AccumulateCombiner accumulateCombiner = InternalPCJ.getNodeData().getAccumulateCombiner();
+        if (accumulateCombiner.isEnabled()) {
+            return accumulateCombiner.accumulate(physicalId, super.getGroupId(), threadId,
+                    sharedEnumClassName, name, indices, function, newValue);
+        }
+
+        ValueAccumulateStates.State state = valueAccumulateStates.create();
+
         ValueAccumulateRequestMessage<T> message = new ValueAccumulateRequestMessage<>(
                 super.getGroupId(), state.getRequestNum(), myThreadId, threadId,
-                variable.getDeclaringClass().getName(), variable.name(), indices, function, newValue);
+                sharedEnumClassName, name, indices, function, newValue);
 
         try {
             InternalPCJ.getNetworker().send(socket, message);
@@ -217,6 +563,44 @@ public final class InternalGroup extends InternalCommonGroup implements Group {
         return state.getFuture();
     }
 
+    @Override
+    public <T> PcjFuture<T> asyncFetchAndAdd(T delta, int threadId, Enum<?> variable, int... indices) {
+        return asyncAtomic(AtomicOperation.FETCH_AND_ADD, null, delta, threadId, variable, indices);
+    }
+
+    @Override
+    public <T> PcjFuture<T> asyncCompareAndSet(T expectedValue, T newValue, int threadId, Enum<?> variable, int... indices) {
+        return asyncAtomic(AtomicOperation.COMPARE_AND_SET, expectedValue, newValue, threadId, variable, indices);
+    }
+
+    @Override
+    public <T> PcjFuture<T> asyncGetAndSet(T newValue, int threadId, Enum<?> variable, int... indices) {
+        return asyncAtomic(AtomicOperation.GET_AND_SET, null, newValue, threadId, variable, indices);
+    }
+
+    private <T> PcjFuture<T> asyncAtomic(AtomicOperation operation, T expectedValue, T newValue, int threadId, Enum<?> variable, int... indices) {
+        invalidateReadCache(threadId, variable);
+
+        ValueAtomicStates.State<T> state = valueAtomicStates.create();
+
+        int globalThreadId = super.getGlobalThreadId(threadId);
+        int physicalId = InternalPCJ.getNodeData().getPhysicalId(globalThreadId);
+        SocketChannel socket = InternalPCJ.getNodeData().getSocketChannelByPhysicalId(physicalId);
+
+        ValueAtomicRequestMessage message = new ValueAtomicRequestMessage(
+                super.getGroupId(), state.getRequestNum(), myThreadId, threadId,
+                variable.getDeclaringClass().getName(), variable.name(), indices,
+                operation, expectedValue, newValue);
+
+        try {
+            InternalPCJ.getNetworker().send(socket, message);
+        } catch (PcjRuntimeException ex) {
+            state.signal(null, ex);
+        }
+
+        return state.getFuture();
+    }
+
     @Override
     public <T> PcjFuture<Void> asyncBroadcast(T newValue, Enum<?> variable, int... indices) {
         BroadcastStates states = super.getBroadcastStates();
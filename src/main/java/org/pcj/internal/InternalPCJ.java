@@ -30,6 +30,7 @@ import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.pcj.PcjRuntimeException;
 import org.pcj.StartPoint;
+import org.pcj.internal.message.accumulate.AccumulateCombiner;
 import org.pcj.internal.message.alive.AliveState;
 import org.pcj.internal.message.bye.ByeState;
 import org.pcj.internal.message.hello.HelloMessage;
@@ -137,8 +138,10 @@ public abstract class InternalPCJ {
 
             Map<Integer, PcjThread> pcjThreads = null;
             AliveState aliveState = nodeData.getAliveState();
+            AccumulateCombiner accumulateCombiner = nodeData.getAccumulateCombiner();
             try {
                 aliveState.start(Thread.currentThread());
+                accumulateCombiner.start();
 
                 /* Preparing PcjThreads */
                 Semaphore notificationObject = new Semaphore(0);
@@ -175,6 +178,7 @@ public abstract class InternalPCJ {
                 }
             } finally {
                 aliveState.stop();
+                accumulateCombiner.stop();
 
                 /* Finishing asyncTaskWorkers */
                 if (pcjThreads != null) {
@@ -246,7 +250,11 @@ public abstract class InternalPCJ {
         try {
             HelloState state = nodeData.getHelloState();
 
-            HelloMessage helloMessage = new HelloMessage(port, threadIds.stream().mapToInt(Integer::intValue).toArray());
+            String hostId = InternalPCJ.getConfiguration().HOST_ID;
+            if (hostId.isEmpty()) {
+                hostId = networker.getCurrentHost();
+            }
+            HelloMessage helloMessage = new HelloMessage(port, hostId, threadIds.stream().mapToInt(Integer::intValue).toArray());
 
             networker.send(nodeData.getNode0Socket(), helloMessage);
 
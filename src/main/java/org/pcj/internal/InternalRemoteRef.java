@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2011-2026, PCJ Library, Marek Nowicki
+ * All rights reserved.
+ *
+ * Licensed under New BSD License (3-clause license).
+ *
+ * See the file "LICENSE" for the full license governing this code.
+ */
+package org.pcj.internal;
+
+import java.nio.channels.SocketChannel;
+import java.util.Arrays;
+import org.pcj.PcjFuture;
+import org.pcj.ReduceOperation;
+import org.pcj.RemoteRef;
+
+/**
+ * Remote variable handle with destination socket and variable names
+ * resolved on creation.
+ *
+ * @author Marek Nowicki (faramir@mat.umk.pl)
+ */
+final class InternalRemoteRef<T> implements RemoteRef<T> {
+
+    private final InternalGroup group;
+    private final int physicalId;
+    private final SocketChannel socket;
+    private final int threadId;
+    private final Enum<?> variable;
+    private final String sharedEnumClassName;
+    private final String name;
+    private final int[] indices;
+
+    InternalRemoteRef(InternalGroup group, int physicalId, SocketChannel socket, int threadId, Enum<?> variable, int[] indices) {
+        this.group = group;
+        this.physicalId = physicalId;
+        this.socket = socket;
+        this.threadId = threadId;
+        this.variable = variable;
+        this.sharedEnumClassName = variable.getDeclaringClass().getName();
+        this.name = variable.name();
+        this.indices = indices.clone();
+    }
+
+    @Override
+    public int threadId() {
+        return threadId;
+    }
+
+    @Override
+    public Enum<?> variable() {
+        return variable;
+    }
+
+    @Override
+    public PcjFuture<T> asyncGet() {
+        return group.asyncGet(socket, threadId, sharedEnumClassName, name, indices);
+    }
+
+    @Override
+    public PcjFuture<Void> asyncPut(T newValue) {
+        return group.asyncPut(newValue, socket, threadId, sharedEnumClassName, name, indices);
+    }
+
+    @Override
+    public PcjFuture<Void> asyncAccumulate(ReduceOperation<T> function, T newValue) {
+        return group.asyncAccumulate(function, newValue, physicalId, socket, threadId, sharedEnumClassName, name, indices);
+    }
+
+    @Override
+    public String toString() {
+        return "RemoteRef[" + threadId + ":" + sharedEnumClassName + "." + name
+                       + (indices.length == 0 ? "" : Arrays.toString(indices)) + "]";
+    }
+}
@@ -8,25 +8,53 @@
  */
 package org.pcj.internal;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.lang.reflect.Array;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Modifier;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
+import org.pcj.DoubleReduceOperation;
+import org.pcj.IndexRange;
+import org.pcj.IntReduceOperation;
+import org.pcj.LongReduceOperation;
+import org.pcj.OffHeapArray;
+import org.pcj.PcjFuture;
 import org.pcj.PcjRuntimeException;
 import org.pcj.ReduceOperation;
 import org.pcj.Storage;
+import org.pcj.internal.network.InputStreamCloner;
 
 /**
  * External class with methods do handle shareable variables.
@@ -35,19 +63,223 @@ import org.pcj.Storage;
  */
 public class InternalStorages {
 
+    /* marker returned by update function when variable should not be modified */
+    private static final Object NOT_MODIFIED = new Object();
+
+    /**
+     * Modification counter that completes asynchronous waits on release,
+     * in the thread that modified the variable.
+     */
+    private static class ModificationCounter extends Semaphore {
+
+        private static final long serialVersionUID = 1L;
+        private final transient Queue<Waiter> waiters;
+
+        ModificationCounter() {
+            super(0);
+            waiters = new ConcurrentLinkedQueue<>();
+        }
+
+        @Override
+        public void release() {
+            release(1);
+        }
+
+        @Override
+        public void release(int permits) {
+            super.release(permits);
+            if (!waiters.isEmpty()) {
+                waiters.removeIf(waiter -> waiter.tryComplete(this));
+            }
+        }
+
+        void addWaiter(Waiter waiter) {
+            waiters.add(waiter);
+            /* modification could happen before the waiter was added */
+            if (waiter.tryComplete(this)) {
+                waiters.remove(waiter);
+            }
+        }
+
+        void removeWaiter(Waiter waiter) {
+            waiters.remove(waiter);
+        }
+    }
+
+    private interface Waiter {
+
+        /**
+         * Tries to acquire modifications from the counter and complete.
+         *
+         * @return {@code true} if waiter is completed and can be removed
+         */
+        boolean tryComplete(ModificationCounter counter);
+    }
+
+    private static class CountWaiter implements Waiter {
+
+        private final int count;
+        private final WaitForFuture<Integer> future;
+        private boolean done;
+
+        CountWaiter(int count, WaitForFuture<Integer> future) {
+            this.count = count;
+            this.future = future;
+        }
+
+        @Override
+        public synchronized boolean tryComplete(ModificationCounter counter) {
+            if (done) {
+                return true;
+            }
+            if (!counter.tryAcquire(count)) {
+                return false;
+            }
+            done = true;
+            future.signalDone(counter.availablePermits());
+            return true;
+        }
+    }
+
+    private static class AnyWaiter implements Waiter {
+
+        private final Enum<?>[] variables;
+        private final ModificationCounter[] counters;
+        private final WaitForFuture<Enum<?>> future;
+        private boolean done;
+
+        AnyWaiter(Enum<?>[] variables, ModificationCounter[] counters, WaitForFuture<Enum<?>> future) {
+            this.variables = variables;
+            this.counters = counters;
+            this.future = future;
+        }
+
+        @Override
+        public synchronized boolean tryComplete(ModificationCounter counter) {
+            if (done) {
+                return true;
+            }
+            if (!counter.tryAcquire()) {
+                return false;
+            }
+            done = true;
+
+            Enum<?> variable = null;
+            for (int i = 0; i < counters.length; ++i) {
+                if (counters[i] == counter) {
+                    variable = variables[i];
+                } else {
+                    counters[i].removeWaiter(this);
+                }
+            }
+            future.signalDone(variable);
+            return true;
+        }
+    }
+
     private static class StorageField {
 
+        /* have to be power of 2 */
+        private static final int ELEMENT_LOCK_STRIPES = 32;
         private final Field field;
         private final Object storageObject;
-        private final Semaphore modificationCounter;
+        private final ModificationCounter modificationCounter;
+        /* counters of all threads that see the variable, including this one */
+        private final List<Semaphore> modificationCounters;
+        /* increased on every modification, never decreased */
+        private final AtomicLong version;
+        /* null when modified elements are not tracked */
+        private final AtomicReference<DirtyTracker> dirtyTracker;
+        private final ReadWriteLock lock;
+        private final Lock[] elementLocks;
 
         StorageField(Field field, Object storageObject) {
+            this(field, storageObject, new ModificationCounter());
+        }
+
+        private StorageField(Field field, Object storageObject, ModificationCounter modificationCounter) {
             this.field = field;
             this.storageObject = storageObject;
 
             field.setAccessible(true);
 
-            this.modificationCounter = new Semaphore(0);
+            this.modificationCounter = modificationCounter;
+            if (modificationCounter != null) {
+                this.modificationCounters = Collections.singletonList(modificationCounter);
+            } else {
+                this.modificationCounters = new CopyOnWriteArrayList<>();
+            }
+            this.version = new AtomicLong();
+            this.dirtyTracker = new AtomicReference<>();
+            this.lock = new ReentrantReadWriteLock();
+
+            if (field.getType().isArray()) {
+                elementLocks = new Lock[ELEMENT_LOCK_STRIPES];
+                for (int i = 0; i < elementLocks.length; ++i) {
+                    elementLocks[i] = new ReentrantLock();
+                }
+            } else {
+                elementLocks = null;
+            }
+        }
+
+        /**
+         * Creates node-scoped variable. The variable itself is not used
+         * directly by any thread, only through its thread views.
+         */
+        static StorageField createNodeScoped(Field field, Object storageObject) {
+            return new StorageField(field, storageObject, null);
+        }
+
+        /**
+         * Creates thread view of node-scoped variable. The view shares value
+         * and locks, but has its own modification counter, that is increased
+         * on every modification made by any thread.
+         */
+        private StorageField(StorageField nodeField) {
+            this.field = nodeField.field;
+            this.storageObject = nodeField.storageObject;
+            this.lock = nodeField.lock;
+            this.elementLocks = nodeField.elementLocks;
+            this.version = nodeField.version;
+            this.dirtyTracker = nodeField.dirtyTracker;
+
+            this.modificationCounter = new ModificationCounter();
+            this.modificationCounters = nodeField.modificationCounters;
+            this.modificationCounters.add(modificationCounter);
+        }
+
+        /**
+         * Locks the element pointed by indices, or the whole variable when
+         * indices are empty.
+         * <p>
+         * Whole variable is guarded by the write lock. Elements of array variable
+         * are guarded by the read lock and striped locks, so concurrent updates of
+         * different elements usually do not contend, but they are still excluded
+         * with updates of the whole variable.
+         */
+        void lock(int[] indices) {
+            if (indices.length == 0 || elementLocks == null) {
+                lock.writeLock().lock();
+                return;
+            }
+            lock.readLock().lock();
+            getElementLock(indices).lock();
+        }
+
+        void unlock(int[] indices) {
+            if (indices.length == 0 || elementLocks == null) {
+                lock.writeLock().unlock();
+                return;
+            }
+            getElementLock(indices).unlock();
+            lock.readLock().unlock();
+        }
+
+        private Lock getElementLock(int[] indices) {
+            int hash = Arrays.hashCode(indices);
+            hash ^= (hash >>> 16);
+            return elementLocks[hash & (ELEMENT_LOCK_STRIPES - 1)];
         }
 
         Class<?> getType() {
@@ -70,8 +302,63 @@ public class InternalStorages {
             }
         }
 
+        int getInt() {
+            try {
+                return field.getInt(storageObject);
+            } catch (IllegalAccessException ex) {
+                throw new RuntimeException("Cannot get value from storage", ex);
+            }
+        }
+
+        void setInt(int value) {
+            try {
+                field.setInt(storageObject, value);
+            } catch (IllegalAccessException ex) {
+                throw new RuntimeException("Cannot set value to storage", ex);
+            }
+        }
+
+        long getLong() {
+            try {
+                return field.getLong(storageObject);
+            } catch (IllegalAccessException ex) {
+                throw new RuntimeException("Cannot get value from storage", ex);
+            }
+        }
+
+        void setLong(long value) {
+            try {
+                field.setLong(storageObject, value);
+            } catch (IllegalAccessException ex) {
+                throw new RuntimeException("Cannot set value to storage", ex);
+            }
+        }
+
+        double getDouble() {
+            try {
+                return field.getDouble(storageObject);
+            } catch (IllegalAccessException ex) {
+                throw new RuntimeException("Cannot get value from storage", ex);
+            }
+        }
+
+        void setDouble(double value) {
+            try {
+                field.setDouble(storageObject, value);
+            } catch (IllegalAccessException ex) {
+                throw new RuntimeException("Cannot set value to storage", ex);
+            }
+        }
+
         void incrementModificationCounter() {
-            modificationCounter.release();
+            incrementModificationCounter(1);
+        }
+
+        void incrementModificationCounter(int count) {
+            version.incrementAndGet();
+            for (Semaphore counter : modificationCounters) {
+                counter.release(count);
+            }
         }
 
         int resetModificationCounter() {
@@ -91,16 +378,63 @@ public class InternalStorages {
         int getModificationCounter() {
             return modificationCounter.availablePermits();
         }
+
+        ModificationCounter getModificationCounterObject() {
+            return modificationCounter;
+        }
+
+        long getVersion() {
+            return version.get();
+        }
+
+        long incrementVersion() {
+            return version.incrementAndGet();
+        }
+
+        void setDirtyTracker(DirtyTracker tracker) {
+            dirtyTracker.set(tracker);
+        }
+
+        DirtyTracker getDirtyTracker() {
+            return dirtyTracker.get();
+        }
+
+        /**
+         * Marks element pointed by the first index as modified, or the whole
+         * variable if indices are omitted.
+         */
+        void markDirty(int[] indices) {
+            DirtyTracker tracker = dirtyTracker.get();
+            if (tracker != null) {
+                if (indices.length == 0) {
+                    tracker.markAll();
+                } else {
+                    tracker.mark(indices[0]);
+                }
+            }
+        }
+
+        void markDirty(long fromIndex, long toIndex) {
+            DirtyTracker tracker = dirtyTracker.get();
+            if (tracker != null) {
+                tracker.mark(fromIndex, toIndex);
+            }
+        }
     }
 
     private final transient ConcurrentMap<String, String> enumToStorageMap;
     private final transient ConcurrentMap<String, Object> storageObjectsMap;
     private final transient ConcurrentMap<String, ConcurrentMap<String, StorageField>> sharedObjectsMap;
+    private final transient Set<String> nodeSharedEnums;
+    /* checkpoint directory -> variable -> version of variable in the directory */
+    private final transient ConcurrentMap<Path, ConcurrentMap<String, Long>> checkpointVersions;
 
     InternalStorages() {
         enumToStorageMap = new ConcurrentHashMap<>();
         storageObjectsMap = new ConcurrentHashMap<>();
         sharedObjectsMap = new ConcurrentHashMap<>();
+        nodeSharedEnums = ConcurrentHashMap.newKeySet();
+        checkpointVersions = new ConcurrentHashMap<>();
     }
 
     public Object registerStorage(Class<? extends Enum<?>> storageClass) {
@@ -124,6 +458,10 @@ public class InternalStorages {
         }
 
         Storage annotation = storageEnumClass.getAnnotation(Storage.class);
+        if (annotation.scope() == Storage.Scope.NODE && this != InternalPCJ.getNodeData().getNodeStorages()) {
+            return registerNodeStorage(storageEnumClass, storageObject);
+        }
+
         Class<?> storageClass;
 
         if (annotation.value() != Storage.EnclosingClass.class) {
@@ -179,6 +517,45 @@ public class InternalStorages {
         return storage;
     }
 
+    /**
+     * Registers storage in node storages and makes its variables visible in
+     * this storages. All threads use the same instance of the storage class
+     * and the same locks, but each thread has its own modification counters.
+     */
+    private Object registerNodeStorage(Class<? extends Enum<?>> storageEnumClass, Object storageObject) throws NoSuchFieldException {
+        InternalStorages nodeStorages = InternalPCJ.getNodeData().getNodeStorages();
+
+        Object storage;
+        String storageClassName;
+        ConcurrentMap<String, StorageField> storageFields;
+        synchronized (nodeStorages) {
+            storage = nodeStorages.registerStorage0(storageEnumClass, storageObject);
+            storageClassName = nodeStorages.enumToStorageMap.get(storageEnumClass.getName());
+            storageFields = nodeStorages.sharedObjectsMap.get(storageClassName);
+        }
+
+        Object previousStorage = storageObjectsMap.putIfAbsent(storageClassName, storage);
+        if (previousStorage != null && previousStorage != storage) {
+            throw new IllegalArgumentException("Storage class is already registered with thread scope: " + storageClassName);
+        }
+        ConcurrentMap<String, StorageField> threadStorageFields
+                = sharedObjectsMap.computeIfAbsent(storageClassName, key -> new ConcurrentHashMap<>());
+        storageFields.forEach((name, nodeField) -> threadStorageFields.computeIfAbsent(name, key -> new StorageField(nodeField)));
+        enumToStorageMap.putIfAbsent(storageEnumClass.getName(), storageClassName);
+        nodeSharedEnums.add(storageEnumClass.getName());
+
+        return storage;
+    }
+
+    /**
+     * Checks if variables of the enum are shared by all PCJ Threads of the node.
+     *
+     * @return true if enum is registered with {@link Storage.Scope#NODE} scope
+     */
+    public boolean isNodeShared(String sharedEnumClassName) {
+        return nodeSharedEnums.contains(sharedEnumClassName);
+    }
+
     private void createShared0(String parent, String name, Field field, Object storageObject)
             throws NullPointerException, IllegalArgumentException, IllegalStateException {
         Class<?> type = field.getType();
@@ -189,7 +566,12 @@ public class InternalStorages {
 
         ConcurrentMap<String, StorageField> storage
                 = sharedObjectsMap.computeIfAbsent(parent, key -> new ConcurrentHashMap<>());
-        StorageField storageField = new StorageField(field, storageObject);
+        StorageField storageField;
+        if (this == InternalPCJ.getNodeData().getNodeStorages()) {
+            storageField = StorageField.createNodeScoped(field, storageObject);
+        } else {
+            storageField = new StorageField(field, storageObject);
+        }
 
         storage.putIfAbsent(name, storageField);
     }
@@ -277,6 +659,167 @@ public class InternalStorages {
         }
     }
 
+    /**
+     * Returns value of {@code int} variable from Storages without boxing.
+     *
+     * @throws IllegalArgumentException variable cannot be converted to {@code int}
+     *                                  by widening conversion
+     * @see #get(String, String, int...)
+     */
+    public final int getInt(String sharedEnumClassName, String name, int... indices) throws ArrayIndexOutOfBoundsException, ClassCastException {
+        String parent = getParent(sharedEnumClassName);
+        StorageField field = getStorageField(parent, name);
+        if (indices.length == 0) {
+            return field.getInt();
+        } else {
+            return Array.getInt(getLastArray(field, parent, name, indices), indices[indices.length - 1]);
+        }
+    }
+
+    /**
+     * Returns value of {@code long} variable from Storages without boxing.
+     *
+     * @throws IllegalArgumentException variable cannot be converted to {@code long}
+     *                                  by widening conversion
+     * @see #get(String, String, int...)
+     */
+    public final long getLong(String sharedEnumClassName, String name, int... indices) throws ArrayIndexOutOfBoundsException, ClassCastException {
+        String parent = getParent(sharedEnumClassName);
+        StorageField field = getStorageField(parent, name);
+        if (indices.length == 0) {
+            return field.getLong();
+        } else {
+            return Array.getLong(getLastArray(field, parent, name, indices), indices[indices.length - 1]);
+        }
+    }
+
+    /**
+     * Returns value of {@code double} variable from Storages without boxing.
+     *
+     * @throws IllegalArgumentException variable cannot be converted to {@code double}
+     *                                  by widening conversion
+     * @see #get(String, String, int...)
+     */
+    public final double getDouble(String sharedEnumClassName, String name, int... indices) throws ArrayIndexOutOfBoundsException, ClassCastException {
+        String parent = getParent(sharedEnumClassName);
+        StorageField field = getStorageField(parent, name);
+        if (indices.length == 0) {
+            return field.getDouble();
+        } else {
+            return Array.getDouble(getLastArray(field, parent, name, indices), indices[indices.length - 1]);
+        }
+    }
+
+    /**
+     * Returns off-heap array stored in the variable.
+     *
+     * @throws NullPointerException variable is null
+     * @throws ClassCastException   variable does not hold off-heap array
+     */
+    public final OffHeapArray getOffHeapArray(String sharedEnumClassName, String name) throws ClassCastException, NullPointerException {
+        String parent = getParent(sharedEnumClassName);
+        Object value = getStorageField(parent, name).getValue();
+        if (value == null) {
+            throw new NullPointerException("Off-heap array not set: " + parent + "." + name);
+        } else if (!(value instanceof OffHeapArray)) {
+            throw new ClassCastException("Variable is not an off-heap array: " + parent + "." + name);
+        }
+        return (OffHeapArray) value;
+    }
+
+    /**
+     * Notifies waiting threads that the variable was modified in place,
+     * without assigning new value.
+     */
+    public final void incrementModificationCounter(String sharedEnumClassName, String name) {
+        StorageField field = getStorageField(getParent(sharedEnumClassName), name);
+        field.markDirty(new int[0]);
+        field.incrementModificationCounter();
+    }
+
+    /**
+     * Notifies waiting threads that the elements of the variable from
+     * {@code fromIndex} inclusive to {@code toIndex} exclusive were modified
+     * in place.
+     */
+    public final void incrementModificationCounter(String sharedEnumClassName, String name, long fromIndex, long toIndex) {
+        StorageField field = getStorageField(getParent(sharedEnumClassName), name);
+        field.markDirty(fromIndex, toIndex);
+        field.incrementModificationCounter();
+    }
+
+    /**
+     * Starts tracking of modified elements of the variable, in blocks of
+     * {@code blockSize} elements of the first dimension. Tracking of
+     * node-scoped variable is shared by all threads of the node.
+     */
+    public final void enableDirtyTracking(Enum<?> variable, int blockSize) {
+        getStorageField(getParent(variable), variable.name()).setDirtyTracker(new DirtyTracker(blockSize));
+    }
+
+    public final void disableDirtyTracking(Enum<?> variable) {
+        getStorageField(getParent(variable), variable.name()).setDirtyTracker(null);
+    }
+
+    /**
+     * Returns ranges of elements modified since the previous call and clears
+     * them.
+     *
+     * @throws IllegalStateException tracking is not enabled for the variable
+     */
+    public final List<IndexRange> pollDirtyRanges(Enum<?> variable) {
+        String parent = getParent(variable);
+        StorageField field = getStorageField(parent, variable.name());
+        DirtyTracker tracker = field.getDirtyTracker();
+        if (tracker == null) {
+            throw new IllegalStateException("Dirty tracking not enabled: " + parent + "." + variable.name());
+        }
+
+        Object value = field.getValue();
+        long length;
+        if (value == null) {
+            length = 0;
+        } else if (value.getClass().isArray()) {
+            length = Array.getLength(value);
+        } else if (value instanceof OffHeapArray) {
+            length = ((OffHeapArray) value).length();
+        } else {
+            length = 1;
+        }
+        return tracker.drain(length);
+    }
+
+    /**
+     * Returns version of the variable, that is increased on every
+     * modification. Unlike modification counter, version is not decreased by
+     * waiting for modifications.
+     */
+    public final long getVersion(String sharedEnumClassName, String name) {
+        return getStorageField(getParent(sharedEnumClassName), name).getVersion();
+    }
+
+    private StorageField getStorageField(String parent, String name) {
+        ConcurrentMap<String, StorageField> storage = sharedObjectsMap.get(parent);
+
+        StorageField field = storage.get(name);
+        if (field == null) {
+            throw new IllegalArgumentException("Variable not found: " + parent + "." + name);
+        }
+        return field;
+    }
+
+    private Object getLastArray(StorageField field, String parent, String name, int[] indices) {
+        Object array = getArrayElement(field.getValue(), indices, indices.length - 1);
+        if (array == null) {
+            throw new NullPointerException("Cannot get value from: " + parent + "." + name + Arrays.toString(indices));
+        } else if (!array.getClass().isArray()) {
+            throw new ClassCastException("Cannot get value from " + parent + "." + name + Arrays.toString(indices));
+        } else if (Array.getLength(array) <= indices[indices.length - 1]) {
+            throw new ArrayIndexOutOfBoundsException("Cannot get value from " + parent + "." + name + Arrays.toString(indices));
+        }
+        return array;
+    }
+
     /**
      * Accumulates new value of variable to InternalStorages into the array, or as
      * variable value if indices omitted
@@ -290,15 +833,24 @@ public class InternalStorages {
      * @throws ArrayIndexOutOfBoundsException one of indices is out of bound
      */
     public final <T> void accumulate(ReduceOperation<T> function, T value, Enum<?> variable, int... indices) throws ArrayIndexOutOfBoundsException, ClassCastException, NullPointerException {
-        accumulate0(function, value, getParent(variable), variable.name(), indices);
+        accumulate0(function, value, 1, getParent(variable), variable.name(), indices);
     }
 
     public final <T> void accumulate(ReduceOperation<T> function, T value, String sharedEnumClassName, String name, int... indices) throws ArrayIndexOutOfBoundsException, ClassCastException, NullPointerException {
-        accumulate0(function, value, getParent(sharedEnumClassName), name, indices);
+        accumulate0(function, value, 1, getParent(sharedEnumClassName), name, indices);
+    }
+
+    /**
+     * Accumulates value that is combination of {@code modificationCount}
+     * accumulated values. Increases modification count of the variable by
+     * {@code modificationCount}.
+     */
+    public final <T> void accumulate(ReduceOperation<T> function, T value, int modificationCount, String sharedEnumClassName, String name, int... indices) throws ArrayIndexOutOfBoundsException, ClassCastException, NullPointerException {
+        accumulate0(function, value, modificationCount, getParent(sharedEnumClassName), name, indices);
     }
 
     @SuppressWarnings("unchecked")
-    private <T> void accumulate0(ReduceOperation<T> function, T value, String parent, String name, int... indices) throws ArrayIndexOutOfBoundsException, ClassCastException {
+    private <T> void accumulate0(ReduceOperation<T> function, T value, int modificationCount, String parent, String name, int... indices) throws ArrayIndexOutOfBoundsException, ClassCastException {
         ConcurrentMap<String, StorageField> storage = sharedObjectsMap.get(parent);
 
         StorageField field = storage.get(name);
@@ -324,26 +876,199 @@ public class InternalStorages {
             updateValue = PrimitiveTypes.convert(targetClass, value);
         }
 
-        if (indices.length == 0) {
-            synchronized (field) {
-                field.setValue(function.apply((T) field.getValue(), (T) updateValue));
+        field.lock(indices);
+        try {
+            /* array is taken under the lock, as the whole variable can be replaced concurrently */
+            Object array = null;
+            if (indices.length > 0) {
+                array = getLastArray(field, parent, name, indices);
             }
-        } else {
-            Object array = getArrayElement(field.getValue(), indices, indices.length - 1);
+
+            if (!targetClass.isPrimitive() || !accumulatePrimitive(function, value, targetClass, field, array, indices)) {
+                if (array == null) {
+                    field.setValue(function.apply((T) field.getValue(), (T) updateValue));
+                } else {
+                    Array.set(array, indices[indices.length - 1],
+                            function.apply((T) Array.get(array, indices[indices.length - 1]), (T) updateValue));
+                }
+            }
+        } finally {
+            field.unlock(indices);
+        }
+        field.markDirty(indices);
+        field.incrementModificationCounter(modificationCount);
+    }
+
+    /**
+     * Accumulates value using primitive specialized operation, if the operation
+     * matches the type of variable. Has to be called while holding the lock.
+     *
+     * @return true if value was accumulated, false if generic path has to be used
+     */
+    private boolean accumulatePrimitive(ReduceOperation<?> function, Object value, Class<?> targetClass,
+                                        StorageField field, Object array, int[] indices) {
+        if (targetClass == int.class && function instanceof IntReduceOperation) {
+            IntReduceOperation operation = (IntReduceOperation) function;
+            int operand = PrimitiveTypes.convertToInt(value);
             if (array == null) {
-                throw new NullPointerException("Cannot get value from: " + parent + "." + name + Arrays.toString(indices));
-            } else if (!array.getClass().isArray()) {
-                throw new ClassCastException("Cannot get value from " + parent + "." + name + Arrays.toString(indices));
-            } else if (Array.getLength(array) <= indices[indices.length - 1]) {
-                throw new ArrayIndexOutOfBoundsException("Cannot get value from " + parent + "." + name + Arrays.toString(indices));
+                field.setInt(operation.applyAsInt(field.getInt(), operand));
+            } else {
+                int[] intArray = (int[]) array;
+                int index = indices[indices.length - 1];
+                intArray[index] = operation.applyAsInt(intArray[index], operand);
             }
+            return true;
+        } else if (targetClass == long.class && function instanceof LongReduceOperation) {
+            LongReduceOperation operation = (LongReduceOperation) function;
+            long operand = PrimitiveTypes.convertToLong(value);
+            if (array == null) {
+                field.setLong(operation.applyAsLong(field.getLong(), operand));
+            } else {
+                long[] longArray = (long[]) array;
+                int index = indices[indices.length - 1];
+                longArray[index] = operation.applyAsLong(longArray[index], operand);
+            }
+            return true;
+        } else if (targetClass == double.class && function instanceof DoubleReduceOperation) {
+            DoubleReduceOperation operation = (DoubleReduceOperation) function;
+            double operand = PrimitiveTypes.convertToDouble(value);
+            if (array == null) {
+                field.setDouble(operation.applyAsDouble(field.getDouble(), operand));
+            } else {
+                double[] doubleArray = (double[]) array;
+                int index = indices[indices.length - 1];
+                doubleArray[index] = operation.applyAsDouble(doubleArray[index], operand);
+            }
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Atomically adds value to the numeric variable.
+     *
+     * @param delta value to add
+     * @return previous value of variable[indices] or variable if indices omitted
+     * @throws ClassCastException             variable is not numeric or value cannot be
+     *                                        assigned to the variable
+     * @throws ArrayIndexOutOfBoundsException one of indices is out of bound
+     */
+    public final <T> T fetchAndAdd(T delta, String sharedEnumClassName, String name, int... indices) throws ArrayIndexOutOfBoundsException, ClassCastException, NullPointerException {
+        String parent = getParent(sharedEnumClassName);
+        Class<?> targetClass = PrimitiveTypes.makeBoxedFromPrimitive(getClass0(parent, name, indices.length));
+        if (!Number.class.isAssignableFrom(targetClass)) {
+            throw new ClassCastException("Cannot add to non-numeric variable "
+                                                 + "'" + parent + "." + name + (indices.length == 0 ? "" : Arrays.toString(indices)) + "'"
+                                                 + ": " + targetClass);
+        }
+        if (delta == null) {
+            throw new NullPointerException("Value to add cannot be null");
+        }
+        return getAndUpdate0(parent, name, indices, delta, operand -> currentValue -> add(currentValue, operand));
+    }
+
+    /**
+     * Atomically sets the variable to the new value if the current value
+     * {@link Object#equals(Object) equals} expected value.
+     *
+     * @return previous value of variable[indices] or variable if indices omitted;
+     * operation succeeded if it equals expected value
+     * @throws ClassCastException             value cannot be assigned to the variable
+     * @throws ArrayIndexOutOfBoundsException one of indices is out of bound
+     */
+    public final <T> T compareAndSet(T expectedValue, T newValue, String sharedEnumClassName, String name, int... indices) throws ArrayIndexOutOfBoundsException, ClassCastException, NullPointerException {
+        String parent = getParent(sharedEnumClassName);
+        Object expected = convertValue(getClass0(parent, name, indices.length), expectedValue, parent, name, indices);
+        return getAndUpdate0(parent, name, indices, newValue,
+                operand -> currentValue -> Objects.equals(currentValue, expected) ? operand : NOT_MODIFIED);
+    }
+
+    /**
+     * Atomically sets the variable to the new value.
+     *
+     * @return previous value of variable[indices] or variable if indices omitted
+     * @throws ClassCastException             value cannot be assigned to the variable
+     * @throws ArrayIndexOutOfBoundsException one of indices is out of bound
+     */
+    public final <T> T getAndSet(T newValue, String sharedEnumClassName, String name, int... indices) throws ArrayIndexOutOfBoundsException, ClassCastException, NullPointerException {
+        return getAndUpdate0(getParent(sharedEnumClassName), name, indices, newValue, operand -> currentValue -> operand);
+    }
 
-            synchronized (field) {
-                Array.set(array, indices[indices.length - 1],
-                        function.apply((T) Array.get(array, indices[indices.length - 1]), (T) updateValue));
+    /**
+     * Updates variable, under the same lock as accumulate, using function
+     * created for the value converted to the type of variable.
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T getAndUpdate0(String parent, String name, int[] indices, Object value,
+                                Function<Object, UnaryOperator<Object>> updateFunctionFactory) {
+        StorageField field = getStorageField(parent, name);
+
+        Object operand = convertValue(getFieldClass(field, indices.length), value, parent, name, indices);
+        UnaryOperator<Object> updateFunction = updateFunctionFactory.apply(operand);
+
+        Object currentValue;
+        Object newValue;
+        field.lock(indices);
+        try {
+            if (indices.length == 0) {
+                currentValue = field.getValue();
+                newValue = updateFunction.apply(currentValue);
+                if (newValue != NOT_MODIFIED) {
+                    field.setValue(newValue);
+                }
+            } else {
+                Object array = getLastArray(field, parent, name, indices);
+                currentValue = Array.get(array, indices[indices.length - 1]);
+                newValue = updateFunction.apply(currentValue);
+                if (newValue != NOT_MODIFIED) {
+                    Array.set(array, indices[indices.length - 1], newValue);
+                }
             }
+        } finally {
+            field.unlock(indices);
         }
-        field.incrementModificationCounter();
+        if (newValue != NOT_MODIFIED) {
+            field.markDirty(indices);
+            field.incrementModificationCounter();
+        }
+        return (T) currentValue;
+    }
+
+    private Object convertValue(Class<?> targetClass, Object value, String parent, String name, int[] indices) {
+        Class<?> fromClass = getValueClass(value);
+
+        if (!isAssignableFrom(targetClass, fromClass)) {
+            throw new ClassCastException("Cannot cast " + (fromClass != null ? fromClass.getName() : "<null>")
+                                                 + " to the type of variable "
+                                                 + "'" + parent + "." + name + (indices.length == 0 ? "" : Arrays.toString(indices)) + "'"
+                                                 + ": " + targetClass);
+        }
+
+        if (targetClass.isPrimitive()) {
+            return PrimitiveTypes.convert(targetClass, value);
+        } else if (PrimitiveTypes.isBoxedClass(targetClass) && value != null) {
+            return PrimitiveTypes.convert(targetClass, value);
+        }
+        return value;
+    }
+
+    private static Object add(Object value, Object delta) {
+        if (value == null) {
+            throw new NullPointerException("Cannot add to null value");
+        } else if (value instanceof Integer) {
+            return (Integer) value + (Integer) delta;
+        } else if (value instanceof Long) {
+            return (Long) value + (Long) delta;
+        } else if (value instanceof Double) {
+            return (Double) value + (Double) delta;
+        } else if (value instanceof Float) {
+            return (Float) value + (Float) delta;
+        } else if (value instanceof Short) {
+            return (short) ((Short) value + (Short) delta);
+        } else if (value instanceof Byte) {
+            return (byte) ((Byte) value + (Byte) delta);
+        }
+        throw new ClassCastException("Unable to add: " + value.getClass().getName());
     }
 
     private Object getArrayElement(Object array, int[] indices, int length) throws ArrayIndexOutOfBoundsException, IllegalArgumentException, ClassCastException {
@@ -380,6 +1105,60 @@ public class InternalStorages {
         put0(value, getParent(sharedEnumClassName), name, indices);
     }
 
+    /**
+     * Puts serialized value into the variable of each of the storages. Value
+     * is deserialized once; other storages get its copy, and the last one the
+     * deserialized value itself. Storages of node-shared variable share the
+     * variable, so only the first one is used.
+     *
+     * @return exceptions thrown while putting the value, by index of the storage
+     */
+    public static Map<Integer, Exception> putAll(List<InternalStorages> storages, InputStreamCloner valueBytes,
+                                                 String sharedEnumClassName, String name, int... indices) {
+        Map<Integer, Exception> exceptions = new TreeMap<>();
+        Object value = null;
+        boolean decoded = false;
+        boolean cloneable = true;
+        for (int i = 0; i < storages.size(); ++i) {
+            InternalStorages storage = storages.get(i);
+            boolean nodeShared = storage.isNodeShared(sharedEnumClassName);
+            boolean last = nodeShared || i == storages.size() - 1;
+            try {
+                if (!decoded) {
+                    value = readObject(valueBytes);
+                    decoded = true;
+                }
+
+                Object newValue;
+                if (last) {
+                    newValue = value;
+                } else if (cloneable) {
+                    try {
+                        newValue = ValueCloner.clone(value);
+                    } catch (CloneNotSupportedException ex) {
+                        cloneable = false;
+                        newValue = readObject(valueBytes);
+                    }
+                } else {
+                    newValue = readObject(valueBytes);
+                }
+
+                storage.put(newValue, sharedEnumClassName, name, indices);
+            } catch (Exception ex) {
+                exceptions.put(i, ex);
+            }
+            if (nodeShared) {
+                // all local threads share the same variable
+                break;
+            }
+        }
+        return exceptions;
+    }
+
+    private static Object readObject(InputStreamCloner valueBytes) throws IOException, ClassNotFoundException {
+        return new ObjectInputStream(valueBytes.newInputStream()).readObject();
+    }
+
     private <T> void put0(T value, String parent, String name, int... indices) throws ArrayIndexOutOfBoundsException, ClassCastException, NullPointerException {
         ConcurrentMap<String, StorageField> storage = sharedObjectsMap.get(parent);
 
@@ -406,21 +1185,28 @@ public class InternalStorages {
             newValue = PrimitiveTypes.convert(targetClass, value);
         }
 
-        if (indices.length == 0) {
-            field.setValue(newValue);
-        } else {
-            Object array = getArrayElement(field.getValue(), indices, indices.length - 1);
+        field.lock(indices);
+        try {
+            if (indices.length == 0) {
+                field.setValue(newValue);
+            } else {
+                /* array is taken under the lock, as the whole variable can be replaced concurrently */
+                Object array = getArrayElement(field.getValue(), indices, indices.length - 1);
+
+                if (array == null) {
+                    throw new NullPointerException("Cannot put value to: " + parent + "." + name + Arrays.toString(indices));
+                } else if (!array.getClass().isArray()) {
+                    throw new ClassCastException("Cannot put value to " + parent + "." + name + Arrays.toString(indices));
+                } else if (Array.getLength(array) <= indices[indices.length - 1]) {
+                    throw new ArrayIndexOutOfBoundsException("Cannot put value to " + parent + "." + name + Arrays.toString(indices));
+                }
 
-            if (array == null) {
-                throw new NullPointerException("Cannot put value to: " + parent + "." + name + Arrays.toString(indices));
-            } else if (!array.getClass().isArray()) {
-                throw new ClassCastException("Cannot put value to " + parent + "." + name + Arrays.toString(indices));
-            } else if (Array.getLength(array) <= indices[indices.length - 1]) {
-                throw new ArrayIndexOutOfBoundsException("Cannot put value to " + parent + "." + name + Arrays.toString(indices));
+                Array.set(array, indices[indices.length - 1], newValue);
             }
-
-            Array.set(array, indices[indices.length - 1], newValue);
+        } finally {
+            field.unlock(indices);
         }
+        field.markDirty(indices);
         field.incrementModificationCounter();
     }
 
@@ -523,6 +1309,56 @@ public class InternalStorages {
         return waitFor0(getParent(variable), variable.name(), count);
     }
 
+    /**
+     * Asynchronously waits for {@code count} modifications of variable. No
+     * thread is blocked: the future is completed by the thread that modifies
+     * the variable, and the variable modification counter is decreased by
+     * {@code count} at that time.
+     *
+     * @param variable name of shareable variable
+     * @param count    number of modifications. If 0 - the future is
+     *                 completed immediately.
+     * @return future that will contain remaining modification count
+     */
+    public final PcjFuture<Integer> asyncWaitFor(Enum<?> variable, int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Value count is less than zero:" + count);
+        }
+        StorageField field = getStorageField(getParent(variable), variable.name());
+
+        WaitForFuture<Integer> future = new WaitForFuture<>();
+        field.getModificationCounterObject().addWaiter(new CountWaiter(count, future));
+        return future;
+    }
+
+    /**
+     * Asynchronously waits for modification of any of variables. Upon
+     * completion, the modification counter of returned variable is decreased
+     * by one.
+     *
+     * @param variables names of shareable variables
+     * @return future that will contain modified variable
+     */
+    public final PcjFuture<Enum<?>> asyncWaitForAny(Enum<?>... variables) {
+        if (variables.length == 0) {
+            throw new IllegalArgumentException("No variables to wait for");
+        }
+        ModificationCounter[] counters = new ModificationCounter[variables.length];
+        for (int i = 0; i < variables.length; ++i) {
+            counters[i] = getStorageField(getParent(variables[i]), variables[i].name()).getModificationCounterObject();
+        }
+
+        WaitForFuture<Enum<?>> future = new WaitForFuture<>();
+        AnyWaiter waiter = new AnyWaiter(variables.clone(), counters, future);
+        for (ModificationCounter counter : counters) {
+            counter.addWaiter(waiter);
+            if (future.isDone()) {
+                break;
+            }
+        }
+        return future;
+    }
+
     private int waitFor0(String parent, String name, int count) {
         if (count < 0) {
             throw new IllegalArgumentException("Value count is less than zero:" + count);
@@ -578,4 +1414,107 @@ public class InternalStorages {
         }
         return field.getModificationCounter();
     }
-}
\ No newline at end of file
+
+    private static Path getCheckpointDirectory(Path directory, int threadId) {
+        return directory.resolve("thread-" + threadId).toAbsolutePath().normalize();
+    }
+
+    /**
+     * Writes values of all variables to the thread subdirectory of the
+     * directory, one file per variable.
+     * <p>
+     * In incremental mode, variables which version has not changed since
+     * previous checkpoint to the same directory (or restore from it) are
+     * skipped. Each variable is written while holding its lock, but the
+     * checkpoint is consistent only if no other thread modifies the variables
+     * at the same time.
+     *
+     * @param directory   checkpoint directory
+     * @param threadId    global PCJ Thread id
+     * @param incremental skip variables not modified by PCJ operations
+     * @return number of written variables
+     */
+    public final int checkpoint(Path directory, int threadId, boolean incremental) throws IOException {
+        Path threadDirectory = getCheckpointDirectory(directory, threadId);
+        Files.createDirectories(threadDirectory);
+
+        ConcurrentMap<String, Long> versions = checkpointVersions.computeIfAbsent(threadDirectory, key -> new ConcurrentHashMap<>());
+
+        int written = 0;
+        for (Map.Entry<String, ConcurrentMap<String, StorageField>> storage : sharedObjectsMap.entrySet()) {
+            for (Map.Entry<String, StorageField> variable : storage.getValue().entrySet()) {
+                String key = storage.getKey() + "." + variable.getKey();
+                Path file = threadDirectory.resolve(key);
+                StorageField field = variable.getValue();
+
+                long version;
+                field.lock(new int[0]);
+                try {
+                    version = field.getVersion();
+                    Long checkpointVersion = versions.get(key);
+                    if (incremental && checkpointVersion != null && checkpointVersion == version && Files.exists(file)) {
+                        continue;
+                    }
+                    StorageCheckpoint.write(file, field.getValue());
+                } finally {
+                    field.unlock(new int[0]);
+                }
+                versions.put(key, version);
+                ++written;
+            }
+        }
+        return written;
+    }
+
+    /**
+     * Reads values of variables from the thread subdirectory of the
+     * directory. Variables without checkpoint file are left unchanged.
+     * <p>
+     * Restored variables are marked as modified for dirty tracking and read
+     * caches, but their modification counters are not changed.
+     *
+     * @param directory checkpoint directory
+     * @param threadId  global PCJ Thread id
+     * @return number of restored variables
+     */
+    public final int restore(Path directory, int threadId) throws IOException {
+        Path threadDirectory = getCheckpointDirectory(directory, threadId);
+        if (!Files.isDirectory(threadDirectory)) {
+            throw new NoSuchFileException(threadDirectory.toString(), null, "Checkpoint directory not found");
+        }
+
+        ConcurrentMap<String, Long> versions = checkpointVersions.computeIfAbsent(threadDirectory, key -> new ConcurrentHashMap<>());
+
+        int restored = 0;
+        for (Map.Entry<String, ConcurrentMap<String, StorageField>> storage : sharedObjectsMap.entrySet()) {
+            for (Map.Entry<String, StorageField> variable : storage.getValue().entrySet()) {
+                String key = storage.getKey() + "." + variable.getKey();
+                Path file = threadDirectory.resolve(key);
+                if (!Files.exists(file)) {
+                    continue;
+                }
+                StorageField field = variable.getValue();
+
+                Object value;
+                try {
+                    value = StorageCheckpoint.read(file);
+                } catch (ClassNotFoundException ex) {
+                    throw new IOException("Cannot restore variable " + key, ex);
+                }
+
+                field.lock(new int[0]);
+                try {
+                    field.setValue(value);
+                    field.markDirty(new int[0]);
+                    versions.put(key, field.incrementVersion());
+                } catch (IllegalArgumentException ex) {
+                    throw new IOException("Cannot restore variable " + key, ex);
+                } finally {
+                    field.unlock(new int[0]);
+                }
+                ++restored;
+            }
+        }
+        return restored;
+    }
+}
@@ -45,6 +45,7 @@ import org.pcj.internal.network.SelectorProc;
 public final class Networker {
 
     private static final Logger LOGGER = Logger.getLogger(Networker.class.getName());
+    private final String currentHost;
     private final String currentHostName;
     private final SelectorProc selectorProc;
     private final Thread selectorProcThread;
@@ -54,6 +55,7 @@ public final class Networker {
         String hostname = guessCurrentHostName(interfacesAddresses);
         if (hostname == null) hostname = "*unknown*";
 
+        currentHost = hostname;
         currentHostName = String.format("%s:%d", hostname, port);
 
         ThreadGroup threadGroup = new ThreadGroup("NetworkerGroup");
@@ -102,6 +104,13 @@ public final class Networker {
         return currentHostName;
     }
 
+    /**
+     * @return name of the current host, without port
+     */
+    public String getCurrentHost() {
+        return currentHost;
+    }
+
     private void tryToBind(Queue<InetAddress> interfacesAddresses, int port) {
         Queue<InetAddress> inetAddresses = new ArrayDeque<>(interfacesAddresses);
         for (int attempt = 0; attempt <= InternalPCJ.getConfiguration().INIT_RETRY_COUNT; ++attempt) {
@@ -13,6 +13,7 @@ import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import org.pcj.internal.message.accumulate.AccumulateCombiner;
 import org.pcj.internal.message.alive.AliveState;
 import org.pcj.internal.message.bye.ByeState;
 import org.pcj.internal.message.hello.HelloState;
@@ -25,8 +26,11 @@ public final class NodeData {
     private final ConcurrentMap<Integer, InternalCommonGroup> groupById;
     private final ConcurrentMap<Integer, SocketChannel> socketChannelByPhysicalId; // physicalId -> socket
     private final ConcurrentMap<Integer, Integer> physicalIdByThreadId; // threadId -> physicalId
+    private final ConcurrentMap<Integer, String> hostIdByPhysicalId; // physicalId -> hostId
     private final ConcurrentMap<Integer, PcjThread> pcjThreads; // threadId -> pcjThread
     private final AliveState aliveState;
+    private final AccumulateCombiner accumulateCombiner;
+    private final InternalStorages nodeStorages;
     private SocketChannel node0Socket;
     private Node0Data node0Data;
     private HelloState helloState;
@@ -38,9 +42,12 @@ public final class NodeData {
         this.groupById = new ConcurrentHashMap<>();
         this.socketChannelByPhysicalId = new ConcurrentHashMap<>();
         this.physicalIdByThreadId = new ConcurrentHashMap<>();
+        this.hostIdByPhysicalId = new ConcurrentHashMap<>();
         this.pcjThreads = new ConcurrentHashMap<>();
 
         this.aliveState = new AliveState();
+        this.accumulateCombiner = new AccumulateCombiner();
+        this.nodeStorages = new InternalStorages();
     }
 
     public SocketChannel getNode0Socket() {
@@ -94,6 +101,22 @@ public final class NodeData {
         return physicalIdByThreadId.get(globalThreadId);
     }
 
+    public void setHostId(int physicalId, String hostId) {
+        if (hostId != null) {
+            hostIdByPhysicalId.put(physicalId, hostId);
+        }
+    }
+
+    /**
+     * Gets identifier of the host, that the node is running on. Nodes with
+     * unknown host are treated as running on separate hosts.
+     *
+     * @return host identifier or null if unknown
+     */
+    public String getHostId(int physicalId) {
+        return hostIdByPhysicalId.get(physicalId);
+    }
+
     void updatePcjThreads(Map<Integer, PcjThread> pcjThreadMap) {
         pcjThreads.putAll(pcjThreadMap);
     }
@@ -137,6 +160,14 @@ public final class NodeData {
         return aliveState;
     }
 
+    public AccumulateCombiner getAccumulateCombiner() {
+        return accumulateCombiner;
+    }
+
+    InternalStorages getNodeStorages() {
+        return nodeStorages;
+    }
+
     public ByeState getByeState() {
         return byeState;
     }
@@ -26,7 +26,7 @@ import java.util.SortedSet;
 import java.util.concurrent.ConcurrentSkipListSet;
 
 /**
- * Class that represents physical node (hostname, port, list
+ * Class that represents physical node (hostname, port, host identifier, list
  * of ids).
  *
  * @author Marek Nowicki (faramir@mat.umk.pl)
@@ -35,11 +35,17 @@ public class NodeInfo implements Serializable {
 
     private String hostname;
     private int port;
+    private String hostId;
     private SortedSet<Integer> threadIds;
 
     public NodeInfo(String hostname, int port) {
+        this(hostname, port, null);
+    }
+
+    public NodeInfo(String hostname, int port, String hostId) {
         this.hostname = hostname;
         this.port = port;
+        this.hostId = hostId;
         this.threadIds = new ConcurrentSkipListSet<>();
     }
 
@@ -73,6 +79,13 @@ public class NodeInfo implements Serializable {
         return port;
     }
 
+    /**
+     * @return identifier of the host the node is running on, or null if unknown
+     */
+    public String getHostId() {
+        return hostId;
+    }
+
     public Set<Integer> getThreadIds() {
         return Collections.unmodifiableSet(threadIds);
     }
@@ -96,22 +109,9 @@ public class NodeInfo implements Serializable {
     }
 
     private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
-        int length = in.readInt();
-        if (length < 0) {
-            hostname = null;
-        } else {
-            byte[] b = new byte[length];
-            int offset = 0;
-            while (offset < length) {
-                int bytesRead = in.read(b, offset, length - offset);
-                if (bytesRead < 0) {
-                    throw new EOFException("Unexpectedly reached end of stream.");
-                }
-                offset += bytesRead;
-            }
-            hostname = new String(b, StandardCharsets.UTF_8);
-        }
+        hostname = readString(in);
         port = in.readInt();
+        hostId = readString(in);
 
         threadIds = new ConcurrentSkipListSet<>();
 
@@ -122,17 +122,39 @@ public class NodeInfo implements Serializable {
     }
 
     private void writeObject(ObjectOutputStream out) throws IOException {
-        if (hostname == null) {
-            out.writeInt(-1);
-        } else {
-            byte[] b = hostname.getBytes(StandardCharsets.UTF_8);
-            out.writeInt(b.length);
-            out.write(b);
-        }
+        writeString(out, hostname);
         out.writeInt(port);
+        writeString(out, hostId);
         for (Integer threadId : threadIds) {
             out.writeInt(threadId);
         }
         out.writeInt(-1);
     }
+
+    private static String readString(ObjectInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] b = new byte[length];
+        int offset = 0;
+        while (offset < length) {
+            int bytesRead = in.read(b, offset, length - offset);
+            if (bytesRead < 0) {
+                throw new EOFException("Unexpectedly reached end of stream.");
+            }
+            offset += bytesRead;
+        }
+        return new String(b, StandardCharsets.UTF_8);
+    }
+
+    private static void writeString(ObjectOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+        } else {
+            byte[] b = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(b.length);
+            out.write(b);
+        }
+    }
 }
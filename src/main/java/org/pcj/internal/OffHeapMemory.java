@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2011-2026, PCJ Library, Marek Nowicki
+ * All rights reserved.
+ *
+ * Licensed under New BSD License (3-clause license).
+ *
+ * See the file "LICENSE" for the full license governing this code.
+ */
+package org.pcj.internal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import org.pcj.internal.network.MessageDataInputStream;
+import org.pcj.internal.network.MessageDataOutputStream;
+
+/**
+ * Memory region outside of the Java heap.
+ * <p>
+ * Region is split into segments of at most 1 GiB, so it can be larger than
+ * a single {@link ByteBuffer}. Primitive values never cross segment boundary.
+ * All segments use little-endian byte order, so raw bytes can be transferred
+ * between nodes as is.
+ *
+ * @author Marek Nowicki (faramir@mat.umk.pl)
+ */
+public final class OffHeapMemory {
+
+    private static final int SEGMENT_SHIFT = 30;
+    private static final long SEGMENT_SIZE = 1L << SEGMENT_SHIFT;
+    private static final long SEGMENT_MASK = SEGMENT_SIZE - 1;
+    private final ByteBuffer[] segments;
+    private final long byteLength;
+    private final boolean mapped;
+
+    private OffHeapMemory(ByteBuffer[] segments, long byteLength, boolean mapped) {
+        this.segments = segments;
+        this.byteLength = byteLength;
+        this.mapped = mapped;
+    }
+
+    public static OffHeapMemory allocate(long byteLength) {
+        checkLength(byteLength);
+
+        ByteBuffer[] segments = new ByteBuffer[segmentCount(byteLength)];
+        for (int i = 0; i < segments.length; ++i) {
+            long size = Math.min(SEGMENT_SIZE, byteLength - i * SEGMENT_SIZE);
+            segments[i] = ByteBuffer.allocateDirect((int) size).order(ByteOrder.LITTLE_ENDIAN);
+        }
+        return new OffHeapMemory(segments, byteLength, false);
+    }
+
+    public static OffHeapMemory map(Path path, long byteLength) throws IOException {
+        checkLength(byteLength);
+
+        ByteBuffer[] segments = new ByteBuffer[segmentCount(byteLength)];
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            for (int i = 0; i < segments.length; ++i) {
+                long position = i * SEGMENT_SIZE;
+                long size = Math.min(SEGMENT_SIZE, byteLength - position);
+                segments[i] = channel.map(FileChannel.MapMode.READ_WRITE, position, size).order(ByteOrder.LITTLE_ENDIAN);
+            }
+        }
+        return new OffHeapMemory(segments, byteLength, true);
+    }
+
+    private static void checkLength(long byteLength) {
+        if (byteLength < 0) {
+            throw new IllegalArgumentException("Negative length: " + byteLength);
+        }
+    }
+
+    private static int segmentCount(long byteLength) {
+        long count = (byteLength + SEGMENT_MASK) >>> SEGMENT_SHIFT;
+        if (count > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Length too large: " + byteLength);
+        }
+        return (int) count;
+    }
+
+    public long byteLength() {
+        return byteLength;
+    }
+
+    public boolean isMapped() {
+        return mapped;
+    }
+
+    public void force() {
+        if (mapped) {
+            for (ByteBuffer segment : segments) {
+                ((MappedByteBuffer) segment).force();
+            }
+        }
+    }
+
+    public void checkRange(long byteOffset, long length) throws IndexOutOfBoundsException {
+        if (byteOffset < 0 || length < 0 || byteOffset > byteLength - length) {
+            throw new IndexOutOfBoundsException("Range [" + byteOffset + ", " + (byteOffset + length) + ")"
+                                                        + " out of bounds for length " + byteLength);
+        }
+    }
+
+    /**
+     * Returns segment containing byte at given offset. Segment is shared, so
+     * only absolute get/put methods should be used on it.
+     *
+     * @param byteOffset offset from the beginning of memory
+     * @return segment
+     */
+    public ByteBuffer segment(long byteOffset) {
+        return segments[(int) (byteOffset >>> SEGMENT_SHIFT)];
+    }
+
+    public int segmentOffset(long byteOffset) {
+        return (int) (byteOffset & SEGMENT_MASK);
+    }
+
+    /**
+     * Returns independent view of the memory range that lies in a single
+     * segment, starting at given offset and being at most length bytes long.
+     *
+     * @param byteOffset offset from the beginning of memory
+     * @param length     maximum number of bytes
+     * @return view with the same byte order
+     */
+    public ByteBuffer slice(long byteOffset, long length) {
+        ByteBuffer segment = segment(byteOffset).duplicate();
+        int position = segmentOffset(byteOffset);
+        int size = (int) Math.min(segment.capacity() - position, length);
+
+        segment.limit(position + size).position(position);
+        return segment.slice().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    public void writeTo(MessageDataOutputStream out, long byteOffset, long length) throws IOException {
+        while (length > 0) {
+            ByteBuffer slice = slice(byteOffset, length);
+            int size = slice.remaining();
+
+            out.writeByteBuffer(slice);
+
+            byteOffset += size;
+            length -= size;
+        }
+    }
+
+    public void readFrom(MessageDataInputStream in, long byteOffset, long length) throws IOException {
+        while (length > 0) {
+            ByteBuffer slice = slice(byteOffset, length);
+            int size = slice.remaining();
+
+            in.readFully(slice);
+
+            byteOffset += size;
+            length -= size;
+        }
+    }
+}
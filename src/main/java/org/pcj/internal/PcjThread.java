@@ -10,6 +10,7 @@ package org.pcj.internal;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
+import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Semaphore;
@@ -114,6 +115,11 @@ public class PcjThread extends Thread {
         try {
             StartPoint startPoint = getStartPointObject();
 
+            String checkpointDirectory = InternalPCJ.getConfiguration().CHECKPOINT_RESTORE;
+            if (!checkpointDirectory.isEmpty()) {
+                getThreadData().getStorages().restore(Paths.get(checkpointDirectory), PCJ.myId());
+            }
+
             /* be sure that each thread' startPoint and storages are initialized */
             PCJ.barrier();
 
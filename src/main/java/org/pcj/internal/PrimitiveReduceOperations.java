@@ -0,0 +1,374 @@
+/*
+ * Copyright (c) 2011-2026, PCJ Library, Marek Nowicki
+ * All rights reserved.
+ *
+ * Licensed under New BSD License (3-clause license).
+ *
+ * See the file "LICENSE" for the full license governing this code.
+ */
+package org.pcj.internal;
+
+import java.io.InvalidObjectException;
+import java.io.ObjectStreamException;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.IntBinaryOperator;
+import java.util.function.LongBinaryOperator;
+import org.pcj.DoubleReduceOperation;
+import org.pcj.IntReduceOperation;
+import org.pcj.LongReduceOperation;
+import org.pcj.ReduceOperation;
+
+/**
+ * Built-in primitive reduce operations.
+ * <p>
+ * Operations are resolved to the constants declared in the interfaces after
+ * deserialization, so they keep their identity and can be recognized by the
+ * runtime. They are not enums, because enum implementing interface with
+ * default methods would initialize the interface before its own constants,
+ * leaving the interface constants {@code null}.
+ *
+ * @author Marek Nowicki (faramir@mat.umk.pl)
+ */
+public final class PrimitiveReduceOperations {
+
+    private PrimitiveReduceOperations() {
+    }
+
+    private static abstract class Operation implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+        private final String name;
+
+        private Operation(String name) {
+            this.name = name;
+        }
+
+        protected abstract Object resolve(String name);
+
+        /**
+         * @return identity element of the operation, or null when the
+         * operation has no identity element
+         */
+        protected abstract Object identity();
+
+        protected final Object readResolve() throws ObjectStreamException {
+            Object operation = resolve(name);
+            if (operation == null) {
+                throw new InvalidObjectException("Unknown operation: " + name);
+            }
+            return operation;
+        }
+
+        @Override
+        public String toString() {
+            return name;
+        }
+    }
+
+    /**
+     * Returns identity element of the predefined primitive operation, e.g.
+     * {@code 0L} for {@link LongReduceOperation#SUM}.
+     *
+     * @return identity element, or null when it is not known
+     */
+    public static Object identityOf(ReduceOperation<?> operation) {
+        if (operation instanceof Operation) {
+            return ((Operation) operation).identity();
+        }
+        return null;
+    }
+
+    public static final class IntOperation extends Operation implements IntReduceOperation {
+
+        private static final long serialVersionUID = 1L;
+        private final transient IntBinaryOperator operator;
+
+        public IntOperation(String name, IntBinaryOperator operator) {
+            super(name);
+            this.operator = operator;
+        }
+
+        @Override
+        public int applyAsInt(int left, int right) {
+            return operator.applyAsInt(left, right);
+        }
+
+        @Override
+        protected Object resolve(String name) {
+            switch (name) {
+                case "SUM":
+                    return IntReduceOperation.SUM;
+                case "MIN":
+                    return IntReduceOperation.MIN;
+                case "MAX":
+                    return IntReduceOperation.MAX;
+                case "AND":
+                    return IntReduceOperation.AND;
+                case "OR":
+                    return IntReduceOperation.OR;
+                case "XOR":
+                    return IntReduceOperation.XOR;
+                default:
+                    return null;
+            }
+        }
+
+        @Override
+        protected Object identity() {
+            switch (toString()) {
+                case "SUM":
+                    return 0;
+                case "MIN":
+                    return Integer.MAX_VALUE;
+                case "MAX":
+                    return Integer.MIN_VALUE;
+                case "AND":
+                    return -1;
+                case "OR":
+                    return 0;
+                case "XOR":
+                    return 0;
+                default:
+                    return null;
+            }
+        }
+    }
+
+    public static final class LongOperation extends Operation implements LongReduceOperation {
+
+        private static final long serialVersionUID = 1L;
+        private final transient LongBinaryOperator operator;
+
+        public LongOperation(String name, LongBinaryOperator operator) {
+            super(name);
+            this.operator = operator;
+        }
+
+        @Override
+        public long applyAsLong(long left, long right) {
+            return operator.applyAsLong(left, right);
+        }
+
+        @Override
+        protected Object resolve(String name) {
+            switch (name) {
+                case "SUM":
+                    return LongReduceOperation.SUM;
+                case "MIN":
+                    return LongReduceOperation.MIN;
+                case "MAX":
+                    return LongReduceOperation.MAX;
+                case "AND":
+                    return LongReduceOperation.AND;
+                case "OR":
+                    return LongReduceOperation.OR;
+                case "XOR":
+                    return LongReduceOperation.XOR;
+                default:
+                    return null;
+            }
+        }
+
+        @Override
+        protected Object identity() {
+            switch (toString()) {
+                case "SUM":
+                    return 0L;
+                case "MIN":
+                    return Long.MAX_VALUE;
+                case "MAX":
+                    return Long.MIN_VALUE;
+                case "AND":
+                    return -1L;
+                case "OR":
+                    return 0L;
+                case "XOR":
+                    return 0L;
+                default:
+                    return null;
+            }
+        }
+    }
+
+    public static final class DoubleOperation extends Operation implements DoubleReduceOperation {
+
+        private static final long serialVersionUID = 1L;
+        private final transient DoubleBinaryOperator operator;
+
+        public DoubleOperation(String name, DoubleBinaryOperator operator) {
+            super(name);
+            this.operator = operator;
+        }
+
+        @Override
+        public double applyAsDouble(double left, double right) {
+            return operator.applyAsDouble(left, right);
+        }
+
+        @Override
+        protected Object resolve(String name) {
+            switch (name) {
+                case "SUM":
+                    return DoubleReduceOperation.SUM;
+                case "MIN":
+                    return DoubleReduceOperation.MIN;
+                case "MAX":
+                    return DoubleReduceOperation.MAX;
+                default:
+                    return null;
+            }
+        }
+
+        @Override
+        protected Object identity() {
+            switch (toString()) {
+                case "SUM":
+                    return 0.0;
+                case "MIN":
+                    return Double.POSITIVE_INFINITY;
+                case "MAX":
+                    return Double.NEGATIVE_INFINITY;
+                default:
+                    return null;
+            }
+        }
+    }
+
+    /**
+     * Element-wise operation on primitive arrays of the same length. Arrays
+     * can be reduced in parts, by applying the operation to blocks of
+     * elements.
+     */
+    public static abstract class ArrayOperation<T> implements ReduceOperation<T> {
+
+        private static final long serialVersionUID = 1L;
+
+        private ArrayOperation() {
+        }
+
+        /**
+         * @return size of the array element in bytes
+         */
+        public abstract int getElementSize();
+
+        public abstract int length(T array);
+
+        public abstract T copyOfRange(T array, int from, int to);
+
+        /**
+         * Applies the operation to elements of {@code target} starting at
+         * {@code offset} and corresponding elements of {@code block}, and
+         * stores results in {@code target}.
+         */
+        public abstract void applyInPlace(T target, int offset, T block);
+
+        @Override
+        public final T apply(T left, T right) {
+            if (length(left) != length(right)) {
+                throw new IllegalArgumentException("Arrays have different lengths: "
+                                                           + length(left) + " and " + length(right));
+            }
+            T result = copyOfRange(left, 0, length(left));
+            applyInPlace(result, 0, right);
+            return result;
+        }
+    }
+
+    public static final class IntArrayOperation extends ArrayOperation<int[]> {
+
+        private static final long serialVersionUID = 1L;
+        private final IntReduceOperation operation;
+
+        public IntArrayOperation(IntReduceOperation operation) {
+            this.operation = operation;
+        }
+
+        @Override
+        public int getElementSize() {
+            return Integer.BYTES;
+        }
+
+        @Override
+        public int length(int[] array) {
+            return array.length;
+        }
+
+        @Override
+        public int[] copyOfRange(int[] array, int from, int to) {
+            return Arrays.copyOfRange(array, from, to);
+        }
+
+        @Override
+        public void applyInPlace(int[] target, int offset, int[] block) {
+            for (int i = 0; i < block.length; ++i) {
+                target[offset + i] = operation.applyAsInt(target[offset + i], block[i]);
+            }
+        }
+    }
+
+    public static final class LongArrayOperation extends ArrayOperation<long[]> {
+
+        private static final long serialVersionUID = 1L;
+        private final LongReduceOperation operation;
+
+        public LongArrayOperation(LongReduceOperation operation) {
+            this.operation = operation;
+        }
+
+        @Override
+        public int getElementSize() {
+            return Long.BYTES;
+        }
+
+        @Override
+        public int length(long[] array) {
+            return array.length;
+        }
+
+        @Override
+        public long[] copyOfRange(long[] array, int from, int to) {
+            return Arrays.copyOfRange(array, from, to);
+        }
+
+        @Override
+        public void applyInPlace(long[] target, int offset, long[] block) {
+            for (int i = 0; i < block.length; ++i) {
+                target[offset + i] = operation.applyAsLong(target[offset + i], block[i]);
+            }
+        }
+    }
+
+    public static final class DoubleArrayOperation extends ArrayOperation<double[]> {
+
+        private static final long serialVersionUID = 1L;
+        private final DoubleReduceOperation operation;
+
+        public DoubleArrayOperation(DoubleReduceOperation operation) {
+            this.operation = operation;
+        }
+
+        @Override
+        public int getElementSize() {
+            return Double.BYTES;
+        }
+
+        @Override
+        public int length(double[] array) {
+            return array.length;
+        }
+
+        @Override
+        public double[] copyOfRange(double[] array, int from, int to) {
+            return Arrays.copyOfRange(array, from, to);
+        }
+
+        @Override
+        public void applyInPlace(double[] target, int offset, double[] block) {
+            for (int i = 0; i < block.length; ++i) {
+                target[offset + i] = operation.applyAsDouble(target[offset + i], block[i]);
+            }
+        }
+    }
+}
@@ -182,7 +182,8 @@ public class StorageAnnotationProcessor extends javax.annotation.processing.Abst
                                                      .orElseThrow(() -> new IllegalArgumentException(enumElement + ": Not annotated with @Storage."));
 
         TypeElement storageClassElement;
-        if (storageAnnotation.getElementValues().isEmpty()) {
+        if (storageAnnotation.getElementValues().keySet().stream()
+                    .noneMatch(element -> element.getSimpleName().contentEquals("value"))) {
             if (enumElement.getEnclosingElement().getKind() != ElementKind.CLASS) {
                 error("Invalid @Storage annotation value.", enumElement);
                 return;
@@ -0,0 +1,366 @@
+/*
+ * Copyright (c) 2011-2026, PCJ Library, Marek Nowicki
+ * All rights reserved.
+ *
+ * Licensed under New BSD License (3-clause license).
+ *
+ * See the file "LICENSE" for the full license governing this code.
+ */
+package org.pcj.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.StreamCorruptedException;
+import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Binary format of checkpointed variable value.
+ * <p>
+ * Primitive values and one-dimensional primitive arrays are stored as raw
+ * data, written and read through memory-mapped file. Other values are stored
+ * using Java serialization.
+ * <p>
+ * File layout: magic (int), kind (byte), type (byte) and then:
+ * <ul>
+ * <li>nothing for null,</li>
+ * <li>value for primitive value,</li>
+ * <li>length (int) and elements for primitive array,</li>
+ * <li>length (int) and serialized bytes for other objects.</li>
+ * </ul>
+ *
+ * @author Marek Nowicki (faramir@mat.umk.pl)
+ */
+final class StorageCheckpoint {
+
+    private static final int MAGIC = 0x50434a43;
+    private static final int HEADER_SIZE = Integer.BYTES + 2;
+    /* maximal size of single mapped region */
+    private static final int MAPPING_SIZE = 1 << 30;
+
+    private static final byte KIND_NULL = 0;
+    private static final byte KIND_PRIMITIVE = 1;
+    private static final byte KIND_PRIMITIVE_ARRAY = 2;
+    private static final byte KIND_OBJECT = 3;
+
+    private static final Class<?>[] TYPES = {
+            boolean.class, byte.class, char.class, short.class,
+            int.class, long.class, float.class, double.class};
+    private static final int[] TYPE_SIZES = {1, 1, 2, 2, 4, 8, 4, 8};
+
+    private StorageCheckpoint() {
+    }
+
+    /**
+     * Writes value to the file. File is replaced atomically, so it always
+     * contains complete value.
+     *
+     * @return number of written bytes
+     */
+    static long write(Path file, Object value) throws IOException {
+        byte kind;
+        byte type = -1;
+        int length = 0;
+        byte[] serialized = null;
+        long size = HEADER_SIZE;
+
+        if (value == null) {
+            kind = KIND_NULL;
+        } else if (PrimitiveTypes.isBoxedClass(value.getClass())) {
+            kind = KIND_PRIMITIVE;
+            type = typeOf(value.getClass());
+            size += TYPE_SIZES[type];
+        } else if (value.getClass().isArray() && value.getClass().getComponentType().isPrimitive()) {
+            kind = KIND_PRIMITIVE_ARRAY;
+            type = typeOf(value.getClass().getComponentType());
+            length = Array.getLength(value);
+            size += Integer.BYTES + (long) length * TYPE_SIZES[type];
+        } else {
+            kind = KIND_OBJECT;
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ObjectOutputStream objectOutputStream = new ObjectOutputStream(bytes)) {
+                objectOutputStream.writeObject(value);
+            }
+            serialized = bytes.toByteArray();
+            length = serialized.length;
+            size += Integer.BYTES + length;
+        }
+
+        Path tmpFile = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmpFile,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            int headerSize = HEADER_SIZE;
+            if (kind == KIND_PRIMITIVE) {
+                headerSize += TYPE_SIZES[type];
+            } else if (kind != KIND_NULL) {
+                headerSize += Integer.BYTES;
+            }
+
+            MappedByteBuffer header = map(channel, FileChannel.MapMode.READ_WRITE, 0, headerSize);
+            header.putInt(MAGIC).put(kind).put(type);
+            if (kind == KIND_PRIMITIVE) {
+                putValue(header, type, value);
+            } else if (kind != KIND_NULL) {
+                header.putInt(length);
+            }
+            header.force();
+
+            if (kind == KIND_PRIMITIVE_ARRAY) {
+                int perMapping = MAPPING_SIZE / TYPE_SIZES[type];
+                long position = headerSize;
+                for (int offset = 0; offset < length; offset += perMapping) {
+                    int count = Math.min(perMapping, length - offset);
+                    MappedByteBuffer buffer = map(channel, FileChannel.MapMode.READ_WRITE, position, (long) count * TYPE_SIZES[type]);
+                    putArray(buffer, type, value, offset, count);
+                    buffer.force();
+                    position += (long) count * TYPE_SIZES[type];
+                }
+            } else if (kind == KIND_OBJECT) {
+                ByteBuffer buffer = ByteBuffer.wrap(serialized);
+                long position = headerSize;
+                while (buffer.hasRemaining()) {
+                    position += channel.write(buffer, position);
+                }
+                channel.force(false);
+            }
+        }
+        Files.move(tmpFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        return size;
+    }
+
+    /**
+     * Reads value from the file.
+     */
+    static Object read(Path file) throws IOException, ClassNotFoundException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE) {
+                throw new StreamCorruptedException("Checkpoint file is truncated: " + file);
+            }
+            MappedByteBuffer header = map(channel, FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+            if (header.getInt() != MAGIC) {
+                throw new StreamCorruptedException("Not a checkpoint file: " + file);
+            }
+            byte kind = header.get();
+            byte type = header.get();
+
+            switch (kind) {
+                case KIND_NULL:
+                    return null;
+                case KIND_PRIMITIVE: {
+                    checkType(type, file);
+                    checkSize(size, (long) HEADER_SIZE + TYPE_SIZES[type], file);
+                    MappedByteBuffer buffer = map(channel, FileChannel.MapMode.READ_ONLY, HEADER_SIZE, TYPE_SIZES[type]);
+                    return getValue(buffer, type);
+                }
+                case KIND_PRIMITIVE_ARRAY: {
+                    checkType(type, file);
+                    int length = readLength(channel, size, file);
+                    long position = HEADER_SIZE + Integer.BYTES;
+                    checkSize(size, position + (long) length * TYPE_SIZES[type], file);
+
+                    Object array = Array.newInstance(TYPES[type], length);
+                    int perMapping = MAPPING_SIZE / TYPE_SIZES[type];
+                    for (int offset = 0; offset < length; offset += perMapping) {
+                        int count = Math.min(perMapping, length - offset);
+                        MappedByteBuffer buffer = map(channel, FileChannel.MapMode.READ_ONLY, position, (long) count * TYPE_SIZES[type]);
+                        getArray(buffer, type, array, offset, count);
+                        position += (long) count * TYPE_SIZES[type];
+                    }
+                    return array;
+                }
+                case KIND_OBJECT: {
+                    int length = readLength(channel, size, file);
+                    long position = HEADER_SIZE + Integer.BYTES;
+                    checkSize(size, position + length, file);
+
+                    ByteBuffer buffer = ByteBuffer.allocate(length);
+                    while (buffer.hasRemaining()) {
+                        int read = channel.read(buffer, position + buffer.position());
+                        if (read < 0) {
+                            throw new StreamCorruptedException("Checkpoint file is truncated: " + file);
+                        }
+                    }
+                    try (ObjectInputStream objectInputStream = new ObjectInputStream(
+                            new ByteArrayInputStream(buffer.array()))) {
+                        return objectInputStream.readObject();
+                    }
+                }
+                default:
+                    throw new StreamCorruptedException("Unknown kind of value (" + kind + ") in checkpoint file: " + file);
+            }
+        }
+    }
+
+    private static MappedByteBuffer map(FileChannel channel, FileChannel.MapMode mode, long position, long size) throws IOException {
+        MappedByteBuffer buffer = channel.map(mode, position, size);
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        return buffer;
+    }
+
+    private static int readLength(FileChannel channel, long size, Path file) throws IOException {
+        checkSize(size, HEADER_SIZE + Integer.BYTES, file);
+        int length = map(channel, FileChannel.MapMode.READ_ONLY, HEADER_SIZE, Integer.BYTES).getInt();
+        if (length < 0) {
+            throw new StreamCorruptedException("Negative length in checkpoint file: " + file);
+        }
+        return length;
+    }
+
+    private static void checkSize(long size, long expected, Path file) throws StreamCorruptedException {
+        if (size < expected) {
+            throw new StreamCorruptedException("Checkpoint file is truncated: " + file);
+        }
+    }
+
+    private static void checkType(byte type, Path file) throws StreamCorruptedException {
+        if (type < 0 || type >= TYPES.length) {
+            throw new StreamCorruptedException("Unknown type of value (" + type + ") in checkpoint file: " + file);
+        }
+    }
+
+    private static byte typeOf(Class<?> clazz) {
+        Class<?> primitiveClass = clazz;
+        if (!clazz.isPrimitive()) {
+            for (Class<?> type : TYPES) {
+                if (PrimitiveTypes.makeBoxedFromPrimitive(type) == clazz) {
+                    primitiveClass = type;
+                }
+            }
+        }
+        for (byte type = 0; type < TYPES.length; ++type) {
+            if (TYPES[type] == primitiveClass) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Not a primitive type: " + clazz);
+    }
+
+    private static void putValue(ByteBuffer buffer, byte type, Object value) {
+        switch (type) {
+            case 0:
+                buffer.put((byte) ((Boolean) value ? 1 : 0));
+                break;
+            case 1:
+                buffer.put((Byte) value);
+                break;
+            case 2:
+                buffer.putChar((Character) value);
+                break;
+            case 3:
+                buffer.putShort((Short) value);
+                break;
+            case 4:
+                buffer.putInt((Integer) value);
+                break;
+            case 5:
+                buffer.putLong((Long) value);
+                break;
+            case 6:
+                buffer.putFloat((Float) value);
+                break;
+            default:
+                buffer.putDouble((Double) value);
+                break;
+        }
+    }
+
+    private static Object getValue(ByteBuffer buffer, byte type) {
+        switch (type) {
+            case 0:
+                return buffer.get() != 0;
+            case 1:
+                return buffer.get();
+            case 2:
+                return buffer.getChar();
+            case 3:
+                return buffer.getShort();
+            case 4:
+                return buffer.getInt();
+            case 5:
+                return buffer.getLong();
+            case 6:
+                return buffer.getFloat();
+            default:
+                return buffer.getDouble();
+        }
+    }
+
+    private static void putArray(ByteBuffer buffer, byte type, Object array, int offset, int count) {
+        switch (type) {
+            case 0: {
+                boolean[] values = (boolean[]) array;
+                for (int i = offset; i < offset + count; ++i) {
+                    buffer.put((byte) (values[i] ? 1 : 0));
+                }
+                break;
+            }
+            case 1:
+                buffer.put((byte[]) array, offset, count);
+                break;
+            case 2:
+                buffer.asCharBuffer().put((char[]) array, offset, count);
+                break;
+            case 3:
+                buffer.asShortBuffer().put((short[]) array, offset, count);
+                break;
+            case 4:
+                buffer.asIntBuffer().put((int[]) array, offset, count);
+                break;
+            case 5:
+                buffer.asLongBuffer().put((long[]) array, offset, count);
+                break;
+            case 6:
+                buffer.asFloatBuffer().put((float[]) array, offset, count);
+                break;
+            default:
+                buffer.asDoubleBuffer().put((double[]) array, offset, count);
+                break;
+        }
+    }
+
+    private static void getArray(ByteBuffer buffer, byte type, Object array, int offset, int count) {
+        switch (type) {
+            case 0: {
+                boolean[] values = (boolean[]) array;
+                for (int i = offset; i < offset + count; ++i) {
+                    values[i] = buffer.get() != 0;
+                }
+                break;
+            }
+            case 1:
+                buffer.get((byte[]) array, offset, count);
+                break;
+            case 2:
+                buffer.asCharBuffer().get((char[]) array, offset, count);
+                break;
+            case 3:
+                buffer.asShortBuffer().get((short[]) array, offset, count);
+                break;
+            case 4:
+                buffer.asIntBuffer().get((int[]) array, offset, count);
+                break;
+            case 5:
+                buffer.asLongBuffer().get((long[]) array, offset, count);
+                break;
+            case 6:
+                buffer.asFloatBuffer().get((float[]) array, offset, count);
+                break;
+            default:
+                buffer.asDoubleBuffer().get((double[]) array, offset, count);
+                break;
+        }
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2011-2026, PCJ Library, Marek Nowicki
+ * All rights reserved.
+ *
+ * Licensed under New BSD License (3-clause license).
+ *
+ * See the file "LICENSE" for the full license governing this code.
+ */
+package org.pcj.internal;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Shape of communication tree used by collective operations.
+ * <p>
+ * Tree is built over positions {@code 0..size-1}, where position {@code 0}
+ * is the root. Every node of the group has to use the same shape for the
+ * same collective operation.
+ * <p>
+ * Shape is described by one of:
+ * <ul>
+ * <li>{@code binary} - k-ary tree with fan-out 2 (default),</li>
+ * <li>{@code kary:<k>} - k-ary tree with fan-out {@code k},</li>
+ * <li>{@code binomial} - binomial tree,</li>
+ * <li>{@code flat} - root is the parent of all other nodes.</li>
+ * </ul>
+ *
+ * @author Marek Nowicki (faramir@mat.umk.pl)
+ */
+public interface TreeShape {
+
+    TreeShape BINARY = new KAry(2);
+    TreeShape BINOMIAL = new Binomial();
+    TreeShape FLAT = new Flat();
+
+    /**
+     * @return parent position of the position, or -1 for root
+     */
+    int getParent(int position, int size);
+
+    /**
+     * @return children positions of the position
+     */
+    int[] getChildren(int position, int size);
+
+    static TreeShape kary(int fanOut) {
+        return new KAry(fanOut);
+    }
+
+    /**
+     * Parses description of the shape.
+     *
+     * @throws IllegalArgumentException when description is not valid
+     */
+    static TreeShape parse(String description) throws IllegalArgumentException {
+        String shape = description.trim().toLowerCase(Locale.ROOT);
+        switch (shape) {
+            case "binary":
+                return BINARY;
+            case "binomial":
+                return BINOMIAL;
+            case "flat":
+                return FLAT;
+            default:
+                if (shape.startsWith("kary:")) {
+                    try {
+                        return kary(Integer.parseInt(shape.substring("kary:".length())));
+                    } catch (NumberFormatException ex) {
+                        throw new IllegalArgumentException("Invalid fan-out of tree: " + description, ex);
+                    }
+                }
+                throw new IllegalArgumentException("Unknown tree shape: " + description);
+        }
+    }
+
+    final class KAry implements TreeShape {
+
+        private final int fanOut;
+
+        private KAry(int fanOut) {
+            if (fanOut < 1) {
+                throw new IllegalArgumentException("Fan-out of tree has to be positive: " + fanOut);
+            }
+            this.fanOut = fanOut;
+        }
+
+        @Override
+        public int getParent(int position, int size) {
+            if (position == 0) {
+                return -1;
+            }
+            return (position - 1) / fanOut;
+        }
+
+        @Override
+        public int[] getChildren(int position, int size) {
+            long first = (long) position * fanOut + 1;
+            if (first >= size) {
+                return new int[0];
+            }
+            int count = (int) Math.min(fanOut, size - first);
+            int[] children = new int[count];
+            Arrays.setAll(children, i -> (int) first + i);
+            return children;
+        }
+
+        @Override
+        public String toString() {
+            return fanOut == 2 ? "binary" : "kary:" + fanOut;
+        }
+    }
+
+    /**
+     * Binomial tree: parent is obtained by clearing the lowest set bit of the
+     * position, so the root has {@code log2(size)} children and depth of the
+     * tree is {@code log2(size)}.
+     */
+    final class Binomial implements TreeShape {
+
+        private Binomial() {
+        }
+
+        @Override
+        public int getParent(int position, int size) {
+            if (position == 0) {
+                return -1;
+            }
+            return position & (position - 1);
+        }
+
+        @Override
+        public int[] getChildren(int position, int size) {
+            /* root has no bit set, so there is no limit for its children */
+            int lowestBit = position == 0 ? Integer.MIN_VALUE : Integer.lowestOneBit(position);
+            int[] children = new int[Integer.SIZE];
+            int count = 0;
+            for (int bit = 1; bit > 0 && bit != lowestBit && position + bit < size; bit <<= 1) {
+                children[count++] = position + bit;
+            }
+            return Arrays.copyOf(children, count);
+        }
+
+        @Override
+        public String toString() {
+            return "binomial";
+        }
+    }
+
+    final class Flat implements TreeShape {
+
+        private Flat() {
+        }
+
+        @Override
+        public int getParent(int position, int size) {
+            return position == 0 ? -1 : 0;
+        }
+
+        @Override
+        public int[] getChildren(int position, int size) {
+            if (position != 0 || size <= 1) {
+                return new int[0];
+            }
+            int[] children = new int[size - 1];
+            Arrays.setAll(children, i -> i + 1);
+            return children;
+        }
+
+        @Override
+        public String toString() {
+            return "flat";
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2011-2026, PCJ Library, Marek Nowicki
+ * All rights reserved.
+ *
+ * Licensed under New BSD License (3-clause license).
+ *
+ * See the file "LICENSE" for the full license governing this code.
+ */
+package org.pcj.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Fast structural copying of deserialized values.
+ * <p>
+ * Copy is equivalent to deserializing the value once again: arrays are
+ * copied deeply (preserving shared references inside the array graph) and
+ * immutable values are shared. Other objects are not supported, as their
+ * {@code clone()} is usually shallow and would share mutable state.
+ *
+ * @author Marek Nowicki (faramir@mat.umk.pl)
+ */
+public final class ValueCloner {
+
+    private static final Set<Class<?>> IMMUTABLE_CLASSES = new HashSet<>();
+
+    static {
+        IMMUTABLE_CLASSES.add(String.class);
+        IMMUTABLE_CLASSES.add(Boolean.class);
+        IMMUTABLE_CLASSES.add(Byte.class);
+        IMMUTABLE_CLASSES.add(Character.class);
+        IMMUTABLE_CLASSES.add(Short.class);
+        IMMUTABLE_CLASSES.add(Integer.class);
+        IMMUTABLE_CLASSES.add(Long.class);
+        IMMUTABLE_CLASSES.add(Float.class);
+        IMMUTABLE_CLASSES.add(Double.class);
+        IMMUTABLE_CLASSES.add(BigInteger.class);
+        IMMUTABLE_CLASSES.add(BigDecimal.class);
+    }
+
+    /**
+     * Suppress default constructor for noninstantiability.
+     */
+    private ValueCloner() {
+        throw new AssertionError();
+    }
+
+    /**
+     * Copies value.
+     *
+     * @param value value to copy
+     * @return copy of value
+     * @throws CloneNotSupportedException when value (or element of array) cannot be copied structurally
+     */
+    public static Object clone(Object value) throws CloneNotSupportedException {
+        return clone(value, null);
+    }
+
+    /**
+     * Copies value, using serialization round-trip when value cannot be
+     * copied structurally.
+     *
+     * @param value value to copy
+     * @return copy of value
+     * @throws IOException            when value cannot be serialized
+     * @throws ClassNotFoundException when class of serialized value cannot be found
+     */
+    public static Object copy(Object value) throws IOException, ClassNotFoundException {
+        try {
+            return clone(value);
+        } catch (CloneNotSupportedException ex) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+                out.writeUnshared(value);
+            }
+            try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+                return in.readObject();
+            }
+        }
+    }
+
+    private static Object clone(Object value, Map<Object, Object> copies) throws CloneNotSupportedException {
+        if (value == null || value instanceof Enum || IMMUTABLE_CLASSES.contains(value.getClass())) {
+            return value;
+        }
+
+        Class<?> clazz = value.getClass();
+        if (!clazz.isArray()) {
+            throw new CloneNotSupportedException(clazz.getName());
+        }
+
+        if (copies == null) {
+            if (clazz.getComponentType().isPrimitive()) {
+                return clonePrimitiveArray(value);
+            }
+            copies = new IdentityHashMap<>();
+        } else {
+            Object copy = copies.get(value);
+            if (copy != null) {
+                return copy;
+            }
+            if (clazz.getComponentType().isPrimitive()) {
+                copy = clonePrimitiveArray(value);
+                copies.put(value, copy);
+                return copy;
+            }
+        }
+
+        Object[] array = (Object[]) value;
+        Object[] copy = array.clone();
+        copies.put(value, copy);
+        for (int i = 0; i < copy.length; ++i) {
+            copy[i] = clone(array[i], copies);
+        }
+        return copy;
+    }
+
+    private static Object clonePrimitiveArray(Object array) {
+        if (array instanceof double[]) {
+            return ((double[]) array).clone();
+        } else if (array instanceof int[]) {
+            return ((int[]) array).clone();
+        } else if (array instanceof long[]) {
+            return ((long[]) array).clone();
+        } else if (array instanceof byte[]) {
+            return ((byte[]) array).clone();
+        } else if (array instanceof float[]) {
+            return ((float[]) array).clone();
+        } else if (array instanceof char[]) {
+            return ((char[]) array).clone();
+        } else if (array instanceof short[]) {
+            return ((short[]) array).clone();
+        } else {
+            return ((boolean[]) array).clone();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2011-2026, PCJ Library, Marek Nowicki
+ * All rights reserved.
+ *
+ * Licensed under New BSD License (3-clause license).
+ *
+ * See the file "LICENSE" for the full license governing this code.
+ */
+package org.pcj.internal;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.pcj.PcjFuture;
+import org.pcj.PcjRuntimeException;
+
+/**
+ * Future of waiting for modifications of shareable variables. It is
+ * completed by thread that modifies the variable.
+ *
+ * @author Marek Nowicki (faramir@mat.umk.pl)
+ */
+public class WaitForFuture<T> extends InternalFuture<T> implements PcjFuture<T> {
+
+    private T result;
+
+    WaitForFuture() {
+    }
+
+    @Override
+    public boolean isDone() {
+        return super.isSignaled();
+    }
+
+    protected void signalDone(T result) {
+        this.result = result;
+        super.signal();
+    }
+
+    @Override
+    public T get() throws PcjRuntimeException {
+        try {
+            super.await();
+        } catch (InterruptedException ex) {
+            throw new PcjRuntimeException(ex);
+        }
+        return result;
+    }
+
+    @Override
+    public T get(long timeout, TimeUnit unit) throws TimeoutException, PcjRuntimeException {
+        try {
+            super.await(timeout, unit);
+        } catch (InterruptedException ex) {
+            throw new PcjRuntimeException(ex);
+        }
+        return result;
+    }
+}
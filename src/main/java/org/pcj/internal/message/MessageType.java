@@ -11,17 +11,25 @@ package org.pcj.internal.message;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.function.Supplier;
+import org.pcj.internal.message.accumulate.ValueAccumulateBatchRequestMessage;
+import org.pcj.internal.message.accumulate.ValueAccumulateBatchResponseMessage;
 import org.pcj.internal.message.accumulate.ValueAccumulateRequestMessage;
 import org.pcj.internal.message.accumulate.ValueAccumulateResponseMessage;
 import org.pcj.internal.message.alive.AbortMessage;
 import org.pcj.internal.message.alive.AliveMessage;
+import org.pcj.internal.message.allreduce.AllReduceValueMessage;
 import org.pcj.internal.message.at.AsyncAtRequestMessage;
 import org.pcj.internal.message.at.AsyncAtResponseMessage;
+import org.pcj.internal.message.atomic.ValueAtomicRequestMessage;
+import org.pcj.internal.message.atomic.ValueAtomicResponseMessage;
 import org.pcj.internal.message.barrier.GroupBarrierGoMessage;
+import org.pcj.internal.message.barrier.GroupBarrierSignalMessage;
 import org.pcj.internal.message.barrier.GroupBarrierWaitingMessage;
 import org.pcj.internal.message.broadcast.BroadcastBytesMessage;
+import org.pcj.internal.message.broadcast.BroadcastChunkMessage;
 import org.pcj.internal.message.broadcast.BroadcastResponseMessage;
 import org.pcj.internal.message.broadcast.BroadcastRequestMessage;
+import org.pcj.internal.message.broadcast.BroadcastSegmentMessage;
 import org.pcj.internal.message.bye.ByeCompletedMessage;
 import org.pcj.internal.message.bye.ByeNotifyMessage;
 import org.pcj.internal.message.collect.CollectRequestMessage;
@@ -32,16 +40,26 @@ import org.pcj.internal.message.gather.GatherResponseMessage;
 import org.pcj.internal.message.gather.GatherValueMessage;
 import org.pcj.internal.message.get.ValueGetRequestMessage;
 import org.pcj.internal.message.get.ValueGetResponseMessage;
+import org.pcj.internal.message.get.ValueGetVersionedRequestMessage;
+import org.pcj.internal.message.get.ValueGetVersionedResponseMessage;
 import org.pcj.internal.message.hello.HelloBonjourMessage;
 import org.pcj.internal.message.hello.HelloCompletedMessage;
 import org.pcj.internal.message.hello.HelloGoMessage;
 import org.pcj.internal.message.hello.HelloInformMessage;
 import org.pcj.internal.message.hello.HelloMessage;
+import org.pcj.internal.message.map.MapRequestMessage;
+import org.pcj.internal.message.map.MapResponseMessage;
+import org.pcj.internal.message.offheap.OffHeapGetRequestMessage;
+import org.pcj.internal.message.offheap.OffHeapGetResponseMessage;
+import org.pcj.internal.message.offheap.OffHeapPutRequestMessage;
+import org.pcj.internal.message.offheap.OffHeapPutResponseMessage;
 import org.pcj.internal.message.peerbarrier.PeerBarrierMessage;
+import org.pcj.internal.message.put.ValuePutMulticastRequestMessage;
 import org.pcj.internal.message.put.ValuePutRequestMessage;
 import org.pcj.internal.message.put.ValuePutResponseMessage;
 import org.pcj.internal.message.reduce.ReduceRequestMessage;
 import org.pcj.internal.message.reduce.ReduceResponseMessage;
+import org.pcj.internal.message.reduce.ReduceSegmentMessage;
 import org.pcj.internal.message.reduce.ReduceValueMessage;
 import org.pcj.internal.message.scatter.ScatterRequestMessage;
 import org.pcj.internal.message.scatter.ScatterResponseMessage;
@@ -97,7 +115,25 @@ public enum MessageType {
     COLLECT_VALUE(CollectValueMessage::new),
     COLLECT_RESPONSE(CollectResponseMessage::new),
     ASYNC_AT_REQUEST(AsyncAtRequestMessage::new),
-    ASYNC_AT_RESPONSE(AsyncAtResponseMessage::new);
+    ASYNC_AT_RESPONSE(AsyncAtResponseMessage::new),
+    VALUE_ATOMIC_REQUEST(ValueAtomicRequestMessage::new),
+    VALUE_ATOMIC_RESPONSE(ValueAtomicResponseMessage::new),
+    VALUE_ACCUMULATE_BATCH_REQUEST(ValueAccumulateBatchRequestMessage::new),
+    VALUE_ACCUMULATE_BATCH_RESPONSE(ValueAccumulateBatchResponseMessage::new),
+    OFF_HEAP_GET_REQUEST(OffHeapGetRequestMessage::new),
+    OFF_HEAP_GET_RESPONSE(OffHeapGetResponseMessage::new),
+    OFF_HEAP_PUT_REQUEST(OffHeapPutRequestMessage::new),
+    OFF_HEAP_PUT_RESPONSE(OffHeapPutResponseMessage::new),
+    MAP_REQUEST(MapRequestMessage::new),
+    MAP_RESPONSE(MapResponseMessage::new),
+    VALUE_GET_VERSIONED_REQUEST(ValueGetVersionedRequestMessage::new),
+    VALUE_GET_VERSIONED_RESPONSE(ValueGetVersionedResponseMessage::new),
+    VALUE_PUT_MULTICAST_REQUEST(ValuePutMulticastRequestMessage::new),
+    BROADCAST_SEGMENT(BroadcastSegmentMessage::new),
+    BROADCAST_CHUNK(BroadcastChunkMessage::new),
+    ALL_REDUCE_VALUE(AllReduceValueMessage::new),
+    REDUCE_SEGMENT(ReduceSegmentMessage::new),
+    GROUP_BARRIER_SIGNAL(GroupBarrierSignalMessage::new);
     /* **************************************************** */
     private static final Map<Byte, MessageType> map;
 
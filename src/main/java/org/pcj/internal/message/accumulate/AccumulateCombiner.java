@@ -0,0 +1,285 @@
+/*
+ * Copyright (c) 2011-2026, PCJ Library, Marek Nowicki
+ * All rights reserved.
+ *
+ * Licensed under New BSD License (3-clause license).
+ *
+ * See the file "LICENSE" for the full license governing this code.
+ */
+package org.pcj.internal.message.accumulate;
+
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.pcj.PcjFuture;
+import org.pcj.PcjRuntimeException;
+import org.pcj.ReduceOperation;
+import org.pcj.internal.InternalPCJ;
+import org.pcj.internal.NodeData;
+import org.pcj.internal.ValueCloner;
+
+/**
+ * Sender-side combining buffer for accumulate operations.
+ * <p>
+ * Pending accumulates to the same target (thread, variable and indices) with
+ * the same operation are merged into one value, and all pending targets of
+ * destination node are sent in one message. Buffer of the destination node is
+ * flushed when number of pending targets reaches {@code pcj.accumulate.combine.size},
+ * periodically every {@code pcj.accumulate.combine.delay} milliseconds,
+ * on barrier, and when the future of pending accumulate is waited for.
+ * <p>
+ * Values are copied when added to the buffer, as the caller can reuse them
+ * as soon as accumulate returns, like when the message is sent directly.
+ * <p>
+ * Combining changes order of applying values, so it is correct only for
+ * associative and commutative operations.
+ *
+ * @author Marek Nowicki (faramir@mat.umk.pl)
+ */
+public class AccumulateCombiner {
+
+    private final ConcurrentMap<Integer, Buffer> bufferMap;
+    private final AtomicInteger batchCounter;
+    private final ConcurrentMap<Integer, List<Entry>> sentBatchMap;
+    private ScheduledExecutorService scheduledExecutorService;
+    private int combineSize;
+
+    public AccumulateCombiner() {
+        bufferMap = new ConcurrentHashMap<>();
+        batchCounter = new AtomicInteger(0);
+        sentBatchMap = new ConcurrentHashMap<>();
+    }
+
+    public void start() {
+        combineSize = InternalPCJ.getConfiguration().ACCUMULATE_COMBINE_SIZE;
+        int combineDelay = InternalPCJ.getConfiguration().ACCUMULATE_COMBINE_DELAY;
+
+        if (isEnabled() && combineDelay > 0) {
+            scheduledExecutorService = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "AccumulateCombiner");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduledExecutorService.scheduleWithFixedDelay(this::flush,
+                    combineDelay, combineDelay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public void stop() {
+        if (scheduledExecutorService != null) {
+            scheduledExecutorService.shutdown();
+        }
+    }
+
+    public boolean isEnabled() {
+        return combineSize > 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> PcjFuture<Void> accumulate(int physicalId, int groupId, int threadId,
+                                          String sharedEnumClassName, String name, int[] indices,
+                                          ReduceOperation<T> function, T newValue) {
+        Buffer buffer = bufferMap.computeIfAbsent(physicalId, Buffer::new);
+        CombinedFuture future = new CombinedFuture(buffer);
+
+        Key key = new Key(groupId, threadId, sharedEnumClassName, name, indices, function);
+        boolean full;
+        try {
+            Object valueCopy = ValueCloner.copy(newValue);
+            full = buffer.add(key, (ReduceOperation<Object>) function, valueCopy, future);
+        } catch (Exception ex) {
+            future.signalException(new PcjRuntimeException("Accumulating value failed", ex));
+            return future;
+        }
+        if (full) {
+            flush(buffer);
+        }
+        return future;
+    }
+
+    /**
+     * Sends all pending accumulates.
+     */
+    public void flush() {
+        bufferMap.values().forEach(this::flush);
+    }
+
+    private void flush(Buffer buffer) {
+        List<Entry> entries = buffer.drain();
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        int batchNum = batchCounter.incrementAndGet();
+        sentBatchMap.put(batchNum, entries);
+
+        NodeData nodeData = InternalPCJ.getNodeData();
+        SocketChannel socket = nodeData.getSocketChannelByPhysicalId(buffer.physicalId);
+
+        ValueAccumulateBatchRequestMessage message = new ValueAccumulateBatchRequestMessage(batchNum, entries);
+        try {
+            InternalPCJ.getNetworker().send(socket, message);
+        } catch (PcjRuntimeException ex) {
+            sentBatchMap.remove(batchNum);
+            entries.forEach(entry -> entry.signal(ex));
+        }
+    }
+
+    void batchProcessed(int batchNum, Map<Integer, Exception> exceptionMap) {
+        List<Entry> entries = sentBatchMap.remove(batchNum);
+        for (int i = 0; i < entries.size(); ++i) {
+            entries.get(i).signal(exceptionMap.get(i));
+        }
+    }
+
+    private class Buffer {
+
+        private final int physicalId;
+        private final Map<Key, Entry> entryMap;
+
+        private Buffer(int physicalId) {
+            this.physicalId = physicalId;
+            this.entryMap = new LinkedHashMap<>();
+        }
+
+        /**
+         * @return true if buffer should be flushed
+         */
+        synchronized boolean add(Key key, ReduceOperation<Object> function, Object newValue, CombinedFuture future) {
+            Entry entry = entryMap.get(key);
+            if (entry == null) {
+                entryMap.put(key, new Entry(key, function, newValue, future));
+            } else {
+                entry.combine(newValue, future);
+            }
+            return entryMap.size() >= combineSize;
+        }
+
+        synchronized List<Entry> drain() {
+            if (entryMap.isEmpty()) {
+                return Collections.emptyList();
+            }
+            List<Entry> entries = new ArrayList<>(entryMap.values());
+            entryMap.clear();
+            return entries;
+        }
+    }
+
+    static final class Key {
+
+        final int groupId;
+        final int threadId;
+        final String sharedEnumClassName;
+        final String name;
+        final int[] indices;
+        private final ReduceOperation<?> function;
+        private final int hashCode;
+
+        private Key(int groupId, int threadId, String sharedEnumClassName, String name, int[] indices, ReduceOperation<?> function) {
+            this.groupId = groupId;
+            this.threadId = threadId;
+            this.sharedEnumClassName = sharedEnumClassName;
+            this.name = name;
+            this.indices = indices.clone();
+            this.function = function;
+            this.hashCode = Objects.hash(groupId, threadId, sharedEnumClassName, name, Arrays.hashCode(indices), function);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return groupId == key.groupId
+                           && threadId == key.threadId
+                           && sharedEnumClassName.equals(key.sharedEnumClassName)
+                           && name.equals(key.name)
+                           && Arrays.equals(indices, key.indices)
+                           && function.equals(key.function);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    static final class Entry {
+
+        final Key key;
+        final ReduceOperation<Object> function;
+        private final List<CombinedFuture> futures;
+        private Object value;
+
+        private Entry(Key key, ReduceOperation<Object> function, Object value, CombinedFuture future) {
+            this.key = key;
+            this.function = function;
+            this.value = value;
+            this.futures = new ArrayList<>();
+            this.futures.add(future);
+        }
+
+        private void combine(Object newValue, CombinedFuture future) {
+            value = function.apply(value, newValue);
+            futures.add(future);
+        }
+
+        Object getValue() {
+            return value;
+        }
+
+        int getCount() {
+            return futures.size();
+        }
+
+        private void signal(Exception exception) {
+            if (exception == null) {
+                futures.forEach(CombinedFuture::signalDone);
+            } else {
+                PcjRuntimeException ex = new PcjRuntimeException("Accumulating value failed", exception);
+                futures.forEach(future -> future.signalException(ex));
+            }
+        }
+    }
+
+    private class CombinedFuture extends ValueAccumulateFuture {
+
+        private final Buffer buffer;
+
+        private CombinedFuture(Buffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public Void get() throws PcjRuntimeException {
+            if (!isDone()) {
+                flush(buffer);
+            }
+            return super.get();
+        }
+
+        @Override
+        public Void get(long timeout, TimeUnit unit) throws TimeoutException, PcjRuntimeException {
+            if (!isDone()) {
+                flush(buffer);
+            }
+            return super.get(timeout, unit);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2011-2026, PCJ Library, Marek Nowicki
+ * All rights reserved.
+ *
+ * Licensed under New BSD License (3-clause license).
+ *
+ * See the file "LICENSE" for the full license governing this code.
+ */
+package org.pcj.internal.message.accumulate;
+
+import java.io.IOException;
+import java.nio.channels.SocketChannel;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.pcj.ReduceOperation;
+import org.pcj.internal.InternalPCJ;
+import org.pcj.internal.InternalStorages;
+import org.pcj.internal.NodeData;
+import org.pcj.internal.PcjThread;
+import org.pcj.internal.message.Message;
+import org.pcj.internal.message.MessageType;
+import org.pcj.internal.network.MessageDataInputStream;
+import org.pcj.internal.network.MessageDataOutputStream;
+
+/**
+ * Message with combined accumulates from {@link AccumulateCombiner}.
+ *
+ * @author Marek Nowicki (faramir@mat.umk.pl)
+ */
+public final class ValueAccumulateBatchRequestMessage extends Message {
+
+    private int batchNum;
+    private List<AccumulateCombiner.Entry> entries;
+
+    public ValueAccumulateBatchRequestMessage() {
+        super(MessageType.VALUE_ACCUMULATE_BATCH_REQUEST);
+    }
+
+    ValueAccumulateBatchRequestMessage(int batchNum, List<AccumulateCombiner.Entry> entries) {
+        this();
+
+        this.batchNum = batchNum;
+        this.entries = entries;
+    }
+
+    @Override
+    public void write(MessageDataOutputStream out) throws IOException {
+        out.writeInt(batchNum);
+        out.writeInt(entries.size());
+        for (AccumulateCombiner.Entry entry : entries) {
+            AccumulateCombiner.Key key = entry.key;
+            out.writeInt(key.groupId);
+            out.writeInt(key.threadId);
+            out.writeString(key.sharedEnumClassName);
+            out.writeString(key.name);
+            out.writeIntArray(key.indices);
+            out.writeInt(entry.getCount());
+            out.writeObject(entry.function);
+            out.writeObject(entry.getValue());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void onReceive(SocketChannel sender, MessageDataInputStream in) throws IOException {
+        batchNum = in.readInt();
+        int count = in.readInt();
+
+        NodeData nodeData = InternalPCJ.getNodeData();
+        Map<Integer, Exception> exceptionMap = new HashMap<>();
+        for (int i = 0; i < count; ++i) {
+            int groupId = in.readInt();
+            int threadId = in.readInt();
+            String sharedEnumClassName = in.readString();
+            String name = in.readString();
+            int[] indices = in.readIntArray();
+            int modificationCount = in.readInt();
+
+            /* both objects are always read, so the next entry starts at the right position */
+            ReduceOperation<Object> function = null;
+            Object newValue = null;
+            Exception readException = null;
+            try {
+                function = (ReduceOperation<Object>) in.readObject();
+            } catch (Exception ex) {
+                readException = ex;
+            }
+            try {
+                newValue = in.readObject();
+            } catch (Exception ex) {
+                if (readException == null) {
+                    readException = ex;
+                }
+            }
+            if (readException != null) {
+                exceptionMap.put(i, readException);
+                continue;
+            }
+
+            try {
+                PcjThread pcjThread = nodeData.getPcjThread(groupId, threadId);
+                InternalStorages storage = pcjThread.getThreadData().getStorages();
+                storage.accumulate(function, newValue, modificationCount, sharedEnumClassName, name, indices);
+            } catch (Exception ex) {
+                exceptionMap.put(i, ex);
+            }
+        }
+
+        InternalPCJ.getNetworker().send(sender, new ValueAccumulateBatchResponseMessage(batchNum, exceptionMap));
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2011-2026, PCJ Library, Marek Nowicki
+ * All rights reserved.
+ *
+ * Licensed under New BSD License (3-clause license).
+ *
+ * See the file "LICENSE" for the full license governing this code.
+ */
+package org.pcj.internal.message.accumulate;
+
+import java.io.IOException;
+import java.nio.channels.SocketChannel;
+import java.util.HashMap;
+import java.util.Map;
+import org.pcj.internal.InternalPCJ;
+import org.pcj.internal.message.Message;
+import org.pcj.internal.message.MessageType;
+import org.pcj.internal.network.MessageDataInputStream;
+import org.pcj.internal.network.MessageDataOutputStream;
+
+/**
+ * @author Marek Nowicki (faramir@mat.umk.pl)
+ */
+public final class ValueAccumulateBatchResponseMessage extends Message {
+
+    private int batchNum;
+    private Map<Integer, Exception> exceptionMap;
+
+    public ValueAccumulateBatchResponseMessage() {
+        super(MessageType.VALUE_ACCUMULATE_BATCH_RESPONSE);
+    }
+
+    ValueAccumulateBatchResponseMessage(int batchNum, Map<Integer, Exception> exceptionMap) {
+        this();
+
+        this.batchNum = batchNum;
+        this.exceptionMap = exceptionMap;
+    }
+
+    @Override
+    public void write(MessageDataOutputStream out) throws IOException {
+        out.writeInt(batchNum);
+        out.writeInt(exceptionMap.size());
+        for (Map.Entry<Integer, Exception> entry : exceptionMap.entrySet()) {
+            out.writeInt(entry.getKey());
+            out.writeObject(entry.getValue());
+        }
+    }
+
+    @Override
+    public void onReceive(SocketChannel sender, MessageDataInputStream in) throws IOException {
+        batchNum = in.readInt();
+        int count = in.readInt();
+
+        exceptionMap = new HashMap<>(count);
+        for (int i = 0; i < count; ++i) {
+            int index = in.readInt();
+            Exception exception;
+            try {
+                exception = (Exception) in.readObject();
+            } catch (Exception ex) {
+                exception = ex;
+            }
+            exceptionMap.put(index, exception);
+        }
+
+        InternalPCJ.getNodeData().getAccumulateCombiner().batchProcessed(batchNum, exceptionMap);
+    }
+}
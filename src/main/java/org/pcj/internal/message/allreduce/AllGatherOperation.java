@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2011-2026, PCJ Library, Marek Nowicki
+ * All rights reserved.
+ *
+ * Licensed under New BSD License (3-clause license).
+ *
+ * See the file "LICENSE" for the full license governing this code.
+ */
+package org.pcj.internal.message.allreduce;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import org.pcj.internal.InternalCommonGroup;
+import org.pcj.internal.InternalStorages;
+import org.pcj.internal.PcjThread;
+
+/**
+ * All-gather operation.
+ * <p>
+ * When number of nodes is a power of two, nodes exchange all values gathered
+ * so far by recursive doubling, in {@code log2(n)} steps. Otherwise, values of
+ * each node are passed around the ring of nodes, in {@code n-1} steps.
+ *
+ * @param <T> the type of the value
+ * @author Marek Nowicki (faramir@mat.umk.pl)
+ */
+public final class AllGatherOperation<T> extends CollectiveOperation<Map<Integer, T>> {
+
+    private final Map<Integer, T> values; // threadId -> value
+
+    public AllGatherOperation(String sharedEnumClassName, String variableName, int[] indices) {
+        super(sharedEnumClassName, variableName, indices);
+        this.values = new HashMap<>();
+    }
+
+    @Override
+    void addLocal(int threadId, CollectiveOperation<Map<Integer, T>> threadOperation) {
+        InternalStorages storages = PcjThread.getCurrentThreadData().getStorages();
+        values.put(threadId, storages.get(sharedEnumClassName, variableName, indices));
+    }
+
+    @Override
+    Queue<AllReduceStates.Step> prepareSteps(AllReduceStates.State<Map<Integer, T>> state, InternalCommonGroup group,
+                                             List<Integer> nodes, int index) {
+        Queue<AllReduceStates.Step> queue = new ArrayDeque<>();
+        int nodeCount = nodes.size();
+
+        if (isPowerOfTwo(nodeCount)) {
+            for (int step = 0; (1 << step) < nodeCount; ++step) {
+                int partner = index ^ (1 << step);
+                queue.add(state.sendStep(group, nodes.get(partner), step, () -> new HashMap<>(values)));
+                queue.add(state.<Map<Integer, T>>receiveStep(step, values::putAll));
+            }
+            return queue;
+        }
+
+        List<List<Integer>> threadsByNode = getThreadsByNode(group, nodes);
+        int next = nodes.get((index + 1) % nodeCount);
+        for (int step = 0; step < nodeCount - 1; ++step) {
+            List<Integer> sentThreads = threadsByNode.get(Math.floorMod(index - step, nodeCount));
+            queue.add(state.sendStep(group, next, step, () -> {
+                Map<Integer, T> sentValues = new HashMap<>();
+                sentThreads.forEach(threadId -> sentValues.put(threadId, values.get(threadId)));
+                return sentValues;
+            }));
+            queue.add(state.<Map<Integer, T>>receiveStep(step, values::putAll));
+        }
+        return queue;
+    }
+
+    @Override
+    Map<Integer, T> getResult(int threadId, boolean copy) {
+        Map<Integer, T> result = new HashMap<>(values);
+        if (copy) {
+            result.replaceAll((key, value) -> copyOf(value));
+        }
+        return result;
+    }
+
+    @Override
+    String getFailureMessage() {
+        return "All-gathering values failed";
+    }
+}
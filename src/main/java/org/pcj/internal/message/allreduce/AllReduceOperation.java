@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2011-2026, PCJ Library, Marek Nowicki
+ * All rights reserved.
+ *
+ * Licensed under New BSD License (3-clause license).
+ *
+ * See the file "LICENSE" for the full license governing this code.
+ */
+package org.pcj.internal.message.allreduce;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Queue;
+import org.pcj.ReduceOperation;
+import org.pcj.internal.InternalCommonGroup;
+import org.pcj.internal.InternalPCJ;
+import org.pcj.internal.InternalStorages;
+import org.pcj.internal.PcjThread;
+import org.pcj.internal.PrimitiveReduceOperations;
+
+/**
+ * All-reduce operation.
+ * <p>
+ * Nodes exchange partial results by recursive doubling: in each step, node
+ * exchanges its value with the node at distance of the next power of two.
+ * Nodes above the largest power of two send their values to partners before
+ * the first step and receive results after the last one.
+ * <p>
+ * Large primitive arrays reduced by element-wise operation are reduced by
+ * ring reduce-scatter followed by ring allgather. Array is split into one
+ * block per node, and each node sends only about twice the size of the
+ * array, regardless of the number of nodes. As the choice depends on the
+ * length of the array, nodes first agree on the length by recursive doubling,
+ * so all of them take the same algorithm or all of them fail.
+ * <p>
+ * Reduce function should be associative and commutative.
+ *
+ * @param <T> the type of the value
+ * @author Marek Nowicki (faramir@mat.umk.pl)
+ */
+public final class AllReduceOperation<T> extends CollectiveOperation<T> {
+
+    private static final int PRE_TAG = -2;
+    private static final int POST_TAG = -3;
+
+    private final ReduceOperation<T> function;
+    private T value;
+    private boolean hasValue;
+    private boolean valueCopied;
+
+    public AllReduceOperation(ReduceOperation<T> function, String sharedEnumClassName, String variableName, int[] indices) {
+        super(sharedEnumClassName, variableName, indices);
+        this.function = function;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    void addLocal(int threadId, CollectiveOperation<T> threadOperation) {
+        InternalStorages storages = PcjThread.getCurrentThreadData().getStorages();
+        T threadValue = storages.get(sharedEnumClassName, variableName, indices);
+        if (!hasValue) {
+            value = threadValue;
+            hasValue = true;
+        } else if (function instanceof PrimitiveReduceOperations.ArrayOperation) {
+            reduceInPlace((PrimitiveReduceOperations.ArrayOperation<T>) function, threadValue);
+        } else {
+            value = function.apply(value, threadValue);
+        }
+    }
+
+    /* arrays of local threads are reduced into a copy of the first one */
+    private void reduceInPlace(PrimitiveReduceOperations.ArrayOperation<T> operation, T threadValue) {
+        int length = operation.length(value);
+        if (operation.length(threadValue) != length) {
+            throw new IllegalArgumentException("Arrays have different lengths: "
+                                                       + length + " and " + operation.length(threadValue));
+        }
+        if (!valueCopied) {
+            value = operation.copyOfRange(value, 0, length);
+            valueCopied = true;
+        }
+        operation.applyInPlace(value, 0, threadValue);
+    }
+
+    @Override
+    void validate() {
+        if (value == null && function instanceof PrimitiveReduceOperations.ArrayOperation) {
+            throw new NullPointerException("Array to reduce element-wise is null");
+        }
+    }
+
+    @Override
+    Queue<AllReduceStates.Step> prepareSteps(AllReduceStates.State<T> state, InternalCommonGroup group,
+                                             List<Integer> nodes, int index) {
+        Queue<AllReduceStates.Step> queue = new ArrayDeque<>();
+        int threshold = InternalPCJ.getConfiguration().ALL_REDUCE_RING_THRESHOLD;
+        if (threshold > 0 && nodes.size() > 1 && function instanceof PrimitiveReduceOperations.ArrayOperation) {
+            @SuppressWarnings("unchecked")
+            PrimitiveReduceOperations.ArrayOperation<T> operation = (PrimitiveReduceOperations.ArrayOperation<T>) function;
+
+            /* local array length must not decide the algorithm, as it can differ between nodes */
+            addLengthAgreementSteps(queue, state, group, nodes, index, operation.length(value), length -> {
+                if (length * operation.getElementSize() >= threshold) {
+                    addRingSteps(queue, state, group, nodes, index, operation);
+                } else {
+                    addValueRecursiveDoublingSteps(queue, state, group, nodes, index);
+                }
+            });
+            return queue;
+        }
+        addValueRecursiveDoublingSteps(queue, state, group, nodes, index);
+        return queue;
+    }
+
+    private void addValueRecursiveDoublingSteps(Queue<AllReduceStates.Step> queue, AllReduceStates.State<T> state,
+                                                InternalCommonGroup group, List<Integer> nodes, int index) {
+        addRecursiveDoublingSteps(queue, state, group, nodes, index, PRE_TAG, POST_TAG, step -> step,
+                () -> value, received -> value = received, function::apply);
+    }
+
+    private void addRingSteps(Queue<AllReduceStates.Step> queue, AllReduceStates.State<T> state,
+                              InternalCommonGroup group, List<Integer> nodes, int index,
+                              PrimitiveReduceOperations.ArrayOperation<T> operation) {
+        int nodeCount = nodes.size();
+        int next = nodes.get((index + 1) % nodeCount);
+        int length = operation.length(value);
+
+        /* value can be shared with variable of local thread */
+        if (!valueCopied) {
+            value = operation.copyOfRange(value, 0, length);
+            valueCopied = true;
+        }
+
+        /* reduce-scatter: after the last step node has reduced block (index + 1) */
+        for (int step = 0; step < nodeCount - 1; ++step) {
+            int sentBlock = Math.floorMod(index - step, nodeCount);
+            int receivedBlock = Math.floorMod(index - step - 1, nodeCount);
+            queue.add(state.sendStep(group, next, step, () -> operation.copyOfRange(value,
+                    blockStart(sentBlock, length, nodeCount), blockStart(sentBlock + 1, length, nodeCount))));
+            queue.add(state.<T>receiveStep(step, received -> operation.applyInPlace(value,
+                    blockStart(receivedBlock, length, nodeCount), received)));
+        }
+
+        /* allgather: reduced blocks are passed around the ring */
+        for (int step = 0; step < nodeCount - 1; ++step) {
+            int sentBlock = Math.floorMod(index + 1 - step, nodeCount);
+            int receivedBlock = Math.floorMod(index - step, nodeCount);
+            int tag = nodeCount - 1 + step;
+            queue.add(state.sendStep(group, next, tag, () -> operation.copyOfRange(value,
+                    blockStart(sentBlock, length, nodeCount), blockStart(sentBlock + 1, length, nodeCount))));
+            queue.add(state.<T>receiveStep(tag, received -> System.arraycopy(received, 0, value,
+                    blockStart(receivedBlock, length, nodeCount), operation.length(received))));
+        }
+    }
+
+    private static int blockStart(int block, int length, int blockCount) {
+        return (int) ((long) block * length / blockCount);
+    }
+
+    @Override
+    T getResult(int threadId, boolean copy) {
+        return copy ? copyOf(value) : value;
+    }
+
+    @Override
+    String getFailureMessage() {
+        return "All-reducing values failed";
+    }
+}
@@ -0,0 +1,301 @@
+/*
+ * Copyright (c) 2011-2026, PCJ Library, Marek Nowicki
+ * All rights reserved.
+ *
+ * Licensed under New BSD License (3-clause license).
+ *
+ * See the file "LICENSE" for the full license governing this code.
+ */
+package org.pcj.internal.message.allreduce;
+
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import org.pcj.PcjFuture;
+import org.pcj.PcjRuntimeException;
+import org.pcj.internal.InternalCommonGroup;
+import org.pcj.internal.InternalPCJ;
+import org.pcj.internal.NodeData;
+import org.pcj.internal.message.Message;
+
+/**
+ * States of collective operations in which every thread of the group gets
+ * a result: all-reduce, all-gather, reduce-scatter, all-to-all and scans.
+ * <p>
+ * Every thread of the group has to call the operation, and all threads have
+ * to call these operations in the same order. Node combines values of its
+ * local threads, and then exchanges partial results with other nodes of the
+ * group in steps prepared by {@link CollectiveOperation}. Step either sends
+ * value to other node or processes value received from other node, so no
+ * thread is blocked while waiting for other nodes.
+ *
+ * @author Marek Nowicki (faramir@mat.umk.pl)
+ */
+public class AllReduceStates {
+
+    static final int ABORT_TAG = -1;
+
+    private final ConcurrentMap<Integer, AtomicInteger> counterMap;
+    private final ConcurrentMap<Integer, State<?>> stateMap;
+    /* finished rounds greater than completedRound */
+    private final Set<Integer> finishedRounds;
+    /* all rounds up to completedRound are finished */
+    private int completedRound;
+
+    public AllReduceStates() {
+        counterMap = new ConcurrentHashMap<>();
+        stateMap = new ConcurrentHashMap<>();
+        finishedRounds = new HashSet<>();
+    }
+
+    public int getNextRound(int threadId) {
+        AtomicInteger roundCounter = counterMap.computeIfAbsent(threadId, key -> new AtomicInteger(0));
+        return roundCounter.incrementAndGet();
+    }
+
+    /**
+     * Gets state of the round, or creates it if the round has not started on
+     * the current node yet.
+     *
+     * @return state of the round, or null if the round has already finished
+     * on the current node, e.g. for message that arrived after abort
+     */
+    @SuppressWarnings("unchecked")
+    public <T> State<T> getOrCreate(int round, InternalCommonGroup commonGroup) {
+        return (State<T>) stateMap.computeIfAbsent(round,
+                key -> isFinished(round) ? null : new State<>(round, commonGroup.getLocalThreadsId().size()));
+    }
+
+    private void remove(int round) {
+        markFinished(round);
+        stateMap.remove(round);
+    }
+
+    private synchronized void markFinished(int round) {
+        finishedRounds.add(round);
+        while (finishedRounds.remove(completedRound + 1)) {
+            ++completedRound;
+        }
+    }
+
+    private synchronized boolean isFinished(int round) {
+        return round <= completedRound || finishedRounds.contains(round);
+    }
+
+    public class State<T> {
+
+        private final int round;
+        private final Map<Integer, AllReduceFuture<T>> futures; // threadId -> future
+        private final Map<Integer, Object> receivedValues; // tag -> value
+        private final Queue<Exception> exceptions;
+        private int localCount;
+        private CollectiveOperation<T> operation;
+        private boolean aborted;
+        private boolean finished;
+        private Queue<Step> steps;
+
+        private State(int round, int localCount) {
+            this.round = round;
+            this.localCount = localCount;
+
+            futures = new LinkedHashMap<>();
+            receivedValues = new HashMap<>();
+            exceptions = new ConcurrentLinkedQueue<>();
+        }
+
+        /**
+         * Adds contribution of the current thread. Node uses the operation of
+         * the first local thread.
+         */
+        public PcjFuture<T> processLocal(InternalCommonGroup group, int threadId, CollectiveOperation<T> operation) {
+            AllReduceFuture<T> future = new AllReduceFuture<>();
+            synchronized (this) {
+                futures.put(threadId, future);
+                if (this.operation == null) {
+                    this.operation = operation;
+                }
+                try {
+                    this.operation.addLocal(threadId, operation);
+                } catch (Exception ex) {
+                    exceptions.add(ex);
+                }
+                --localCount;
+
+                advance(group);
+            }
+            return future;
+        }
+
+        synchronized void valueReceived(InternalCommonGroup group, int tag, Object receivedValue, Queue<Exception> messageExceptions) {
+            if ((messageExceptions != null) && (!messageExceptions.isEmpty())) {
+                exceptions.addAll(messageExceptions);
+            }
+            if (tag == ABORT_TAG) {
+                aborted = true;
+            } else {
+                receivedValues.put(tag, receivedValue);
+            }
+
+            advance(group);
+        }
+
+        private void advance(InternalCommonGroup group) {
+            if (localCount > 0 || finished) {
+                return;
+            }
+            if (steps == null) {
+                if (!aborted && exceptions.isEmpty()) {
+                    try {
+                        operation.validate();
+                    } catch (Exception ex) {
+                        exceptions.add(ex);
+                    }
+                }
+                if (!aborted && !exceptions.isEmpty()) {
+                    /* other nodes cannot continue without value of this node */
+                    abort(group);
+                    aborted = true;
+                }
+                if (aborted) {
+                    steps = new ArrayDeque<>();
+                } else {
+                    NodeData nodeData = InternalPCJ.getNodeData();
+                    List<Integer> nodes = group.getCommunicationTree(InternalCommonGroup.Collective.REDUCE).getNodes();
+                    steps = operation.prepareSteps(this, group, nodes, nodes.indexOf(nodeData.getCurrentNodePhysicalId()));
+                }
+            }
+
+            while (!aborted && !steps.isEmpty()) {
+                if (!steps.peek().execute()) {
+                    return;
+                }
+                steps.poll();
+            }
+
+            finish();
+        }
+
+        private void abort(InternalCommonGroup group) {
+            NodeData nodeData = InternalPCJ.getNodeData();
+            for (int physicalId : group.getCommunicationTree(InternalCommonGroup.Collective.REDUCE).getNodes()) {
+                if (physicalId != nodeData.getCurrentNodePhysicalId()) {
+                    send(group, physicalId, ABORT_TAG, null);
+                }
+            }
+        }
+
+        /**
+         * @return step that sends value to the node, or only exceptions when
+         * the operation has already failed
+         */
+        Step sendStep(InternalCommonGroup group, int physicalId, int tag, Supplier<Object> valueSupplier) {
+            return () -> {
+                Object sentValue = null;
+                if (exceptions.isEmpty()) {
+                    try {
+                        sentValue = valueSupplier.get();
+                    } catch (Exception ex) {
+                        exceptions.add(ex);
+                    }
+                }
+                send(group, physicalId, tag, sentValue);
+                return true;
+            };
+        }
+
+        private void send(InternalCommonGroup group, int physicalId, int tag, Object sentValue) {
+            Queue<Exception> sentExceptions = exceptions.isEmpty() ? null : new ConcurrentLinkedQueue<>(exceptions);
+            Message message = new AllReduceValueMessage(group.getGroupId(), round, tag, sentValue, sentExceptions);
+
+            SocketChannel socket = InternalPCJ.getNodeData().getSocketChannelByPhysicalId(physicalId);
+            try {
+                InternalPCJ.getNetworker().send(socket, message);
+            } catch (Exception ex) {
+                exceptions.add(ex);
+            }
+        }
+
+        /**
+         * @return step that waits for value with the tag and processes it,
+         * unless the operation has already failed
+         */
+        @SuppressWarnings("unchecked")
+        <V> Step receiveStep(int tag, Consumer<V> action) {
+            return () -> {
+                if (!receivedValues.containsKey(tag)) {
+                    return false;
+                }
+                V received = (V) receivedValues.remove(tag);
+                if (exceptions.isEmpty()) {
+                    try {
+                        action.accept(received);
+                    } catch (Exception ex) {
+                        exceptions.add(ex);
+                    }
+                }
+                return true;
+            };
+        }
+
+        /**
+         * @return step that executes the action on the current node, unless
+         * the operation has already failed
+         */
+        Step localStep(Runnable action) {
+            return () -> {
+                if (exceptions.isEmpty()) {
+                    try {
+                        action.run();
+                    } catch (Exception ex) {
+                        exceptions.add(ex);
+                    }
+                }
+                return true;
+            };
+        }
+
+        private void finish() {
+            finished = true;
+            AllReduceStates.this.remove(round);
+
+            if (!exceptions.isEmpty()) {
+                PcjRuntimeException ex = new PcjRuntimeException(operation.getFailureMessage(), exceptions.poll());
+                exceptions.forEach(ex::addSuppressed);
+                futures.values().forEach(future -> future.signalException(ex));
+                return;
+            }
+
+            /* the last thread gets the result itself, others get copies */
+            int left = futures.size();
+            for (Map.Entry<Integer, AllReduceFuture<T>> entry : futures.entrySet()) {
+                --left;
+                try {
+                    entry.getValue().signalDone(operation.getResult(entry.getKey(), left > 0));
+                } catch (RuntimeException ex) {
+                    entry.getValue().signalException(new PcjRuntimeException(operation.getFailureMessage(), ex));
+                }
+            }
+        }
+    }
+
+    @FunctionalInterface
+    interface Step {
+
+        /**
+         * @return false if step cannot be executed yet
+         */
+        boolean execute();
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2011-2026, PCJ Library, Marek Nowicki
+ * All rights reserved.
+ *
+ * Licensed under New BSD License (3-clause license).
+ *
+ * See the file "LICENSE" for the full license governing this code.
+ */
+package org.pcj.internal.message.allreduce;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import org.pcj.internal.InternalCommonGroup;
+
+/**
+ * All-to-all personalized exchange.
+ * <p>
+ * Every thread provides a separate value for every other thread. Values of
+ * local threads are aggregated per destination node, so each pair of nodes
+ * exchanges exactly one message. Exchange is scheduled pairwise in {@code n-1}
+ * steps: when number of nodes is a power of two, node exchanges values with
+ * node {@code index XOR step}, otherwise it sends values to node
+ * {@code index + step} and receives them from node {@code index - step}.
+ *
+ * @param <T> the type of the value
+ * @author Marek Nowicki (faramir@mat.umk.pl)
+ */
+public final class AllToAllOperation<T> extends CollectiveOperation<Map<Integer, T>> {
+
+    private final Map<Integer, T> threadValues; // destination -> value
+    private final Map<Integer, Map<Integer, T>> values; // destination -> (source -> value)
+    private final Set<Integer> localThreads;
+
+    public AllToAllOperation(Map<Integer, T> threadValues) {
+        super(null, null, null);
+        this.threadValues = threadValues;
+        this.values = new HashMap<>();
+        this.localThreads = new HashSet<>();
+    }
+
+    @Override
+    void addLocal(int threadId, CollectiveOperation<Map<Integer, T>> threadOperation) {
+        localThreads.add(threadId);
+        ((AllToAllOperation<T>) threadOperation).threadValues.forEach((destination, value) ->
+                values.computeIfAbsent(destination, key -> new HashMap<>()).put(threadId, value));
+    }
+
+    @Override
+    Queue<AllReduceStates.Step> prepareSteps(AllReduceStates.State<Map<Integer, T>> state, InternalCommonGroup group,
+                                             List<Integer> nodes, int index) {
+        Queue<AllReduceStates.Step> queue = new ArrayDeque<>();
+        int nodeCount = nodes.size();
+        boolean pairwise = isPowerOfTwo(nodeCount);
+
+        List<List<Integer>> threadsByNode = getThreadsByNode(group, nodes);
+        for (int step = 1; step < nodeCount; ++step) {
+            int destination = pairwise ? index ^ step : (index + step) % nodeCount;
+            List<Integer> sentThreads = threadsByNode.get(destination);
+            queue.add(state.sendStep(group, nodes.get(destination), step, () -> extractValues(sentThreads)));
+            queue.add(state.<Map<Integer, Map<Integer, T>>>receiveStep(step, this::mergeValues));
+        }
+        return queue;
+    }
+
+    private Map<Integer, Map<Integer, T>> extractValues(List<Integer> threadIds) {
+        Map<Integer, Map<Integer, T>> sentValues = new HashMap<>();
+        for (int threadId : threadIds) {
+            Map<Integer, T> threadValues = values.remove(threadId);
+            if (threadValues != null) {
+                sentValues.put(threadId, threadValues);
+            }
+        }
+        return sentValues;
+    }
+
+    private void mergeValues(Map<Integer, Map<Integer, T>> receivedValues) {
+        receivedValues.forEach((destination, sourceValues) ->
+                values.computeIfAbsent(destination, key -> new HashMap<>()).putAll(sourceValues));
+    }
+
+    /**
+     * Values from local threads are copied, as they are still referenced by
+     * their sources.
+     */
+    @Override
+    Map<Integer, T> getResult(int threadId, boolean copy) {
+        Map<Integer, T> result = new HashMap<>(values.getOrDefault(threadId, Collections.emptyMap()));
+        result.replaceAll((source, value) -> localThreads.contains(source) ? copyOf(value) : value);
+        return result;
+    }
+
+    @Override
+    String getFailureMessage() {
+        return "All-to-all exchange failed";
+    }
+}
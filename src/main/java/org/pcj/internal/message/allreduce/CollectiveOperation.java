@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2011-2026, PCJ Library, Marek Nowicki
+ * All rights reserved.
+ *
+ * Licensed under New BSD License (3-clause license).
+ *
+ * See the file "LICENSE" for the full license governing this code.
+ */
+package org.pcj.internal.message.allreduce;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.IntUnaryOperator;
+import java.util.function.LongConsumer;
+import java.util.function.Supplier;
+import org.pcj.PcjRuntimeException;
+import org.pcj.internal.InternalCommonGroup;
+import org.pcj.internal.InternalPCJ;
+import org.pcj.internal.NodeData;
+import org.pcj.internal.ValueCloner;
+
+/**
+ * Collective operation executed by {@link AllReduceStates.State}.
+ * <p>
+ * Methods are called while holding lock on the state.
+ *
+ * @param <R> the type of the result
+ * @author Marek Nowicki (faramir@mat.umk.pl)
+ */
+public abstract class CollectiveOperation<R> {
+
+    private static final int LENGTH_PRE_TAG = -4;
+    private static final int LENGTH_POST_TAG = -5;
+    private static final int LENGTH_FIRST_STEP_TAG = -6;
+
+    protected final String sharedEnumClassName;
+    protected final String variableName;
+    protected final int[] indices;
+    private long[] lengthRange; // {min, max}
+
+    protected CollectiveOperation(String sharedEnumClassName, String variableName, int[] indices) {
+        this.sharedEnumClassName = sharedEnumClassName;
+        this.variableName = variableName;
+        this.indices = indices;
+    }
+
+    /**
+     * Adds contribution of the local thread. It is called by the local thread
+     * itself. Node uses the operation created by its first local thread, so
+     * contribution that is not stored in shareable variable has to be taken
+     * from the operation of the thread.
+     */
+    abstract void addLocal(int threadId, CollectiveOperation<R> threadOperation) throws Exception;
+
+    /**
+     * Checks if values of all local threads can be used by the algorithm.
+     */
+    void validate() throws Exception {
+    }
+
+    /**
+     * Prepares steps of the algorithm executed by the current node.
+     *
+     * @param nodes physical ids of nodes of the group
+     * @param index index of the current node in {@code nodes}
+     */
+    abstract Queue<AllReduceStates.Step> prepareSteps(AllReduceStates.State<R> state, InternalCommonGroup group,
+                                                      List<Integer> nodes, int index);
+
+    /**
+     * Adds steps in which nodes agree on length of their arrays, as steps
+     * prepared from the local length could not match steps of other nodes.
+     * All nodes fail when lengths differ, otherwise the continuation adds
+     * next steps to the queue using the common length.
+     */
+    void addLengthAgreementSteps(Queue<AllReduceStates.Step> queue, AllReduceStates.State<R> state,
+                                 InternalCommonGroup group, List<Integer> nodes, int index,
+                                 long length, LongConsumer continuation) {
+        lengthRange = new long[]{length, length};
+        addRecursiveDoublingSteps(queue, state, group, nodes, index,
+                LENGTH_PRE_TAG, LENGTH_POST_TAG, step -> LENGTH_FIRST_STEP_TAG - step,
+                () -> lengthRange, received -> lengthRange = received,
+                (a, b) -> new long[]{Math.min(a[0], b[0]), Math.max(a[1], b[1])});
+        queue.add(state.localStep(() -> {
+            if (lengthRange[0] != lengthRange[1]) {
+                throw new IllegalArgumentException("Arrays have different lengths: "
+                                                           + lengthRange[0] + " and " + lengthRange[1]);
+            }
+            continuation.accept(lengthRange[0]);
+        }));
+    }
+
+    /**
+     * Adds steps in which nodes combine values by recursive doubling. Nodes
+     * above the largest power of two send their values to partners before
+     * the first step and receive results after the last one.
+     */
+    <V> void addRecursiveDoublingSteps(Queue<AllReduceStates.Step> queue, AllReduceStates.State<R> state,
+                                       InternalCommonGroup group, List<Integer> nodes, int index,
+                                       int preTag, int postTag, IntUnaryOperator stepTag,
+                                       Supplier<V> getter, Consumer<V> setter, BinaryOperator<V> combiner) {
+        int powerOfTwo = Integer.highestOneBit(nodes.size());
+
+        if (index >= powerOfTwo) {
+            queue.add(state.sendStep(group, nodes.get(index - powerOfTwo), preTag, getter::get));
+            queue.add(state.<V>receiveStep(postTag, setter));
+            return;
+        }
+
+        if (index + powerOfTwo < nodes.size()) {
+            queue.add(state.<V>receiveStep(preTag, received -> setter.accept(combiner.apply(getter.get(), received))));
+        }
+        for (int step = 0; (1 << step) < powerOfTwo; ++step) {
+            int partner = index ^ (1 << step);
+            int tag = stepTag.applyAsInt(step);
+            queue.add(state.sendStep(group, nodes.get(partner), tag, getter::get));
+            if (partner < index) {
+                queue.add(state.<V>receiveStep(tag, received -> setter.accept(combiner.apply(received, getter.get()))));
+            } else {
+                queue.add(state.<V>receiveStep(tag, received -> setter.accept(combiner.apply(getter.get(), received))));
+            }
+        }
+        if (index + powerOfTwo < nodes.size()) {
+            queue.add(state.sendStep(group, nodes.get(index + powerOfTwo), postTag, getter::get));
+        }
+    }
+
+    /**
+     * @param threadId thread that gets the result
+     * @param copy     if the result cannot be shared with other threads
+     * @return result for the local thread
+     */
+    abstract R getResult(int threadId, boolean copy);
+
+    abstract String getFailureMessage();
+
+    /**
+     * @return copy of the value, made by serialization when the value cannot
+     * be cloned
+     * @throws PcjRuntimeException when the value cannot be serialized
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T copyOf(T value) {
+        try {
+            return (T) ValueCloner.copy(value);
+        } catch (IOException | ClassNotFoundException ex) {
+            throw new PcjRuntimeException("Cannot copy value", ex);
+        }
+    }
+
+    /**
+     * @return group thread ids of threads running on each node
+     */
+    static List<List<Integer>> getThreadsByNode(InternalCommonGroup group, List<Integer> nodes) {
+        NodeData nodeData = InternalPCJ.getNodeData();
+        List<List<Integer>> threadsByNode = new ArrayList<>(nodes.size());
+        for (int i = 0; i < nodes.size(); ++i) {
+            threadsByNode.add(new ArrayList<>());
+        }
+        group.getThreadsMap().entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> threadsByNode.get(nodes.indexOf(nodeData.getPhysicalId(entry.getValue()))).add(entry.getKey()));
+        return threadsByNode;
+    }
+
+    static boolean isPowerOfTwo(int value) {
+        return (value & (value - 1)) == 0;
+    }
+}
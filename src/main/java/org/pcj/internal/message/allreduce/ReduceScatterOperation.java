@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2011-2026, PCJ Library, Marek Nowicki
+ * All rights reserved.
+ *
+ * Licensed under New BSD License (3-clause license).
+ *
+ * See the file "LICENSE" for the full license governing this code.
+ */
+package org.pcj.internal.message.allreduce;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import org.pcj.internal.InternalCommonGroup;
+import org.pcj.internal.InternalStorages;
+import org.pcj.internal.PcjThread;
+import org.pcj.internal.PrimitiveReduceOperations;
+
+/**
+ * Reduce-scatter operation on primitive arrays.
+ * <p>
+ * Array is reduced element-wise and split into one block per thread of the
+ * group, and each thread gets its reduced block. Nodes exchange only blocks
+ * of threads of other nodes. When number of nodes is a power of two, nodes
+ * use recursive halving: in each step, node sends to its partner the half of
+ * the remaining blocks that belongs to the partner's side. Otherwise, blocks
+ * of each node are passed around the ring of nodes and reduced on the way.
+ * As the blocks depend on the length of the array, nodes first agree on the
+ * length, so all of them use the same blocks or all of them fail.
+ *
+ * @param <T> the type of the array
+ * @author Marek Nowicki (faramir@mat.umk.pl)
+ */
+public final class ReduceScatterOperation<T> extends CollectiveOperation<T> {
+
+    private final PrimitiveReduceOperations.ArrayOperation<T> operation;
+    private T value;
+    private boolean valueCopied;
+    private int threadCount;
+
+    public ReduceScatterOperation(PrimitiveReduceOperations.ArrayOperation<T> operation,
+                                  String sharedEnumClassName, String variableName, int[] indices) {
+        super(sharedEnumClassName, variableName, indices);
+        this.operation = operation;
+    }
+
+    @Override
+    void addLocal(int threadId, CollectiveOperation<T> threadOperation) {
+        InternalStorages storages = PcjThread.getCurrentThreadData().getStorages();
+        T threadValue = storages.get(sharedEnumClassName, variableName, indices);
+        if (value == null) {
+            value = threadValue;
+            return;
+        }
+
+        /* arrays of local threads are reduced into a copy of the first one */
+        int length = operation.length(value);
+        if (operation.length(threadValue) != length) {
+            throw new IllegalArgumentException("Arrays have different lengths: "
+                                                       + length + " and " + operation.length(threadValue));
+        }
+        if (!valueCopied) {
+            value = operation.copyOfRange(value, 0, length);
+            valueCopied = true;
+        }
+        operation.applyInPlace(value, 0, threadValue);
+    }
+
+    @Override
+    void validate() {
+        if (value == null) {
+            throw new NullPointerException("Array to reduce element-wise is null");
+        }
+    }
+
+    @Override
+    Queue<AllReduceStates.Step> prepareSteps(AllReduceStates.State<T> state, InternalCommonGroup group,
+                                             List<Integer> nodes, int index) {
+        Queue<AllReduceStates.Step> queue = new ArrayDeque<>();
+        threadCount = group.threadCount();
+        if (!valueCopied) {
+            value = operation.copyOfRange(value, 0, operation.length(value));
+            valueCopied = true;
+        }
+
+        if (nodes.size() > 1) {
+            addLengthAgreementSteps(queue, state, group, nodes, index, operation.length(value),
+                    length -> addBlockSteps(queue, state, group, nodes, index));
+        }
+        return queue;
+    }
+
+    private void addBlockSteps(Queue<AllReduceStates.Step> queue, AllReduceStates.State<T> state,
+                               InternalCommonGroup group, List<Integer> nodes, int index) {
+        int nodeCount = nodes.size();
+        List<List<Integer>> threadsByNode = getThreadsByNode(group, nodes);
+        if (isPowerOfTwo(nodeCount)) {
+            int step = 0;
+            for (int mask = nodeCount / 2; mask >= 1; mask /= 2, ++step) {
+                int partner = index ^ mask;
+                int block = index & ~(2 * mask - 1);
+                List<Integer> sentThreads = new ArrayList<>();
+                for (int node = block; node < block + 2 * mask; ++node) {
+                    if ((node & mask) == (partner & mask)) {
+                        sentThreads.addAll(threadsByNode.get(node));
+                    }
+                }
+                queue.add(state.sendStep(group, nodes.get(partner), step, () -> extractBlocks(sentThreads)));
+                queue.add(state.<Map<Integer, T>>receiveStep(step, this::applyBlocks));
+            }
+            return;
+        }
+
+        /* after the last step node has reduced blocks of its threads */
+        int next = nodes.get((index + 1) % nodeCount);
+        for (int step = 0; step < nodeCount - 1; ++step) {
+            List<Integer> sentThreads = threadsByNode.get(Math.floorMod(index - step - 1, nodeCount));
+            queue.add(state.sendStep(group, next, step, () -> extractBlocks(sentThreads)));
+            queue.add(state.<Map<Integer, T>>receiveStep(step, this::applyBlocks));
+        }
+    }
+
+    private int blockStart(int threadId) {
+        return (int) ((long) threadId * operation.length(value) / threadCount);
+    }
+
+    private Map<Integer, T> extractBlocks(List<Integer> threadIds) {
+        Map<Integer, T> blocks = new HashMap<>();
+        for (int threadId : threadIds) {
+            blocks.put(threadId, operation.copyOfRange(value, blockStart(threadId), blockStart(threadId + 1)));
+        }
+        return blocks;
+    }
+
+    private void applyBlocks(Map<Integer, T> blocks) {
+        for (Map.Entry<Integer, T> entry : blocks.entrySet()) {
+            int threadId = entry.getKey();
+            int blockLength = blockStart(threadId + 1) - blockStart(threadId);
+            if (operation.length(entry.getValue()) != blockLength) {
+                throw new IllegalArgumentException("Arrays have different lengths: blocks of thread " + threadId
+                                                           + " have " + blockLength + " and " + operation.length(entry.getValue()) + " elements");
+            }
+            operation.applyInPlace(value, blockStart(threadId), entry.getValue());
+        }
+    }
+
+    @Override
+    T getResult(int threadId, boolean copy) {
+        return operation.copyOfRange(value, blockStart(threadId), blockStart(threadId + 1));
+    }
+
+    @Override
+    String getFailureMessage() {
+        return "Reduce-scattering values failed";
+    }
+}
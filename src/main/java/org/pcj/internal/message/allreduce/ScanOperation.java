@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2011-2026, PCJ Library, Marek Nowicki
+ * All rights reserved.
+ *
+ * Licensed under New BSD License (3-clause license).
+ *
+ * See the file "LICENSE" for the full license governing this code.
+ */
+package org.pcj.internal.message.allreduce;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import org.pcj.ReduceOperation;
+import org.pcj.internal.InternalCommonGroup;
+import org.pcj.internal.InternalStorages;
+import org.pcj.internal.PcjThread;
+import org.pcj.internal.PrimitiveReduceOperations;
+
+/**
+ * Inclusive and exclusive scan (parallel prefix) in order of thread ids.
+ * <p>
+ * Scan uses recursive doubling over thread ids: in step {@code k}, thread
+ * {@code t} combines its partial result with the partial result of thread
+ * {@code t - 2^k}, so the scan completes in {@code log2(n)} steps and no
+ * node collects values of all threads. Partial results sent in the same step
+ * from threads of one node to threads of other node are sent in one message.
+ * <p>
+ * Function has to be associative, but it does not have to be commutative.
+ *
+ * @param <T> the type of the value
+ * @author Marek Nowicki (faramir@mat.umk.pl)
+ */
+public final class ScanOperation<T> extends CollectiveOperation<T> {
+
+    private final ReduceOperation<T> function;
+    private final boolean exclusive;
+    private final Map<Integer, T> inclusiveValues; // threadId -> op(values of (threadId - 2^k, threadId])
+    private final Map<Integer, T> exclusiveValues; // threadId -> op(values of (threadId - 2^k, threadId))
+    private final Map<Integer, T> receivedValues; // threadId -> value received in the current step
+
+    public ScanOperation(ReduceOperation<T> function, boolean exclusive,
+                         String sharedEnumClassName, String variableName, int[] indices) {
+        super(sharedEnumClassName, variableName, indices);
+        this.function = function;
+        this.exclusive = exclusive;
+        this.inclusiveValues = new TreeMap<>();
+        this.exclusiveValues = new HashMap<>();
+        this.receivedValues = new HashMap<>();
+    }
+
+    @Override
+    void addLocal(int threadId, CollectiveOperation<T> threadOperation) {
+        InternalStorages storages = PcjThread.getCurrentThreadData().getStorages();
+        inclusiveValues.put(threadId, storages.get(sharedEnumClassName, variableName, indices));
+    }
+
+    @Override
+    Queue<AllReduceStates.Step> prepareSteps(AllReduceStates.State<T> state, InternalCommonGroup group,
+                                             List<Integer> nodes, int index) {
+        Queue<AllReduceStates.Step> queue = new ArrayDeque<>();
+        int nodeCount = nodes.size();
+        int threadCount = group.threadCount();
+
+        int[] nodeIndexOf = new int[threadCount];
+        List<List<Integer>> threadsByNode = getThreadsByNode(group, nodes);
+        for (int node = 0; node < nodeCount; ++node) {
+            for (int threadId : threadsByNode.get(node)) {
+                nodeIndexOf[threadId] = node;
+            }
+        }
+        List<Integer> localThreads = new ArrayList<>(inclusiveValues.keySet());
+
+        int step = 0;
+        for (int distance = 1; distance < threadCount; distance *= 2, ++step) {
+            int d = distance;
+            Map<Integer, List<Integer>> sentThreads = new TreeMap<>(); // node -> source threadIds
+            TreeSet<Integer> sourceNodes = new TreeSet<>();
+            for (int threadId : localThreads) {
+                if (threadId + d < threadCount && nodeIndexOf[threadId + d] != index) {
+                    sentThreads.computeIfAbsent(nodeIndexOf[threadId + d], key -> new ArrayList<>()).add(threadId);
+                }
+                if (threadId - d >= 0 && nodeIndexOf[threadId - d] != index) {
+                    sourceNodes.add(nodeIndexOf[threadId - d]);
+                }
+            }
+
+            queue.add(state.localStep(() -> {
+                for (int threadId : localThreads) {
+                    if (threadId + d < threadCount && nodeIndexOf[threadId + d] == index) {
+                        receivedValues.put(threadId + d, inclusiveValues.get(threadId));
+                    }
+                }
+            }));
+            int tag = step * nodeCount;
+            sentThreads.forEach((node, threadIds) -> queue.add(state.sendStep(group, nodes.get(node), tag + index, () -> {
+                Map<Integer, T> sentValues = new HashMap<>();
+                threadIds.forEach(threadId -> sentValues.put(threadId + d, inclusiveValues.get(threadId)));
+                return sentValues;
+            })));
+            for (int node : sourceNodes) {
+                queue.add(state.<Map<Integer, T>>receiveStep(tag + node, receivedValues::putAll));
+            }
+            queue.add(state.localStep(() -> {
+                for (int threadId : localThreads) {
+                    if (threadId - d >= 0) {
+                        applyReceived(threadId, receivedValues.remove(threadId));
+                    }
+                }
+            }));
+        }
+        return queue;
+    }
+
+    private void applyReceived(int threadId, T left) {
+        inclusiveValues.put(threadId, function.apply(left, inclusiveValues.get(threadId)));
+        if (exclusiveValues.containsKey(threadId)) {
+            exclusiveValues.put(threadId, function.apply(left, exclusiveValues.get(threadId)));
+        } else {
+            exclusiveValues.put(threadId, left);
+        }
+    }
+
+    /**
+     * Exclusive scan of the first thread returns identity element of the
+     * predefined primitive operation, or null.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    T getResult(int threadId, boolean copy) {
+        if (!exclusive) {
+            return copyOf(inclusiveValues.get(threadId));
+        }
+        if (!exclusiveValues.containsKey(threadId)) {
+            return (T) PrimitiveReduceOperations.identityOf(function);
+        }
+        return copyOf(exclusiveValues.get(threadId));
+    }
+
+    @Override
+    String getFailureMessage() {
+        return exclusive ? "Exclusive scan of values failed" : "Scan of values failed";
+    }
+}
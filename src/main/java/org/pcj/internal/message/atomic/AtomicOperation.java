@@ -0,0 +1,30 @@
+/*
+ * Copyright (c) 2011-2026, PCJ Library, Marek Nowicki
+ * All rights reserved.
+ *
+ * Licensed under New BSD License (3-clause license).
+ *
+ * See the file "LICENSE" for the full license governing this code.
+ */
+package org.pcj.internal.message.atomic;
+
+/**
+ * Kinds of remote atomic operations.
+ *
+ * @author Marek Nowicki (faramir@mat.umk.pl)
+ */
+public enum AtomicOperation {
+    FETCH_AND_ADD,
+    COMPARE_AND_SET,
+    GET_AND_SET;
+
+    private static final AtomicOperation[] VALUES = values();
+
+    static AtomicOperation valueOf(byte id) {
+        return VALUES[id];
+    }
+
+    byte getId() {
+        return (byte) ordinal();
+    }
+}
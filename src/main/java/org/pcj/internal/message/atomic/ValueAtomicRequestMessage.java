@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2011-2026, PCJ Library, Marek Nowicki
+ * All rights reserved.
+ *
+ * Licensed under New BSD License (3-clause license).
+ *
+ * See the file "LICENSE" for the full license governing this code.
+ */
+package org.pcj.internal.message.atomic;
+
+import java.io.IOException;
+import java.nio.channels.SocketChannel;
+import org.pcj.internal.InternalPCJ;
+import org.pcj.internal.InternalStorages;
+import org.pcj.internal.Networker;
+import org.pcj.internal.NodeData;
+import org.pcj.internal.PcjThread;
+import org.pcj.internal.message.Message;
+import org.pcj.internal.message.MessageType;
+import org.pcj.internal.network.MessageDataInputStream;
+import org.pcj.internal.network.MessageDataOutputStream;
+
+/**
+ * @author Marek Nowicki (faramir@mat.umk.pl)
+ */
+public class ValueAtomicRequestMessage extends Message {
+
+    private static final byte OBJECT_VALUE = 0;
+    private static final byte INT_VALUE = 1;
+    private static final byte LONG_VALUE = 2;
+    private static final byte DOUBLE_VALUE = 3;
+
+    private int groupId;
+    private int requestNum;
+    private int requesterThreadId;
+    private int threadId;
+    private String sharedEnumClassName;
+    private String name;
+    private int[] indices;
+    private AtomicOperation operation;
+    private Object expectedValue;
+    private Object newValue;
+
+    public ValueAtomicRequestMessage() {
+        super(MessageType.VALUE_ATOMIC_REQUEST);
+    }
+
+    public ValueAtomicRequestMessage(int groupId, int requestNum, int requesterThreadId, int threadId, String storageName, String name, int[] indices,
+                                     AtomicOperation operation, Object expectedValue, Object newValue) {
+        this();
+
+        this.groupId = groupId;
+        this.requestNum = requestNum;
+        this.requesterThreadId = requesterThreadId;
+        this.threadId = threadId;
+        this.sharedEnumClassName = storageName;
+        this.name = name;
+        this.indices = indices;
+        this.operation = operation;
+        this.expectedValue = expectedValue;
+        this.newValue = newValue;
+    }
+
+    @Override
+    public void write(MessageDataOutputStream out) throws IOException {
+        out.writeInt(groupId);
+        out.writeInt(requestNum);
+        out.writeInt(requesterThreadId);
+        out.writeInt(threadId);
+        out.writeString(sharedEnumClassName);
+        out.writeString(name);
+        out.writeIntArray(indices);
+        out.writeByte(operation.getId());
+        if (operation == AtomicOperation.COMPARE_AND_SET) {
+            writeValue(out, expectedValue);
+        }
+        writeValue(out, newValue);
+    }
+
+    @Override
+    public void onReceive(SocketChannel sender, MessageDataInputStream in) throws IOException {
+        groupId = in.readInt();
+        requestNum = in.readInt();
+        requesterThreadId = in.readInt();
+        threadId = in.readInt();
+        sharedEnumClassName = in.readString();
+        name = in.readString();
+        indices = in.readIntArray();
+        operation = AtomicOperation.valueOf(in.readByte());
+
+        NodeData nodeData = InternalPCJ.getNodeData();
+        PcjThread pcjThread = nodeData.getPcjThread(groupId, threadId);
+
+        InternalStorages storage = pcjThread.getThreadData().getStorages();
+
+        Networker networker = InternalPCJ.getNetworker();
+        try {
+            if (operation == AtomicOperation.COMPARE_AND_SET) {
+                expectedValue = readValue(in);
+            }
+            newValue = readValue(in);
+
+            Object previousValue;
+            switch (operation) {
+                case FETCH_AND_ADD:
+                    previousValue = storage.fetchAndAdd(newValue, sharedEnumClassName, name, indices);
+                    break;
+                case COMPARE_AND_SET:
+                    previousValue = storage.compareAndSet(expectedValue, newValue, sharedEnumClassName, name, indices);
+                    break;
+                case GET_AND_SET:
+                    previousValue = storage.getAndSet(newValue, sharedEnumClassName, name, indices);
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown atomic operation: " + operation);
+            }
+
+            Message message = new ValueAtomicResponseMessage(groupId, requestNum, requesterThreadId, previousValue);
+            networker.send(sender, message);
+        } catch (Exception ex) {
+            Message message = new ValueAtomicResponseMessage(groupId, requestNum, requesterThreadId, ex);
+            networker.send(sender, message);
+        }
+    }
+
+    /**
+     * Writes value. Values of the most common primitive wrappers are written
+     * directly, without using object serialization.
+     */
+    static void writeValue(MessageDataOutputStream out, Object value) throws IOException {
+        if (value instanceof Integer) {
+            out.writeByte(INT_VALUE);
+            out.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            out.writeByte(LONG_VALUE);
+            out.writeLong((Long) value);
+        } else if (value instanceof Double) {
+            out.writeByte(DOUBLE_VALUE);
+            out.writeDouble((Double) value);
+        } else {
+            out.writeByte(OBJECT_VALUE);
+            out.writeObject(value);
+        }
+    }
+
+    static Object readValue(MessageDataInputStream in) throws IOException, ClassNotFoundException {
+        byte type = in.readByte();
+        switch (type) {
+            case INT_VALUE:
+                return in.readInt();
+            case LONG_VALUE:
+                return in.readLong();
+            case DOUBLE_VALUE:
+                return in.readDouble();
+            default:
+                return in.readObject();
+        }
+    }
+}
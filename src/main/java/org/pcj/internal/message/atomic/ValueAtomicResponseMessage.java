@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2011-2026, PCJ Library, Marek Nowicki
+ * All rights reserved.
+ *
+ * Licensed under New BSD License (3-clause license).
+ *
+ * See the file "LICENSE" for the full license governing this code.
+ */
+package org.pcj.internal.message.atomic;
+
+import java.io.IOException;
+import java.io.WriteAbortedException;
+import java.nio.channels.SocketChannel;
+import java.util.logging.Level;
+import org.pcj.internal.InternalGroup;
+import org.pcj.internal.InternalPCJ;
+import org.pcj.internal.NodeData;
+import org.pcj.internal.PcjThread;
+import org.pcj.internal.message.Message;
+import org.pcj.internal.message.MessageType;
+import org.pcj.internal.network.MessageDataInputStream;
+import org.pcj.internal.network.MessageDataOutputStream;
+
+/**
+ * @author Marek Nowicki (faramir@mat.umk.pl)
+ */
+public class ValueAtomicResponseMessage extends Message {
+
+    private int groupId;
+    private int requestNum;
+    private int requesterThreadId;
+    private Object previousValue;
+    private Exception exception;
+
+    public ValueAtomicResponseMessage() {
+        super(MessageType.VALUE_ATOMIC_RESPONSE);
+    }
+
+    private ValueAtomicResponseMessage(int groupId, int requestNum, int requesterThreadId) {
+        this();
+
+        this.groupId = groupId;
+        this.requestNum = requestNum;
+        this.requesterThreadId = requesterThreadId;
+    }
+
+    public ValueAtomicResponseMessage(int groupId, int requestNum, int requesterThreadId, Object previousValue) {
+        this(groupId, requestNum, requesterThreadId);
+
+        this.previousValue = previousValue;
+    }
+
+    public ValueAtomicResponseMessage(int groupId, int requestNum, int requesterThreadId, Exception exception) {
+        this(groupId, requestNum, requesterThreadId);
+
+        this.exception = exception;
+    }
+
+    @Override
+    public void write(MessageDataOutputStream out) throws IOException {
+        out.writeInt(groupId);
+        out.writeInt(requestNum);
+        out.writeInt(requesterThreadId);
+        out.writeBoolean(exception != null);
+        if (exception != null) {
+            out.writeObject(exception);
+        } else {
+            ValueAtomicRequestMessage.writeValue(out, previousValue);
+        }
+    }
+
+    @Override
+    public void onReceive(SocketChannel sender, MessageDataInputStream in) throws IOException {
+        groupId = in.readInt();
+        requestNum = in.readInt();
+        requesterThreadId = in.readInt();
+
+        boolean exceptionOccurred = in.readBoolean();
+        try {
+            if (!exceptionOccurred) {
+                previousValue = ValueAtomicRequestMessage.readValue(in);
+            } else {
+                exception = (Exception) in.readObject();
+            }
+        } catch (WriteAbortedException ex) {
+            LOGGER.log(Level.WARNING, "WriteAbortedException occurred: {0}", ex.getMessage());
+            return;
+        } catch (Exception ex) {
+            exception = ex;
+        }
+
+        NodeData nodeData = InternalPCJ.getNodeData();
+        PcjThread pcjThread = nodeData.getPcjThread(groupId, requesterThreadId);
+
+        InternalGroup group = pcjThread.getThreadData().getGroupById(groupId);
+
+        ValueAtomicStates states = group.getValueAtomicStates();
+        ValueAtomicStates.State<?> state = states.remove(requestNum);
+        state.signal(previousValue, exception);
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2011-2026, PCJ Library, Marek Nowicki
+ * All rights reserved.
+ *
+ * Licensed under New BSD License (3-clause license).
+ *
+ * See the file "LICENSE" for the full license governing this code.
+ */
+package org.pcj.internal.message.atomic;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.pcj.PcjFuture;
+import org.pcj.PcjRuntimeException;
+
+/**
+ * @author Marek Nowicki (faramir@mat.umk.pl)
+ */
+public class ValueAtomicStates {
+
+    private final AtomicInteger counter;
+    private final ConcurrentMap<Integer, State<?>> stateMap;
+
+    public ValueAtomicStates() {
+        counter = new AtomicInteger(0);
+        stateMap = new ConcurrentHashMap<>();
+    }
+
+    public <T> State<T> create() {
+        int requestNum = counter.incrementAndGet();
+
+        ValueAtomicFuture<T> future = new ValueAtomicFuture<>();
+        State<T> state = new State<>(requestNum, future);
+
+        stateMap.put(requestNum, state);
+
+        return state;
+    }
+
+    public State<?> remove(int requestNum) {
+        return stateMap.remove(requestNum);
+    }
+
+    public static class State<T> {
+
+        private final int requestNum;
+        private final ValueAtomicFuture<T> future;
+
+        private State(int requestNum, ValueAtomicFuture<T> future) {
+            this.requestNum = requestNum;
+
+            this.future = future;
+        }
+
+        public int getRequestNum() {
+            return requestNum;
+        }
+
+        public PcjFuture<T> getFuture() {
+            return future;
+        }
+
+        public void signal(Object previousValue, Exception exception) {
+            if (exception == null) {
+                future.signalDone(previousValue);
+            } else {
+                PcjRuntimeException ex = new PcjRuntimeException("Atomic operation failed", exception);
+                future.signalException(ex);
+            }
+        }
+    }
+}
@@ -9,10 +9,10 @@
 package org.pcj.internal.message.barrier;
 
 import java.nio.channels.SocketChannel;
+import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.AtomicReference;
 import org.pcj.PcjFuture;
 import org.pcj.internal.InternalCommonGroup;
 import org.pcj.internal.InternalPCJ;
@@ -38,24 +38,46 @@ public class BarrierStates {
     }
 
     public State getOrCreate(int round, InternalCommonGroup commonGroup) {
-        return stateMap.computeIfAbsent(round,
-                _round -> new State(_round, commonGroup.getLocalThreadsId().size(), commonGroup.getCommunicationTree().getChildrenNodes().size(), new BarrierFuture()));
+        return stateMap.computeIfAbsent(round, _round -> {
+            boolean dissemination = InternalPCJ.getConfiguration().BARRIER_DISSEMINATION;
+            int physicalCount = dissemination ? 0 : commonGroup.getCommunicationTree(InternalCommonGroup.Collective.BARRIER).getChildrenNodes().size();
+            return new State(_round, commonGroup.getLocalThreadsId().size(), physicalCount, dissemination, new BarrierFuture());
+        });
     }
 
     public State remove(int round) {
         return stateMap.remove(round);
     }
 
+    /**
+     * State of the barrier round.
+     * <p>
+     * Local threads and children nodes decrement the same counter, so
+     * arrival does not allocate. When the counter reaches zero, node either
+     * notifies its parent in the communication tree, or starts the
+     * dissemination barrier.
+     * <p>
+     * Dissemination barrier does not use the root: in step {@code k}, node
+     * with index {@code i} signals node {@code (i + 2^k) mod n} and waits for
+     * signal from node {@code (i - 2^k) mod n}, so the barrier completes in
+     * {@code ceil(log2(n))} steps.
+     */
     public static class State {
         private final int round;
-        private final AtomicReference<NotificationCount> notificationCount;
+        private final AtomicInteger notificationCount;
+        private final boolean dissemination;
         private final BarrierFuture future;
+        private boolean localDone;
+        private int sentSteps;
+        private int receivedSteps; // bit mask of received dissemination steps
+        private boolean done;
 
-        private State(int round, int localCount, int physicalCount, BarrierFuture future) {
+        private State(int round, int localCount, int physicalCount, boolean dissemination, BarrierFuture future) {
             this.round = round;
+            this.dissemination = dissemination;
             this.future = future;
 
-            notificationCount = new AtomicReference<>(new NotificationCount(localCount, physicalCount));
+            notificationCount = new AtomicInteger(localCount + physicalCount);
         }
 
         public PcjFuture<Void> getFuture() {
@@ -63,30 +85,32 @@ public class BarrierStates {
         }
 
         public void processLocal(InternalCommonGroup group) {
-            NotificationCount count = notificationCount.updateAndGet(
-                    old -> new NotificationCount(old.local - 1, old.physical));
-
-            if (count.isDone()) {
+            if (notificationCount.decrementAndGet() == 0) {
                 nodeProcessed(group);
             }
         }
 
         protected void processPhysical(InternalCommonGroup group) {
-            NotificationCount count = notificationCount.updateAndGet(
-                    old -> new NotificationCount(old.local, old.physical - 1));
-
-            if (count.isDone()) {
+            if (notificationCount.decrementAndGet() == 0) {
                 nodeProcessed(group);
             }
         }
 
         private void nodeProcessed(InternalCommonGroup group) {
+            if (dissemination) {
+                synchronized (this) {
+                    localDone = true;
+                    disseminate(group);
+                }
+                return;
+            }
+
             Message message;
             SocketChannel socket;
             NodeData nodeData = InternalPCJ.getNodeData();
 
-            int parentId = group.getCommunicationTree().getParentNode();
-            if (group.getCommunicationTree().getParentNode() >= 0) {
+            int parentId = group.getCommunicationTree(InternalCommonGroup.Collective.BARRIER).getParentNode();
+            if (group.getCommunicationTree(InternalCommonGroup.Collective.BARRIER).getParentNode() >= 0) {
                 message = new GroupBarrierWaitingMessage(group.getGroupId(), round);
                 socket = nodeData.getSocketChannelByPhysicalId(parentId);
             } else {
@@ -97,23 +121,45 @@ public class BarrierStates {
             InternalPCJ.getNetworker().send(socket, message);
         }
 
-        protected void signalDone() {
-            future.signalDone();
+        protected synchronized void signalReceived(InternalCommonGroup group, int step) {
+            receivedSteps |= 1 << step;
+            disseminate(group);
         }
 
-        private static class NotificationCount {
-
-            private final int local;
-            private final int physical;
-
-            public NotificationCount(int local, int physical) {
-                this.local = local;
-                this.physical = physical;
+        /**
+         * Sends signals of all steps that can be sent, i.e. steps whose
+         * previous step signal has been received.
+         */
+        private void disseminate(InternalCommonGroup group) {
+            if (!localDone || done) {
+                return;
+            }
+            NodeData nodeData = InternalPCJ.getNodeData();
+            List<Integer> nodes = group.getCommunicationTree(InternalCommonGroup.Collective.BARRIER).getNodes();
+            int nodeCount = nodes.size();
+            int index = nodes.indexOf(nodeData.getCurrentNodePhysicalId());
+            int stepCount = 32 - Integer.numberOfLeadingZeros(nodeCount - 1);
+
+            while (sentSteps < stepCount && (sentSteps == 0 || isReceived(sentSteps - 1))) {
+                int physicalId = nodes.get((int) ((index + (1L << sentSteps)) % nodeCount));
+                Message message = new GroupBarrierSignalMessage(group.getGroupId(), round, sentSteps);
+                InternalPCJ.getNetworker().send(nodeData.getSocketChannelByPhysicalId(physicalId), message);
+                ++sentSteps;
             }
 
-            boolean isDone() {
-                return local == 0 && physical == 0;
+            if (sentSteps == stepCount && (stepCount == 0 || isReceived(stepCount - 1))) {
+                done = true;
+                group.getBarrierStates().remove(round);
+                signalDone();
             }
         }
+
+        private boolean isReceived(int step) {
+            return (receivedSteps & (1 << step)) != 0;
+        }
+
+        protected void signalDone() {
+            future.signalDone();
+        }
     }
 }
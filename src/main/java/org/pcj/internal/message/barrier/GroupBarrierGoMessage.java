@@ -54,7 +54,7 @@ public final class GroupBarrierGoMessage extends Message {
 
         InternalCommonGroup commonGroup = nodeData.getCommonGroupById(groupId);
 
-        commonGroup.getCommunicationTree().getChildrenNodes().stream()
+        commonGroup.getCommunicationTree(InternalCommonGroup.Collective.BARRIER).getChildrenNodes().stream()
                 .map(nodeData::getSocketChannelByPhysicalId)
                 .forEach(socket -> InternalPCJ.getNetworker().send(socket, this));
 
@@ -82,7 +82,7 @@ public final class BroadcastBytesMessage extends Message {
 
         InternalCommonGroup commonGroup = nodeData.getCommonGroupById(groupId);
         int requesterPhysicalId = nodeData.getPhysicalId(commonGroup.getGlobalThreadId(requesterThreadId));
-        commonGroup.getCommunicationTree().getChildrenNodes(requesterPhysicalId)
+        commonGroup.getCommunicationTree(InternalCommonGroup.Collective.BROADCAST).getChildrenNodes(requesterPhysicalId)
                 .stream()
                 .map(nodeData::getSocketChannelByPhysicalId)
                 .forEach(socket -> networker.send(socket, broadcastBytesMessage));
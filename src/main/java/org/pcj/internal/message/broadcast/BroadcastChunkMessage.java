@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2011-2026, PCJ Library, Marek Nowicki
+ * All rights reserved.
+ *
+ * Licensed under New BSD License (3-clause license).
+ *
+ * See the file "LICENSE" for the full license governing this code.
+ */
+package org.pcj.internal.message.broadcast;
+
+import java.io.IOException;
+import java.nio.channels.SocketChannel;
+import java.util.List;
+import org.pcj.internal.InternalCommonGroup;
+import org.pcj.internal.InternalPCJ;
+import org.pcj.internal.NodeData;
+import org.pcj.internal.message.Message;
+import org.pcj.internal.message.MessageType;
+import org.pcj.internal.network.MessageDataInputStream;
+import org.pcj.internal.network.MessageDataOutputStream;
+
+/**
+ * Chunk of serialized broadcast value sent by scatter-allgather algorithm.
+ * <p>
+ * Nodes of the group other than the root node form a ring. The root node
+ * sends chunk {@code i} only to its owner, the node at position {@code i} of
+ * the ring (scatter), and then each chunk is passed to the next node of the
+ * ring until it reaches the node preceding its owner (ring allgather). The
+ * root link carries the value once, and every link of the ring carries the
+ * value at most once.
+ *
+ * @author Marek Nowicki (faramir@mat.umk.pl)
+ */
+public final class BroadcastChunkMessage extends Message {
+
+    private int groupId;
+    private int requestNum;
+    private int requesterThreadId;
+    private String sharedEnumClassName;
+    private String variableName;
+    private int[] indices;
+    private int chunkIndex;
+    private int chunkCount;
+    private byte[] bytes;
+
+    public BroadcastChunkMessage() {
+        super(MessageType.BROADCAST_CHUNK);
+    }
+
+    public BroadcastChunkMessage(int groupId, int requestNum, int requesterThreadId, String storageName, String variableName, int[] indices,
+                                 int chunkIndex, int chunkCount, byte[] bytes) {
+        this();
+
+        this.groupId = groupId;
+        this.requestNum = requestNum;
+        this.requesterThreadId = requesterThreadId;
+        this.sharedEnumClassName = storageName;
+        this.variableName = variableName;
+        this.indices = indices;
+        this.chunkIndex = chunkIndex;
+        this.chunkCount = chunkCount;
+        this.bytes = bytes;
+    }
+
+    @Override
+    public void write(MessageDataOutputStream out) throws IOException {
+        out.writeInt(groupId);
+        out.writeInt(requestNum);
+        out.writeInt(requesterThreadId);
+        out.writeString(sharedEnumClassName);
+        out.writeString(variableName);
+        out.writeIntArray(indices);
+        out.writeInt(chunkIndex);
+        out.writeInt(chunkCount);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    @Override
+    public void onReceive(SocketChannel sender, MessageDataInputStream in) throws IOException {
+        groupId = in.readInt();
+        requestNum = in.readInt();
+        requesterThreadId = in.readInt();
+
+        sharedEnumClassName = in.readString();
+        variableName = in.readString();
+        indices = in.readIntArray();
+
+        chunkIndex = in.readInt();
+        chunkCount = in.readInt();
+        bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+
+        NodeData nodeData = InternalPCJ.getNodeData();
+        InternalCommonGroup commonGroup = nodeData.getCommonGroupById(groupId);
+
+        forward(commonGroup);
+
+        BroadcastStates states = commonGroup.getBroadcastStates();
+        BroadcastStates.State state = states.getOrCreate(requestNum, requesterThreadId, commonGroup);
+        storeIn(state, commonGroup);
+    }
+
+    void storeIn(BroadcastStates.State state, InternalCommonGroup commonGroup) {
+        state.chunkReceived(commonGroup, chunkIndex, chunkCount, bytes, sharedEnumClassName, variableName, indices);
+    }
+
+    /**
+     * Sends the chunk to the next node of the ring, unless the next node is
+     * the owner of the chunk.
+     */
+    void forward(InternalCommonGroup commonGroup) {
+        int ringSize = commonGroup.getCommunicationTree(InternalCommonGroup.Collective.BROADCAST).getNodes().size() - 1;
+        int position = getRingPosition(commonGroup);
+        int nextPosition = (position + 1) % ringSize;
+        if (nextPosition != chunkIndex) {
+            sendTo(commonGroup, nextPosition);
+        }
+    }
+
+    /**
+     * Sends the chunk from the root node to its owner.
+     */
+    void sendToOwner(InternalCommonGroup commonGroup) {
+        sendTo(commonGroup, chunkIndex);
+    }
+
+    /**
+     * @return position of the current node in the ring, that starts at the
+     * node following the root node
+     */
+    private int getRingPosition(InternalCommonGroup commonGroup) {
+        NodeData nodeData = InternalPCJ.getNodeData();
+
+        List<Integer> nodes = commonGroup.getCommunicationTree(InternalCommonGroup.Collective.BROADCAST).getNodes();
+        int requesterPhysicalId = nodeData.getPhysicalId(commonGroup.getGlobalThreadId(requesterThreadId));
+        int rootIndex = nodes.indexOf(requesterPhysicalId);
+        int currentIndex = nodes.indexOf(nodeData.getCurrentNodePhysicalId());
+
+        return (currentIndex - rootIndex - 1 + nodes.size()) % nodes.size();
+    }
+
+    private void sendTo(InternalCommonGroup commonGroup, int position) {
+        NodeData nodeData = InternalPCJ.getNodeData();
+
+        List<Integer> nodes = commonGroup.getCommunicationTree(InternalCommonGroup.Collective.BROADCAST).getNodes();
+        int requesterPhysicalId = nodeData.getPhysicalId(commonGroup.getGlobalThreadId(requesterThreadId));
+        int rootIndex = nodes.indexOf(requesterPhysicalId);
+
+        int physicalId = nodes.get((rootIndex + 1 + position) % nodes.size());
+        InternalPCJ.getNetworker().send(nodeData.getSocketChannelByPhysicalId(physicalId), this);
+    }
+}
@@ -8,8 +8,15 @@
  */
 package org.pcj.internal.message.broadcast;
 
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
 import java.nio.channels.SocketChannel;
+import java.util.Arrays;
+import java.util.Collections;
+import org.pcj.internal.Configuration;
 import org.pcj.internal.InternalCommonGroup;
 import org.pcj.internal.InternalPCJ;
 import org.pcj.internal.Networker;
@@ -70,17 +77,46 @@ public final class BroadcastRequestMessage extends Message {
         variableName = in.readString();
         indices = in.readIntArray();
 
-        InputStreamCloner inputStreamCloner = InputStreamCloner.clone(in);
-
         NodeData nodeData = InternalPCJ.getNodeData();
+        InternalCommonGroup commonGroup = nodeData.getCommonGroupById(groupId);
+        Configuration configuration = InternalPCJ.getConfiguration();
+
+        InputStream valueStream = in;
+        int threshold = configuration.BROADCAST_SCATTER_THRESHOLD;
+        if (threshold > 0 && commonGroup.getCommunicationTree(InternalCommonGroup.Collective.BROADCAST).getNodes().size() >= 3) {
+            byte[] head = readSegment(in, threshold);
+            if (head.length == threshold) {
+                InputStreamCloner tail = InputStreamCloner.clone(in);
+                if (scatterAllgather(commonGroup, head, tail)) {
+                    return;
+                }
+                valueStream = new SequenceInputStream(new ByteArrayInputStream(head), tail.newInputStream());
+            } else {
+                valueStream = new ByteArrayInputStream(head);
+            }
+        }
+
+        InputStreamCloner inputStreamCloner;
+        int segmentSize = configuration.BROADCAST_SEGMENT_SIZE;
+        if (segmentSize > 0) {
+            byte[] segment = readSegment(valueStream, segmentSize);
+            if (segment.length == segmentSize) {
+                sendSegments(commonGroup, segment, valueStream, segmentSize);
+                return;
+            }
+            /* value fits in one segment, so it is sent whole */
+            inputStreamCloner = InputStreamCloner.of(Collections.singletonList(segment));
+        } else {
+            inputStreamCloner = InputStreamCloner.clone(valueStream);
+        }
+
         Networker networker = InternalPCJ.getNetworker();
 
         BroadcastBytesMessage broadcastBytesMessage
                 = new BroadcastBytesMessage(groupId, requestNum, requesterThreadId, sharedEnumClassName, variableName, indices, inputStreamCloner);
 
-        InternalCommonGroup commonGroup = nodeData.getCommonGroupById(groupId);
         int requesterPhysicalId = nodeData.getPhysicalId(commonGroup.getGlobalThreadId(requesterThreadId));
-        commonGroup.getCommunicationTree().getChildrenNodes(requesterPhysicalId)
+        commonGroup.getCommunicationTree(InternalCommonGroup.Collective.BROADCAST).getChildrenNodes(requesterPhysicalId)
                 .stream()
                 .map(nodeData::getSocketChannelByPhysicalId)
                 .forEach(socket -> networker.send(socket, broadcastBytesMessage));
@@ -90,4 +126,90 @@ public final class BroadcastRequestMessage extends Message {
 
         state.downProcessNode(commonGroup, inputStreamCloner, sharedEnumClassName, variableName, indices);
     }
-}
\ No newline at end of file
+
+    /**
+     * Sends serialized value using scatter followed by ring allgather. Value
+     * is split into one chunk per node other than the root node, and the root
+     * node sends each chunk only once, to its owner.
+     *
+     * @return false if the value is too large to be split into chunks
+     */
+    private boolean scatterAllgather(InternalCommonGroup commonGroup, byte[] head, InputStreamCloner tail) throws IOException {
+        int chunkCount = commonGroup.getCommunicationTree(InternalCommonGroup.Collective.BROADCAST).getNodes().size() - 1;
+        long length = head.length + tail.getLength();
+        long chunkSize = (length + chunkCount - 1) / chunkCount;
+        if (chunkSize > Integer.MAX_VALUE - 8) {
+            return false;
+        }
+
+        InputStream valueStream = new SequenceInputStream(new ByteArrayInputStream(head), tail.newInputStream());
+        BroadcastChunkMessage[] chunks = new BroadcastChunkMessage[chunkCount];
+        for (int chunkIndex = 0; chunkIndex < chunkCount; ++chunkIndex) {
+            int size = (int) Math.min(chunkSize, length - chunkIndex * chunkSize);
+            byte[] bytes = new byte[Math.max(size, 0)];
+            new DataInputStream(valueStream).readFully(bytes);
+            chunks[chunkIndex] = new BroadcastChunkMessage(groupId, requestNum, requesterThreadId,
+                    sharedEnumClassName, variableName, indices,
+                    chunkIndex, chunkCount, bytes);
+        }
+
+        /* scatter: chunk goes to its owner, which starts passing it around the ring */
+        for (BroadcastChunkMessage chunk : chunks) {
+            chunk.sendToOwner(commonGroup);
+        }
+
+        BroadcastStates.State state = commonGroup.getBroadcastStates().getOrCreate(requestNum, requesterThreadId, commonGroup);
+        for (BroadcastChunkMessage chunk : chunks) {
+            chunk.storeIn(state, commonGroup);
+        }
+        return true;
+    }
+
+    /**
+     * Sends serialized value in segments, starting with already read first
+     * segment. Each segment is sent to children as soon as it is read, while
+     * the requester is still serializing the value.
+     */
+    private void sendSegments(InternalCommonGroup commonGroup, byte[] segment, InputStream in, int segmentSize) throws IOException {
+        BroadcastStates.State state = commonGroup.getBroadcastStates().getOrCreate(requestNum, requesterThreadId, commonGroup);
+
+        for (int segmentIndex = 0; ; ++segmentIndex) {
+            /* read ahead to know if the current segment is the last one */
+            byte[] nextSegment = segment.length < segmentSize ? new byte[0] : readSegment(in, segmentSize);
+            boolean lastSegment = nextSegment.length == 0;
+
+            BroadcastSegmentMessage broadcastSegmentMessage = new BroadcastSegmentMessage(
+                    groupId, requestNum, requesterThreadId, sharedEnumClassName, variableName, indices,
+                    segmentIndex, lastSegment, segment);
+            broadcastSegmentMessage.forward(commonGroup);
+            state.segmentReceived(commonGroup, segmentIndex, lastSegment, segment, sharedEnumClassName, variableName, indices);
+
+            if (lastSegment) {
+                return;
+            }
+            segment = nextSegment;
+        }
+    }
+
+    /**
+     * Reads up to {@code segmentSize} bytes. Buffer grows with the data read,
+     * so short values do not allocate the whole segment.
+     */
+    private static byte[] readSegment(InputStream in, int segmentSize) throws IOException {
+        byte[] bytes = new byte[Math.min(segmentSize, InternalPCJ.getConfiguration().BUFFER_CHUNK_SIZE)];
+        int offset = 0;
+        while (true) {
+            if (offset == bytes.length) {
+                if (offset == segmentSize) {
+                    return bytes;
+                }
+                bytes = Arrays.copyOf(bytes, (int) Math.min(segmentSize, 2L * bytes.length));
+            }
+            int r = in.read(bytes, offset, bytes.length - offset);
+            if (r == -1) {
+                return Arrays.copyOf(bytes, offset);
+            }
+            offset += r;
+        }
+    }
+}
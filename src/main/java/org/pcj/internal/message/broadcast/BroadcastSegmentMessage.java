@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2011-2026, PCJ Library, Marek Nowicki
+ * All rights reserved.
+ *
+ * Licensed under New BSD License (3-clause license).
+ *
+ * See the file "LICENSE" for the full license governing this code.
+ */
+package org.pcj.internal.message.broadcast;
+
+import java.io.IOException;
+import java.nio.channels.SocketChannel;
+import org.pcj.internal.InternalCommonGroup;
+import org.pcj.internal.InternalPCJ;
+import org.pcj.internal.Networker;
+import org.pcj.internal.NodeData;
+import org.pcj.internal.message.Message;
+import org.pcj.internal.message.MessageType;
+import org.pcj.internal.network.MessageDataInputStream;
+import org.pcj.internal.network.MessageDataOutputStream;
+
+/**
+ * Segment of serialized broadcast value.
+ * <p>
+ * Node forwards each segment to its children as soon as the segment is
+ * received, so transfers on consecutive levels of the communication tree
+ * overlap. Value is deserialized after receiving the last segment.
+ *
+ * @author Marek Nowicki (faramir@mat.umk.pl)
+ */
+public final class BroadcastSegmentMessage extends Message {
+
+    private int groupId;
+    private int requestNum;
+    private int requesterThreadId;
+    private String sharedEnumClassName;
+    private String variableName;
+    private int[] indices;
+    private int segmentIndex;
+    private boolean lastSegment;
+    private byte[] bytes;
+
+    public BroadcastSegmentMessage() {
+        super(MessageType.BROADCAST_SEGMENT);
+    }
+
+    public BroadcastSegmentMessage(int groupId, int requestNum, int requesterThreadId, String storageName, String variableName, int[] indices,
+                                   int segmentIndex, boolean lastSegment, byte[] bytes) {
+        this();
+
+        this.groupId = groupId;
+        this.requestNum = requestNum;
+        this.requesterThreadId = requesterThreadId;
+        this.sharedEnumClassName = storageName;
+        this.variableName = variableName;
+        this.indices = indices;
+        this.segmentIndex = segmentIndex;
+        this.lastSegment = lastSegment;
+        this.bytes = bytes;
+    }
+
+    @Override
+    public void write(MessageDataOutputStream out) throws IOException {
+        out.writeInt(groupId);
+        out.writeInt(requestNum);
+        out.writeInt(requesterThreadId);
+        out.writeString(sharedEnumClassName);
+        out.writeString(variableName);
+        out.writeIntArray(indices);
+        out.writeInt(segmentIndex);
+        out.writeBoolean(lastSegment);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    @Override
+    public void onReceive(SocketChannel sender, MessageDataInputStream in) throws IOException {
+        groupId = in.readInt();
+        requestNum = in.readInt();
+        requesterThreadId = in.readInt();
+
+        sharedEnumClassName = in.readString();
+        variableName = in.readString();
+        indices = in.readIntArray();
+
+        segmentIndex = in.readInt();
+        lastSegment = in.readBoolean();
+        bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+
+        NodeData nodeData = InternalPCJ.getNodeData();
+        InternalCommonGroup commonGroup = nodeData.getCommonGroupById(groupId);
+
+        forward(commonGroup);
+
+        BroadcastStates states = commonGroup.getBroadcastStates();
+        BroadcastStates.State state = states.getOrCreate(requestNum, requesterThreadId, commonGroup);
+        state.segmentReceived(commonGroup, segmentIndex, lastSegment, bytes, sharedEnumClassName, variableName, indices);
+    }
+
+    /**
+     * Sends the segment to children of the current node.
+     */
+    void forward(InternalCommonGroup commonGroup) {
+        NodeData nodeData = InternalPCJ.getNodeData();
+        Networker networker = InternalPCJ.getNetworker();
+
+        int requesterPhysicalId = nodeData.getPhysicalId(commonGroup.getGlobalThreadId(requesterThreadId));
+        commonGroup.getCommunicationTree(InternalCommonGroup.Collective.BROADCAST).getChildrenNodes(requesterPhysicalId)
+                .stream()
+                .map(nodeData::getSocketChannelByPhysicalId)
+                .forEach(socket -> networker.send(socket, this));
+    }
+}
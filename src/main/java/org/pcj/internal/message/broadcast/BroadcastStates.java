@@ -8,16 +8,17 @@
  */
 package org.pcj.internal.message.broadcast;
 
-import java.io.ObjectInputStream;
 import java.nio.channels.SocketChannel;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Queue;
-import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 import org.pcj.PcjFuture;
 import org.pcj.PcjRuntimeException;
 import org.pcj.internal.InternalCommonGroup;
@@ -25,6 +26,7 @@ import org.pcj.internal.InternalPCJ;
 import org.pcj.internal.InternalStorages;
 import org.pcj.internal.NodeData;
 import org.pcj.internal.PcjThread;
+import org.pcj.internal.PcjThreadData;
 import org.pcj.internal.message.Message;
 import org.pcj.internal.network.InputStreamCloner;
 
@@ -48,7 +50,7 @@ public class BroadcastStates {
 
         BroadcastFuture future = new BroadcastFuture();
         State state = new State(requestNum, threadId,
-                commonGroup.getCommunicationTree().getChildrenNodes(nodeData.getCurrentNodePhysicalId()).size(),
+                commonGroup.getCommunicationTree(InternalCommonGroup.Collective.BROADCAST).getChildrenNodes(nodeData.getCurrentNodePhysicalId()).size(),
                 future);
 
         stateMap.put(Arrays.asList(requestNum, threadId), state);
@@ -61,7 +63,7 @@ public class BroadcastStates {
         int requesterPhysicalId = nodeData.getPhysicalId(commonGroup.getGlobalThreadId(requesterThreadId));
         return stateMap.computeIfAbsent(Arrays.asList(requestNum, requesterThreadId),
                 key -> new State(requestNum, requesterThreadId,
-                        commonGroup.getCommunicationTree().getChildrenNodes(requesterPhysicalId).size()));
+                        commonGroup.getCommunicationTree(InternalCommonGroup.Collective.BROADCAST).getChildrenNodes(requesterPhysicalId).size()));
     }
 
     public State remove(int requestNum, int threadId) {
@@ -75,6 +77,9 @@ public class BroadcastStates {
         private final AtomicInteger notificationCount;
         private final BroadcastFuture future;
         private final Queue<Exception> exceptions;
+        /* received segments or chunks of the value: index -> bytes */
+        private final Map<Integer, byte[]> segments;
+        private int segmentCount;
 
         private State(int requestNum, int requesterThreadId, int childrenCount, BroadcastFuture future) {
             this.requestNum = requestNum;
@@ -84,6 +89,8 @@ public class BroadcastStates {
             // notification from children and from itself
             notificationCount = new AtomicInteger(childrenCount + 1);
             exceptions = new ConcurrentLinkedQueue<>();
+            segments = new TreeMap<>();
+            segmentCount = -1;
         }
 
         private State(int requestNum, int requesterThreadId, int childrenCount) {
@@ -100,23 +107,61 @@ public class BroadcastStates {
 
         void downProcessNode(InternalCommonGroup group, InputStreamCloner inputStreamCloner, String sharedEnumClassName, String name, int[] indices) {
             NodeData nodeData = InternalPCJ.getNodeData();
-            Set<Integer> threadsId = group.getLocalThreadsId();
-            for (int threadId : threadsId) {
-                int globalThreadId = group.getGlobalThreadId(threadId);
-                PcjThread pcjThread = nodeData.getPcjThread(globalThreadId);
-                InternalStorages storage = pcjThread.getThreadData().getStorages();
-
-                try {
-                    InputStreamCloner.ClonedInputStream clonedInputStream = inputStreamCloner.newInputStream();
-                    Object newValue = new ObjectInputStream(clonedInputStream).readObject();
-
-                    storage.put(newValue, sharedEnumClassName, name, indices);
-                } catch (Exception ex) {
-                    exceptions.add(ex);
+            List<InternalStorages> storages = group.getLocalThreadsId().stream()
+                    .map(group::getGlobalThreadId)
+                    .map(nodeData::getPcjThread)
+                    .map(PcjThread::getThreadData)
+                    .map(PcjThreadData::getStorages)
+                    .collect(Collectors.toList());
+
+            exceptions.addAll(InternalStorages.putAll(storages, inputStreamCloner, sharedEnumClassName, name, indices).values());
+
+            nodeProcessed(group);
+        }
+
+        /**
+         * Stores segment of the value. When all segments are received, value
+         * is put into the variable of local threads.
+         */
+        void segmentReceived(InternalCommonGroup group, int segmentIndex, boolean lastSegment, byte[] bytes,
+                             String sharedEnumClassName, String name, int[] indices) {
+            InputStreamCloner inputStreamCloner;
+            synchronized (segments) {
+                segments.put(segmentIndex, bytes);
+                if (lastSegment) {
+                    segmentCount = segmentIndex + 1;
                 }
+                inputStreamCloner = getReceivedValue();
+            }
+            if (inputStreamCloner != null) {
+                downProcessNode(group, inputStreamCloner, sharedEnumClassName, name, indices);
             }
+        }
 
-            nodeProcessed(group);
+        /**
+         * Stores chunk of the value sent by scatter-allgather algorithm. When
+         * all chunks are received, value is put into the variable of local
+         * threads.
+         */
+        void chunkReceived(InternalCommonGroup group, int chunkIndex, int chunkCount, byte[] bytes,
+                           String sharedEnumClassName, String name, int[] indices) {
+            InputStreamCloner inputStreamCloner;
+            synchronized (segments) {
+                segments.put(chunkIndex, bytes);
+                segmentCount = chunkCount;
+                inputStreamCloner = getReceivedValue();
+            }
+            if (inputStreamCloner != null) {
+                downProcessNode(group, inputStreamCloner, sharedEnumClassName, name, indices);
+            }
+        }
+
+        /* has to be called while holding lock on segments */
+        private InputStreamCloner getReceivedValue() {
+            if (segments.size() != segmentCount) {
+                return null;
+            }
+            return InputStreamCloner.of(segments.values());
         }
 
         void upProcessNode(InternalCommonGroup group, Queue<Exception> messageExceptions) {
@@ -137,7 +182,7 @@ public class BroadcastStates {
                     BroadcastStates.this.remove(requestNum, requesterThreadId);
                 }
 
-                int parentId = group.getCommunicationTree().getParentNode(requesterPhysicalId);
+                int parentId = group.getCommunicationTree(InternalCommonGroup.Collective.BROADCAST).getParentNode(requesterPhysicalId);
                 if (parentId >= 0) {
                     Message message = new BroadcastResponseMessage(group.getGroupId(), requestNum, requesterThreadId, exceptions);
                     SocketChannel socket = nodeData.getSocketChannelByPhysicalId(parentId);
@@ -52,7 +52,7 @@ public class CollectStates {
 
         CollectFuture<R> future = new CollectFuture<>();
         State<T, R> state = new State<>(requestNum, threadId,
-                commonGroup.getCommunicationTree().getChildrenNodes(nodeData.getCurrentNodePhysicalId()).size(),
+                commonGroup.getCommunicationTree(InternalCommonGroup.Collective.COLLECT).getChildrenNodes(nodeData.getCurrentNodePhysicalId()).size(),
                 future);
 
         stateMap.put(Arrays.asList(requestNum, threadId), state);
@@ -66,7 +66,7 @@ public class CollectStates {
         int requesterPhysicalId = nodeData.getPhysicalId(commonGroup.getGlobalThreadId(requesterThreadId));
         return (State<T, R>) stateMap.computeIfAbsent(Arrays.asList(requestNum, requesterThreadId),
                 key -> new State<>(requestNum, requesterThreadId,
-                        commonGroup.getCommunicationTree().getChildrenNodes(requesterPhysicalId).size()));
+                        commonGroup.getCommunicationTree(InternalCommonGroup.Collective.COLLECT).getChildrenNodes(requesterPhysicalId).size()));
     }
 
     public State<?, ?> remove(int requestNum, int threadId) {
@@ -120,7 +120,7 @@ public class CollectStates {
             Networker networker = InternalPCJ.getNetworker();
 
             int requesterPhysicalId = nodeData.getPhysicalId(group.getGlobalThreadId(requesterThreadId));
-            group.getCommunicationTree().getChildrenNodes(requesterPhysicalId)
+            group.getCommunicationTree(InternalCommonGroup.Collective.COLLECT).getChildrenNodes(requesterPhysicalId)
                     .stream()
                     .map(nodeData::getSocketChannelByPhysicalId)
                     .forEach(socket -> networker.send(socket, message));
@@ -171,7 +171,7 @@ public class CollectStates {
                 Message message;
                 SocketChannel socket;
 
-                int parentId = group.getCommunicationTree().getParentNode(requesterPhysicalId);
+                int parentId = group.getCommunicationTree(InternalCommonGroup.Collective.COLLECT).getParentNode(requesterPhysicalId);
                 if (parentId >= 0) {
                     message = new CollectResponseMessage<>(group.getGroupId(), requestNum, requesterThreadId, resultContainer, exceptions);
                     socket = nodeData.getSocketChannelByPhysicalId(parentId);
@@ -51,7 +51,7 @@ public class GatherStates {
 
         GatherFuture<T> future = new GatherFuture<>();
         State<T> state = new State<>(requestNum, threadId,
-                commonGroup.getCommunicationTree().getChildrenNodes(nodeData.getCurrentNodePhysicalId()).size(),
+                commonGroup.getCommunicationTree(InternalCommonGroup.Collective.GATHER).getChildrenNodes(nodeData.getCurrentNodePhysicalId()).size(),
                 future);
 
         stateMap.put(Arrays.asList(requestNum, threadId), state);
@@ -65,7 +65,7 @@ public class GatherStates {
         int requesterPhysicalId = nodeData.getPhysicalId(commonGroup.getGlobalThreadId(requesterThreadId));
         return (State<T>) stateMap.computeIfAbsent(Arrays.asList(requestNum, requesterThreadId),
                 key -> new State<>(requestNum, requesterThreadId,
-                        commonGroup.getCommunicationTree().getChildrenNodes(requesterPhysicalId).size()));
+                        commonGroup.getCommunicationTree(InternalCommonGroup.Collective.GATHER).getChildrenNodes(requesterPhysicalId).size()));
     }
 
     public State<?> remove(int requestNum, int threadId) {
@@ -116,7 +116,7 @@ public class GatherStates {
             Networker networker = InternalPCJ.getNetworker();
 
             int requesterPhysicalId = nodeData.getPhysicalId(group.getGlobalThreadId(requesterThreadId));
-            group.getCommunicationTree().getChildrenNodes(requesterPhysicalId)
+            group.getCommunicationTree(InternalCommonGroup.Collective.GATHER).getChildrenNodes(requesterPhysicalId)
                     .stream()
                     .map(nodeData::getSocketChannelByPhysicalId)
                     .forEach(socket -> networker.send(socket, message));
@@ -155,7 +155,7 @@ public class GatherStates {
                 Message message;
                 SocketChannel socket;
 
-                int parentId = group.getCommunicationTree().getParentNode(requesterPhysicalId);
+                int parentId = group.getCommunicationTree(InternalCommonGroup.Collective.GATHER).getParentNode(requesterPhysicalId);
                 if (parentId >= 0) {
                     message = new GatherResponseMessage<>(group.getGroupId(), requestNum, requesterThreadId, valueMap, exceptions);
                     socket = nodeData.getSocketChannelByPhysicalId(parentId);
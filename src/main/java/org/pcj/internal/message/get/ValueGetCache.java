@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2011-2026, PCJ Library, Marek Nowicki
+ * All rights reserved.
+ *
+ * Licensed under New BSD License (3-clause license).
+ *
+ * See the file "LICENSE" for the full license governing this code.
+ */
+package org.pcj.internal.message.get;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.pcj.PcjFuture;
+import org.pcj.PcjRuntimeException;
+import org.pcj.internal.ValueCloner;
+
+/**
+ * Requester-side cache of values got from remote shareable variables.
+ * <p>
+ * Caching is enabled per variable. Cached value is used without
+ * communication until its lease expires. Then the request carries version of
+ * the cached value and the owner sends the value back only if the variable
+ * was modified in the meantime. Entries of the variable are invalidated when
+ * the requester modifies the variable of the thread by itself.
+ *
+ * @author Marek Nowicki (faramir@mat.umk.pl)
+ */
+public class ValueGetCache {
+
+    private final ConcurrentMap<String, Long> leases;
+    private final ConcurrentMap<Key, Entry> entries;
+    /* increased on every invalidation, so responses to earlier requests are not cached */
+    private final AtomicInteger generation;
+
+    public ValueGetCache() {
+        leases = new ConcurrentHashMap<>();
+        entries = new ConcurrentHashMap<>();
+        generation = new AtomicInteger(0);
+    }
+
+    public void enable(String sharedEnumClassName, String name, long leaseNanos) {
+        if (leaseNanos < 0) {
+            throw new IllegalArgumentException("Negative lease: " + leaseNanos);
+        }
+        generation.incrementAndGet();
+        leases.put(sharedEnumClassName + '.' + name, leaseNanos);
+        entries.keySet().removeIf(key -> key.is(sharedEnumClassName, name));
+    }
+
+    public void disable(String sharedEnumClassName, String name) {
+        generation.incrementAndGet();
+        leases.remove(sharedEnumClassName + '.' + name);
+        entries.keySet().removeIf(key -> key.is(sharedEnumClassName, name));
+    }
+
+    public boolean isEnabled(String sharedEnumClassName, String name) {
+        return !leases.isEmpty() && leases.containsKey(sharedEnumClassName + '.' + name);
+    }
+
+    public Key key(int threadId, String sharedEnumClassName, String name, int[] indices) {
+        return new Key(threadId, sharedEnumClassName, name, indices);
+    }
+
+    /**
+     * Gets cached entry.
+     *
+     * @param key key of value
+     * @return entry or {@code null} if value is not cached
+     */
+    public Entry get(Key key) {
+        return entries.get(key);
+    }
+
+    /**
+     * Creates completed future with copy of cached value.
+     */
+    public <T> PcjFuture<T> getFuture(Entry entry) {
+        ValueGetFuture<T> future = new ValueGetFuture<>();
+        try {
+            future.signalDone(entry.getValue());
+        } catch (IOException | ClassNotFoundException ex) {
+            future.signalException(new PcjRuntimeException("Getting value failed", ex));
+        }
+        return future;
+    }
+
+    int generation() {
+        return generation.get();
+    }
+
+    /**
+     * Stores value in the cache and starts new lease.
+     *
+     * @param generation generation of the cache when the value was requested
+     * @return stored entry or {@code null} if the cache was invalidated or
+     * caching of the variable was disabled in the meantime
+     */
+    Entry update(Key key, int generation, long version, Object value) {
+        Long lease = leases.get(key.sharedEnumClassName + '.' + key.name);
+        if (lease == null || generation != this.generation.get()) {
+            return null;
+        }
+        Entry entry = new Entry(version, value, System.nanoTime() + lease);
+        entries.put(key, entry);
+        return entry;
+    }
+
+    /**
+     * Starts new lease of the entry, that is still up to date.
+     */
+    Entry renew(Key key, int generation, Entry entry) {
+        return update(key, generation, entry.version, entry.value);
+    }
+
+    /**
+     * Removes all cached values of the variable of the thread.
+     */
+    public void invalidate(int threadId, String sharedEnumClassName, String name) {
+        if (!isEnabled(sharedEnumClassName, name)) {
+            return;
+        }
+        generation.incrementAndGet();
+        entries.keySet().removeIf(key -> key.threadId == threadId && key.is(sharedEnumClassName, name));
+    }
+
+    public static final class Key {
+
+        private final int threadId;
+        private final String sharedEnumClassName;
+        private final String name;
+        private final int[] indices;
+        private final int hash;
+
+        private Key(int threadId, String sharedEnumClassName, String name, int[] indices) {
+            this.threadId = threadId;
+            this.sharedEnumClassName = sharedEnumClassName;
+            this.name = name;
+            this.indices = indices.clone();
+            this.hash = ((31 * threadId + sharedEnumClassName.hashCode()) * 31 + name.hashCode()) * 31 + Arrays.hashCode(indices);
+        }
+
+        private boolean is(String sharedEnumClassName, String name) {
+            return this.name.equals(name) && this.sharedEnumClassName.equals(sharedEnumClassName);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return threadId == other.threadId
+                           && is(other.sharedEnumClassName, other.name)
+                           && Arrays.equals(indices, other.indices);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    public static final class Entry {
+
+        private final long version;
+        private final Object value;
+        private final long expiresAt;
+
+        private Entry(long version, Object value, long expiresAt) {
+            this.version = version;
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+
+        public long getVersion() {
+            return version;
+        }
+
+        public boolean isExpired() {
+            return System.nanoTime() - expiresAt >= 0;
+        }
+
+        /**
+         * Gets copy of cached value, so modifications made by user do not
+         * affect the cache. Values that cannot be copied structurally are
+         * copied by serialization, like the value got without cache.
+         */
+        public Object getValue() throws IOException, ClassNotFoundException {
+            return ValueCloner.copy(value);
+        }
+    }
+}
@@ -8,6 +8,7 @@
  */
 package org.pcj.internal.message.get;
 
+import java.io.IOException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -38,6 +39,22 @@ public class ValueGetStates {
         return state;
     }
 
+    /**
+     * Creates state of request, which response will be stored in the cache.
+     *
+     * @param cachedEntry expired entry or {@code null} if value is not cached
+     */
+    public <T> State<T> create(ValueGetCache cache, ValueGetCache.Key cacheKey, ValueGetCache.Entry cachedEntry) {
+        int requestNum = counter.incrementAndGet();
+
+        ValueGetFuture<T> future = new ValueGetFuture<>();
+        State<T> state = new State<>(requestNum, future, cache, cacheKey, cachedEntry);
+
+        stateMap.put(requestNum, state);
+
+        return state;
+    }
+
     public State<?> remove(int requestNum) {
         return stateMap.remove(requestNum);
     }
@@ -46,11 +63,29 @@ public class ValueGetStates {
 
         private final int requestNum;
         private final ValueGetFuture<T> future;
+        private final ValueGetCache cache;
+        private final ValueGetCache.Key cacheKey;
+        private final ValueGetCache.Entry cachedEntry;
+        private final int cacheGeneration;
 
         private State(int requestNum, ValueGetFuture<T> future) {
+            this(requestNum, future, null, null, null);
+        }
+
+        private State(int requestNum, ValueGetFuture<T> future,
+                      ValueGetCache cache, ValueGetCache.Key cacheKey, ValueGetCache.Entry cachedEntry) {
             this.requestNum = requestNum;
 
             this.future = future;
+
+            this.cache = cache;
+            this.cacheKey = cacheKey;
+            this.cachedEntry = cachedEntry;
+            this.cacheGeneration = cache == null ? 0 : cache.generation();
+        }
+
+        public long getCachedVersion() {
+            return cachedEntry == null ? -1 : cachedEntry.getVersion();
         }
 
         public int getRequestNum() {
@@ -69,5 +104,29 @@ public class ValueGetStates {
                 future.signalException(ex);
             }
         }
+
+        /**
+         * Signals response to request with version of cached value.
+         *
+         * @param version  current version of the variable
+         * @param modified {@code false} if cached value is up to date
+         */
+        public void signal(long version, boolean modified, Object variableValue, Exception exception) {
+            if (exception != null) {
+                signal(null, exception);
+                return;
+            }
+            try {
+                if (!modified) {
+                    cache.renew(cacheKey, cacheGeneration, cachedEntry);
+                    future.signalDone(cachedEntry.getValue());
+                } else {
+                    ValueGetCache.Entry entry = cache.update(cacheKey, cacheGeneration, version, variableValue);
+                    future.signalDone(entry == null ? variableValue : entry.getValue());
+                }
+            } catch (IOException | ClassNotFoundException ex) {
+                signal(null, ex);
+            }
+        }
     }
 }
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2011-2026, PCJ Library, Marek Nowicki
+ * All rights reserved.
+ *
+ * Licensed under New BSD License (3-clause license).
+ *
+ * See the file "LICENSE" for the full license governing this code.
+ */
+package org.pcj.internal.message.get;
+
+import java.io.IOException;
+import java.nio.channels.SocketChannel;
+import org.pcj.internal.InternalPCJ;
+import org.pcj.internal.InternalStorages;
+import org.pcj.internal.Networker;
+import org.pcj.internal.NodeData;
+import org.pcj.internal.PcjThread;
+import org.pcj.internal.message.Message;
+import org.pcj.internal.message.MessageType;
+import org.pcj.internal.network.MessageDataInputStream;
+import org.pcj.internal.network.MessageDataOutputStream;
+
+/**
+ * Get request of cached variable. Value is sent back only when version of
+ * the variable differs from version known by the requester.
+ *
+ * @author Marek Nowicki (faramir@mat.umk.pl)
+ */
+public class ValueGetVersionedRequestMessage extends Message {
+
+    private int groupId;
+    private int requestNum;
+    private int requesterThreadId;
+    private int threadId;
+    private String sharedEnumClassName;
+    private String name;
+    private int[] indices;
+    private long knownVersion;
+
+    public ValueGetVersionedRequestMessage() {
+        super(MessageType.VALUE_GET_VERSIONED_REQUEST);
+    }
+
+    public ValueGetVersionedRequestMessage(int groupId, int requestNum, int requesterThreadId, int threadId, String storageName, String name, int[] indices, long knownVersion) {
+        this();
+
+        this.groupId = groupId;
+        this.requestNum = requestNum;
+        this.requesterThreadId = requesterThreadId;
+        this.threadId = threadId;
+        this.sharedEnumClassName = storageName;
+        this.name = name;
+        this.indices = indices;
+        this.knownVersion = knownVersion;
+    }
+
+    @Override
+    public void write(MessageDataOutputStream out) throws IOException {
+        out.writeInt(groupId);
+        out.writeInt(requestNum);
+        out.writeInt(requesterThreadId);
+        out.writeInt(threadId);
+        out.writeString(sharedEnumClassName);
+        out.writeString(name);
+        out.writeIntArray(indices);
+        out.writeLong(knownVersion);
+    }
+
+    @Override
+    public void onReceive(SocketChannel sender, MessageDataInputStream in) throws IOException {
+        groupId = in.readInt();
+        requestNum = in.readInt();
+        requesterThreadId = in.readInt();
+        threadId = in.readInt();
+        sharedEnumClassName = in.readString();
+        name = in.readString();
+        indices = in.readIntArray();
+        knownVersion = in.readLong();
+
+        NodeData nodeData = InternalPCJ.getNodeData();
+        PcjThread pcjThread = nodeData.getPcjThread(groupId, threadId);
+
+        InternalStorages storage = pcjThread.getThreadData().getStorages();
+
+        Networker networker = InternalPCJ.getNetworker();
+        try {
+            /* version is read before value, so modification in between only causes refetch */
+            long version = storage.getVersion(sharedEnumClassName, name);
+
+            Message message;
+            if (version == knownVersion) {
+                message = new ValueGetVersionedResponseMessage(groupId, requestNum, requesterThreadId, version);
+            } else {
+                Object variableValue = storage.get(sharedEnumClassName, name, indices);
+                message = new ValueGetVersionedResponseMessage(groupId, requestNum, requesterThreadId, version, variableValue);
+            }
+            networker.send(sender, message);
+        } catch (Exception ex) {
+            Message message = new ValueGetVersionedResponseMessage(groupId, requestNum, requesterThreadId, ex);
+            networker.send(sender, message);
+        }
+    }
+}
@@ -37,32 +37,36 @@ import org.pcj.internal.network.MessageDataOutputStream;
 public final class HelloMessage extends Message {
 
     private int port;
+    private String hostId;
     private int[] threadIds;
 
     public HelloMessage() {
         super(MessageType.HELLO);
     }
 
-    public HelloMessage(int port, int[] threadIds) {
+    public HelloMessage(int port, String hostId, int[] threadIds) {
         this();
 
         this.port = port;
+        this.hostId = hostId;
         this.threadIds = threadIds;
     }
 
     @Override
     public void write(MessageDataOutputStream out) throws IOException {
         out.writeInt(port);
+        out.writeString(hostId);
         out.writeIntArray(threadIds);
     }
 
     @Override
     public void onReceive(SocketChannel sender, MessageDataInputStream in) throws IOException {
         port = in.readInt();
+        hostId = in.readString();
         threadIds = in.readIntArray();
 
         NodeData nodeData = InternalPCJ.getNodeData();
         HelloState state = nodeData.getHelloState();
-        state.processHelloMessage(sender, port, threadIds);
+        state.processHelloMessage(sender, port, hostId, threadIds);
     }
 }
@@ -74,7 +74,7 @@ public class HelloState {
         return nodeInfoByPhysicalId;
     }
 
-    void processHelloMessage(SocketChannel sender, int port, int[] threadIds) throws IOException {
+    void processHelloMessage(SocketChannel sender, int port, String hostId, int[] threadIds) throws IOException {
         String address;
         if (sender instanceof LoopbackSocketChannel) {
             address = null;
@@ -86,7 +86,7 @@ public class HelloState {
 
         int currentPhysicalId = (sender == nodeData.getNode0Socket()) ? 0 : -connectedNodeCount.incrementAndGet();
 
-        NodeInfo currentNodeInfo = new NodeInfo(address, port);
+        NodeInfo currentNodeInfo = new NodeInfo(address, port, hostId);
         if (currentPhysicalId == 0) {
             // be sure that node0 has thread-#0
             currentNodeInfo.addThreadId(0);
@@ -131,7 +131,7 @@ public class HelloState {
 
             for (Map.Entry<Integer, NodeInfo> entry : nodeInfoByPhysicalId.entrySet()) {
                 NodeInfo givenNodeInfo = entry.getValue();
-                NodeInfo newNodeInfo = new NodeInfo(givenNodeInfo.getHostname(), givenNodeInfo.getPort());
+                NodeInfo newNodeInfo = new NodeInfo(givenNodeInfo.getHostname(), givenNodeInfo.getPort(), givenNodeInfo.getHostId());
                 for (int givenThreadId : givenNodeInfo.getThreadIds()) {
                     int newThreadId = givenThreadIds.get(givenThreadId).remove();
                     newNodeInfo.addThreadId(newThreadId);
@@ -201,6 +201,7 @@ public class HelloState {
             int physicalId = entry.getKey();
             NodeInfo nodeInfo = entry.getValue();
 
+            nodeData.setHostId(physicalId, nodeInfo.getHostId());
             for (int threadId : nodeInfo.getThreadIds()) {
                 nodeData.setPhysicalId(threadId, physicalId);
                 threadsMap.put(threadId, threadId);
@@ -0,0 +1,30 @@
+/*
+ * Copyright (c) 2011-2026, PCJ Library, Marek Nowicki
+ * All rights reserved.
+ *
+ * Licensed under New BSD License (3-clause license).
+ *
+ * See the file "LICENSE" for the full license governing this code.
+ */
+package org.pcj.internal.message.map;
+
+/**
+ * Kinds of batched operations on distributed map partition.
+ *
+ * @author Marek Nowicki (faramir@mat.umk.pl)
+ */
+public enum MapOperation {
+    GET_ALL,
+    PUT_ALL,
+    MERGE_ALL;
+
+    private static final MapOperation[] VALUES = values();
+
+    static MapOperation valueOf(byte id) {
+        return VALUES[id];
+    }
+
+    byte getId() {
+        return (byte) ordinal();
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * Copyright (c) 2011-2026, PCJ Library, Marek Nowicki
+ * All rights reserved.
+ *
+ * Licensed under New BSD License (3-clause license).
+ *
+ * See the file "LICENSE" for the full license governing this code.
+ */
+package org.pcj.internal.message.map;
+
+import java.io.IOException;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.ConcurrentMap;
+import org.pcj.ReduceOperation;
+import org.pcj.internal.InternalPCJ;
+import org.pcj.internal.InternalStorages;
+import org.pcj.internal.Networker;
+import org.pcj.internal.NodeData;
+import org.pcj.internal.PcjThread;
+import org.pcj.internal.message.Message;
+import org.pcj.internal.message.MessageType;
+import org.pcj.internal.network.MessageDataInputStream;
+import org.pcj.internal.network.MessageDataOutputStream;
+
+/**
+ * Batch of keys (and values) owned by single thread.
+ *
+ * @author Marek Nowicki (faramir@mat.umk.pl)
+ */
+public class MapRequestMessage extends Message {
+
+    private static final byte OBJECT_ARRAY = 0;
+    private static final byte INT_ARRAY = 1;
+    private static final byte LONG_ARRAY = 2;
+    private static final byte DOUBLE_ARRAY = 3;
+    private static final byte STRING_ARRAY = 4;
+
+    private int groupId;
+    private int requestNum;
+    private int requesterThreadId;
+    private int threadId;
+    private String sharedEnumClassName;
+    private String name;
+    private MapOperation operation;
+    private Object[] keys;
+    private Object[] values;
+    private ReduceOperation<Object> function;
+
+    public MapRequestMessage() {
+        super(MessageType.MAP_REQUEST);
+    }
+
+    public MapRequestMessage(int groupId, int requestNum, int requesterThreadId, int threadId, String storageName, String name,
+                             MapOperation operation, Object[] keys, Object[] values, ReduceOperation<?> function) {
+        this();
+
+        this.groupId = groupId;
+        this.requestNum = requestNum;
+        this.requesterThreadId = requesterThreadId;
+        this.threadId = threadId;
+        this.sharedEnumClassName = storageName;
+        this.name = name;
+        this.operation = operation;
+        this.keys = keys;
+        this.values = values;
+        @SuppressWarnings("unchecked")
+        ReduceOperation<Object> objectFunction = (ReduceOperation<Object>) function;
+        this.function = objectFunction;
+    }
+
+    @Override
+    public void write(MessageDataOutputStream out) throws IOException {
+        out.writeInt(groupId);
+        out.writeInt(requestNum);
+        out.writeInt(requesterThreadId);
+        out.writeInt(threadId);
+        out.writeString(sharedEnumClassName);
+        out.writeString(name);
+        out.writeByte(operation.getId());
+        writeArray(out, keys);
+        if (operation != MapOperation.GET_ALL) {
+            writeArray(out, values);
+        }
+        if (operation == MapOperation.MERGE_ALL) {
+            out.writeObject(function);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void onReceive(SocketChannel sender, MessageDataInputStream in) throws IOException {
+        groupId = in.readInt();
+        requestNum = in.readInt();
+        requesterThreadId = in.readInt();
+        threadId = in.readInt();
+        sharedEnumClassName = in.readString();
+        name = in.readString();
+        operation = MapOperation.valueOf(in.readByte());
+
+        NodeData nodeData = InternalPCJ.getNodeData();
+        PcjThread pcjThread = nodeData.getPcjThread(groupId, threadId);
+
+        InternalStorages storage = pcjThread.getThreadData().getStorages();
+
+        Networker networker = InternalPCJ.getNetworker();
+        try {
+            keys = readArray(in);
+            if (operation != MapOperation.GET_ALL) {
+                values = readArray(in);
+            }
+            if (operation == MapOperation.MERGE_ALL) {
+                function = (ReduceOperation<Object>) in.readObject();
+            }
+
+            Object[] result = apply(storage, sharedEnumClassName, name, operation, keys, values, function);
+
+            Message message = new MapResponseMessage(groupId, requestNum, requesterThreadId, result);
+            networker.send(sender, message);
+        } catch (Exception ex) {
+            Message message = new MapResponseMessage(groupId, requestNum, requesterThreadId, ex);
+            networker.send(sender, message);
+        }
+    }
+
+    /**
+     * Applies operation on the partition. Returns values for
+     * {@link MapOperation#GET_ALL}, and {@code null} otherwise.
+     */
+    public static Object[] apply(InternalStorages storage, String sharedEnumClassName, String name,
+                                 MapOperation operation, Object[] keys, Object[] values, ReduceOperation<Object> function) {
+        Object partition = storage.get(sharedEnumClassName, name);
+        if (!(partition instanceof ConcurrentMap)) {
+            throw new ClassCastException("Variable is not a concurrent map: " + sharedEnumClassName + "." + name);
+        }
+        @SuppressWarnings("unchecked")
+        ConcurrentMap<Object, Object> map = (ConcurrentMap<Object, Object>) partition;
+
+        switch (operation) {
+            case GET_ALL: {
+                Object[] result = new Object[keys.length];
+                for (int i = 0; i < keys.length; ++i) {
+                    result[i] = map.get(keys[i]);
+                }
+                return result;
+            }
+            case PUT_ALL:
+                for (int i = 0; i < keys.length; ++i) {
+                    map.put(keys[i], values[i]);
+                }
+                break;
+            case MERGE_ALL:
+                for (int i = 0; i < keys.length; ++i) {
+                    map.merge(keys[i], values[i], function);
+                }
+                break;
+            default:
+                throw new IllegalStateException("Unknown map operation: " + operation);
+        }
+        storage.incrementModificationCounter(sharedEnumClassName, name);
+        return null;
+    }
+
+    /**
+     * Writes array. Arrays with only {@code Integer}, {@code Long},
+     * {@code Double} or {@code String} elements are written directly,
+     * without using object serialization.
+     */
+    static void writeArray(MessageDataOutputStream out, Object[] array) throws IOException {
+        Class<?> elementClass = commonClass(array);
+        if (elementClass == Integer.class) {
+            out.writeByte(INT_ARRAY);
+            out.writeInt(array.length);
+            for (Object element : array) {
+                out.writeInt((Integer) element);
+            }
+        } else if (elementClass == Long.class) {
+            out.writeByte(LONG_ARRAY);
+            out.writeInt(array.length);
+            for (Object element : array) {
+                out.writeLong((Long) element);
+            }
+        } else if (elementClass == Double.class) {
+            out.writeByte(DOUBLE_ARRAY);
+            out.writeInt(array.length);
+            for (Object element : array) {
+                out.writeDouble((Double) element);
+            }
+        } else if (elementClass == String.class) {
+            out.writeByte(STRING_ARRAY);
+            out.writeInt(array.length);
+            for (Object element : array) {
+                out.writeString((String) element);
+            }
+        } else {
+            out.writeByte(OBJECT_ARRAY);
+            out.writeObject(array);
+        }
+    }
+
+    static Object[] readArray(MessageDataInputStream in) throws IOException, ClassNotFoundException {
+        byte type = in.readByte();
+        if (type == OBJECT_ARRAY) {
+            return (Object[]) in.readObject();
+        }
+
+        Object[] array = new Object[in.readInt()];
+        for (int i = 0; i < array.length; ++i) {
+            switch (type) {
+                case INT_ARRAY:
+                    array[i] = in.readInt();
+                    break;
+                case LONG_ARRAY:
+                    array[i] = in.readLong();
+                    break;
+                case DOUBLE_ARRAY:
+                    array[i] = in.readDouble();
+                    break;
+                case STRING_ARRAY:
+                    array[i] = in.readString();
+                    break;
+                default:
+                    throw new IOException("Unknown array type: " + type);
+            }
+        }
+        return array;
+    }
+
+    private static Class<?> commonClass(Object[] array) {
+        if (array == null || array.length == 0 || array[0] == null) {
+            return null;
+        }
+        Class<?> elementClass = array[0].getClass();
+        for (Object element : array) {
+            if (element == null || element.getClass() != elementClass) {
+                return null;
+            }
+        }
+        return elementClass;
+    }
+}
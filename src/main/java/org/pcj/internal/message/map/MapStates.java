@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2011-2026, PCJ Library, Marek Nowicki
+ * All rights reserved.
+ *
+ * Licensed under New BSD License (3-clause license).
+ *
+ * See the file "LICENSE" for the full license governing this code.
+ */
+package org.pcj.internal.message.map;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.pcj.PcjFuture;
+import org.pcj.PcjRuntimeException;
+
+/**
+ * @author Marek Nowicki (faramir@mat.umk.pl)
+ */
+public class MapStates {
+
+    private final AtomicInteger counter;
+    private final ConcurrentMap<Integer, State> stateMap;
+
+    public MapStates() {
+        counter = new AtomicInteger(0);
+        stateMap = new ConcurrentHashMap<>();
+    }
+
+    public State create() {
+        int requestNum = counter.incrementAndGet();
+
+        MapFuture future = new MapFuture();
+        State state = new State(requestNum, future);
+
+        stateMap.put(requestNum, state);
+
+        return state;
+    }
+
+    public State remove(int requestNum) {
+        return stateMap.remove(requestNum);
+    }
+
+    public static class State {
+
+        private final int requestNum;
+        private final MapFuture future;
+
+        private State(int requestNum, MapFuture future) {
+            this.requestNum = requestNum;
+
+            this.future = future;
+        }
+
+        public int getRequestNum() {
+            return requestNum;
+        }
+
+        public PcjFuture<Object[]> getFuture() {
+            return future;
+        }
+
+        public void signal(Object[] values, Exception exception) {
+            if (exception == null) {
+                future.signalDone(values);
+            } else {
+                PcjRuntimeException ex = new PcjRuntimeException("Distributed map operation failed", exception);
+                future.signalException(ex);
+            }
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2011-2026, PCJ Library, Marek Nowicki
+ * All rights reserved.
+ *
+ * Licensed under New BSD License (3-clause license).
+ *
+ * See the file "LICENSE" for the full license governing this code.
+ */
+package org.pcj.internal.message.offheap;
+
+import java.io.IOException;
+import java.nio.channels.SocketChannel;
+import org.pcj.internal.InternalPCJ;
+import org.pcj.internal.InternalStorages;
+import org.pcj.internal.Networker;
+import org.pcj.internal.NodeData;
+import org.pcj.internal.OffHeapMemory;
+import org.pcj.internal.PcjThread;
+import org.pcj.internal.message.Message;
+import org.pcj.internal.message.MessageType;
+import org.pcj.internal.network.MessageDataInputStream;
+import org.pcj.internal.network.MessageDataOutputStream;
+
+/**
+ * @author Marek Nowicki (faramir@mat.umk.pl)
+ */
+public class OffHeapGetRequestMessage extends Message {
+
+    private int groupId;
+    private int requestNum;
+    private int requesterThreadId;
+    private int threadId;
+    private String sharedEnumClassName;
+    private String name;
+    private int elementBytes;
+    private long byteOffset;
+    private long byteLength;
+
+    public OffHeapGetRequestMessage() {
+        super(MessageType.OFF_HEAP_GET_REQUEST);
+    }
+
+    public OffHeapGetRequestMessage(int groupId, int requestNum, int requesterThreadId, int threadId, String storageName, String name,
+                                    int elementBytes, long byteOffset, long byteLength) {
+        this();
+
+        this.groupId = groupId;
+        this.requestNum = requestNum;
+        this.requesterThreadId = requesterThreadId;
+        this.threadId = threadId;
+        this.sharedEnumClassName = storageName;
+        this.name = name;
+        this.elementBytes = elementBytes;
+        this.byteOffset = byteOffset;
+        this.byteLength = byteLength;
+    }
+
+    @Override
+    public void write(MessageDataOutputStream out) throws IOException {
+        out.writeInt(groupId);
+        out.writeInt(requestNum);
+        out.writeInt(requesterThreadId);
+        out.writeInt(threadId);
+        out.writeString(sharedEnumClassName);
+        out.writeString(name);
+        out.writeInt(elementBytes);
+        out.writeLong(byteOffset);
+        out.writeLong(byteLength);
+    }
+
+    @Override
+    public void onReceive(SocketChannel sender, MessageDataInputStream in) throws IOException {
+        groupId = in.readInt();
+        requestNum = in.readInt();
+        requesterThreadId = in.readInt();
+        threadId = in.readInt();
+        sharedEnumClassName = in.readString();
+        name = in.readString();
+        elementBytes = in.readInt();
+        byteOffset = in.readLong();
+        byteLength = in.readLong();
+
+        NodeData nodeData = InternalPCJ.getNodeData();
+        PcjThread pcjThread = nodeData.getPcjThread(groupId, threadId);
+
+        InternalStorages storage = pcjThread.getThreadData().getStorages();
+
+        Networker networker = InternalPCJ.getNetworker();
+        try {
+            OffHeapMemory memory = OffHeapStates.getMemory(storage, sharedEnumClassName, name, elementBytes, byteOffset, byteLength);
+
+            Message message = new OffHeapGetResponseMessage(groupId, requestNum, requesterThreadId, memory, byteOffset, byteLength);
+            networker.send(sender, message);
+        } catch (Exception ex) {
+            Message message = new OffHeapGetResponseMessage(groupId, requestNum, requesterThreadId, ex);
+            networker.send(sender, message);
+        }
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2011-2026, PCJ Library, Marek Nowicki
+ * All rights reserved.
+ *
+ * Licensed under New BSD License (3-clause license).
+ *
+ * See the file "LICENSE" for the full license governing this code.
+ */
+package org.pcj.internal.message.offheap;
+
+import java.io.IOException;
+import java.nio.channels.SocketChannel;
+import org.pcj.internal.InternalGroup;
+import org.pcj.internal.InternalPCJ;
+import org.pcj.internal.NodeData;
+import org.pcj.internal.OffHeapMemory;
+import org.pcj.internal.PcjThread;
+import org.pcj.internal.message.Message;
+import org.pcj.internal.message.MessageType;
+import org.pcj.internal.network.MessageDataInputStream;
+import org.pcj.internal.network.MessageDataOutputStream;
+
+/**
+ * Response with raw bytes of the requested range. Bytes are written directly
+ * from the source memory and read directly into the target memory.
+ *
+ * @author Marek Nowicki (faramir@mat.umk.pl)
+ */
+public class OffHeapGetResponseMessage extends Message {
+
+    private int groupId;
+    private int requestNum;
+    private int requesterThreadId;
+    private OffHeapMemory memory;
+    private long byteOffset;
+    private long byteLength;
+    private Exception exception;
+
+    public OffHeapGetResponseMessage() {
+        super(MessageType.OFF_HEAP_GET_RESPONSE);
+    }
+
+    OffHeapGetResponseMessage(int groupId, int requestNum, int requesterThreadId, OffHeapMemory memory, long byteOffset, long byteLength) {
+        this();
+
+        this.groupId = groupId;
+        this.requestNum = requestNum;
+        this.requesterThreadId = requesterThreadId;
+        this.memory = memory;
+        this.byteOffset = byteOffset;
+        this.byteLength = byteLength;
+    }
+
+    OffHeapGetResponseMessage(int groupId, int requestNum, int requesterThreadId, Exception exception) {
+        this();
+
+        this.groupId = groupId;
+        this.requestNum = requestNum;
+        this.requesterThreadId = requesterThreadId;
+        this.exception = exception;
+    }
+
+    @Override
+    public void write(MessageDataOutputStream out) throws IOException {
+        out.writeInt(groupId);
+        out.writeInt(requestNum);
+        out.writeInt(requesterThreadId);
+        out.writeBoolean(exception != null);
+        if (exception == null) {
+            memory.writeTo(out, byteOffset, byteLength);
+        } else {
+            out.writeObject(exception);
+        }
+    }
+
+    @Override
+    public void onReceive(SocketChannel sender, MessageDataInputStream in) throws IOException {
+        groupId = in.readInt();
+        requestNum = in.readInt();
+        requesterThreadId = in.readInt();
+
+        NodeData nodeData = InternalPCJ.getNodeData();
+        PcjThread pcjThread = nodeData.getPcjThread(groupId, requesterThreadId);
+
+        InternalGroup group = pcjThread.getThreadData().getGroupById(groupId);
+
+        OffHeapStates states = group.getOffHeapStates();
+        OffHeapStates.State state = states.remove(requestNum);
+
+        boolean exceptionOccurred = in.readBoolean();
+        try {
+            if (!exceptionOccurred) {
+                state.getTarget().readFrom(in, state.getByteOffset(), state.getByteLength());
+            } else {
+                exception = (Exception) in.readObject();
+            }
+        } catch (Exception ex) {
+            exception = ex;
+        }
+
+        state.signal(exception);
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2011-2026, PCJ Library, Marek Nowicki
+ * All rights reserved.
+ *
+ * Licensed under New BSD License (3-clause license).
+ *
+ * See the file "LICENSE" for the full license governing this code.
+ */
+package org.pcj.internal.message.offheap;
+
+import java.io.IOException;
+import java.nio.channels.SocketChannel;
+import org.pcj.internal.InternalPCJ;
+import org.pcj.internal.InternalStorages;
+import org.pcj.internal.NodeData;
+import org.pcj.internal.OffHeapMemory;
+import org.pcj.internal.PcjThread;
+import org.pcj.internal.message.Message;
+import org.pcj.internal.message.MessageType;
+import org.pcj.internal.network.MessageDataInputStream;
+import org.pcj.internal.network.MessageDataOutputStream;
+
+/**
+ * Request with raw bytes to store in the range. Bytes are written directly
+ * from the source memory and read directly into the target memory.
+ *
+ * @author Marek Nowicki (faramir@mat.umk.pl)
+ */
+public final class OffHeapPutRequestMessage extends Message {
+
+    private int groupId;
+    private int requestNum;
+    private int requesterThreadId;
+    private int threadId;
+    private String sharedEnumClassName;
+    private String name;
+    private int elementBytes;
+    private long byteOffset;
+    private long byteLength;
+    private OffHeapMemory source;
+    private long sourceByteOffset;
+
+    public OffHeapPutRequestMessage() {
+        super(MessageType.OFF_HEAP_PUT_REQUEST);
+    }
+
+    public OffHeapPutRequestMessage(int groupId, int requestNum, int requesterThreadId, int threadId, String storageName, String name,
+                                    int elementBytes, long byteOffset, long byteLength, OffHeapMemory source, long sourceByteOffset) {
+        this();
+
+        this.groupId = groupId;
+        this.requestNum = requestNum;
+        this.requesterThreadId = requesterThreadId;
+        this.threadId = threadId;
+        this.sharedEnumClassName = storageName;
+        this.name = name;
+        this.elementBytes = elementBytes;
+        this.byteOffset = byteOffset;
+        this.byteLength = byteLength;
+        this.source = source;
+        this.sourceByteOffset = sourceByteOffset;
+    }
+
+    @Override
+    public void write(MessageDataOutputStream out) throws IOException {
+        out.writeInt(groupId);
+        out.writeInt(requestNum);
+        out.writeInt(requesterThreadId);
+        out.writeInt(threadId);
+        out.writeString(sharedEnumClassName);
+        out.writeString(name);
+        out.writeInt(elementBytes);
+        out.writeLong(byteOffset);
+        out.writeLong(byteLength);
+        source.writeTo(out, sourceByteOffset, byteLength);
+    }
+
+    @Override
+    public void onReceive(SocketChannel sender, MessageDataInputStream in) throws IOException {
+        groupId = in.readInt();
+        requestNum = in.readInt();
+        requesterThreadId = in.readInt();
+        threadId = in.readInt();
+        sharedEnumClassName = in.readString();
+        name = in.readString();
+        elementBytes = in.readInt();
+        byteOffset = in.readLong();
+        byteLength = in.readLong();
+
+        NodeData nodeData = InternalPCJ.getNodeData();
+        PcjThread pcjThread = nodeData.getPcjThread(groupId, threadId);
+
+        InternalStorages storage = pcjThread.getThreadData().getStorages();
+
+        OffHeapPutResponseMessage offHeapPutResponseMessage = new OffHeapPutResponseMessage(groupId, requestNum, requesterThreadId);
+        try {
+            OffHeapMemory memory = OffHeapStates.getMemory(storage, sharedEnumClassName, name, elementBytes, byteOffset, byteLength);
+            memory.readFrom(in, byteOffset, byteLength);
+            storage.incrementModificationCounter(sharedEnumClassName, name,
+                    byteOffset / elementBytes, (byteOffset + byteLength) / elementBytes);
+        } catch (Exception ex) {
+            offHeapPutResponseMessage.setException(ex);
+        }
+
+        InternalPCJ.getNetworker().send(sender, offHeapPutResponseMessage);
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2011-2026, PCJ Library, Marek Nowicki
+ * All rights reserved.
+ *
+ * Licensed under New BSD License (3-clause license).
+ *
+ * See the file "LICENSE" for the full license governing this code.
+ */
+package org.pcj.internal.message.offheap;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.pcj.PcjFuture;
+import org.pcj.OffHeapArray;
+import org.pcj.PcjRuntimeException;
+import org.pcj.internal.InternalStorages;
+import org.pcj.internal.OffHeapMemory;
+
+/**
+ * States of off-heap array transfers. For getting, state holds the memory
+ * range into which received bytes are written.
+ *
+ * @author Marek Nowicki (faramir@mat.umk.pl)
+ */
+public class OffHeapStates {
+
+    private final AtomicInteger counter;
+    private final ConcurrentMap<Integer, State> stateMap;
+
+    public OffHeapStates() {
+        counter = new AtomicInteger(0);
+        stateMap = new ConcurrentHashMap<>();
+    }
+
+    public State create() {
+        return create(null, 0, 0);
+    }
+
+    public State create(OffHeapMemory target, long byteOffset, long byteLength) {
+        int requestNum = counter.incrementAndGet();
+
+        OffHeapFuture future = new OffHeapFuture();
+        State state = new State(requestNum, future, target, byteOffset, byteLength);
+
+        stateMap.put(requestNum, state);
+
+        return state;
+    }
+
+    public State remove(int requestNum) {
+        return stateMap.remove(requestNum);
+    }
+
+    static OffHeapMemory getMemory(InternalStorages storage, String sharedEnumClassName, String name,
+                                   int elementBytes, long byteOffset, long byteLength) {
+        OffHeapArray array = storage.getOffHeapArray(sharedEnumClassName, name);
+        if (array.elementBytes() != elementBytes) {
+            throw new ClassCastException("Element size of off-heap array " + sharedEnumClassName + "." + name
+                                                 + " is " + array.elementBytes() + " instead of " + elementBytes);
+        }
+
+        OffHeapMemory memory = array.getMemory();
+        memory.checkRange(byteOffset, byteLength);
+        return memory;
+    }
+
+    public static class State {
+
+        private final int requestNum;
+        private final OffHeapFuture future;
+        private final OffHeapMemory target;
+        private final long byteOffset;
+        private final long byteLength;
+
+        private State(int requestNum, OffHeapFuture future, OffHeapMemory target, long byteOffset, long byteLength) {
+            this.requestNum = requestNum;
+            this.future = future;
+            this.target = target;
+            this.byteOffset = byteOffset;
+            this.byteLength = byteLength;
+        }
+
+        public int getRequestNum() {
+            return requestNum;
+        }
+
+        public PcjFuture<Void> getFuture() {
+            return future;
+        }
+
+        public OffHeapMemory getTarget() {
+            return target;
+        }
+
+        public long getByteOffset() {
+            return byteOffset;
+        }
+
+        public long getByteLength() {
+            return byteLength;
+        }
+
+        public void signal(Exception exception) {
+            if (exception == null) {
+                future.signalDone();
+            } else {
+                PcjRuntimeException ex = new PcjRuntimeException("Transferring off-heap array failed");
+                ex.addSuppressed(exception);
+                future.signalException(ex);
+            }
+        }
+    }
+}
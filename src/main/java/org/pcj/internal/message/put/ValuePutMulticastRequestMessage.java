@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2011-2026, PCJ Library, Marek Nowicki
+ * All rights reserved.
+ *
+ * Licensed under New BSD License (3-clause license).
+ *
+ * See the file "LICENSE" for the full license governing this code.
+ */
+package org.pcj.internal.message.put;
+
+import java.io.IOException;
+import java.nio.channels.SocketChannel;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.pcj.PcjRuntimeException;
+import org.pcj.internal.InternalPCJ;
+import org.pcj.internal.InternalStorages;
+import org.pcj.internal.NodeData;
+import org.pcj.internal.message.Message;
+import org.pcj.internal.message.MessageType;
+import org.pcj.internal.network.InputStreamCloner;
+import org.pcj.internal.network.MessageDataInputStream;
+import org.pcj.internal.network.MessageDataOutputStream;
+
+/**
+ * Put of the same value to many threads of the node.
+ * <p>
+ * Value is serialized once by the requester, and the same bytes are sent to
+ * each node. Node deserializes the value once and puts its copies to the
+ * threads.
+ *
+ * @author Marek Nowicki (faramir@mat.umk.pl)
+ */
+public final class ValuePutMulticastRequestMessage extends Message {
+
+    private int requestNum;
+    private int groupId;
+    private int requesterThreadId;
+    private int[] threadIds;
+    private String sharedEnumClassName;
+    private String name;
+    private int[] indices;
+    private InputStreamCloner valueBytes;
+
+    public ValuePutMulticastRequestMessage() {
+        super(MessageType.VALUE_PUT_MULTICAST_REQUEST);
+    }
+
+    public ValuePutMulticastRequestMessage(int groupId, int requestNum, int requesterThreadId, int[] threadIds, String storageName, String name, int[] indices, InputStreamCloner valueBytes) {
+        this();
+
+        this.groupId = groupId;
+        this.requestNum = requestNum;
+        this.requesterThreadId = requesterThreadId;
+        this.threadIds = threadIds;
+        this.sharedEnumClassName = storageName;
+        this.name = name;
+        this.indices = indices;
+        this.valueBytes = valueBytes;
+    }
+
+    @Override
+    public void write(MessageDataOutputStream out) throws IOException {
+        out.writeInt(groupId);
+        out.writeInt(requestNum);
+        out.writeInt(requesterThreadId);
+        out.writeIntArray(threadIds);
+        out.writeString(sharedEnumClassName);
+        out.writeString(name);
+        out.writeIntArray(indices);
+        valueBytes.writeInto(out);
+    }
+
+    @Override
+    public void onReceive(SocketChannel sender, MessageDataInputStream in) throws IOException {
+        groupId = in.readInt();
+        requestNum = in.readInt();
+        requesterThreadId = in.readInt();
+        threadIds = in.readIntArray();
+        sharedEnumClassName = in.readString();
+        name = in.readString();
+        indices = in.readIntArray();
+        valueBytes = InputStreamCloner.readFrom(in);
+
+        NodeData nodeData = InternalPCJ.getNodeData();
+
+        ValuePutResponseMessage valuePutResponseMessage = new ValuePutResponseMessage(groupId, requestNum, requesterThreadId);
+        PcjRuntimeException exception = null;
+
+        List<InternalStorages> storages = Arrays.stream(threadIds)
+                .mapToObj(threadId -> nodeData.getPcjThread(groupId, threadId).getThreadData().getStorages())
+                .collect(Collectors.toList());
+        Map<Integer, Exception> exceptions = InternalStorages.putAll(storages, valueBytes, sharedEnumClassName, name, indices);
+        for (Map.Entry<Integer, Exception> entry : exceptions.entrySet()) {
+            if (exception == null) {
+                exception = new PcjRuntimeException("Putting value to thread " + threadIds[entry.getKey()] + " failed", entry.getValue());
+            } else {
+                exception.addSuppressed(entry.getValue());
+            }
+        }
+        valuePutResponseMessage.setException(exception);
+
+        InternalPCJ.getNetworker().send(sender, valuePutResponseMessage);
+    }
+}
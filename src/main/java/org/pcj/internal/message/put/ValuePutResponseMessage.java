@@ -76,8 +76,10 @@ public class ValuePutResponseMessage extends Message {
         InternalGroup group = pcjThread.getThreadData().getGroupById(groupId);
 
         ValuePutStates states = group.getValuePutStates();
-        ValuePutStates.State state = states.remove(requestNum);
-        state.signal(exception);
+        ValuePutStates.State state = states.get(requestNum);
+        if (state.signal(exception)) {
+            states.remove(requestNum);
+        }
     }
 
 }
@@ -8,7 +8,9 @@
  */
 package org.pcj.internal.message.put;
 
+import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import org.pcj.PcjFuture;
@@ -28,16 +30,28 @@ public class ValuePutStates {
     }
 
     public State create() {
+        return create(1);
+    }
+
+    /**
+     * Creates state of request, which future is signaled after receiving
+     * given number of responses.
+     */
+    public State create(int responseCount) {
         int requestNum = counter.incrementAndGet();
 
         ValuePutFuture future = new ValuePutFuture();
-        State state = new State(requestNum, future);
+        State state = new State(requestNum, future, responseCount);
 
         stateMap.put(requestNum, state);
 
         return state;
     }
 
+    public State get(int requestNum) {
+        return stateMap.get(requestNum);
+    }
+
     public State remove(int requestNum) {
         return stateMap.remove(requestNum);
     }
@@ -46,11 +60,15 @@ public class ValuePutStates {
 
         private final int requestNum;
         private final ValuePutFuture future;
+        private final AtomicInteger pendingResponses;
+        private final Queue<Exception> exceptions;
 
-        private State(int requestNum, ValuePutFuture future) {
+        private State(int requestNum, ValuePutFuture future, int responseCount) {
             this.requestNum = requestNum;
 
             this.future = future;
+            this.pendingResponses = new AtomicInteger(responseCount);
+            this.exceptions = new ConcurrentLinkedQueue<>();
         }
 
         public int getRequestNum() {
@@ -61,14 +79,28 @@ public class ValuePutStates {
             return future;
         }
 
-        public void signal(Exception exception) {
-            if (exception == null) {
+        /**
+         * Processes response. Future is signaled when all responses are
+         * processed.
+         *
+         * @return {@code true} if it was the last response
+         */
+        public boolean signal(Exception exception) {
+            if (exception != null) {
+                exceptions.add(exception);
+            }
+            if (pendingResponses.decrementAndGet() > 0) {
+                return false;
+            }
+
+            if (exceptions.isEmpty()) {
                 future.signalDone();
             } else {
                 PcjRuntimeException ex = new PcjRuntimeException("Putting value failed");
-                ex.addSuppressed(exception);
+                exceptions.forEach(ex::addSuppressed);
                 future.signalException(ex);
             }
+            return true;
         }
     }
 }
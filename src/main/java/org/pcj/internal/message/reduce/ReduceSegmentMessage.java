@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2011-2026, PCJ Library, Marek Nowicki
+ * All rights reserved.
+ *
+ * Licensed under New BSD License (3-clause license).
+ *
+ * See the file "LICENSE" for the full license governing this code.
+ */
+package org.pcj.internal.message.reduce;
+
+import java.io.IOException;
+import java.nio.channels.SocketChannel;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import org.pcj.internal.InternalCommonGroup;
+import org.pcj.internal.InternalPCJ;
+import org.pcj.internal.NodeData;
+import org.pcj.internal.message.Message;
+import org.pcj.internal.message.MessageType;
+import org.pcj.internal.network.MessageDataInputStream;
+import org.pcj.internal.network.MessageDataOutputStream;
+
+/**
+ * Segment of array reduced element-wise in the subtree of the sender.
+ * <p>
+ * Segments are sent in order, and the last one is marked. When reduction
+ * fails, node sends only one message, marked as the last, with exceptions.
+ *
+ * @author Marek Nowicki (faramir@mat.umk.pl)
+ */
+public final class ReduceSegmentMessage extends Message {
+
+    private int groupId;
+    private int requestNum;
+    private int requesterThreadId;
+    private int segmentIndex;
+    private boolean last;
+    private int length;
+    private Object block;
+    private Queue<Exception> exceptions;
+
+    public ReduceSegmentMessage() {
+        super(MessageType.REDUCE_SEGMENT);
+    }
+
+    ReduceSegmentMessage(int groupId, int requestNum, int requesterThreadId,
+                         int segmentIndex, boolean last, int length, Object block, Queue<Exception> exceptions) {
+        this();
+
+        this.groupId = groupId;
+        this.requestNum = requestNum;
+        this.requesterThreadId = requesterThreadId;
+        this.segmentIndex = segmentIndex;
+        this.last = last;
+        this.length = length;
+        this.block = block;
+        this.exceptions = exceptions;
+    }
+
+    int getSegmentIndex() {
+        return segmentIndex;
+    }
+
+    boolean isLast() {
+        return last;
+    }
+
+    /**
+     * @return length of the whole array
+     */
+    int getLength() {
+        return length;
+    }
+
+    Object getBlock() {
+        return block;
+    }
+
+    Queue<Exception> getExceptions() {
+        return exceptions;
+    }
+
+    @Override
+    public void write(MessageDataOutputStream out) throws IOException {
+        out.writeInt(groupId);
+        out.writeInt(requestNum);
+        out.writeInt(requesterThreadId);
+        out.writeInt(segmentIndex);
+        out.writeBoolean(last);
+        out.writeInt(length);
+        boolean exceptionOccurred = ((exceptions != null) && (!exceptions.isEmpty()));
+        out.writeBoolean(exceptionOccurred);
+        if (exceptionOccurred) {
+            out.writeObject(exceptions);
+        } else {
+            out.writeObject(block);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void onReceive(SocketChannel sender, MessageDataInputStream in) throws IOException {
+        groupId = in.readInt();
+        requestNum = in.readInt();
+        requesterThreadId = in.readInt();
+        segmentIndex = in.readInt();
+        last = in.readBoolean();
+        length = in.readInt();
+
+        boolean exceptionOccurred = in.readBoolean();
+        try {
+            if (!exceptionOccurred) {
+                block = in.readObject();
+            } else {
+                exceptions = (Queue<Exception>) in.readObject();
+            }
+        } catch (Exception ex) {
+            exceptions = new ConcurrentLinkedQueue<>();
+            exceptions.add(ex);
+        }
+
+        NodeData nodeData = InternalPCJ.getNodeData();
+        InternalCommonGroup commonGroup = nodeData.getCommonGroupById(groupId);
+
+        ReduceStates states = commonGroup.getReduceStates();
+        ReduceStates.State<?> state = states.getOrCreate(requestNum, requesterThreadId, commonGroup);
+
+        state.segmentReceived(commonGroup, this);
+    }
+}
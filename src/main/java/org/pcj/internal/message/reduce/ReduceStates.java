@@ -9,23 +9,29 @@
 package org.pcj.internal.message.reduce;
 
 import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Queue;
-import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import org.pcj.DoubleReduceOperation;
+import org.pcj.IntReduceOperation;
+import org.pcj.LongReduceOperation;
 import org.pcj.PcjFuture;
 import org.pcj.PcjRuntimeException;
 import org.pcj.ReduceOperation;
 import org.pcj.internal.InternalCommonGroup;
 import org.pcj.internal.InternalPCJ;
+import org.pcj.internal.InternalStorages;
 import org.pcj.internal.Networker;
 import org.pcj.internal.NodeData;
 import org.pcj.internal.PcjThread;
 import org.pcj.internal.PcjThreadData;
+import org.pcj.internal.PrimitiveReduceOperations;
 import org.pcj.internal.message.Message;
 
 /**
@@ -48,7 +54,7 @@ public class ReduceStates {
 
         ReduceFuture<T> future = new ReduceFuture<>();
         State<T> state = new State<>(requestNum, threadId,
-                commonGroup.getCommunicationTree().getChildrenNodes(nodeData.getCurrentNodePhysicalId()).size(),
+                commonGroup.getCommunicationTree(InternalCommonGroup.Collective.REDUCE).getChildrenNodes(nodeData.getCurrentNodePhysicalId()).size(),
                 future);
 
         stateMap.put(Arrays.asList(requestNum, threadId), state);
@@ -62,7 +68,7 @@ public class ReduceStates {
         int requesterPhysicalId = nodeData.getPhysicalId(commonGroup.getGlobalThreadId(requesterThreadId));
         return (State<T>) stateMap.computeIfAbsent(Arrays.asList(requestNum, requesterThreadId),
                 key -> new State<>(requestNum, requesterThreadId,
-                        commonGroup.getCommunicationTree().getChildrenNodes(requesterPhysicalId).size()));
+                        commonGroup.getCommunicationTree(InternalCommonGroup.Collective.REDUCE).getChildrenNodes(requesterPhysicalId).size()));
     }
 
     public State<?> remove(int requestNum, int threadId) {
@@ -81,11 +87,24 @@ public class ReduceStates {
         private String variableName;
         private int[] indices;
         private ReduceOperation<T> function;
+        /* element-wise reduction of array in segments */
+        private final int childrenCount;
+        private final List<ReduceSegmentMessage> pendingSegments;
+        private PrimitiveReduceOperations.ArrayOperation<T> arrayOperation;
+        private int segmentLength;
+        private T accumulator;
+        private int[] segmentNotifications;
+        private int nextSegment;
+        private int finishedChildren;
+        private boolean localProcessed;
+        private boolean failed;
 
         private State(int requestNum, int requesterThreadId, int childrenCount, ReduceFuture<T> future) {
             this.requestNum = requestNum;
             this.requesterThreadId = requesterThreadId;
             this.future = future;
+            this.childrenCount = childrenCount;
+            this.pendingSegments = new ArrayList<>();
 
             // notification from children and from itself
             notificationCount = new AtomicInteger(childrenCount + 1);
@@ -101,6 +120,7 @@ public class ReduceStates {
             return future;
         }
 
+        @SuppressWarnings("unchecked")
         public void downProcessNode(InternalCommonGroup group, String sharedEnumClassName, String variableName, int[] indices, ReduceOperation<T> function) {
             this.sharedEnumClassName = sharedEnumClassName;
             this.variableName = variableName;
@@ -116,12 +136,156 @@ public class ReduceStates {
             Networker networker = InternalPCJ.getNetworker();
 
             int requesterPhysicalId = nodeData.getPhysicalId(group.getGlobalThreadId(requesterThreadId));
-            group.getCommunicationTree().getChildrenNodes(requesterPhysicalId)
+            group.getCommunicationTree(InternalCommonGroup.Collective.REDUCE).getChildrenNodes(requesterPhysicalId)
                     .stream()
                     .map(nodeData::getSocketChannelByPhysicalId)
                     .forEach(socket -> networker.send(socket, message));
 
-            nodeProcessed(group);
+            int segmentSize = InternalPCJ.getConfiguration().REDUCE_SEGMENT_SIZE;
+            if (segmentSize > 0 && function instanceof PrimitiveReduceOperations.ArrayOperation) {
+                arrayOperation = (PrimitiveReduceOperations.ArrayOperation<T>) function;
+                segmentLength = Math.max(1, segmentSize / arrayOperation.getElementSize());
+                localSegmentsProcessed(group);
+            } else {
+                nodeProcessed(group);
+            }
+        }
+
+        /**
+         * Prepares value of the current node for element-wise reduction in
+         * segments. Value is the copy of the array of the first local thread,
+         * and arrays of other local threads are reduced into it in place.
+         */
+        private void localSegmentsProcessed(InternalCommonGroup group) {
+            T value = null;
+            try {
+                List<InternalStorages> storagesList = getLocalStorages(group);
+                for (InternalStorages storages : storagesList) {
+                    T array = storages.get(sharedEnumClassName, variableName, indices);
+                    if (value == null) {
+                        value = arrayOperation.copyOfRange(array, 0, arrayOperation.length(array));
+                    } else if (arrayOperation.length(array) != arrayOperation.length(value)) {
+                        throw new IllegalArgumentException("Arrays have different lengths: "
+                                                                   + arrayOperation.length(value) + " and " + arrayOperation.length(array));
+                    } else {
+                        arrayOperation.applyInPlace(value, 0, array);
+                    }
+                }
+            } catch (Exception ex) {
+                exceptions.add(ex);
+            }
+            if (value == null && exceptions.isEmpty()) {
+                exceptions.add(new IllegalStateException("No local threads to reduce values"));
+            }
+
+            synchronized (this) {
+                localProcessed = true;
+                if (!exceptions.isEmpty()) {
+                    failed = true;
+                } else {
+                    accumulator = value;
+                    int segmentCount = Math.max(1, (arrayOperation.length(value) + segmentLength - 1) / segmentLength);
+                    segmentNotifications = new int[segmentCount];
+                    Arrays.fill(segmentNotifications, childrenCount);
+                }
+
+                for (ReduceSegmentMessage message : pendingSegments) {
+                    applySegment(message);
+                }
+                pendingSegments.clear();
+
+                sendSegments(group);
+            }
+        }
+
+        synchronized void segmentReceived(InternalCommonGroup group, ReduceSegmentMessage message) {
+            if (message.isLast()) {
+                ++finishedChildren;
+            }
+            if (localProcessed) {
+                applySegment(message);
+                sendSegments(group);
+            } else {
+                pendingSegments.add(message);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private void applySegment(ReduceSegmentMessage message) {
+            Queue<Exception> messageExceptions = message.getExceptions();
+            if ((messageExceptions != null) && (!messageExceptions.isEmpty())) {
+                exceptions.addAll(messageExceptions);
+                failed = true;
+            }
+            if (failed || accumulator == null) {
+                return;
+            }
+
+            int segment = message.getSegmentIndex();
+            if (message.getLength() != arrayOperation.length(accumulator)) {
+                exceptions.add(new IllegalArgumentException("Arrays have different lengths: "
+                                                                    + arrayOperation.length(accumulator) + " and " + message.getLength()));
+                failed = true;
+                return;
+            }
+            try {
+                arrayOperation.applyInPlace(accumulator, segment * segmentLength, (T) message.getBlock());
+            } catch (Exception ex) {
+                exceptions.add(ex);
+                failed = true;
+                return;
+            }
+            --segmentNotifications[segment];
+        }
+
+        /**
+         * Sends to parent node consecutive segments that are reduced from all
+         * children. After failure, node waits for the last messages from all
+         * children and sends only exceptions.
+         */
+        private void sendSegments(InternalCommonGroup group) {
+            if (!localProcessed) {
+                return;
+            }
+            NodeData nodeData = InternalPCJ.getNodeData();
+            int requesterPhysicalId = nodeData.getPhysicalId(group.getGlobalThreadId(requesterThreadId));
+            int parentId = group.getCommunicationTree(InternalCommonGroup.Collective.REDUCE).getParentNode(requesterPhysicalId);
+
+            if (failed) {
+                if (finishedChildren == childrenCount && nextSegment >= 0) {
+                    nextSegment = -1;
+                    segmentsProcessed(group, parentId, new ReduceSegmentMessage(group.getGroupId(), requestNum, requesterThreadId,
+                            0, true, 0, null, exceptions));
+                }
+                return;
+            }
+
+            int segmentCount = segmentNotifications.length;
+            int length = arrayOperation.length(accumulator);
+            while (nextSegment < segmentCount && segmentNotifications[nextSegment] == 0) {
+                int segment = nextSegment++;
+                boolean last = nextSegment == segmentCount;
+                if (parentId >= 0) {
+                    int from = segment * segmentLength;
+                    int to = Math.min(from + segmentLength, length);
+                    ReduceSegmentMessage message = new ReduceSegmentMessage(group.getGroupId(), requestNum, requesterThreadId,
+                            segment, last, length, arrayOperation.copyOfRange(accumulator, from, to), null);
+                    InternalPCJ.getNetworker().send(nodeData.getSocketChannelByPhysicalId(parentId), message);
+                }
+                if (last) {
+                    segmentsProcessed(group, parentId, null);
+                }
+            }
+        }
+
+        private void segmentsProcessed(InternalCommonGroup group, int parentId, ReduceSegmentMessage message) {
+            ReduceStates.this.remove(requestNum, requesterThreadId);
+            if (parentId < 0) {
+                signal(accumulator, exceptions);
+            } else if (message != null) {
+                SocketChannel socket = InternalPCJ.getNodeData().getSocketChannelByPhysicalId(parentId);
+                InternalPCJ.getNetworker().send(socket, message);
+            }
         }
 
         void upProcessNode(InternalCommonGroup group, T receivedValue, Queue<Exception> messageExceptions) {
@@ -159,7 +323,7 @@ public class ReduceStates {
                 Message message;
                 SocketChannel socket;
 
-                int parentId = group.getCommunicationTree().getParentNode(requesterPhysicalId);
+                int parentId = group.getCommunicationTree(InternalCommonGroup.Collective.REDUCE).getParentNode(requesterPhysicalId);
                 if (parentId >= 0) {
                     message = new ReduceResponseMessage<>(group.getGroupId(), requestNum, requesterThreadId, reducedValue, exceptions);
                     socket = nodeData.getSocketChannelByPhysicalId(parentId);
@@ -178,15 +342,48 @@ public class ReduceStates {
             }
         }
 
-        private T getCurrentNodeReducedValue(InternalCommonGroup group) {
+        private List<InternalStorages> getLocalStorages(InternalCommonGroup group) {
             NodeData nodeData = InternalPCJ.getNodeData();
-            Set<Integer> threadsId = group.getLocalThreadsId();
-
-            return threadsId.stream()
+            return group.getLocalThreadsId().stream()
                     .map(group::getGlobalThreadId)
                     .map(nodeData::getPcjThread)
                     .map(PcjThread::getThreadData)
                     .map(PcjThreadData::getStorages)
+                    .collect(Collectors.toList());
+        }
+
+        @SuppressWarnings("unchecked")
+        private T getCurrentNodeReducedValue(InternalCommonGroup group) {
+            List<InternalStorages> storagesList = getLocalStorages(group);
+            if (storagesList.isEmpty()) {
+                return null;
+            }
+
+            Class<?> variableClass = storagesList.get(0).getClass(sharedEnumClassName, variableName, indices.length);
+            if (variableClass == int.class && function instanceof IntReduceOperation) {
+                IntReduceOperation operation = (IntReduceOperation) function;
+                int value = storagesList.get(0).getInt(sharedEnumClassName, variableName, indices);
+                for (int i = 1; i < storagesList.size(); ++i) {
+                    value = operation.applyAsInt(value, storagesList.get(i).getInt(sharedEnumClassName, variableName, indices));
+                }
+                return (T) Integer.valueOf(value);
+            } else if (variableClass == long.class && function instanceof LongReduceOperation) {
+                LongReduceOperation operation = (LongReduceOperation) function;
+                long value = storagesList.get(0).getLong(sharedEnumClassName, variableName, indices);
+                for (int i = 1; i < storagesList.size(); ++i) {
+                    value = operation.applyAsLong(value, storagesList.get(i).getLong(sharedEnumClassName, variableName, indices));
+                }
+                return (T) Long.valueOf(value);
+            } else if (variableClass == double.class && function instanceof DoubleReduceOperation) {
+                DoubleReduceOperation operation = (DoubleReduceOperation) function;
+                double value = storagesList.get(0).getDouble(sharedEnumClassName, variableName, indices);
+                for (int i = 1; i < storagesList.size(); ++i) {
+                    value = operation.applyAsDouble(value, storagesList.get(i).getDouble(sharedEnumClassName, variableName, indices));
+                }
+                return (T) Double.valueOf(value);
+            }
+
+            return storagesList.stream()
                     .map(storages -> storages.<T>get(this.sharedEnumClassName, this.variableName, this.indices))
                     .reduce(function)
                     .orElse(null);
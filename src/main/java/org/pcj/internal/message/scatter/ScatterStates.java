@@ -49,7 +49,7 @@ public class ScatterStates {
 
         ScatterFuture future = new ScatterFuture();
         State state = new State(requestNum, threadId,
-                commonGroup.getCommunicationTree().getChildrenNodes(nodeData.getCurrentNodePhysicalId()).size(),
+                commonGroup.getCommunicationTree(InternalCommonGroup.Collective.SCATTER).getChildrenNodes(nodeData.getCurrentNodePhysicalId()).size(),
                 future);
 
         stateMap.put(Arrays.asList(requestNum, threadId), state);
@@ -62,7 +62,7 @@ public class ScatterStates {
         int requesterPhysicalId = nodeData.getPhysicalId(commonGroup.getGlobalThreadId(requesterThreadId));
         return stateMap.computeIfAbsent(Arrays.asList(requestNum, requesterThreadId),
                 key -> new State(requestNum, requesterThreadId,
-                        commonGroup.getCommunicationTree().getChildrenNodes(requesterPhysicalId).size()));
+                        commonGroup.getCommunicationTree(InternalCommonGroup.Collective.SCATTER).getChildrenNodes(requesterPhysicalId).size()));
     }
 
     public State remove(int requestNum, int threadId) {
@@ -122,10 +122,10 @@ public class ScatterStates {
 
             Networker networker = InternalPCJ.getNetworker();
             int requesterPhysicalId = nodeData.getPhysicalId(group.getGlobalThreadId(requesterThreadId));
-            Set<Integer> childrenNodes = group.getCommunicationTree().getChildrenNodes(requesterPhysicalId);
+            Set<Integer> childrenNodes = group.getCommunicationTree(InternalCommonGroup.Collective.SCATTER).getChildrenNodes(requesterPhysicalId);
             Map<Integer, Integer> groupIdToGlobalIdMap = group.getThreadsMap();
             for (int childrenNode : childrenNodes) {
-                List<Integer> subTree = group.getCommunicationTree().getSubtree(requesterPhysicalId, childrenNode);
+                List<Integer> subTree = group.getCommunicationTree(InternalCommonGroup.Collective.SCATTER).getSubtree(requesterPhysicalId, childrenNode);
 
                 Map<Integer, Object> subTreeNewValueMap = groupIdToGlobalIdMap.entrySet()
                                                                   .stream()
@@ -162,7 +162,7 @@ public class ScatterStates {
                     ScatterStates.this.remove(requestNum, requesterThreadId);
                 }
 
-                int parentId = group.getCommunicationTree().getParentNode(requesterPhysicalId);
+                int parentId = group.getCommunicationTree(InternalCommonGroup.Collective.SCATTER).getParentNode(requesterPhysicalId);
                 if (parentId >= 0) {
                     Message message = new ScatterResponseMessage(group.getGroupId(), requestNum, requesterThreadId, exceptions);
                     SocketChannel socket = nodeData.getSocketChannelByPhysicalId(parentId);
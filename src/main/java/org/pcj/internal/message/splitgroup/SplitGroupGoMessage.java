@@ -54,7 +54,7 @@ public final class SplitGroupGoMessage extends Message {
 
         InternalCommonGroup commonGroup = nodeData.getCommonGroupById(groupId);
 
-        commonGroup.getCommunicationTree().getChildrenNodes().stream()
+        commonGroup.getCommunicationTree(InternalCommonGroup.Collective.SPLIT_GROUP).getChildrenNodes().stream()
                 .map(nodeData::getSocketChannelByPhysicalId)
                 .forEach(socket -> InternalPCJ.getNetworker().send(socket, this));
 
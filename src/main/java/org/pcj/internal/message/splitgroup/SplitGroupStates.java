@@ -49,7 +49,7 @@ public class SplitGroupStates {
 
     public State getOrCreate(int round, InternalCommonGroup commonGroup) {
         return stateMap.computeIfAbsent(round,
-                _round -> new State(_round, commonGroup.getLocalThreadsId().size(), commonGroup.getCommunicationTree().getChildrenNodes().size()));
+                _round -> new State(_round, commonGroup.getLocalThreadsId().size(), commonGroup.getCommunicationTree(InternalCommonGroup.Collective.SPLIT_GROUP).getChildrenNodes().size()));
     }
 
     public State remove(int round) {
@@ -114,8 +114,8 @@ public class SplitGroupStates {
             SocketChannel socket;
             NodeData nodeData = InternalPCJ.getNodeData();
 
-            int parentId = group.getCommunicationTree().getParentNode();
-            if (group.getCommunicationTree().getParentNode() >= 0) {
+            int parentId = group.getCommunicationTree(InternalCommonGroup.Collective.SPLIT_GROUP).getParentNode();
+            if (group.getCommunicationTree(InternalCommonGroup.Collective.SPLIT_GROUP).getParentNode() >= 0) {
                 message = new SplitGroupRequestMessage(group.getGroupId(), round, splitMap, orderingMap);
                 socket = nodeData.getSocketChannelByPhysicalId(parentId);
             } else {
@@ -154,7 +154,7 @@ public class SplitGroupStates {
             NodeData nodeData = InternalPCJ.getNodeData();
 
             Message message = new SplitGroupResponseMessage(group.getGroupId(), round, threadGroupIdMap);
-            group.getCommunicationTree().getChildrenNodes().stream()
+            group.getCommunicationTree(InternalCommonGroup.Collective.SPLIT_GROUP).getChildrenNodes().stream()
                     .map(nodeData::getSocketChannelByPhysicalId)
                     .forEach(socket -> InternalPCJ.getNetworker().send(socket, message));
 
@@ -197,7 +197,7 @@ public class SplitGroupStates {
                 Message message;
                 SocketChannel socket;
 
-                int parentId = group.getCommunicationTree().getParentNode();
+                int parentId = group.getCommunicationTree(InternalCommonGroup.Collective.SPLIT_GROUP).getParentNode();
                 if (parentId >= 0) {
                     message = new SplitGroupWaitingMessage(group.getGroupId(), round);
                     socket = nodeData.getSocketChannelByPhysicalId(parentId);
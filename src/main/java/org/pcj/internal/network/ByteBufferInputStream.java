@@ -122,6 +122,46 @@ public class ByteBufferInputStream extends InputStream {
 
     }
 
+    public int read(ByteBuffer dst) throws IOException {
+        if (closed) {
+            throw new IOException("Stream Closed");
+        }
+
+        if (!dst.hasRemaining()) {
+            return 0;
+        }
+
+        int bytesRead = 0;
+        while (true) {
+            while (remainingLength == 0) {
+                if (receivingLastChunk) {
+                    if (bytesRead == 0) {
+                        return -1;
+                    } else {
+                        return bytesRead;
+                    }
+                }
+
+                readChunkLength();
+            }
+
+            ByteBuffer byteBuffer = getCurrentByteBuffer();
+
+            int len = Math.min(Math.min(byteBuffer.remaining(), dst.remaining()), remainingLength);
+            int limit = byteBuffer.limit();
+            byteBuffer.limit(byteBuffer.position() + len);
+            dst.put(byteBuffer);
+            byteBuffer.limit(limit);
+
+            bytesRead += len;
+            remainingLength -= len;
+
+            if (!dst.hasRemaining()) {
+                return bytesRead;
+            }
+        }
+    }
+
     @Override
     public void close() {
         if (closed) {
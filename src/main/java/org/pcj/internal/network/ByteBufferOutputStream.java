@@ -67,6 +67,24 @@ public class ByteBufferOutputStream extends OutputStream {
         currentByteBuffer.put(b, off, len);
     }
 
+    public void write(ByteBuffer src) {
+        ByteBuffer currentByteBuffer = getCurrentByteBuffer();
+
+        int remaining = currentByteBuffer.remaining();
+        while (remaining < src.remaining()) {
+            int limit = src.limit();
+            src.limit(src.position() + remaining);
+            currentByteBuffer.put(src);
+            src.limit(limit);
+
+            offerCurrentByteBuffer(false);
+            currentByteBuffer = getNextByteBuffer();
+
+            remaining = currentByteBuffer.remaining();
+        }
+        currentByteBuffer.put(src);
+    }
+
     @Override
     public void close() {
         offerCurrentByteBuffer(true);
@@ -8,8 +8,12 @@
  */
 package org.pcj.internal.network;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.ObjectOutputStream;
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
@@ -64,6 +68,27 @@ public class InputStreamCloner {
         return inputStreamCloner;
     }
 
+    /**
+     * Creates cloner of bytes from consecutive byte arrays. Arrays are not
+     * copied.
+     */
+    public static InputStreamCloner of(Collection<byte[]> byteArrays) {
+        InputStreamCloner inputStreamCloner = new InputStreamCloner();
+        byteArrays.forEach(inputStreamCloner::addByteArray);
+        return inputStreamCloner;
+    }
+
+    /**
+     * Serializes object, so the same bytes can be sent many times.
+     */
+    public static InputStreamCloner serialize(Object object) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeUnshared(object);
+        }
+        return clone(new ByteArrayInputStream(bytes.toByteArray()));
+    }
+
     public static InputStreamCloner readFrom(MessageDataInputStream in) throws IOException {
         InputStreamCloner inputStreamCloner = new InputStreamCloner();
         long length = in.readLong();
@@ -12,6 +12,7 @@ import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.ObjectInputStream;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 
 /**
@@ -82,6 +83,26 @@ public class MessageDataInputStream extends InputStream {
         }
     }
 
+    public void readFully(ByteBuffer buffer) throws IOException {
+        if (input instanceof ByteBufferInputStream) {
+            ByteBufferInputStream byteBufferInputStream = (ByteBufferInputStream) input;
+            while (buffer.hasRemaining()) {
+                if (byteBufferInputStream.read(buffer) < 0) {
+                    throw new EOFException("Unexpectedly reached end of stream.");
+                }
+            }
+        } else {
+            byte[] temp = new byte[Math.min(buffer.remaining(), 8192)];
+            while (buffer.hasRemaining()) {
+                int bytesRead = input.read(temp, 0, Math.min(buffer.remaining(), temp.length));
+                if (bytesRead < 0) {
+                    throw new EOFException("Unexpectedly reached end of stream.");
+                }
+                buffer.put(temp, 0, bytesRead);
+            }
+        }
+    }
+
     public boolean readBoolean() throws IOException {
         int b = input.read();
         if (b == -1) {
@@ -11,6 +11,7 @@ package org.pcj.internal.network;
 import java.io.IOException;
 import java.io.ObjectOutputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 
 /**
@@ -88,6 +89,22 @@ public class MessageDataOutputStream extends OutputStream {
         }
     }
 
+    public void writeByteBuffer(ByteBuffer buffer) throws IOException {
+        if (output instanceof ByteBufferOutputStream) {
+            ((ByteBufferOutputStream) output).write(buffer);
+        } else if (buffer.hasArray()) {
+            output.write(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+            buffer.position(buffer.limit());
+        } else {
+            byte[] temp = new byte[Math.min(buffer.remaining(), 8192)];
+            while (buffer.hasRemaining()) {
+                int len = Math.min(buffer.remaining(), temp.length);
+                buffer.get(temp, 0, len);
+                output.write(temp, 0, len);
+            }
+        }
+    }
+
     public void writeDouble(double value) throws IOException {
         writeLong(Double.doubleToRawLongBits(value));
     }
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2011-2026, PCJ Library, Marek Nowicki
+ * All rights reserved.
+ *
+ * Licensed under New BSD License (3-clause license).
+ *
+ * See the file "LICENSE" for the full license governing this code.
+ */
+package org.pcj.test;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.pcj.DoubleReduceOperation;
+import org.pcj.IntReduceOperation;
+import org.pcj.PCJ;
+import org.pcj.PcjRuntimeException;
+import org.pcj.RegisterStorage;
+import org.pcj.StartPoint;
+import org.pcj.Storage;
+
+/**
+ * All-gather and reduce-scatter.
+ * <p>
+ * Number of nodes is taken from the first argument (default: 6), and the
+ * last node runs two threads. Power of two number of nodes uses recursive
+ * doubling and halving, other numbers use ring algorithm.
+ *
+ * @author Marek Nowicki (faramir@mat.umk.pl)
+ */
+@RegisterStorage(AllGatherReduceScatterTest.Shared.class)
+public class AllGatherReduceScatterTest implements StartPoint {
+
+    @Storage(AllGatherReduceScatterTest.class)
+    enum Shared {
+        name,
+        values,
+        mismatched
+    }
+
+    private String name;
+    private double[] values;
+    private double[] mismatched;
+
+    public static void main(String[] args) throws InterruptedException {
+        Level level = Level.INFO;
+//        Level level = Level.FINEST;
+        Logger logger = Logger.getLogger("");
+        Arrays.stream(logger.getHandlers()).forEach(handler -> handler.setLevel(level));
+        logger.setLevel(level);
+
+        int nodeCount = args.length > 0 ? Integer.parseInt(args[0]) : 6;
+        String[] nodes = new String[nodeCount + 1];
+        for (int i = 0; i < nodeCount; ++i) {
+            nodes[i] = "localhost:" + (8091 + i);
+        }
+        nodes[nodeCount] = nodes[nodeCount - 1];
+
+        PCJ.executionBuilder(AllGatherReduceScatterTest.class)
+                .addNodes(nodes)
+                .deploy();
+    }
+
+    @Override
+    public void main() throws Throwable {
+        name = "thread-" + PCJ.myId();
+        values = new double[1_000_003];
+        Arrays.setAll(values, i -> i * (PCJ.myId() + 1));
+        mismatched = new double[PCJ.myId() == 0 ? 11 : 10];
+
+        Map<Integer, String> names = PCJ.allGather(Shared.name);
+
+        long start = System.nanoTime();
+        double[] block = PCJ.reduceScatter(DoubleReduceOperation.SUM.elementwise(), Shared.values);
+        long time = System.nanoTime() - start;
+
+        int n = PCJ.threadCount();
+        int offset = (int) ((long) PCJ.myId() * values.length / n);
+        int expectedLength = (int) ((long) (PCJ.myId() + 1) * values.length / n) - offset;
+        boolean valid = block.length == expectedLength;
+        for (int i = 0; valid && i < block.length; ++i) {
+            valid = block[i] == (double) (offset + i) * n * (n + 1) / 2;
+        }
+
+        String failure;
+        try {
+            PCJ.reduceScatter(IntReduceOperation.SUM, Shared.values);
+            failure = "none";
+        } catch (IllegalArgumentException ex) {
+            failure = ex.getClass().getSimpleName();
+        }
+
+        /* all threads fail when nodes have arrays of different lengths */
+        String mismatch;
+        try {
+            PCJ.reduceScatter(DoubleReduceOperation.SUM.elementwise(), Shared.mismatched);
+            mismatch = "none";
+        } catch (PcjRuntimeException ex) {
+            mismatch = ex.getCause().getClass().getSimpleName();
+        }
+
+        PCJ.barrier();
+        System.out.printf("%d> names: %s, block: %d elements, valid: %b (%.3f ms), failure: %s, mismatch: %s%n",
+                PCJ.myId(), names, block.length, valid, time / 1e6, failure, mismatch);
+    }
+}
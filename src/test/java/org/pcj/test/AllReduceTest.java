@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2011-2026, PCJ Library, Marek Nowicki
+ * All rights reserved.
+ *
+ * Licensed under New BSD License (3-clause license).
+ *
+ * See the file "LICENSE" for the full license governing this code.
+ */
+package org.pcj.test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.pcj.DoubleReduceOperation;
+import org.pcj.IntReduceOperation;
+import org.pcj.LongReduceOperation;
+import org.pcj.PCJ;
+import org.pcj.PcjRuntimeException;
+import org.pcj.RegisterStorage;
+import org.pcj.StartPoint;
+import org.pcj.Storage;
+
+/**
+ * All-reduce of scalar values and of primitive arrays, reduced by recursive
+ * doubling and by ring algorithm.
+ *
+ * @author Marek Nowicki (faramir@mat.umk.pl)
+ */
+@RegisterStorage(AllReduceTest.Shared.class)
+public class AllReduceTest implements StartPoint {
+
+    @Storage(AllReduceTest.class)
+    enum Shared {
+        value,
+        small,
+        large,
+        mismatched,
+        list
+    }
+
+    private int value;
+    private long[] small;
+    private double[] large;
+    private double[] mismatched;
+    private ArrayList<Integer> list;
+
+    public static void main(String[] args) throws InterruptedException {
+        Level level = Level.INFO;
+//        Level level = Level.FINEST;
+        Logger logger = Logger.getLogger("");
+        Arrays.stream(logger.getHandlers()).forEach(handler -> handler.setLevel(level));
+        logger.setLevel(level);
+
+        String[] nodes = {
+                "localhost:8091",
+                "localhost:8092",
+                "localhost:8093",
+                "localhost:8093",
+                "localhost:8094",
+                "localhost:8095",
+                "localhost:8096",};
+
+        PCJ.executionBuilder(AllReduceTest.class)
+                .addNodes(nodes)
+                .deploy();
+    }
+
+    @Override
+    public void main() throws Throwable {
+        value = PCJ.myId() + 1;
+        small = new long[]{PCJ.myId(), 1L << PCJ.myId()};
+        large = new double[1_000_000];
+        Arrays.setAll(large, i -> i * (PCJ.myId() + 1));
+        mismatched = new double[PCJ.myId() == 0 ? 1 : large.length];
+        list = new ArrayList<>();
+        list.add(PCJ.myId());
+
+        int sum = PCJ.allReduce(IntReduceOperation.SUM, Shared.value);
+        int max = PCJ.allReduce((a, b) -> Math.max(a, b), Shared.value);
+        long[] smallSum = PCJ.allReduce(LongReduceOperation.SUM.elementwise(), Shared.small);
+        long[] smallOr = PCJ.allReduce(LongReduceOperation.OR.elementwise(), Shared.small);
+
+        long start = System.nanoTime();
+        double[] largeSum = PCJ.allReduce(DoubleReduceOperation.SUM.elementwise(), Shared.large);
+        long time = System.nanoTime() - start;
+
+        int n = PCJ.threadCount();
+        boolean valid = true;
+        for (int i = 0; i < largeSum.length; ++i) {
+            if (largeSum[i] != (double) i * n * (n + 1) / 2) {
+                valid = false;
+                break;
+            }
+        }
+
+        String failure;
+        try {
+            PCJ.allReduce(IntReduceOperation.SUM, Shared.value, 0);
+            failure = "none";
+        } catch (PcjRuntimeException ex) {
+            failure = ex.getCause().getClass().getSimpleName();
+        }
+
+        /* local threads must not share result that cannot be cloned */
+        ArrayList<Integer> joined = PCJ.allReduce((a, b) -> {
+            ArrayList<Integer> result = new ArrayList<>(a);
+            result.addAll(b);
+            return result;
+        }, Shared.list);
+        PCJ.barrier();
+        joined.add(-1);
+        PCJ.barrier();
+        boolean listValid = joined.size() == n + 1;
+
+        /* nodes must not choose algorithm by their own array length */
+        String mismatch;
+        try {
+            PCJ.allReduce(DoubleReduceOperation.SUM.elementwise(), Shared.mismatched);
+            mismatch = "none";
+        } catch (PcjRuntimeException ex) {
+            mismatch = ex.getCause().getClass().getSimpleName();
+        }
+
+        PCJ.barrier();
+        System.out.printf("%d> sum: %d, max: %d, small sum: %s, small or: %s, large valid: %b (%.3f ms), failure: %s, mismatch: %s, list valid: %b%n",
+                PCJ.myId(), sum, max, Arrays.toString(smallSum), Arrays.toString(smallOr), valid, time / 1e6, failure, mismatch, listValid);
+    }
+}
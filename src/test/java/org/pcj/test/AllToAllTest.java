@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2011-2026, PCJ Library, Marek Nowicki
+ * All rights reserved.
+ *
+ * Licensed under New BSD License (3-clause license).
+ *
+ * See the file "LICENSE" for the full license governing this code.
+ */
+package org.pcj.test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.pcj.PCJ;
+import org.pcj.StartPoint;
+
+/**
+ * All-to-all exchange of arrays of different sizes.
+ * <p>
+ * Number of nodes is taken from the first argument (default: 6), and the
+ * last node runs two threads. Power of two number of nodes uses pairwise
+ * exchange, other numbers use shifted exchange.
+ *
+ * @author Marek Nowicki (faramir@mat.umk.pl)
+ */
+public class AllToAllTest implements StartPoint {
+
+    public static void main(String[] args) throws InterruptedException {
+        Level level = Level.INFO;
+//        Level level = Level.FINEST;
+        Logger logger = Logger.getLogger("");
+        Arrays.stream(logger.getHandlers()).forEach(handler -> handler.setLevel(level));
+        logger.setLevel(level);
+
+        int nodeCount = args.length > 0 ? Integer.parseInt(args[0]) : 6;
+        String[] nodes = new String[nodeCount + 1];
+        for (int i = 0; i < nodeCount; ++i) {
+            nodes[i] = "localhost:" + (8091 + i);
+        }
+        nodes[nodeCount] = nodes[nodeCount - 1];
+
+        PCJ.executionBuilder(AllToAllTest.class)
+                .addNodes(nodes)
+                .deploy();
+    }
+
+    @Override
+    public void main() throws Throwable {
+        int myId = PCJ.myId();
+        Map<Integer, int[]> values = new HashMap<>();
+        for (int i = 0; i < PCJ.threadCount(); ++i) {
+            if (i != myId + 1) {
+                int[] array = new int[10_000 * (myId + 1) + i];
+                Arrays.fill(array, myId * 1000 + i);
+                values.put(i, array);
+            }
+        }
+
+        long start = System.nanoTime();
+        Map<Integer, int[]> received = PCJ.allToAll(values);
+        long time = System.nanoTime() - start;
+
+        boolean valid = !received.containsKey(myId - 1);
+        for (Map.Entry<Integer, int[]> entry : received.entrySet()) {
+            int source = entry.getKey();
+            int[] array = entry.getValue();
+            valid &= array.length == 10_000 * (source + 1) + myId
+                             && Arrays.stream(array).allMatch(v -> v == source * 1000 + myId);
+        }
+        received.get(myId)[0] = -1;
+        valid &= values.get(myId)[0] == myId * 1000 + myId;
+
+        PCJ.barrier();
+        System.out.printf("%d> received from: %s, valid: %b (%.3f ms)%n",
+                myId, received.keySet(), valid, time / 1e6);
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2011-2026, PCJ Library, Marek Nowicki
+ * All rights reserved.
+ *
+ * Licensed under New BSD License (3-clause license).
+ *
+ * See the file "LICENSE" for the full license governing this code.
+ */
+package org.pcj.test;
+
+import java.util.Arrays;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.pcj.PCJ;
+import org.pcj.RegisterStorage;
+import org.pcj.StartPoint;
+import org.pcj.Storage;
+
+/**
+ * Dynamic load balancing using global counter and remote atomic operations.
+ *
+ * @author Marek Nowicki (faramir@mat.umk.pl)
+ */
+@RegisterStorage(AtomicTest.Shared.class)
+public class AtomicTest implements StartPoint {
+
+    @Storage(AtomicTest.class)
+    enum Shared {
+        counter,
+        done,
+        owner
+    }
+
+    private static final long TASKS = 1000;
+    private long counter = 0;
+    private long[] done = new long[1];
+    private int owner = -1;
+
+    public static void main(String[] args) throws InterruptedException {
+        Level level = Level.INFO;
+//        Level level = Level.FINEST;
+        Logger logger = Logger.getLogger("");
+        Arrays.stream(logger.getHandlers()).forEach(handler -> handler.setLevel(level));
+        logger.setLevel(level);
+
+        String[] nodes = {
+                "localhost",
+                "localhost",
+                "localhost:8092",
+                "localhost:8092",};
+
+        PCJ.executionBuilder(AtomicTest.class)
+                .addNodes(nodes)
+                .deploy();
+    }
+
+    @Override
+    public void main() throws Throwable {
+        long processed = 0;
+        long task;
+        while ((task = PCJ.fetchAndAdd(1L, 0, Shared.counter)) < TASKS) {
+            processed++;
+        }
+        PCJ.fetchAndAdd(processed, 0, Shared.done, 0);
+
+        int previousOwner = PCJ.compareAndSet(-1, PCJ.myId(), 0, Shared.owner);
+        if (previousOwner == -1) {
+            System.out.println(PCJ.myId() + "> became owner");
+        }
+        PCJ.barrier();
+
+        System.out.println(PCJ.myId() + "> processed " + processed + " tasks");
+        if (PCJ.myId() == 0) {
+            System.out.println("done = " + done[0] + " (expected " + TASKS + ")"
+                                       + ", owner = " + PCJ.getAndSet(-1, 0, Shared.owner));
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2011-2026, PCJ Library, Marek Nowicki
+ * All rights reserved.
+ *
+ * Licensed under New BSD License (3-clause license).
+ *
+ * See the file "LICENSE" for the full license governing this code.
+ */
+package org.pcj.test;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.pcj.PCJ;
+import org.pcj.RegisterStorage;
+import org.pcj.StartPoint;
+import org.pcj.Storage;
+
+/**
+ * Checkpoint and restore of shareable variables.
+ * <p>
+ * Variables can be also restored on start by running with
+ * {@code -Dpcj.checkpoint.restore=<directory>}.
+ *
+ * @author Marek Nowicki (faramir@mat.umk.pl)
+ */
+@RegisterStorage(CheckpointTest.Shared.class)
+public class CheckpointTest implements StartPoint {
+
+    @Storage(CheckpointTest.class)
+    enum Shared {
+        iteration,
+        values,
+        name
+    }
+
+    private int iteration;
+    private double[] values;
+    private String name;
+
+    public static void main(String[] args) throws InterruptedException {
+        Level level = Level.INFO;
+//        Level level = Level.FINEST;
+        Logger logger = Logger.getLogger("");
+        Arrays.stream(logger.getHandlers()).forEach(handler -> handler.setLevel(level));
+        logger.setLevel(level);
+
+        String[] nodes = {
+                "localhost",
+                "localhost",
+                "localhost:8092",
+                "localhost:8092",};
+
+        PCJ.executionBuilder(CheckpointTest.class)
+                .addNodes(nodes)
+                .deploy();
+    }
+
+    @Override
+    public void main() throws Throwable {
+        Path directory = Paths.get(System.getProperty("java.io.tmpdir"), "pcj-checkpoint-test");
+
+        iteration = 10;
+        values = new double[1_000_000];
+        Arrays.setAll(values, i -> PCJ.myId() + i);
+        name = "thread-" + PCJ.myId();
+
+        int written = PCJ.checkpoint(directory);
+        int unchanged = PCJ.checkpoint(directory, true);
+
+        PCJ.put(iteration + 1, PCJ.myId(), Shared.iteration);
+        int incremental = PCJ.checkpoint(directory, true);
+
+        iteration = -1;
+        values = null;
+        name = null;
+
+        int restored = PCJ.restore(directory);
+
+        System.out.println(PCJ.myId() + "> written: " + written + ", unchanged: " + unchanged
+                                   + ", incremental: " + incremental + ", restored: " + restored
+                                   + ", iteration: " + iteration + ", name: " + name
+                                   + ", last value: " + values[values.length - 1]);
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2011-2026, PCJ Library, Marek Nowicki
+ * All rights reserved.
+ *
+ * Licensed under New BSD License (3-clause license).
+ *
+ * See the file "LICENSE" for the full license governing this code.
+ */
+package org.pcj.test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import org.pcj.IntReduceOperation;
+import org.pcj.PCJ;
+import org.pcj.RegisterStorage;
+import org.pcj.StartPoint;
+import org.pcj.Storage;
+
+/**
+ * Collective operations over differently shaped communication trees.
+ * <p>
+ * Shape is taken from the first argument, e.g. {@code binary},
+ * {@code kary:3}, {@code binomial} or {@code flat}.
+ *
+ * @author Marek Nowicki (faramir@mat.umk.pl)
+ */
+@RegisterStorage(CommunicationTreeTest.Shared.class)
+public class CommunicationTreeTest implements StartPoint {
+
+    @Storage(CommunicationTreeTest.class)
+    enum Shared {
+        value,
+        broadcasted
+    }
+
+    private int value;
+    private int broadcasted;
+
+    public static void main(String[] args) throws InterruptedException {
+        Level level = Level.INFO;
+//        Level level = Level.FINEST;
+        Logger logger = Logger.getLogger("");
+        Arrays.stream(logger.getHandlers()).forEach(handler -> handler.setLevel(level));
+        logger.setLevel(level);
+
+        String[] nodes = {
+                "localhost:8091",
+                "localhost:8092",
+                "localhost:8093",
+                "localhost:8093",
+                "localhost:8094",
+                "localhost:8095",
+                "localhost:8096",};
+
+        PCJ.executionBuilder(CommunicationTreeTest.class)
+                .addNodes(nodes)
+                .addProperty("pcj.tree", args.length > 0 ? args[0] : "binary")
+                .deploy();
+    }
+
+    @Override
+    public void main() throws Throwable {
+        value = PCJ.myId() + 1;
+        for (int i = 0; i < 100; ++i) {
+            PCJ.barrier();
+        }
+
+        int root = PCJ.threadCount() - 1;
+        if (PCJ.myId() == root) {
+            PCJ.broadcast(42, Shared.broadcasted);
+
+            Map<Integer, Integer> scattered = new HashMap<>();
+            for (int i = 0; i < PCJ.threadCount(); ++i) {
+                scattered.put(i, 10 * i);
+            }
+            PCJ.scatter(scattered, Shared.value);
+        }
+        PCJ.barrier();
+
+        if (PCJ.myId() == root) {
+            Map<Integer, Integer> gathered = PCJ.gather(Shared.value);
+            int sum = PCJ.reduce(IntReduceOperation.SUM, Shared.value);
+            int count = PCJ.collect(() -> Collectors.summingInt((Integer v) -> 1), Shared.value);
+            System.out.println(root + "> gathered: " + gathered + ", sum: " + sum + ", count: " + count);
+        }
+        PCJ.barrier();
+        System.out.println(PCJ.myId() + "> broadcasted: " + broadcasted);
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2011-2026, PCJ Library, Marek Nowicki
+ * All rights reserved.
+ *
+ * Licensed under New BSD License (3-clause license).
+ *
+ * See the file "LICENSE" for the full license governing this code.
+ */
+package org.pcj.test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.pcj.DoubleReduceOperation;
+import org.pcj.PCJ;
+import org.pcj.PcjFuture;
+import org.pcj.RegisterStorage;
+import org.pcj.StartPoint;
+import org.pcj.Storage;
+
+/**
+ * Concurrent accumulates of the whole array and of its elements, and puts of
+ * elements concurrent with accumulates of the whole array. No update can be
+ * lost. Array passed to accumulate is reused as soon as the call
+ * returns, also when accumulates are combined
+ * ({@code -Dpcj.accumulate.combine.size=16}).
+ *
+ * @author Marek Nowicki (faramir@mat.umk.pl)
+ */
+@RegisterStorage(ConcurrentAccumulateTest.Shared.class)
+public class ConcurrentAccumulateTest implements StartPoint {
+
+    @Storage(ConcurrentAccumulateTest.class)
+    enum Shared {
+        values,
+        marks
+    }
+
+    private static final int LENGTH = 16;
+    private static final int ITERATIONS = 10_000;
+    private double[] values = new double[LENGTH];
+    private double[] marks = new double[ITERATIONS];
+
+    public static void main(String[] args) throws InterruptedException {
+        Level level = Level.INFO;
+//        Level level = Level.FINEST;
+        Logger logger = Logger.getLogger("");
+        Arrays.stream(logger.getHandlers()).forEach(handler -> handler.setLevel(level));
+        logger.setLevel(level);
+
+        String[] nodes = {
+                "localhost",
+                "localhost",
+                "localhost:8092",
+                "localhost:8092",};
+
+        PCJ.executionBuilder(ConcurrentAccumulateTest.class)
+                .addNodes(nodes)
+                .deploy();
+    }
+
+    @Override
+    public void main() throws Throwable {
+        double[] ones = new double[LENGTH];
+
+        List<PcjFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < ITERATIONS; ++i) {
+            if (i % 2 == 0) {
+                Arrays.fill(ones, 1.0);
+                futures.add(PCJ.asyncAccumulate(DoubleReduceOperation.SUM.elementwise(), ones, 0, Shared.values));
+                Arrays.fill(ones, -1.0);
+            } else {
+                futures.add(PCJ.asyncAccumulate(DoubleReduceOperation.SUM, 1.0, 0, Shared.values, i % LENGTH));
+            }
+        }
+        futures.forEach(PcjFuture::get);
+        PCJ.barrier();
+
+        /* accumulate of the whole array replaces it, so it must not miss puts of elements */
+        futures.clear();
+        double[] zeros = new double[ITERATIONS];
+        if (PCJ.myId() == 0) {
+            for (int i = 0; i < ITERATIONS; ++i) {
+                PCJ.localPut(1.0, Shared.marks, i);
+            }
+        } else {
+            for (int i = 0; i < ITERATIONS / 10; ++i) {
+                futures.add(PCJ.asyncAccumulate(DoubleReduceOperation.SUM.elementwise(), zeros, 0, Shared.marks));
+            }
+        }
+        futures.forEach(PcjFuture::get);
+        PCJ.barrier();
+
+        if (PCJ.myId() == 0) {
+            double total = Arrays.stream(values).sum();
+            double expected = PCJ.threadCount() * (ITERATIONS / 2) * (LENGTH + 1.0);
+            double marked = Arrays.stream(marks).sum();
+            System.out.println(PCJ.myId() + "> total: " + total + ", expected: " + expected + ", valid: " + (total == expected)
+                                       + ", marked: " + marked + ", marks valid: " + (marked == ITERATIONS));
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2011-2026, PCJ Library, Marek Nowicki
+ * All rights reserved.
+ *
+ * Licensed under New BSD License (3-clause license).
+ *
+ * See the file "LICENSE" for the full license governing this code.
+ */
+package org.pcj.test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.pcj.DoubleReduceOperation;
+import org.pcj.IndexRange;
+import org.pcj.PCJ;
+import org.pcj.RegisterStorage;
+import org.pcj.StartPoint;
+import org.pcj.Storage;
+
+/**
+ * Processing only the updated slices of large array.
+ *
+ * @author Marek Nowicki (faramir@mat.umk.pl)
+ */
+@RegisterStorage(DirtyTrackingTest.Shared.class)
+public class DirtyTrackingTest implements StartPoint {
+
+    @Storage(DirtyTrackingTest.class)
+    enum Shared {
+        grid
+    }
+
+    private static final int BLOCK = 16;
+    private double[] grid = new double[1000];
+
+    public static void main(String[] args) throws InterruptedException {
+        Level level = Level.INFO;
+//        Level level = Level.FINEST;
+        Logger logger = Logger.getLogger("");
+        Arrays.stream(logger.getHandlers()).forEach(handler -> handler.setLevel(level));
+        logger.setLevel(level);
+
+        String[] nodes = {
+                "localhost",
+                "localhost",
+                "localhost:8092",
+                "localhost:8092",};
+
+        PCJ.executionBuilder(DirtyTrackingTest.class)
+                .addNodes(nodes)
+                .deploy();
+    }
+
+    @Override
+    public void main() throws Throwable {
+        int writers = PCJ.threadCount() - 1;
+        if (PCJ.myId() == 0) {
+            PCJ.enableDirtyTracking(Shared.grid, BLOCK);
+        }
+        PCJ.barrier();
+
+        if (PCJ.myId() != 0) {
+            int from = PCJ.myId() * 200;
+            for (int i = from; i < from + 20; ++i) {
+                PCJ.put((double) i, 0, Shared.grid, i);
+            }
+            PCJ.accumulate(DoubleReduceOperation.SUM, 1.0, 0, Shared.grid, 999);
+        } else {
+            PCJ.waitFor(Shared.grid, writers * 21);
+
+            List<IndexRange> ranges = PCJ.pollDirtyRanges(Shared.grid);
+            long processed = ranges.stream().mapToLong(IndexRange::length).sum();
+            System.out.println("0> dirty: " + ranges + ", processed " + processed + " of " + grid.length);
+            System.out.println("0> after poll: " + PCJ.pollDirtyRanges(Shared.grid));
+
+            PCJ.localPut(new double[100], Shared.grid);
+            System.out.println("0> after whole put: " + PCJ.pollDirtyRanges(Shared.grid));
+        }
+    }
+}
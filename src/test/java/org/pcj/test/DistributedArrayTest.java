@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2011-2026, PCJ Library, Marek Nowicki
+ * All rights reserved.
+ *
+ * Licensed under New BSD License (3-clause license).
+ *
+ * See the file "LICENSE" for the full license governing this code.
+ */
+package org.pcj.test;
+
+import java.util.Arrays;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.IntStream;
+import org.pcj.DistributedArray;
+import org.pcj.DistributedDoubleArray;
+import org.pcj.Distribution;
+import org.pcj.OffHeapDoubleArray;
+import org.pcj.PCJ;
+import org.pcj.RegisterStorage;
+import org.pcj.StartPoint;
+import org.pcj.Storage;
+
+/**
+ * Global-view distributed arrays with different distributions.
+ *
+ * @author Marek Nowicki (faramir@mat.umk.pl)
+ */
+@RegisterStorage(DistributedArrayTest.Shared.class)
+public class DistributedArrayTest implements StartPoint {
+
+    @Storage(DistributedArrayTest.class)
+    enum Shared {
+        values,
+        names
+    }
+
+    private static final int N = 1000;
+    private OffHeapDoubleArray values;
+    private String[] names;
+
+    public static void main(String[] args) throws InterruptedException {
+        Level level = Level.INFO;
+//        Level level = Level.FINEST;
+        Logger logger = Logger.getLogger("");
+        Arrays.stream(logger.getHandlers()).forEach(handler -> handler.setLevel(level));
+        logger.setLevel(level);
+
+        String[] nodes = {
+                "localhost",
+                "localhost",
+                "localhost:8092",
+                "localhost:8092",};
+
+        PCJ.executionBuilder(DistributedArrayTest.class)
+                .addNodes(nodes)
+                .deploy();
+    }
+
+    @Override
+    public void main() throws Throwable {
+        Distribution[] distributions = {
+                Distribution.block(N, PCJ.threadCount()),
+                Distribution.cyclic(N, PCJ.threadCount()),
+                Distribution.blockCyclic(N, PCJ.threadCount(), 7)
+        };
+
+        for (Distribution distribution : distributions) {
+            DistributedDoubleArray array = DistributedDoubleArray.create(Shared.values, distribution);
+            array.forEachLocal(i -> array.set(i, i));
+            PCJ.barrier();
+
+            double[] all = new double[N];
+            array.get(0, all, 0, N);
+            long errors = IntStream.range(0, N).filter(i -> all[i] != i).count();
+            PCJ.barrier();
+
+            int from = 100 * PCJ.myId() + 3;
+            double[] negative = new double[50];
+            Arrays.fill(negative, -1);
+            array.set(from, negative, 0, negative.length);
+            PCJ.barrier();
+
+            array.get(0, all, 0, N);
+            long changed = Arrays.stream(all).filter(v -> v < 0).count();
+            System.out.println(PCJ.myId() + "> " + distribution
+                                       + " local=" + array.getLocalPartition().length()
+                                       + " errors=" + errors + " changed=" + changed
+                                       + " owner(" + (N - 1) + ")=" + array.owner(N - 1));
+            PCJ.barrier();
+        }
+
+        DistributedArray<String> array = DistributedArray.create(Shared.names, distributions[1], String[]::new);
+        array.forEachLocal(i -> array.set(i, "e" + i));
+        PCJ.barrier();
+
+        if (PCJ.myId() == 0) {
+            String[] replacement = new String[3];
+            Arrays.fill(replacement, "x");
+            array.set(N - 5, replacement, 0, replacement.length);
+        }
+        PCJ.barrier();
+
+        String[] range = new String[6];
+        array.get(N - 6, range, 0, range.length);
+        System.out.println(PCJ.myId() + "> " + Arrays.toString(range) + " " + array.get(PCJ.myId() + 1));
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2011-2026, PCJ Library, Marek Nowicki
+ * All rights reserved.
+ *
+ * Licensed under New BSD License (3-clause license).
+ *
+ * See the file "LICENSE" for the full license governing this code.
+ */
+package org.pcj.test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import org.pcj.DistributedMap;
+import org.pcj.LongReduceOperation;
+import org.pcj.PCJ;
+import org.pcj.RegisterStorage;
+import org.pcj.StartPoint;
+import org.pcj.Storage;
+
+/**
+ * Counting words using distributed map.
+ *
+ * @author Marek Nowicki (faramir@mat.umk.pl)
+ */
+@RegisterStorage(DistributedMapTest.Shared.class)
+public class DistributedMapTest implements StartPoint {
+
+    @Storage(DistributedMapTest.class)
+    enum Shared {
+        counts,
+        squares
+    }
+
+    private static final int WORDS = 100;
+    private ConcurrentMap<String, Long> counts;
+    private ConcurrentMap<Long, Long> squares;
+
+    public static void main(String[] args) throws InterruptedException {
+        Level level = Level.INFO;
+//        Level level = Level.FINEST;
+        Logger logger = Logger.getLogger("");
+        Arrays.stream(logger.getHandlers()).forEach(handler -> handler.setLevel(level));
+        logger.setLevel(level);
+
+        String[] nodes = {
+                "localhost",
+                "localhost",
+                "localhost:8092",
+                "localhost:8092",};
+
+        PCJ.executionBuilder(DistributedMapTest.class)
+                .addNodes(nodes)
+                .deploy();
+    }
+
+    @Override
+    public void main() throws Throwable {
+        DistributedMap<String, Long> words = DistributedMap.create(Shared.counts);
+
+        Map<String, Long> localCounts = new HashMap<>();
+        for (int i = 0; i < 1000; ++i) {
+            localCounts.merge("w" + ((i * 7 + PCJ.myId()) % WORDS), 1L, Long::sum);
+        }
+        words.mergeAll(localCounts, LongReduceOperation.SUM);
+        PCJ.barrier();
+
+        List<String> keys = LongStream.range(0, WORDS + 1).mapToObj(i -> "w" + i).collect(Collectors.toList());
+        Map<String, Long> all = words.getAll(keys);
+        long total = all.values().stream().mapToLong(Long::longValue).sum();
+        System.out.println(PCJ.myId() + "> words: " + all.size() + ", total: " + total
+                                   + ", local partition: " + words.getLocalPartition().size());
+
+        DistributedMap<Long, Long> map = DistributedMap.create(Shared.squares);
+        long key = PCJ.myId() * 1000L + 7;
+        map.put(key, key * key);
+        PCJ.barrier();
+
+        long neighbourKey = ((PCJ.myId() + 1) % PCJ.threadCount()) * 1000L + 7;
+        System.out.println(PCJ.myId() + "> " + neighbourKey + "^2 = " + map.get(neighbourKey)
+                                   + " (owner " + map.owner(neighbourKey) + ")");
+    }
+}
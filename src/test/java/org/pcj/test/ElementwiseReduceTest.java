@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2011-2026, PCJ Library, Marek Nowicki
+ * All rights reserved.
+ *
+ * Licensed under New BSD License (3-clause license).
+ *
+ * See the file "LICENSE" for the full license governing this code.
+ */
+package org.pcj.test;
+
+import java.util.Arrays;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.pcj.DoubleReduceOperation;
+import org.pcj.IntReduceOperation;
+import org.pcj.PCJ;
+import org.pcj.PcjRuntimeException;
+import org.pcj.RegisterStorage;
+import org.pcj.StartPoint;
+import org.pcj.Storage;
+
+/**
+ * Element-wise reduction of primitive arrays, sent in segments up the
+ * communication tree.
+ * <p>
+ * Segment size is taken from the first argument (in bytes, {@code 0}
+ * disables segmentation).
+ *
+ * @author Marek Nowicki (faramir@mat.umk.pl)
+ */
+@RegisterStorage(ElementwiseReduceTest.Shared.class)
+public class ElementwiseReduceTest implements StartPoint {
+
+    @Storage(ElementwiseReduceTest.class)
+    enum Shared {
+        gradient,
+        counts
+    }
+
+    private double[] gradient;
+    private int[] counts;
+
+    public static void main(String[] args) throws InterruptedException {
+        Level level = Level.INFO;
+//        Level level = Level.FINEST;
+        Logger logger = Logger.getLogger("");
+        Arrays.stream(logger.getHandlers()).forEach(handler -> handler.setLevel(level));
+        logger.setLevel(level);
+
+        String[] nodes = {
+                "localhost:8091",
+                "localhost:8092",
+                "localhost:8093",
+                "localhost:8093",
+                "localhost:8094",
+                "localhost:8095",};
+
+        PCJ.executionBuilder(ElementwiseReduceTest.class)
+                .addNodes(nodes)
+                .addProperty("pcj.reduce.segment.size", args.length > 0 ? args[0] : String.valueOf(256 * 1024))
+                .deploy();
+    }
+
+    @Override
+    public void main() throws Throwable {
+        int n = PCJ.threadCount();
+        gradient = new double[5_000_000];
+        Arrays.setAll(gradient, i -> i % 1000 * (PCJ.myId() + 1));
+        counts = new int[]{1, PCJ.myId()};
+        PCJ.barrier();
+
+        if (PCJ.myId() == n - 1) {
+            long start = System.nanoTime();
+            double[] sum = PCJ.reduce(DoubleReduceOperation.SUM.elementwise(), Shared.gradient);
+            long time = System.nanoTime() - start;
+
+            boolean valid = true;
+            for (int i = 0; i < sum.length; ++i) {
+                if (sum[i] != (double) (i % 1000) * n * (n + 1) / 2) {
+                    valid = false;
+                    break;
+                }
+            }
+            System.out.printf("gradient valid: %b, not shared: %b, time: %.3f ms%n", valid, sum != gradient, time / 1e6);
+
+            int[] max = PCJ.reduce(IntReduceOperation.MAX.elementwise(), Shared.counts);
+            System.out.println("counts max: " + Arrays.toString(max));
+        }
+        PCJ.barrier();
+
+        if (PCJ.myId() == 2) {
+            counts = new int[3];
+        }
+        PCJ.barrier();
+        if (PCJ.myId() == 0) {
+            try {
+                PCJ.reduce(IntReduceOperation.SUM.elementwise(), Shared.counts);
+                System.out.println("different lengths: no exception");
+            } catch (PcjRuntimeException ex) {
+                System.out.println("different lengths: " + ex.getCause());
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2011-2026, PCJ Library, Marek Nowicki
+ * All rights reserved.
+ *
+ * Licensed under New BSD License (3-clause license).
+ *
+ * See the file "LICENSE" for the full license governing this code.
+ */
+package org.pcj.test;
+
+import java.util.Arrays;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.pcj.PCJ;
+import org.pcj.PcjRuntimeException;
+import org.pcj.RegisterStorage;
+import org.pcj.StartPoint;
+import org.pcj.Storage;
+
+/**
+ * Sending the same value to chosen threads.
+ *
+ * @author Marek Nowicki (faramir@mat.umk.pl)
+ */
+@RegisterStorage(MulticastPutTest.Shared.class)
+public class MulticastPutTest implements StartPoint {
+
+    @Storage(MulticastPutTest.class)
+    enum Shared {
+        halo,
+        row
+    }
+
+    private double[] halo;
+    private int[] row = new int[4];
+
+    public static void main(String[] args) throws InterruptedException {
+        Level level = Level.INFO;
+//        Level level = Level.FINEST;
+        Logger logger = Logger.getLogger("");
+        Arrays.stream(logger.getHandlers()).forEach(handler -> handler.setLevel(level));
+        logger.setLevel(level);
+
+        String[] nodes = {
+                "localhost",
+                "localhost",
+                "localhost:8092",
+                "localhost:8092",};
+
+        PCJ.executionBuilder(MulticastPutTest.class)
+                .addNodes(nodes)
+                .deploy();
+    }
+
+    @Override
+    public void main() throws Throwable {
+        if (PCJ.myId() == 0) {
+            double[] values = new double[100_000];
+            Arrays.setAll(values, i -> i);
+            PCJ.put(values, new int[]{1, 2, 3}, Shared.halo);
+
+            PCJ.put(42, new int[]{0, 2}, Shared.row, 1);
+
+            try {
+                PCJ.put(7, new int[]{1, 3}, Shared.row, 10);
+                System.out.println("0> out of bounds put succeeded");
+            } catch (PcjRuntimeException ex) {
+                System.out.println("0> out of bounds put failed on " + ex.getSuppressed().length + " node(s)");
+            }
+        }
+        PCJ.barrier();
+
+        System.out.println(PCJ.myId() + "> halo: " + (halo == null ? null : halo.length + " elements, last " + halo[halo.length - 1])
+                                   + ", row: " + Arrays.toString(row));
+    }
+}
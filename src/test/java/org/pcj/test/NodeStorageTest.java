@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2011-2026, PCJ Library, Marek Nowicki
+ * All rights reserved.
+ *
+ * Licensed under New BSD License (3-clause license).
+ *
+ * See the file "LICENSE" for the full license governing this code.
+ */
+package org.pcj.test;
+
+import java.util.Arrays;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.pcj.PCJ;
+import org.pcj.RegisterStorage;
+import org.pcj.StartPoint;
+import org.pcj.Storage;
+
+/**
+ * Broadcasting lookup table into node-scoped storage.
+ *
+ * @author Marek Nowicki (faramir@mat.umk.pl)
+ */
+@RegisterStorage({NodeStorageTest.Shared.class, NodeStorageTest.NodeShared.class})
+public class NodeStorageTest implements StartPoint {
+
+    @Storage(NodeStorageTest.class)
+    enum Shared {
+        partialSum
+    }
+
+    @Storage(value = LookupTable.class, scope = Storage.Scope.NODE)
+    enum NodeShared {
+        table
+    }
+
+    public static class LookupTable {
+        private double[] table;
+    }
+
+    private double partialSum;
+
+    public static void main(String[] args) {
+        Level level = Level.INFO;
+//        Level level = Level.FINEST;
+        Logger logger = Logger.getLogger("");
+        Arrays.stream(logger.getHandlers()).forEach(handler -> handler.setLevel(level));
+        logger.setLevel(level);
+
+        String[] nodes = {
+                "localhost",
+                "localhost",
+                "localhost",
+                "localhost:8092",
+                "localhost:8092",};
+
+        PCJ.executionBuilder(NodeStorageTest.class)
+                .addNodes(nodes)
+                .deploy();
+    }
+
+    @Override
+    public void main() throws Throwable {
+        if (PCJ.myId() == 0) {
+            double[] table = new double[1_000_000];
+            Arrays.fill(table, 1.0);
+            PCJ.broadcast(table, NodeShared.table);
+        }
+        PCJ.waitFor(NodeShared.table);
+
+        double[] table = PCJ.localGet(NodeShared.table);
+        for (int i = PCJ.myId(); i < table.length; i += PCJ.threadCount()) {
+            partialSum += table[i];
+        }
+        PCJ.barrier();
+
+        System.out.println(PCJ.myId() + "> table@" + System.identityHashCode(table));
+        if (PCJ.myId() == 0) {
+            System.out.println("sum = " + PCJ.reduce(Double::sum, Shared.partialSum));
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2011-2026, PCJ Library, Marek Nowicki
+ * All rights reserved.
+ *
+ * Licensed under New BSD License (3-clause license).
+ *
+ * See the file "LICENSE" for the full license governing this code.
+ */
+package org.pcj.test;
+
+import java.util.Arrays;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.pcj.OffHeapDoubleArray;
+import org.pcj.PCJ;
+import org.pcj.PcjRuntimeException;
+import org.pcj.RegisterStorage;
+import org.pcj.StartPoint;
+import org.pcj.Storage;
+
+/**
+ * Transferring ranges of off-heap arrays between threads.
+ *
+ * @author Marek Nowicki (faramir@mat.umk.pl)
+ */
+@RegisterStorage(OffHeapArrayTest.Shared.class)
+public class OffHeapArrayTest implements StartPoint {
+
+    @Storage(OffHeapArrayTest.class)
+    enum Shared {
+        partition
+    }
+
+    private static final int N = 1 << 20;
+    private OffHeapDoubleArray partition;
+
+    public static void main(String[] args) throws InterruptedException {
+        Level level = Level.INFO;
+//        Level level = Level.FINEST;
+        Logger logger = Logger.getLogger("");
+        Arrays.stream(logger.getHandlers()).forEach(handler -> handler.setLevel(level));
+        logger.setLevel(level);
+
+        String[] nodes = {
+                "localhost",
+                "localhost",
+                "localhost:8092",
+                "localhost:8092",};
+
+        PCJ.executionBuilder(OffHeapArrayTest.class)
+                .addNodes(nodes)
+                .deploy();
+    }
+
+    @Override
+    public void main() throws Throwable {
+        int myId = PCJ.myId();
+        int next = (myId + 1) % PCJ.threadCount();
+
+        partition = OffHeapDoubleArray.allocate(N);
+        for (int i = 0; i < N; ++i) {
+            partition.set(i, (double) myId * N + i);
+        }
+        PCJ.barrier();
+
+        OffHeapDoubleArray buffer = OffHeapDoubleArray.allocate(N);
+        long start = System.nanoTime();
+        PCJ.get(next, Shared.partition, 0, buffer, 0, N);
+        long time = System.nanoTime() - start;
+
+        int errors = 0;
+        for (int i = 0; i < N; ++i) {
+            if (buffer.get(i) != (double) next * N + i) {
+                ++errors;
+            }
+        }
+        System.out.printf("%d> got %d MiB from %d in %.3f ms, errors: %d%n",
+                myId, N * Double.BYTES >> 20, next, time / 1e6, errors);
+
+        try {
+            PCJ.get(next, Shared.partition, N - 1, buffer, 0, 2);
+            System.out.println(myId + "> reading past the end succeeded");
+        } catch (PcjRuntimeException ex) {
+            System.out.println(myId + "> reading past the end failed: " + ex.getSuppressed()[0]);
+        }
+        PCJ.barrier();
+
+        buffer.set(0, new double[]{-1, -2, -3}, 0, 3);
+        PCJ.put(buffer, 0, 3, next, Shared.partition, N - 3);
+        PCJ.waitFor(Shared.partition);
+
+        double[] tail = new double[3];
+        partition.get(N - 3, tail, 0, 3);
+        System.out.println(myId + "> tail after put: " + Arrays.toString(tail));
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2011-2026, PCJ Library, Marek Nowicki
+ * All rights reserved.
+ *
+ * Licensed under New BSD License (3-clause license).
+ *
+ * See the file "LICENSE" for the full license governing this code.
+ */
+package org.pcj.test;
+
+import java.util.Arrays;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.pcj.PCJ;
+import org.pcj.RegisterStorage;
+import org.pcj.StartPoint;
+import org.pcj.Storage;
+
+/**
+ * Broadcast of large value, sent in segments down the communication tree.
+ * <p>
+ * Segment size is taken from the first argument (in bytes, {@code 0}
+ * disables segmentation). Values not smaller than the second argument (in
+ * bytes, {@code 0} disables) are sent by scatter-allgather algorithm.
+ *
+ * @author Marek Nowicki (faramir@mat.umk.pl)
+ */
+@RegisterStorage(PipelinedBroadcastTest.Shared.class)
+public class PipelinedBroadcastTest implements StartPoint {
+
+    @Storage(PipelinedBroadcastTest.class)
+    enum Shared {
+        values
+    }
+
+    private double[] values;
+
+    public static void main(String[] args) throws InterruptedException {
+        Level level = Level.INFO;
+//        Level level = Level.FINEST;
+        Logger logger = Logger.getLogger("");
+        Arrays.stream(logger.getHandlers()).forEach(handler -> handler.setLevel(level));
+        logger.setLevel(level);
+
+        String[] nodes = {
+                "localhost:8091",
+                "localhost:8092",
+                "localhost:8093",
+                "localhost:8093",
+                "localhost:8094",
+                "localhost:8095",};
+
+        PCJ.executionBuilder(PipelinedBroadcastTest.class)
+                .addNodes(nodes)
+                .addProperty("pcj.broadcast.segment.size", args.length > 0 ? args[0] : String.valueOf(256 * 1024))
+                .addProperty("pcj.broadcast.scatter.threshold", args.length > 1 ? args[1] : String.valueOf(4 * 1024 * 1024))
+                .deploy();
+    }
+
+    @Override
+    public void main() throws Throwable {
+        int[] sizes = {1, 1_000, 32_768, 1_000_000, 4_000_000};
+        for (int size : sizes) {
+            PCJ.barrier();
+            long start = System.nanoTime();
+            if (PCJ.myId() == 0) {
+                double[] array = new double[size];
+                Arrays.setAll(array, i -> i);
+                PCJ.broadcast(array, Shared.values);
+            }
+            PCJ.waitFor(Shared.values);
+            PCJ.barrier();
+            long time = System.nanoTime() - start;
+
+            boolean valid = values.length == size && values[size - 1] == size - 1;
+            if (PCJ.myId() == 0) {
+                System.out.printf("size: %8d, time: %8.3f ms%n", size, time / 1e6);
+            }
+            if (!valid) {
+                System.out.println(PCJ.myId() + "> invalid value of size " + values.length);
+            }
+        }
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2011-2026, PCJ Library, Marek Nowicki
+ * All rights reserved.
+ *
+ * Licensed under New BSD License (3-clause license).
+ *
+ * See the file "LICENSE" for the full license governing this code.
+ */
+package org.pcj.test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.pcj.PCJ;
+import org.pcj.RegisterStorage;
+import org.pcj.StartPoint;
+import org.pcj.Storage;
+
+/**
+ * Repeated reading of neighbour's parameters with read cache.
+ *
+ * @author Marek Nowicki (faramir@mat.umk.pl)
+ */
+@RegisterStorage(ReadCacheTest.Shared.class)
+public class ReadCacheTest implements StartPoint {
+
+    @Storage(ReadCacheTest.class)
+    enum Shared {
+        params,
+        names
+    }
+
+    private static final int READS = 1000;
+    private double[] params = new double[1024];
+    private ArrayList<String> names = new ArrayList<>();
+
+    public static void main(String[] args) throws InterruptedException {
+        Level level = Level.INFO;
+//        Level level = Level.FINEST;
+        Logger logger = Logger.getLogger("");
+        Arrays.stream(logger.getHandlers()).forEach(handler -> handler.setLevel(level));
+        logger.setLevel(level);
+
+        String[] nodes = {
+                "localhost",
+                "localhost",
+                "localhost:8092",
+                "localhost:8092",};
+
+        PCJ.executionBuilder(ReadCacheTest.class)
+                .addNodes(nodes)
+                .deploy();
+    }
+
+    @Override
+    public void main() throws Throwable {
+        int neighbour = (PCJ.myId() + 1) % PCJ.threadCount();
+        Arrays.fill(params, PCJ.myId());
+        PCJ.barrier();
+
+        long uncachedTime = readNeighbour(neighbour);
+
+        PCJ.enableReadCache(Shared.params, 1, TimeUnit.MINUTES);
+        long cachedTime = readNeighbour(neighbour);
+        System.out.printf("%d> %d gets: uncached %.3f ms, cached %.3f ms%n",
+                PCJ.myId(), READS, uncachedTime / 1e6, cachedTime / 1e6);
+        PCJ.barrier();
+
+        /* modification made by owner is not visible until the lease expires */
+        PCJ.localPut(new double[]{PCJ.myId() + 100}, Shared.params);
+        PCJ.barrier();
+        double[] cached = PCJ.get(neighbour, Shared.params);
+        cached[0] = -1;
+        double[] stale = PCJ.get(neighbour, Shared.params);
+        PCJ.enableReadCache(Shared.params, 0, TimeUnit.MILLISECONDS);
+        double[] fresh = PCJ.get(neighbour, Shared.params);
+        System.out.println(PCJ.myId() + "> stale: " + stale[0] + " (length " + stale.length + ")"
+                                   + ", revalidated: " + fresh[0] + " (length " + fresh.length + ")");
+        PCJ.barrier();
+
+        /* own put invalidates cached value */
+        PCJ.enableReadCache(Shared.params, 1, TimeUnit.MINUTES);
+        PCJ.get(neighbour, Shared.params);
+        PCJ.put(new double[]{PCJ.myId() + 200}, neighbour, Shared.params);
+        double[] own = PCJ.get(neighbour, Shared.params);
+        System.out.println(PCJ.myId() + "> after own put: " + own[0]);
+
+        PCJ.disableReadCache(Shared.params);
+
+        /* value that cannot be cloned is not shared with the cache */
+        names.add("thread-" + PCJ.myId());
+        PCJ.barrier();
+        PCJ.enableReadCache(Shared.names, 1, TimeUnit.MINUTES);
+        ArrayList<String> cachedNames = PCJ.get(neighbour, Shared.names);
+        cachedNames.add("modified");
+        ArrayList<String> names = PCJ.get(neighbour, Shared.names);
+        System.out.println(PCJ.myId() + "> cached names: " + names);
+        PCJ.disableReadCache(Shared.names);
+    }
+
+    private long readNeighbour(int neighbour) {
+        long start = System.nanoTime();
+        double sum = 0;
+        for (int i = 0; i < READS; ++i) {
+            double[] values = PCJ.get(neighbour, Shared.params);
+            sum += values[i % values.length];
+        }
+        if (sum != (double) neighbour * READS) {
+            System.err.println(PCJ.myId() + "> wrong sum: " + sum);
+        }
+        return System.nanoTime() - start;
+    }
+}
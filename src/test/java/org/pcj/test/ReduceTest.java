@@ -11,6 +11,8 @@ package org.pcj.test;
 import java.util.Arrays;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import org.pcj.DoubleReduceOperation;
+import org.pcj.IntReduceOperation;
 import org.pcj.PCJ;
 import org.pcj.RegisterStorage;
 import org.pcj.StartPoint;
@@ -75,6 +77,12 @@ public class ReduceTest implements StartPoint {
                 double doubleArrayReduced = PCJ.reduce(Double::sum, Communicable.doubleArray, 0);
                 System.out.println(doubleArrayReduced);
 
+                int intValueMax = PCJ.reduce(IntReduceOperation.MAX, Communicable.intValue);
+                System.out.println(intValueMax);
+
+                double doubleArraySum = PCJ.reduce(DoubleReduceOperation.SUM, Communicable.doubleArray, 0);
+                System.out.println(doubleArraySum);
+
                 String stringReduced = PCJ.reduce((a, b) -> (a + " " + b), Communicable.string);
                 System.out.println(stringReduced);
             }
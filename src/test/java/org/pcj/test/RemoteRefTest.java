@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2011-2026, PCJ Library, Marek Nowicki
+ * All rights reserved.
+ *
+ * Licensed under New BSD License (3-clause license).
+ *
+ * See the file "LICENSE" for the full license governing this code.
+ */
+package org.pcj.test;
+
+import java.util.Arrays;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.pcj.LongReduceOperation;
+import org.pcj.PCJ;
+import org.pcj.PcjFuture;
+import org.pcj.RegisterStorage;
+import org.pcj.RemoteRef;
+import org.pcj.StartPoint;
+import org.pcj.Storage;
+
+/**
+ * Tight communication loop using pre-resolved variable handles.
+ *
+ * @author Marek Nowicki (faramir@mat.umk.pl)
+ */
+@RegisterStorage(RemoteRefTest.Shared.class)
+public class RemoteRefTest implements StartPoint {
+
+    @Storage(RemoteRefTest.class)
+    enum Shared {
+        counters
+    }
+
+    private static final int OPERATIONS = 10_000;
+    private long[] counters = new long[4];
+
+    public static void main(String[] args) throws InterruptedException {
+        Level level = Level.INFO;
+//        Level level = Level.FINEST;
+        Logger logger = Logger.getLogger("");
+        Arrays.stream(logger.getHandlers()).forEach(handler -> handler.setLevel(level));
+        logger.setLevel(level);
+
+        String[] nodes = {
+                "localhost",
+                "localhost",
+                "localhost:8092",
+                "localhost:8092",};
+
+        PCJ.executionBuilder(RemoteRefTest.class)
+                .addNodes(nodes)
+                .deploy();
+    }
+
+    @Override
+    public void main() throws Throwable {
+        int neighbour = (PCJ.myId() + 1) % PCJ.threadCount();
+        RemoteRef<Long> counter = PCJ.ref(neighbour, Shared.counters, PCJ.myId());
+
+        long start = System.nanoTime();
+        PcjFuture<?>[] futures = new PcjFuture<?>[OPERATIONS];
+        for (int i = 0; i < OPERATIONS; ++i) {
+            futures[i] = counter.asyncAccumulate(LongReduceOperation.SUM, 1L);
+        }
+        for (PcjFuture<?> future : futures) {
+            future.get();
+        }
+        long time = System.nanoTime() - start;
+
+        long value = counter.get();
+        counter.put(value * 2);
+        System.out.printf("%d> %s: %d accumulates in %.3f ms, value %d, after put %d%n",
+                PCJ.myId(), counter, OPERATIONS, time / 1e6, value, counter.get());
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2011-2026, PCJ Library, Marek Nowicki
+ * All rights reserved.
+ *
+ * Licensed under New BSD License (3-clause license).
+ *
+ * See the file "LICENSE" for the full license governing this code.
+ */
+package org.pcj.test;
+
+import java.util.Arrays;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.pcj.DoubleReduceOperation;
+import org.pcj.LongReduceOperation;
+import org.pcj.PCJ;
+import org.pcj.RegisterStorage;
+import org.pcj.StartPoint;
+import org.pcj.Storage;
+
+/**
+ * Inclusive and exclusive scans, also with non-commutative function, on
+ * threads interleaved between nodes.
+ *
+ * @author Marek Nowicki (faramir@mat.umk.pl)
+ */
+@RegisterStorage(ScanTest.Shared.class)
+public class ScanTest implements StartPoint {
+
+    @Storage(ScanTest.class)
+    enum Shared {
+        count,
+        weight,
+        name
+    }
+
+    private long count;
+    private double weight;
+    private String name;
+
+    public static void main(String[] args) throws InterruptedException {
+        Level level = Level.INFO;
+//        Level level = Level.FINEST;
+        Logger logger = Logger.getLogger("");
+        Arrays.stream(logger.getHandlers()).forEach(handler -> handler.setLevel(level));
+        logger.setLevel(level);
+
+        String[] nodes = {
+                "localhost:8091",
+                "localhost:8092",
+                "localhost:8091",
+                "localhost:8093",
+                "localhost:8092",
+                "localhost:8094",
+                "localhost:8094",};
+
+        PCJ.executionBuilder(ScanTest.class)
+                .addNodes(nodes)
+                .deploy();
+    }
+
+    @Override
+    public void main() throws Throwable {
+        count = PCJ.myId() + 1;
+        weight = 0.5 * PCJ.myId();
+        name = Integer.toString(PCJ.myId());
+
+        long offset = PCJ.exscan(LongReduceOperation.SUM, Shared.count);
+        long total = PCJ.scan(LongReduceOperation.SUM, Shared.count);
+        double weights = PCJ.scan(DoubleReduceOperation.SUM, Shared.weight);
+        String names = PCJ.scan((a, b) -> a + "," + b, Shared.name);
+        String previousNames = PCJ.exscan((a, b) -> a + "," + b, Shared.name);
+
+        long i = PCJ.myId();
+        boolean valid = offset == i * (i + 1) / 2 && total == (i + 1) * (i + 2) / 2 && weights == 0.25 * i * (i + 1);
+
+        PCJ.barrier();
+        System.out.printf("%d> offset: %d, total: %d, weights: %.2f, names: %s, previous names: %s, valid: %b%n",
+                PCJ.myId(), offset, total, weights, names, previousNames, valid);
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2011-2026, PCJ Library, Marek Nowicki
+ * All rights reserved.
+ *
+ * Licensed under New BSD License (3-clause license).
+ *
+ * See the file "LICENSE" for the full license governing this code.
+ */
+package org.pcj.test;
+
+import java.util.Arrays;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.pcj.PCJ;
+import org.pcj.PcjFuture;
+import org.pcj.RegisterStorage;
+import org.pcj.StartPoint;
+import org.pcj.Storage;
+
+/**
+ * Consumer waiting on several mailboxes without blocking.
+ *
+ * @author Marek Nowicki (faramir@mat.umk.pl)
+ */
+@RegisterStorage(WaitForAnyTest.Shared.class)
+public class WaitForAnyTest implements StartPoint {
+
+    @Storage(WaitForAnyTest.class)
+    enum Shared {
+        requests,
+        controls,
+        done
+    }
+
+    private static final int MESSAGES = 100;
+    private int requests;
+    private int controls;
+    private int done;
+
+    public static void main(String[] args) throws InterruptedException {
+        Level level = Level.INFO;
+//        Level level = Level.FINEST;
+        Logger logger = Logger.getLogger("");
+        Arrays.stream(logger.getHandlers()).forEach(handler -> handler.setLevel(level));
+        logger.setLevel(level);
+
+        String[] nodes = {
+                "localhost",
+                "localhost",
+                "localhost:8092",
+                "localhost:8092",};
+
+        PCJ.executionBuilder(WaitForAnyTest.class)
+                .addNodes(nodes)
+                .deploy();
+    }
+
+    @Override
+    public void main() throws Throwable {
+        int producers = PCJ.threadCount() - 1;
+        if (PCJ.myId() == 0) {
+            PcjFuture<Integer> allDone = PCJ.asyncWaitFor(Shared.done, producers);
+
+            int requestCount = 0;
+            int controlCount = 0;
+            long computed = 0;
+            while (requestCount + controlCount < producers * MESSAGES) {
+                Enum<?> variable = PCJ.waitForAny(Shared.requests, Shared.controls);
+                if (variable == Shared.requests) {
+                    ++requestCount;
+                } else {
+                    ++controlCount;
+                }
+                for (int i = 0; i < 1000; ++i) {
+                    computed += i;
+                }
+            }
+
+            System.out.println("0> requests: " + requestCount + ", controls: " + controlCount
+                                       + ", computed: " + computed);
+            System.out.println("0> remaining done modifications: " + allDone.get());
+        } else {
+            for (int i = 0; i < MESSAGES; ++i) {
+                if (i % 4 == PCJ.myId()) {
+                    PCJ.put(i, 0, Shared.controls);
+                } else {
+                    PCJ.put(i, 0, Shared.requests);
+                }
+            }
+            PCJ.put(1, 0, Shared.done);
+        }
+        PCJ.barrier();
+    }
+}